@@ -17,11 +17,13 @@ public class ConsultantController {
     private final ConsultantService service;
 
 
-    // 공개 리스트 (필터/정렬)
+    // 공개 리스트 (필터/정렬/페이지)
     @GetMapping
     public ApiResponse<List<ConsultantCardDto>> list(@RequestParam(required = false) String level,
                                                      @RequestParam(required = false) Double minRating,
-                                                     @RequestParam(required = false, defaultValue = "rating") String sort){
-        return ApiResponse.ok(service.list(level, minRating, sort));
+                                                     @RequestParam(required = false, defaultValue = "rating") String sort,
+                                                     @RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "50") int size){
+        return ApiResponse.ok(service.list(level, minRating, sort, page, size));
     }
 }
\ No newline at end of file
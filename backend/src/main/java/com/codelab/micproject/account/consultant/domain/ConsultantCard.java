@@ -0,0 +1,69 @@
+package com.codelab.micproject.account.consultant.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 공개 상담사 목록용 읽기 모델 (consultant_card)
+ * - 활성 상담사 1명당 1행: 이름/등급/단가/소개/평점 합계·건수/다음 빈 슬롯
+ * - ConsultantCardChanged 이벤트로 커밋 후 갱신, 주기 재구성으로 누락분 보정 (ConsultantCardProjector)
+ * - 목록 필터(level, minRating)와 정렬(rating, price, name)은 이 테이블 인덱스로 처리
+ */
+@Entity
+@Table(name = "consultant_card", indexes = {
+        @Index(name = "idx_card_rating", columnList = "avg_rating, consultant_id"),
+        @Index(name = "idx_card_level_rating", columnList = "level, avg_rating"),
+        @Index(name = "idx_card_price", columnList = "price, consultant_id"),
+        @Index(name = "idx_card_name", columnList = "sort_name, consultant_id")
+})
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class ConsultantCard {
+
+    @Id
+    @Column(name = "consultant_id")
+    private Long consultantId;
+
+    @Column(nullable = false)
+    private String name;
+
+    /** 이름 정렬 키 (소문자) */
+    @Column(name = "sort_name", nullable = false)
+    private String sortName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ConsultantLevel level;
+
+    @Column(length = 1000)
+    private String bio;
+
+    @Column(nullable = false, precision = 12, scale = 0)
+    private BigDecimal price;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    /** rating_sum / rating_count (리뷰 없으면 0) — 정렬/하한 필터용으로 저장 */
+    @Column(name = "avg_rating", nullable = false)
+    private double avgRating;
+
+    /** 다음 예약 가능 슬롯 시작 (KST), 없으면 null */
+    @Column(name = "next_free_at")
+    private LocalDateTime nextFreeAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public void setRating(long sum, long count) {
+        this.ratingSum = sum;
+        this.ratingCount = count;
+        this.avgRating = count == 0 ? 0.0 : (double) sum / count;
+    }
+}
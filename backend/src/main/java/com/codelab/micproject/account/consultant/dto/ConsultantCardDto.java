@@ -2,7 +2,9 @@ package com.codelab.micproject.account.consultant.dto;
 
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 
 public record ConsultantCardDto(Long consultantId, String name, String level, String bio,
-                                BigDecimal price, Double avgRating, Long reviewCount){}
\ No newline at end of file
+                                BigDecimal price, Double avgRating, Long reviewCount,
+                                LocalDateTime nextFreeAt){}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.codelab.micproject.account.consultant.repository;
+
+import com.codelab.micproject.account.consultant.domain.ConsultantCard;
+import com.codelab.micproject.account.consultant.domain.ConsultantLevel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ConsultantCardRepository extends JpaRepository<ConsultantCard, Long> {
+
+    /** 공개 목록: level/minRating 이 null 이면 조건 없음, 정렬은 Pageable 의 Sort */
+    @Query("""
+        select c from ConsultantCard c
+         where (:level is null or c.level = :level)
+           and (:minRating is null or c.avgRating >= :minRating)
+    """)
+    List<ConsultantCard> search(@Param("level") ConsultantLevel level,
+                                @Param("minRating") Double minRating,
+                                Pageable pageable);
+
+    /** 재구성 때 사라진 상담사(비활성/역할 변경) 행 정리 */
+    @Modifying
+    @Query("delete from ConsultantCard c where c.updatedAt < :before")
+    int deleteNotUpdatedSince(@Param("before") LocalDateTime before);
+}
@@ -4,11 +4,18 @@ package com.codelab.micproject.account.consultant.repository;
 import com.codelab.micproject.account.consultant.domain.ConsultantMeta;
 import com.codelab.micproject.account.user.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
 public interface ConsultantMetaRepository extends JpaRepository<ConsultantMeta, Long> {
     Optional<ConsultantMeta> findByConsultant(User consultant);
+
+    @Query("select m from ConsultantMeta m where m.consultant.id in :consultantIds")
+    List<ConsultantMeta> findByConsultantIds(@Param("consultantIds") Collection<Long> consultantIds);
 }
\ No newline at end of file
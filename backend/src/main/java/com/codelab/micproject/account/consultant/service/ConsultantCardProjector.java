@@ -0,0 +1,285 @@
+package com.codelab.micproject.account.consultant.service;
+
+import com.codelab.micproject.account.consultant.domain.ConsultantCard;
+import com.codelab.micproject.account.consultant.domain.ConsultantLevel;
+import com.codelab.micproject.account.consultant.domain.ConsultantMeta;
+import com.codelab.micproject.account.consultant.repository.ConsultantCardRepository;
+import com.codelab.micproject.account.consultant.repository.ConsultantMetaRepository;
+import com.codelab.micproject.account.consultant.support.ConsultantCardChanged;
+import com.codelab.micproject.account.profile.repository.ProfileRepository;
+import com.codelab.micproject.account.user.domain.User;
+import com.codelab.micproject.account.user.domain.UserRole;
+import com.codelab.micproject.account.user.repository.UserRepository;
+import com.codelab.micproject.booking.repository.AppointmentSlotClaimRepository;
+import com.codelab.micproject.booking.repository.AvailableSlotRepository;
+import com.codelab.micproject.booking.service.SlotClaimService;
+import com.codelab.micproject.common.resilience.RedisLease;
+import com.codelab.micproject.review.domain.ConsultantRatingStat;
+import com.codelab.micproject.review.repository.ConsultantRatingStatRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * consultant_card 읽기 모델 갱신
+ *
+ * - ConsultantCardChanged 는 커밋 후 dirty 집합에 모았다가 전용 스레드가 한꺼번에 다시 계산
+ *   (같은 상담사에 변경이 몰려도 1회, 몇 명이든 배치당 쿼리 수 고정)
+ * - 카드 계산: 사용자(활성·역할) / 프로필 소개 / 등급·단가 / 평점 합계·건수(consultant_rating_stat) / 다음 빈 슬롯
+ *   다음 빈 슬롯 = next-free-days 안에서 appointment_slot_claim 칸이 하나도 점유되지 않은 가장 이른 AvailableSlot
+ * - 주기 재구성(rebuild-ms): 시간이 지나 지나간 슬롯, 이벤트 누락분, 비활성화된 상담사 정리
+ *   Redis 리스(lease:consultant-card)를 가진 노드 하나만 실행
+ */
+@Slf4j
+@Component
+public class ConsultantCardProjector {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final int BATCH = 200;
+
+    private final UserRepository userRepository;
+    private final ProfileRepository profileRepository;
+    private final ConsultantMetaRepository metaRepository;
+    private final ConsultantRatingStatRepository ratingStatRepository;
+    private final AvailableSlotRepository availableSlotRepository;
+    private final AppointmentSlotClaimRepository claimRepository;
+    private final SlotClaimService slotClaimService;
+    private final ConsultantCardRepository cardRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RedisLease lease;
+    private final int nextFreeDays;
+
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "consultant-card");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicLong events = new AtomicLong();
+    private final AtomicLong refreshed = new AtomicLong();
+    private final AtomicLong refreshErrors = new AtomicLong();
+    private volatile long lastRebuildAt;
+    private volatile long lastRebuildMs;
+
+    public ConsultantCardProjector(UserRepository userRepository,
+                                   ProfileRepository profileRepository,
+                                   ConsultantMetaRepository metaRepository,
+                                   ConsultantRatingStatRepository ratingStatRepository,
+                                   AvailableSlotRepository availableSlotRepository,
+                                   AppointmentSlotClaimRepository claimRepository,
+                                   SlotClaimService slotClaimService,
+                                   ConsultantCardRepository cardRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   StringRedisTemplate redis,
+                                   @Value("${app.consultant.card.lease-ms:600000}") long leaseMs,
+                                   @Value("${app.consultant.card.next-free-days:30}") int nextFreeDays) {
+        this.userRepository = userRepository;
+        this.profileRepository = profileRepository;
+        this.metaRepository = metaRepository;
+        this.ratingStatRepository = ratingStatRepository;
+        this.availableSlotRepository = availableSlotRepository;
+        this.claimRepository = claimRepository;
+        this.slotClaimService = slotClaimService;
+        this.cardRepository = cardRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.lease = new RedisLease("consultant-card", redis, leaseMs);
+        this.nextFreeDays = Math.max(1, nextFreeDays);
+    }
+
+    // ===================== 이벤트 =====================
+
+    /** 커밋된 변경만 반영 (트랜잭션 밖에서 발행되면 바로) */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChanged(ConsultantCardChanged e) {
+        if (e.consultantId() == null) return;
+        events.incrementAndGet();
+        dirty.add(e.consultantId());
+        if (draining.compareAndSet(false, true)) worker.execute(this::drain);
+    }
+
+    private void drain() {
+        try {
+            while (!dirty.isEmpty()) {
+                List<Long> ids = new ArrayList<>(BATCH);
+                for (Iterator<Long> it = dirty.iterator(); it.hasNext() && ids.size() < BATCH; ) {
+                    ids.add(it.next());
+                    it.remove();
+                }
+                try {
+                    refresh(ids);
+                } catch (RuntimeException ex) {
+                    // 다음 주기 재구성에서 다시 계산됨
+                    refreshErrors.incrementAndGet();
+                    log.warn("[ConsultantCard] refresh {} failed: {}", ids, ex.toString());
+                }
+            }
+        } finally {
+            draining.set(false);
+            // 종료 직전에 들어온 이벤트
+            if (!dirty.isEmpty() && draining.compareAndSet(false, true)) worker.execute(this::drain);
+        }
+    }
+
+    // ===================== 재구성 =====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        worker.execute(this::rebuild);
+    }
+
+    @Scheduled(fixedDelayString = "${app.consultant.card.rebuild-ms:600000}",
+               initialDelayString = "${app.consultant.card.rebuild-ms:600000}")
+    public void scheduledRebuild() {
+        worker.execute(this::rebuild);
+    }
+
+    /** 활성 상담사 전원 카드 재계산 후, 이번에 갱신되지 않은 행(비활성/역할 변경) 삭제 */
+    private void rebuild() {
+        if (!lease.tryAcquire()) return;
+        long startedAt = System.currentTimeMillis();
+        try {
+            LocalDateTime started = LocalDateTime.now(KST);
+            List<Long> ids = userRepository.findByRoleAndEnabled(UserRole.CONSULTANT, true).stream()
+                    .map(User::getId).toList();
+            for (int i = 0; i < ids.size(); i += BATCH) {
+                refresh(ids.subList(i, Math.min(ids.size(), i + BATCH)));
+            }
+            Integer removed = transactionTemplate.execute(s -> cardRepository.deleteNotUpdatedSince(started));
+            log.info("[ConsultantCard] rebuilt {} cards ({} removed) in {}ms",
+                    ids.size(), removed, System.currentTimeMillis() - startedAt);
+        } catch (RuntimeException e) {
+            log.warn("[ConsultantCard] rebuild failed: {}", e.toString());
+        } finally {
+            lastRebuildAt = startedAt;
+            lastRebuildMs = System.currentTimeMillis() - startedAt;
+            lease.release();
+        }
+    }
+
+    // ===================== 계산 =====================
+
+    /** ids 의 카드 일괄 재계산 (상담사 수와 무관하게 6회 조회 + 저장) */
+    void refresh(Collection<Long> ids) {
+        transactionTemplate.executeWithoutResult(s -> {
+            LocalDateTime now = LocalDateTime.now(KST);
+
+            Map<Long, User> users = new HashMap<>();
+            for (User u : userRepository.findAllById(ids)) {
+                if (u.getRole() == UserRole.CONSULTANT && u.isEnabled()) users.put(u.getId(), u);
+            }
+            List<Long> gone = ids.stream().filter(id -> !users.containsKey(id)).toList();
+            if (!gone.isEmpty()) cardRepository.deleteAllById(gone);
+            if (users.isEmpty()) return;
+
+            Set<Long> live = users.keySet();
+            Map<Long, String> bios = new HashMap<>();
+            for (Object[] row : profileRepository.findBiosByUserIds(live)) bios.put((Long) row[0], (String) row[1]);
+            Map<Long, ConsultantMeta> metas = new HashMap<>();
+            for (ConsultantMeta m : metaRepository.findByConsultantIds(live)) metas.put(m.getConsultant().getId(), m);
+            Map<Long, long[]> ratings = new HashMap<>();
+            for (ConsultantRatingStat r : ratingStatRepository.findAllById(live)) {
+                ratings.put(r.getConsultantId(), new long[]{ r.getRatingSum(), r.getRatingCount() });
+            }
+            Map<Long, LocalDateTime> nextFree = nextFreeSlots(live, now);
+            Map<Long, ConsultantCard> existing = new HashMap<>();
+            for (ConsultantCard c : cardRepository.findAllById(live)) existing.put(c.getConsultantId(), c);
+
+            List<ConsultantCard> cards = new ArrayList<>(live.size());
+            for (User u : users.values()) {
+                ConsultantMeta meta = metas.get(u.getId());
+                ConsultantLevel level = (meta != null && meta.getLevel() != null) ? meta.getLevel() : ConsultantLevel.JUNIOR;
+                String name = (u.getName() != null && !u.getName().isBlank()) ? u.getName() : u.getEmail();
+                long[] r = ratings.getOrDefault(u.getId(), new long[]{ 0, 0 });
+
+                ConsultantCard c = existing.getOrDefault(u.getId(), ConsultantCard.builder().consultantId(u.getId()).build());
+                c.setName(name == null ? "" : name);
+                c.setSortName(name == null ? "" : name.toLowerCase(Locale.ROOT));
+                c.setLevel(level);
+                c.setBio(bios.get(u.getId()));
+                c.setPrice((meta != null && meta.getBasePrice() != null) ? meta.getBasePrice() : defaultPrice(level));
+                c.setRating(r[0], r[1]);
+                c.setNextFreeAt(nextFree.get(u.getId()));
+                c.setUpdatedAt(now);
+                cards.add(c);
+            }
+            cardRepository.saveAll(cards);
+            refreshed.addAndGet(cards.size());
+        });
+    }
+
+    /** 상담사별 가장 이른 미점유 슬롯 시작 (KST) */
+    private Map<Long, LocalDateTime> nextFreeSlots(Collection<Long> ids, LocalDateTime now) {
+        LocalDateTime to = now.plusDays(nextFreeDays);
+        List<Object[]> slots = new ArrayList<>(availableSlotRepository.findRowsForConsultants(ids, now, to));
+        if (slots.isEmpty()) return Map.of();
+        slots.sort(Comparator.comparing(row -> (LocalDateTime) row[2]));
+
+        long[] window = slotClaimService.cellRange(now.atZone(KST).toOffsetDateTime(),
+                to.plusDays(1).atZone(KST).toOffsetDateTime());
+        Set<String> claimed = new HashSet<>();
+        for (Object[] row : claimRepository.findRowsForConsultants(ids, window[0], window[1])) {
+            claimed.add(row[0] + ":" + row[1]);
+        }
+
+        int granule = slotClaimService.granuleMin();
+        Map<Long, LocalDateTime> out = new HashMap<>();
+        for (Object[] row : slots) {
+            Long consultantId = (Long) row[1];
+            if (out.containsKey(consultantId)) continue;
+            LocalDateTime startAt = (LocalDateTime) row[2];
+            LocalDateTime endAt = (LocalDateTime) row[3];
+            long[] cells = slotClaimService.cellRange(startAt.atZone(KST).toOffsetDateTime(), endAt.atZone(KST).toOffsetDateTime());
+            boolean free = true;
+            for (long m = cells[0]; m < cells[1] && free; m += granule) {
+                if (claimed.contains(consultantId + ":" + m)) free = false;
+            }
+            if (free) out.put(consultantId, startAt);
+        }
+        return out;
+    }
+
+    static BigDecimal defaultPrice(ConsultantLevel level) {
+        return switch (level) {
+            case JUNIOR -> BigDecimal.valueOf(30000);
+            case SENIOR -> BigDecimal.valueOf(60000);
+            case EXECUTIVE -> BigDecimal.valueOf(90000);
+        };
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("leaseHeld", lease.isHeld());
+        m.put("events", events.get());
+        m.put("pending", dirty.size());
+        m.put("refreshed", refreshed.get());
+        m.put("refreshErrors", refreshErrors.get());
+        m.put("lastRebuildAt", lastRebuildAt);
+        m.put("lastRebuildMs", lastRebuildMs);
+        return m;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+}
@@ -13,6 +13,7 @@ import com.codelab.micproject.booking.dto.AppointmentView;
 import com.codelab.micproject.booking.repository.AppointmentRepository;
 import com.codelab.micproject.security.oauth2.UserPrincipal;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +26,7 @@ import com.codelab.micproject.account.consultant.domain.ConsultantLevel;
 import com.codelab.micproject.account.consultant.domain.ConsultantMeta;
 import com.codelab.micproject.account.consultant.repository.ConsultantMetaRepository;
 // ★ 추가: 등급 규칙 유틸 (사용자가 생성한다고 한 클래스)
+import com.codelab.micproject.account.consultant.support.ConsultantCardChanged;
 import com.codelab.micproject.account.consultant.support.LevelRules;
 
 // ★ 프로필 이미지 저장소 (기존 그대로)
@@ -41,6 +43,7 @@ public class ConsultantMyPageService {
 
     // ★ 추가: 컨설턴트 메타
     private final ConsultantMetaRepository consultantMetaRepository;
+    private final ApplicationEventPublisher events;
 
     public ConsultantMyPageDto getMyPage(UserPrincipal me){
         User u = userRepository.findById(me.id()).orElseThrow();
@@ -143,6 +146,8 @@ public class ConsultantMyPageService {
         }
         // ───────────────────────────────────────────────────────────────
 
+        events.publishEvent(new ConsultantCardChanged(u.getId())); // 공개 목록 카드(이름/소개/등급) 갱신
+
         return getMyPage(me);
     }
 
@@ -1,113 +1,75 @@
 package com.codelab.micproject.account.consultant.service;
 
+import com.codelab.micproject.account.consultant.domain.ConsultantCard;
 import com.codelab.micproject.account.consultant.domain.ConsultantLevel;
-import com.codelab.micproject.account.consultant.domain.ConsultantMeta;
 import com.codelab.micproject.account.consultant.dto.ConsultantCardDto;
-import com.codelab.micproject.account.consultant.repository.ConsultantMetaRepository;
-import com.codelab.micproject.account.profile.domain.Profile;
-import com.codelab.micproject.account.profile.repository.ProfileRepository;
-import com.codelab.micproject.account.user.domain.User;
-import com.codelab.micproject.account.user.domain.UserRole;
-import com.codelab.micproject.account.user.repository.UserRepository;
-import com.codelab.micproject.review.repository.ReviewRepository;
+import com.codelab.micproject.account.consultant.repository.ConsultantCardRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.util.Comparator;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ConsultantService {
 
-    private final UserRepository userRepository;
-    private final ProfileRepository profileRepository;
-    private final ConsultantMetaRepository metaRepository;
-    private final ReviewRepository reviewRepository;
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final ConsultantCardRepository cardRepository;
 
     /**
-     * 공개 컨설턴트 리스트.
+     * 공개 컨설턴트 리스트 (consultant_card 읽기 모델, ConsultantCardProjector 가 갱신).
      * - 기본 집합: role=CONSULTANT && enabled=true 전원
      * - level / minRating 은 "요청 시"에만 필터
-     * - sort: rating(기본) | price | name
+     * - sort: rating(기본) | price | name, page/size 페이지
      */
     @Transactional(readOnly = true)
-    public List<ConsultantCardDto> list(String levelFilter, Double minRating, String sort) {
-        var consultants = userRepository.findByRoleAndEnabled(UserRole.CONSULTANT, true);
-
-        Stream<ConsultantCardDto> stream = consultants.stream().map(this::toCard);
-
-        // level 필터
+    public List<ConsultantCardDto> list(String levelFilter, Double minRating, String sort, int page, int size) {
+        ConsultantLevel level = null;
         if (levelFilter != null && !levelFilter.isBlank()) {
-            String lv = levelFilter.trim().toUpperCase();
-            stream = stream.filter(c -> lv.equals(c.level()));
+            try {
+                level = ConsultantLevel.valueOf(levelFilter.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return List.of(); // 없는 등급 → 결과 없음
+            }
         }
 
-        // 평점 하한 필터 (avgRating null 안전)
-        if (minRating != null) {
-            stream = stream.filter(c -> {
-                Double r = c.avgRating();
-                return r != null && r >= minRating;
-            });
-        }
-
-        // 정렬
-        Comparator<ConsultantCardDto> cmp;
+        Sort order;
         if ("price".equalsIgnoreCase(sort)) {
-            cmp = Comparator.comparing(ConsultantCardDto::price);
+            order = Sort.by("price").ascending();
         } else if ("name".equalsIgnoreCase(sort)) {
-            // 대소문자 무시 정렬
-            cmp = Comparator.comparing(c -> {
-                String n = c.name();
-                return n == null ? "" : n.toLowerCase();
-            });
+            order = Sort.by("sortName").ascending();
         } else {
-            // 기본: avgRating 내림차순 (null은 0으로 간주)
-            cmp = Comparator.comparing((ConsultantCardDto c) -> {
-                Double r = c.avgRating();
-                return r == null ? 0.0 : r;
-            }).reversed();
+            // 기본: avgRating 내림차순 (리뷰 없으면 0)
+            order = Sort.by("avgRating").descending();
         }
+        var pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                order.and(Sort.by("consultantId")));
 
-        return stream.sorted(cmp).toList();
+        LocalDateTime now = LocalDateTime.now(KST);
+        return cardRepository.search(level, minRating, pageable).stream()
+                .map(c -> toDto(c, now))
+                .toList();
     }
 
-    private ConsultantCardDto toCard(User u) {
-        Profile p = profileRepository.findByUser(u).orElse(null);
-
-        ConsultantMeta meta = metaRepository.findByConsultant(u).orElse(null);
-        ConsultantLevel level = (meta != null && meta.getLevel() != null)
-                ? meta.getLevel() : ConsultantLevel.JUNIOR;
-
-        BigDecimal price = (meta != null && meta.getBasePrice() != null)
-                ? meta.getBasePrice()
-                : defaultPrice(level);
-
-        Double avgObj = reviewRepository.avgRatingByConsultant(u); // null 가능
-        double avg = (avgObj != null) ? avgObj : 0.0;
-        long count = reviewRepository.countByConsultant(u);
-
+    private ConsultantCardDto toDto(ConsultantCard c, LocalDateTime now) {
+        // 다음 재구성 전에 지나간 슬롯은 표시하지 않음
+        LocalDateTime nextFree = (c.getNextFreeAt() != null && c.getNextFreeAt().isAfter(now)) ? c.getNextFreeAt() : null;
         return new ConsultantCardDto(
-                u.getId(),
-                (u.getName() != null && !u.getName().isBlank()) ? u.getName() : u.getEmail(),
-                level.name(),
-                (p != null ? p.getBio() : null),
-                price,
-                avg,      // avgRating (Double)
-                count     // reviewCount (Long)
+                c.getConsultantId(),
+                c.getName(),
+                c.getLevel().name(),
+                c.getBio(),
+                c.getPrice(),
+                c.getAvgRating(),   // avgRating (Double)
+                c.getRatingCount(), // reviewCount (Long)
+                nextFree
         );
     }
-
-
-    private BigDecimal defaultPrice(ConsultantLevel level) {
-        return switch (level) {
-            case JUNIOR -> BigDecimal.valueOf(30000);
-            case SENIOR -> BigDecimal.valueOf(60000);
-            case EXECUTIVE -> BigDecimal.valueOf(90000);
-        };
-    }
 }
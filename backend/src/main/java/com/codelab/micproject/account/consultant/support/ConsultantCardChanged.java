@@ -0,0 +1,7 @@
+package com.codelab.micproject.account.consultant.support;
+
+/**
+ * 공개 목록 카드(consultant_card)에 영향을 주는 변경 — 이름/활성/역할, 프로필 소개, 등급/단가, 리뷰, 슬롯/예약
+ * 쓰기 트랜잭션 안에서 발행, ConsultantCardProjector 가 커밋 후 해당 상담사 행만 다시 계산
+ */
+public record ConsultantCardChanged(Long consultantId) {}
@@ -4,11 +4,19 @@ package com.codelab.micproject.account.profile.repository;
 import com.codelab.micproject.account.profile.domain.Profile;
 import com.codelab.micproject.account.user.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
 public interface ProfileRepository extends JpaRepository<Profile, Long> {
     Optional<Profile> findByUser(User user);
+
+    // 상담사 카드 갱신용: [userId, bio]
+    @Query("select p.user.id, p.bio from Profile p where p.user.id in :userIds")
+    List<Object[]> findBiosByUserIds(@Param("userIds") Collection<Long> userIds);
 }
\ No newline at end of file
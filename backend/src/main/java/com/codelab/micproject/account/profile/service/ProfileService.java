@@ -1,12 +1,14 @@
 package com.codelab.micproject.account.profile.service;
 
 
+import com.codelab.micproject.account.consultant.support.ConsultantCardChanged;
 import com.codelab.micproject.account.profile.domain.Profile;
 import com.codelab.micproject.account.profile.dto.ProfileDto;
 import com.codelab.micproject.account.profile.repository.ProfileRepository;
 import com.codelab.micproject.account.user.repository.UserRepository;
 import com.codelab.micproject.security.oauth2.UserPrincipal;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class ProfileService {
     private final ProfileRepository profileRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher events;
 
 
     @Transactional(readOnly = true)
@@ -35,6 +38,7 @@ public class ProfileService {
         p.setHourlyRate(dto.hourlyRate());
         p.setPublicCalendar(dto.publicCalendar());
         profileRepository.save(p);
+        events.publishEvent(new ConsultantCardChanged(user.getId()));
         return new ProfileDto(p.getId(), p.getBio(), p.getSkills(), p.getCareer(), p.getHourlyRate(), p.isPublicCalendar());
     }
 }
\ No newline at end of file
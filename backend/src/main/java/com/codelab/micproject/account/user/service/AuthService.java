@@ -6,7 +6,9 @@ import com.codelab.micproject.account.user.domain.UserRole;
 import com.codelab.micproject.account.user.dto.LoginRequest;
 import com.codelab.micproject.account.user.dto.SignupRequest;
 import com.codelab.micproject.account.user.repository.UserRepository;
+import com.codelab.micproject.auth.service.LoginAttemptGuard;
 import com.codelab.micproject.security.jwt.JwtTokenProvider;
+import com.codelab.micproject.security.password.PasswordHashExecutor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -23,6 +25,8 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder encoder;
     private final JwtTokenProvider tokenProvider;
+    private final PasswordHashExecutor hashExecutor;
+    private final LoginAttemptGuard loginAttemptGuard;
 
     // ✅ 추가: 이메일 인증 서비스
     private final EmailVerificationService emailVerificationService;
@@ -48,16 +52,26 @@ public class AuthService {
         // 기존: emailVerificationService.issueAndSend(user);  // ★ 제거
     }
 
-    @Transactional(readOnly = true)
     public String login(LoginRequest req) {
-        var user = userRepository.findByEmail(req.email())
-                .orElseThrow(() -> new BadCredentialsException("잘못된 자격증명"));
-        if (!encoder.matches(req.password(), user.getPassword())) {
+        return login(req, null);
+    }
+
+    /**
+     * 로그인: 실패 횟수 확인 → 사용자 조회 → BCrypt 검증(전용 풀) → AT 발급
+     * 해시 대기 중 DB 커넥션을 잡지 않도록 트랜잭션 없이 처리
+     */
+    public String login(LoginRequest req, String clientIp) {
+        loginAttemptGuard.check(req.email(), clientIp);
+
+        var user = userRepository.findByEmail(req.email()).orElse(null);
+        if (user == null || !hashExecutor.matches(req.password(), user.getPassword())) {
+            loginAttemptGuard.onFailure(req.email(), clientIp);
             throw new BadCredentialsException("잘못된 자격증명");
         }
         if (!user.isEnabled()) {
             throw new BadCredentialsException("이메일 인증을 완료해 주세요.");
         }
+        loginAttemptGuard.onSuccess(req.email());
         return tokenProvider.createAccessToken(user);
     }
 
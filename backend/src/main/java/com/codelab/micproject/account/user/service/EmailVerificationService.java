@@ -5,6 +5,7 @@ import com.codelab.micproject.account.user.domain.User;
 import com.codelab.micproject.account.user.repository.EmailVerificationTokenRepository;
 import com.codelab.micproject.account.user.repository.UserRepository;
 import com.codelab.micproject.common.mail.EmailService;
+import com.codelab.micproject.security.jwt.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -24,6 +25,7 @@ public class EmailVerificationService {
     private final EmailVerificationTokenRepository tokenRepository;
     private final UserRepository userRepository;
     private final EmailService emailService;
+    private final PrincipalCache principalCache;
 
     /**
      * 기본 Provider (도메인 매칭이 안 되거나 확장하고 싶을 때 사용)
@@ -93,6 +95,7 @@ public class EmailVerificationService {
         User user = evt.getUser();
         user.setEnabled(true);
         userRepository.save(user);
+        principalCache.evict(user.getId());
 
         evt.setUsed(true);
         tokenRepository.save(evt);        // or tokenRepository.delete(evt);  // 일회용이라면 삭제
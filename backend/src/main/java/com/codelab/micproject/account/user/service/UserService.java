@@ -1,5 +1,6 @@
 package com.codelab.micproject.account.user.service;
 
+import com.codelab.micproject.account.consultant.support.ConsultantCardChanged;
 import com.codelab.micproject.account.consultant.service.ProfileImageStorage;
 import com.codelab.micproject.account.user.domain.TicketUsageLog;
 import com.codelab.micproject.account.user.domain.User;
@@ -9,6 +10,7 @@ import com.codelab.micproject.account.user.dto.UserUpdateRequest;
 import com.codelab.micproject.account.user.repository.TicketUsageLogRepository;
 import com.codelab.micproject.account.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +26,7 @@ public class UserService {
     private final TicketUsageLogRepository ticketUsageLogRepository;
     private final PasswordEncoder passwordEncoder;
     private final ProfileImageStorage profileImageStorage;
+    private final ApplicationEventPublisher events;
 
     /* 조회 */
     @Transactional(readOnly = true)
@@ -47,6 +50,7 @@ public class UserService {
         if (req.getProfileImage() != null) {
             u.setProfileImage(req.getProfileImage()); // URL 직접 세팅하고 싶을 때만
         }
+        if (req.getName() != null) events.publishEvent(new ConsultantCardChanged(u.getId())); // 상담사면 카드 이름 갱신
         return UserResponse.from(u);
     }
 
@@ -63,6 +67,7 @@ public class UserService {
 
         u.setName(name);
         u.setPhone(phone);
+        events.publishEvent(new ConsultantCardChanged(u.getId()));
 
         if (password != null && !password.isBlank()) {
             u.setPassword(passwordEncoder.encode(password));
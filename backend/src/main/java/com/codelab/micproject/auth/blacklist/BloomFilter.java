@@ -0,0 +1,51 @@
+package com.codelab.micproject.auth.blacklist;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 블랙리스트 음성(negative) 판정용 Bloom filter
+ * - mightContain == false 이면 "확실히 블랙리스트 아님" → 네트워크 조회 생략
+ * - true 는 "있을 수도 있음"(오탐률 fpp) → 근거리 캐시/Redis 로 확인
+ * - 삭제가 불가하므로 TieredTokenBlacklist 가 주기적으로 새로 만들어 교체
+ * - 키는 JtiKey(128bit)를 그대로 사용 (문자열 재해싱 없음)
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long numBits;
+    private final int numHashes;
+
+    BloomFilter(int expectedInsertions, double fpp) {
+        int n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.max(1, (m + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.numBits = (long) wordCount * 64;
+        this.numHashes = (int) Math.max(1, Math.round((double) numBits / n * Math.log(2)));
+    }
+
+    void put(JtiKey key) {
+        long h1 = JtiKey.mix(key.hi());
+        long h2 = JtiKey.mix(key.lo()) | 1; // 홀수 → 모든 위치 순회
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            int idx = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long prev;
+            do {
+                prev = words.get(idx);
+                if ((prev & mask) != 0) break;
+            } while (!words.compareAndSet(idx, prev, prev | mask));
+        }
+    }
+
+    boolean mightContain(JtiKey key) {
+        long h1 = JtiKey.mix(key.hi());
+        long h2 = JtiKey.mix(key.lo()) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+}
@@ -1,18 +1,157 @@
 package com.codelab.micproject.auth.blacklist;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayDeque;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
+/**
+ * 메모리 블랙리스트 (단일 노드 Redis-less 모드 / TieredTokenBlacklist 의 근거리 캐시)
+ *
+ * - 조회: JtiKey → 만료 epoch초, ConcurrentHashMap 으로 락 없이 조회
+ * - 만료: 3단 계층형 타이밍 휠 (64칸 × 1초 / 64초 / 4096초 ≈ 72시간)
+ *   매 초 현재 칸만 처리하고, 상위 단계는 자리올림 시점에만 하위로 내려보냄 → 전체 스캔 없음
+ *   72시간을 넘는 TTL 은 최상위 마지막 칸에 두었다가 내려올 때 다시 배치
+ * - 상한: max-entries 초과 시 가장 먼저 만료될 항목부터 밀어냄 (evictedCount 로 확인)
+ *
+ * 같은 jti 가 다시 등록되면 휠에 중복으로 남을 수 있으나,
+ * 만료 처리 시 맵의 실제 만료시각과 비교하므로 결과에는 영향 없음.
+ */
+@Slf4j
 @Component
 public class InMemoryBlacklist implements TokenBlacklist {
-    private final ConcurrentHashMap<String, Long> map = new ConcurrentHashMap<>();
-    @Override public void blacklist(String jti, long ttl) {
-        map.put(jti, System.currentTimeMillis() + ttl*1000);
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;      // 64
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 3;
+    private static final long WHEEL_SPAN = 1L << (WHEEL_BITS * LEVELS); // 262144초
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<JtiKey, Long> expiresAt = new ConcurrentHashMap<>();
+
+    /** wheel[level][slot], 모든 변경은 wheelLock 안에서 */
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<JtiKey>[][] wheel = new ArrayDeque[LEVELS][WHEEL_SIZE];
+    private final Object wheelLock = new Object();
+    private long currentTick; // 마지막으로 처리한 epoch초
+
+    private final AtomicLong evicted = new AtomicLong();
+
+    public InMemoryBlacklist(@Value("${app.blacklist.local.max-entries:200000}") int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        for (int l = 0; l < LEVELS; l++) {
+            for (int s = 0; s < WHEEL_SIZE; s++) wheel[l][s] = new ArrayDeque<>();
+        }
+        this.currentTick = nowSec();
     }
-    @Override public boolean isBlacklisted(String jti) {
-        Long until = map.get(jti);
-        return until != null && System.currentTimeMillis() < until;
+
+    @Override
+    public void blacklist(String jti, long ttlSeconds) {
+        if (jti == null) return;
+        blacklist(JtiKey.of(jti), ttlSeconds);
+    }
+
+    @Override
+    public boolean isBlacklisted(String jti) {
+        return jti != null && isBlacklisted(JtiKey.of(jti));
+    }
+
+    void blacklist(JtiKey key, long ttlSeconds) {
+        if (ttlSeconds <= 0) return;
+        long until = nowSec() + ttlSeconds;
+        synchronized (wheelLock) {
+            Long prev = expiresAt.get(key);
+            if (prev != null && prev >= until) return;
+            if (prev == null && expiresAt.size() >= maxEntries) evictSoonest();
+            expiresAt.put(key, until);
+            schedule(key, until);
+        }
+    }
+
+    boolean isBlacklisted(JtiKey key) {
+        Long until = expiresAt.get(key);
+        return until != null && nowSec() < until;
+    }
+
+    /** 아직 유효한 항목 순회 (Bloom filter 재구성용) */
+    void forEachActive(Consumer<JtiKey> consumer) {
+        long now = nowSec();
+        expiresAt.forEach((key, until) -> { if (now < until) consumer.accept(key); });
+    }
+
+    public int size()           { return expiresAt.size(); }
+    public long evictedCount()  { return evicted.get(); }
+
+    /** 휠을 현재 시각까지 진행 (밀린 초가 있으면 한 칸씩 따라잡음) */
+    @Scheduled(fixedDelay = 1000)
+    public void expire() {
+        long now = nowSec();
+        synchronized (wheelLock) {
+            while (currentTick < now) {
+                currentTick++;
+                advance(currentTick);
+            }
+        }
+    }
+
+    private void advance(long tick) {
+        // 상위 단계부터 자리올림 → 이번 초에 만료될 항목이 0단계로 내려온 뒤 처리
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            int shift = WHEEL_BITS * level;
+            if ((tick & ((1L << shift) - 1)) != 0) continue;
+            ArrayDeque<JtiKey> bucket = wheel[level][(int) ((tick >>> shift) & WHEEL_MASK)];
+            for (int n = bucket.size(); n > 0; n--) reschedule(bucket.poll(), tick);
+        }
+        ArrayDeque<JtiKey> due = wheel[0][(int) (tick & WHEEL_MASK)];
+        for (int n = due.size(); n > 0; n--) reschedule(due.poll(), tick);
+    }
+
+    /** 만료됐으면 제거, 아니면(재등록으로 연장 / 72시간 초과 TTL) 다시 배치 */
+    private void reschedule(JtiKey key, long tick) {
+        Long until = expiresAt.get(key);
+        if (until == null) return;
+        if (until <= tick) {
+            expiresAt.remove(key, until);
+        } else {
+            schedule(key, until);
+        }
+    }
+
+    private void schedule(JtiKey key, long until) {
+        long at = Math.min(until, currentTick + WHEEL_SPAN - 1);
+        long delta = at - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (WHEEL_BITS * (level + 1)))) level++;
+        wheel[level][(int) ((at >>> (WHEEL_BITS * level)) & WHEEL_MASK)].add(key);
     }
-}
 
+    /** 상한 도달: 가까운 칸부터 훑어 가장 먼저 만료될 항목 하나 제거 */
+    private void evictSoonest() {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = WHEEL_BITS * level;
+            long base = currentTick >>> shift;
+            for (int i = 1; i <= WHEEL_SIZE; i++) {
+                ArrayDeque<JtiKey> bucket = wheel[level][(int) ((base + i) & WHEEL_MASK)];
+                JtiKey key;
+                while ((key = bucket.poll()) != null) {
+                    if (expiresAt.remove(key) != null) {
+                        if (evicted.incrementAndGet() % 1000 == 1) {
+                            log.warn("[Blacklist] in-memory cap {} reached, evicting soonest-expiring entries", maxEntries);
+                        }
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private static long nowSec() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
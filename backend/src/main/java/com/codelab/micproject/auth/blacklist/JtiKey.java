@@ -0,0 +1,43 @@
+package com.codelab.micproject.auth.blacklist;
+
+import java.util.UUID;
+
+/**
+ * jti 의 128bit 압축 키 (문자열 36자 대신 long 2개)
+ * - JwtTokenProvider 가 발급하는 jti 는 UUID 이므로 그대로 hi/lo 로 분해
+ * - UUID 형식이 아니면 서로 다른 시드의 64bit 해시 두 개로 대체 (충돌 확률 무시 가능)
+ */
+record JtiKey(long hi, long lo) {
+
+    static JtiKey of(String jti) {
+        if (jti.length() == 36 && jti.charAt(8) == '-') {
+            try {
+                UUID u = UUID.fromString(jti);
+                return new JtiKey(u.getMostSignificantBits(), u.getLeastSignificantBits());
+            } catch (IllegalArgumentException ignore) {
+                // 아래 해시 키로 처리
+            }
+        }
+        return new JtiKey(hash(jti, 0x9E3779B97F4A7C15L), hash(jti, 0xC2B2AE3D27D4EB4FL));
+    }
+
+    /** murmur3 fmix64 */
+    static long mix(long h) {
+        h ^= (h >>> 33);
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= (h >>> 33);
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= (h >>> 33);
+        return h;
+    }
+
+    /** FNV-1a 변형 + fmix64 */
+    private static long hash(String s, long seed) {
+        long h = seed;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+}
@@ -1,24 +1,31 @@
 package com.codelab.micproject.auth.blacklist;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Redis 기반 블랙리스트
  *  - 키: bl:access:{jti}
  *  - 값: "1" (의미 없음)
  *  - TTL: 전달받은 초(ttlSeconds)만큼
+ *  - 채널 bl:access:events 로 신규 등록을 전 노드에 전파 ("{jti}|{만료 epoch초}|{revoke 번호}")
+ *  - bl:access:epoch: 등록마다 1씩 증가하는 revoke 번호 (노드가 놓친 메시지가 있는지 판단용)
+ * 직접 쓰지 말고 TieredTokenBlacklist(@Primary)를 통해 사용.
  */
 @Component
-@Primary // 동일 타입 빈 충돌 시 Redis 구현을 기본으로 사용
 @RequiredArgsConstructor
 public class RedisTokenBlacklist implements TokenBlacklist {
 
-    private static final String KEY_PREFIX = "bl:access:";
+    static final String KEY_PREFIX = "bl:access:";
+    static final String CHANNEL = "bl:access:events";
+    static final String EPOCH_KEY = "bl:access:epoch";
+
     private final StringRedisTemplate redis;
 
     @Override
@@ -33,4 +40,29 @@ public class RedisTokenBlacklist implements TokenBlacklist {
         Boolean exists = redis.hasKey(KEY_PREFIX + jti);
         return Boolean.TRUE.equals(exists);
     }
+
+    /** 등록 직후 호출: revoke 번호 증가 (키 SET 이후여야 SCAN 재구성과 어긋나지 않음) */
+    public long nextEpoch() {
+        Long v = redis.opsForValue().increment(EPOCH_KEY);
+        return v == null ? 0 : v;
+    }
+
+    /** 지금까지의 마지막 revoke 번호 (없으면 0) */
+    public long currentEpoch() {
+        String v = redis.opsForValue().get(EPOCH_KEY);
+        return v == null ? 0 : Long.parseLong(v);
+    }
+
+    /** 다른 노드의 근거리 캐시에 신규 블랙리스트 전파 */
+    public void publish(String jti, long expiresAtEpochSec, long epoch) {
+        redis.convertAndSend(CHANNEL, jti + "|" + expiresAtEpochSec + "|" + epoch);
+    }
+
+    /** 현재 살아있는 블랙리스트 jti 전체 순회 (KEYS 대신 SCAN) */
+    public void scanAll(Consumer<String> jtiConsumer) {
+        ScanOptions opts = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+        try (Cursor<String> cursor = redis.scan(opts)) {
+            cursor.forEachRemaining(key -> jtiConsumer.accept(key.substring(KEY_PREFIX.length())));
+        }
+    }
 }
@@ -0,0 +1,234 @@
+package com.codelab.micproject.auth.blacklist;
+
+import com.codelab.micproject.common.resilience.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 요청 경로용 계층형 블랙리스트 (@Primary)
+ *  1) Bloom filter: "확실히 없음" 이고 이 노드가 최신 revoke 까지 모두 반영했으면 바로 false
+ *     (대부분의 요청이 여기서 끝남)
+ *  2) 근거리 캐시(InMemoryBlacklist): 이 노드/다른 노드(pub/sub)에서 등록된 항목
+ *  3) Redis: Bloom 양성인데 로컬에 없거나, 반영 못 한 revoke 가 있을 때 조회, 서킷 브레이커로 감쌈
+ *
+ * revoke 번호(bl:access:epoch)
+ *  - 등록마다 Redis INCR, pub/sub 메시지에 번호를 실어 보냄
+ *  - 노드는 재구성 시점 번호 + 이후 빠짐없이 받은 메시지 번호까지를 "반영 완료"로 기록
+ *  - Redis 의 최신 번호는 epoch-poll-ms 마다 GET 1회로 갱신
+ *  - 반영 완료 < 최신 번호(메시지 유실/지연)면 Bloom 음성을 믿지 않고 Redis 조회 → 다음 재구성에서 복구
+ *
+ * 주의
+ *  - Redis 장애 시 기존 동작과 같이 fail-open (블랙리스트 아님으로 판단)
+ *  - 남는 지연: pub/sub 을 놓친 노드는 다음 번호 폴링(epoch-poll-ms, 기본 1초)까지 취소된 토큰을 통과시킬 수 있음
+ *  - 첫 재구성이 끝나기 전에는 Bloom 을 쓰지 않고 Redis 로 직접 조회
+ *  - app.blacklist.redis.enabled=false 면 Redis 없이 InMemoryBlacklist 만 사용 (단일 노드 전용)
+ */
+@Slf4j
+@Primary
+@Component
+public class TieredTokenBlacklist implements TokenBlacklist, MessageListener {
+
+    private final RedisTokenBlacklist redis;
+    private final InMemoryBlacklist local;
+    private final CircuitBreaker breaker;
+    private final boolean redisEnabled;
+    private final int expectedInsertions;
+    private final double fpp;
+
+    private volatile BloomFilter bloom;      // null 이면 아직 준비 안 됨
+    private volatile BloomFilter rebuilding; // 재구성 중 새로 들어온 항목도 함께 반영
+
+    private volatile long remoteEpoch;   // Redis 의 마지막 revoke 번호 (폴링)
+    private volatile long appliedEpoch;  // 이 노드가 빠짐없이 반영한 번호
+    private final NavigableSet<Long> pendingEpochs = new ConcurrentSkipListSet<>(); // 순서가 뒤바뀌어 먼저 온 번호
+
+    private final AtomicLong bloomNegatives = new AtomicLong();
+    private final AtomicLong localHits = new AtomicLong();
+    private final AtomicLong redisLookups = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+    private final AtomicLong staleLookups = new AtomicLong();
+
+    public TieredTokenBlacklist(
+            RedisTokenBlacklist redis,
+            InMemoryBlacklist local,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${app.blacklist.redis.enabled:true}") boolean redisEnabled,
+            @Value("${app.blacklist.breaker.failure-threshold:3}") int failureThreshold,
+            @Value("${app.blacklist.breaker.open-ms:30000}") long openMs,
+            @Value("${app.blacklist.bloom.expected-insertions:100000}") int expectedInsertions,
+            @Value("${app.blacklist.bloom.fpp:0.01}") double fpp
+    ) {
+        this.redis = redis;
+        this.local = local;
+        this.breaker = new CircuitBreaker("blacklist-redis", failureThreshold, openMs);
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        this.redisEnabled = redisEnabled;
+        if (redisEnabled) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(RedisTokenBlacklist.CHANNEL));
+        }
+    }
+
+    @Override
+    public void blacklist(String jti, long ttlSeconds) {
+        if (jti == null || ttlSeconds <= 0) return;
+        if (!redisEnabled) {
+            local.blacklist(jti, ttlSeconds);
+            return;
+        }
+        long expiresAt = System.currentTimeMillis() / 1000 + ttlSeconds;
+
+        boolean stored = breaker.run(() -> redis.blacklist(jti, ttlSeconds));
+        if (!stored) log.warn("[Blacklist] Redis unavailable, kept locally only: {}", jti);
+        addLocal(JtiKey.of(jti), ttlSeconds);
+        if (stored) breaker.run(() -> {
+            long epoch = redis.nextEpoch();
+            markApplied(epoch);
+            redis.publish(jti, expiresAt, epoch);
+        });
+    }
+
+    @Override
+    public boolean isBlacklisted(String jti) {
+        if (jti == null) return false;
+        if (!redisEnabled) return local.isBlacklisted(jti);
+        JtiKey key = JtiKey.of(jti);
+
+        BloomFilter current = bloom;
+        if (current != null && !current.mightContain(key)) {
+            if (appliedEpoch >= remoteEpoch) {
+                bloomNegatives.incrementAndGet();
+                return false;
+            }
+            staleLookups.incrementAndGet(); // 놓친 revoke 가 있음 → Redis 로 확인
+        }
+        if (local.isBlacklisted(key)) {
+            localHits.incrementAndGet();
+            return true;
+        }
+        redisLookups.incrementAndGet();
+        return breaker.call(() -> redis.isBlacklisted(jti), () -> {
+            fallbacks.incrementAndGet();
+            return false;
+        });
+    }
+
+    /** 다른 노드에서 등록된 블랙리스트 수신: "{jti}|{만료 epoch초}|{revoke 번호}" */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|");
+        if (parts.length < 2 || parts[0].isEmpty()) return;
+        try {
+            long ttl = Long.parseLong(parts[1]) - System.currentTimeMillis() / 1000;
+            if (ttl > 0) addLocal(JtiKey.of(parts[0]), ttl);
+            if (parts.length > 2) markApplied(Long.parseLong(parts[2]));
+        } catch (NumberFormatException e) {
+            log.warn("[Blacklist] invalid pub/sub message: {}", body);
+        }
+    }
+
+    /** Redis 의 마지막 revoke 번호 갱신 (실패 시 이전 값 유지) */
+    @Scheduled(fixedDelayString = "${app.blacklist.epoch-poll-ms:1000}")
+    public void pollEpoch() {
+        if (!redisEnabled) return;
+        Long epoch = breaker.call(redis::currentEpoch, () -> null);
+        if (epoch != null) remoteEpoch = epoch;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuildBloom();
+    }
+
+    /**
+     * Bloom filter 재구성 (삭제 불가 구조라 만료 항목을 털어내려면 새로 만들어야 함)
+     * Redis SCAN 실패 시 기존 필터 유지
+     */
+    @Scheduled(fixedDelayString = "${app.blacklist.bloom.rebuild-ms:60000}",
+               initialDelayString = "${app.blacklist.bloom.rebuild-ms:60000}")
+    public void rebuildBloom() {
+        if (!redisEnabled) return;
+        BloomFilter next = new BloomFilter(expectedInsertions, fpp);
+        rebuilding = next;
+        try {
+            // SCAN 전에 읽은 번호까지의 등록은 모두 SCAN 에 포함됨 (등록은 키 SET → INCR 순)
+            Long base = breaker.call(redis::currentEpoch, () -> null);
+            if (base == null) {
+                log.warn("[Blacklist] bloom rebuild skipped (Redis unavailable)");
+                return;
+            }
+            boolean scanned = breaker.run(() -> redis.scanAll(jti -> next.put(JtiKey.of(jti))));
+            if (!scanned) {
+                log.warn("[Blacklist] bloom rebuild skipped (Redis unavailable)");
+                return;
+            }
+            local.forEachActive(next::put);
+            bloom = next;
+            rebased(base);
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("bloomReady", bloom != null);
+        m.put("bloomNegatives", bloomNegatives.get());
+        m.put("localHits", localHits.get());
+        m.put("redisLookups", redisLookups.get());
+        m.put("fallbacks", fallbacks.get());
+        m.put("staleLookups", staleLookups.get());
+        m.put("appliedEpoch", appliedEpoch);
+        m.put("remoteEpoch", remoteEpoch);
+        m.put("breakerState", breaker.state().name());
+        m.put("localSize", local.size());
+        m.put("localEvicted", local.evictedCount());
+        return m;
+    }
+
+    /** 받은 revoke 번호 기록 → 빈틈없이 이어진 데까지 appliedEpoch 전진 */
+    private synchronized void markApplied(long epoch) {
+        if (epoch <= appliedEpoch) return;
+        pendingEpochs.add(epoch);
+        advance();
+    }
+
+    /** 재구성 완료: base 까지는 SCAN 으로 반영됨 */
+    private synchronized void rebased(long base) {
+        if (base > appliedEpoch) appliedEpoch = base;
+        if (base > remoteEpoch) remoteEpoch = base;
+        pendingEpochs.headSet(appliedEpoch, true).clear();
+        advance();
+    }
+
+    private void advance() {
+        long applied = appliedEpoch;
+        while (pendingEpochs.remove(applied + 1)) applied++;
+        appliedEpoch = applied;
+    }
+
+    private void addLocal(JtiKey key, long ttlSeconds) {
+        local.blacklist(key, ttlSeconds);
+        BloomFilter current = bloom;
+        if (current != null) current.put(key);
+        BloomFilter next = rebuilding;
+        if (next != null) next.put(key);
+    }
+}
@@ -0,0 +1,65 @@
+package com.codelab.micproject.auth.service;
+
+import com.codelab.micproject.auth.domain.RefreshToken;
+import com.codelab.micproject.auth.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * JPA(refresh_token 테이블) 저장소 — Redis 를 쓸 수 없는 환경용 대체 구현
+ * - 기존 방식(사용자별 delete → insert) 그대로
+ * - 패밀리 컬럼이 없어 재사용 탐지/동시 요청 유예는 하지 않음 (사용된 RT 는 NOT_FOUND)
+ * - 만료 행은 주기적으로 일괄 삭제
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.auth.refresh-store", havingValue = "jpa")
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository repo;
+
+    @Override
+    @Transactional
+    public void issue(Long userId, String token, Duration ttl) {
+        repo.deleteByUserId(userId);
+        repo.save(RefreshToken.builder()
+                .userId(userId)
+                .token(token)
+                .expiresAt(LocalDateTime.now().plus(ttl))
+                .build());
+    }
+
+    @Override
+    @Transactional
+    public Rotation rotate(String presented, String newToken, Duration ttl) {
+        RefreshToken entity = repo.findByToken(presented).orElse(null);
+        if (entity == null) return Rotation.notFound();
+        if (entity.getExpiresAt() == null || entity.getExpiresAt().isBefore(LocalDateTime.now())) {
+            return Rotation.notFound();
+        }
+        issue(entity.getUserId(), newToken, ttl);
+        return Rotation.rotated(entity.getUserId(), newToken);
+    }
+
+    @Override
+    @Transactional
+    public void revokeAll(Long userId) {
+        repo.deleteByUserId(userId);
+    }
+
+    /** 만료 RT 정리 (기본: 매일 04:00) */
+    @Scheduled(cron = "${app.auth.refresh-purge-cron:0 0 4 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int n = repo.deleteExpired(LocalDateTime.now());
+        if (n > 0) log.info("[RefreshToken] purged {} expired tokens", n);
+    }
+}
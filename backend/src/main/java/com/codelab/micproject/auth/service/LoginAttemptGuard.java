@@ -0,0 +1,107 @@
+package com.codelab.micproject.auth.service;
+
+import com.codelab.micproject.common.exception.TooManyRequestsException;
+import com.codelab.micproject.common.resilience.CircuitBreaker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 로그인 실패 카운터 (이메일별 / IP별, 고정 윈도우)
+ * - check(): 임계치 초과면 해시 계산 전에 429 로 차단
+ * - Redis(INCR + EXPIRE) 공유 카운터, Redis 장애 시 노드 로컬 카운터로 대체
+ */
+@Component
+public class LoginAttemptGuard {
+
+    private static final String KEY_EMAIL = "login:fail:email:";
+    private static final String KEY_IP = "login:fail:ip:";
+
+    private final StringRedisTemplate redis;
+    private final CircuitBreaker breaker;
+    private final int maxPerEmail;
+    private final int maxPerIp;
+    private final Duration window;
+
+    private final ConcurrentHashMap<String, LocalCounter> local = new ConcurrentHashMap<>();
+
+    public LoginAttemptGuard(
+            StringRedisTemplate redis,
+            @Value("${app.auth.lockout.max-per-email:5}") int maxPerEmail,
+            @Value("${app.auth.lockout.max-per-ip:50}") int maxPerIp,
+            @Value("${app.auth.lockout.window-sec:900}") long windowSec
+    ) {
+        this.redis = redis;
+        this.breaker = new CircuitBreaker("login-attempt-redis", 3, 30_000);
+        this.maxPerEmail = maxPerEmail;
+        this.maxPerIp = maxPerIp;
+        this.window = Duration.ofSeconds(windowSec);
+    }
+
+    /** 잠긴 이메일/IP 면 TooManyRequestsException */
+    public void check(String email, String ip) {
+        String emailKey = KEY_EMAIL + normalize(email);
+        String ipKey = ip != null ? KEY_IP + ip : null;
+        List<String> keys = ipKey != null ? List.of(emailKey, ipKey) : List.of(emailKey);
+
+        List<String> counts = breaker.call(() -> redis.opsForValue().multiGet(keys), () -> null);
+        long emailFails = counts != null ? parse(counts.get(0)) : localCount(emailKey);
+        long ipFails = ipKey == null ? 0 : (counts != null ? parse(counts.get(1)) : localCount(ipKey));
+
+        if (emailFails >= maxPerEmail || ipFails >= maxPerIp) {
+            throw new TooManyRequestsException("로그인 시도가 너무 많습니다. 잠시 후 다시 시도해 주세요.", window.toSeconds());
+        }
+    }
+
+    public void onFailure(String email, String ip) {
+        increment(KEY_EMAIL + normalize(email));
+        if (ip != null) increment(KEY_IP + ip);
+    }
+
+    /** 성공 시 이메일 카운터만 초기화 (IP 카운터는 윈도우 만료까지 유지) */
+    public void onSuccess(String email) {
+        String key = KEY_EMAIL + normalize(email);
+        local.remove(key);
+        breaker.run(() -> redis.delete(key));
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeLocal() {
+        long now = System.currentTimeMillis();
+        local.values().removeIf(c -> c.resetAt <= now);
+    }
+
+    private void increment(String key) {
+        boolean ok = breaker.run(() -> {
+            Long n = redis.opsForValue().increment(key);
+            if (n != null && n == 1) redis.expire(key, window);
+        });
+        if (!ok) {
+            long now = System.currentTimeMillis();
+            local.compute(key, (k, c) -> (c == null || c.resetAt <= now)
+                    ? new LocalCounter(1, now + window.toMillis())
+                    : new LocalCounter(c.count + 1, c.resetAt));
+        }
+    }
+
+    private long localCount(String key) {
+        LocalCounter c = local.get(key);
+        return (c == null || c.resetAt <= System.currentTimeMillis()) ? 0 : c.count;
+    }
+
+    private static long parse(String v) {
+        return v == null ? 0 : Long.parseLong(v);
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record LocalCounter(long count, long resetAt) {}
+}
@@ -0,0 +1,126 @@
+package com.codelab.micproject.auth.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Redis 리프레시 토큰 저장소 (MySQL 행 잠금 없이 Lua 스크립트 1회로 회전)
+ *  - rt:tok:{token}  → hash {uid, fam, used, next, usedAt}  TTL = RT 만료
+ *  - rt:fam:{family} → 현재 유효한 token       TTL = RT 만료
+ *  - rt:user:{uid}   → 현재 family             TTL = RT 만료
+ * 사용된 토큰은 used=1 로 만료까지 남겨 재사용 탐지에 사용.
+ * 회전 후 grace-ms 안에 같은 토큰이 다시 오면(여러 탭 동시 refresh, 재시도) 패밀리를 폐기하지 않고
+ * 그때 만든 후속 토큰(next)을 그대로 돌려줌. 후속 토큰이 이미 다시 회전됐으면 거절만 함(폐기 없음).
+ * 키를 스크립트 안에서 조합하므로 단일 샤드(비클러스터) Redis 전제.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.auth.refresh-store", havingValue = "redis", matchIfMissing = true)
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    private static final String TOK = "rt:tok:";
+    private static final String FAM = "rt:fam:";
+    private static final String USER = "rt:user:";
+
+    /** 기존 패밀리 폐기 (issue/revoke 공통 앞부분) */
+    private static final String REVOKE_USER_LUA = """
+            local oldFam = redis.call('GET', KEYS[1])
+            if oldFam then
+              local famKey = ARGV[2] .. oldFam
+              local cur = redis.call('GET', famKey)
+              if cur then redis.call('DEL', ARGV[1] .. cur) end
+              redis.call('DEL', famKey)
+            end
+            """;
+
+    // KEYS[1]=rt:user:{uid}  ARGV: tokPrefix, famPrefix, uid, token, family, ttlMs
+    private static final DefaultRedisScript<Long> ISSUE = new DefaultRedisScript<>(REVOKE_USER_LUA + """
+            local tokKey = ARGV[1] .. ARGV[4]
+            redis.call('HSET', tokKey, 'uid', ARGV[3], 'fam', ARGV[5], 'used', '0')
+            redis.call('PEXPIRE', tokKey, ARGV[6])
+            redis.call('SET', ARGV[2] .. ARGV[5], ARGV[4], 'PX', ARGV[6])
+            redis.call('SET', KEYS[1], ARGV[5], 'PX', ARGV[6])
+            return 1
+            """, Long.class);
+
+    // KEYS[1]=rt:user:{uid}  ARGV: tokPrefix, famPrefix
+    private static final DefaultRedisScript<Long> REVOKE = new DefaultRedisScript<>(REVOKE_USER_LUA + """
+            redis.call('DEL', KEYS[1])
+            return 1
+            """, Long.class);
+
+    // KEYS[1]=rt:tok:{presented}  ARGV: tokPrefix, famPrefix, userPrefix, newToken, ttlMs, nowMs, graceMs
+    // 반환: {0} 없음/폐기됨, {1, uid} 회전 성공, {2, uid} 재사용 탐지(패밀리 폐기), {3, uid, next} 유예 내 재요청
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> ROTATE = new DefaultRedisScript<>("""
+            local t = redis.call('HMGET', KEYS[1], 'uid', 'fam', 'used', 'next', 'usedAt')
+            if not t[1] then return {0} end
+            local famKey = ARGV[2] .. t[2]
+            if t[3] == '1' then
+              local cur = redis.call('GET', famKey)
+              if t[4] and t[5] and tonumber(ARGV[6]) - tonumber(t[5]) <= tonumber(ARGV[7]) then
+                if cur == t[4] then return {3, t[1], t[4]} end
+                return {0}
+              end
+              if cur then redis.call('DEL', ARGV[1] .. cur) end
+              redis.call('DEL', famKey)
+              return {2, t[1]}
+            end
+            if redis.call('GET', famKey) ~= string.sub(KEYS[1], string.len(ARGV[1]) + 1) then return {0} end
+            redis.call('HSET', KEYS[1], 'used', '1', 'next', ARGV[4], 'usedAt', ARGV[6])
+            local newKey = ARGV[1] .. ARGV[4]
+            redis.call('HSET', newKey, 'uid', t[1], 'fam', t[2], 'used', '0')
+            redis.call('PEXPIRE', newKey, ARGV[5])
+            redis.call('SET', famKey, ARGV[4], 'PX', ARGV[5])
+            redis.call('PEXPIRE', ARGV[3] .. t[1], ARGV[5])
+            return {1, t[1]}
+            """, List.class);
+
+    private final StringRedisTemplate redis;
+
+    @Value("${app.auth.refresh-grace-ms:10000}") private long graceMs;
+
+    @Override
+    public void issue(Long userId, String token, Duration ttl) {
+        String family = UUID.randomUUID().toString();
+        redis.execute(ISSUE, List.of(USER + userId),
+                TOK, FAM, String.valueOf(userId), token, family, String.valueOf(ttl.toMillis()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Rotation rotate(String presented, String newToken, Duration ttl) {
+        List<Object> r = redis.execute(ROTATE, List.of(TOK + presented),
+                TOK, FAM, USER, newToken, String.valueOf(ttl.toMillis()),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(graceMs));
+        if (r == null || r.isEmpty()) return Rotation.notFound();
+
+        long code = ((Number) r.get(0)).longValue();
+        if (code == 0) return Rotation.notFound();
+        Long userId = Long.valueOf(String.valueOf(r.get(1)));
+        if (code == 2) {
+            log.warn("[RefreshToken] reuse detected, family revoked: userId={}", userId);
+            return Rotation.reused(userId);
+        }
+        if (code == 3) {
+            log.debug("[RefreshToken] concurrent refresh within grace, same successor: userId={}", userId);
+            return Rotation.rotated(userId, String.valueOf(r.get(2)));
+        }
+        return Rotation.rotated(userId, newToken);
+    }
+
+    @Override
+    public void revokeAll(Long userId) {
+        redis.execute(REVOKE, List.of(USER + userId), TOK, FAM);
+    }
+}
@@ -1,36 +1,33 @@
 package com.codelab.micproject.auth.service;
 
 
-import com.codelab.micproject.auth.domain.RefreshToken;
-import com.codelab.micproject.auth.repository.RefreshTokenRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 
 import java.time.Duration;
-import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 
+/**
+ * 리프레시 토큰 발급/회전/폐기 진입점 (저장소는 RefreshTokenStore 구현에 위임)
+ */
 @Service
 @RequiredArgsConstructor
 public class RefreshTokenService {
-    private final RefreshTokenRepository repo;
+    private final RefreshTokenStore store;
 
-    @Transactional
+    /** 로그인: 사용자의 기존 RT 를 폐기하고 새 RT 저장 */
     public void replace(Long userId, String token, LocalDateTime expiresAt) {
-        repo.deleteByUserId(userId);
-        repo.save(RefreshToken.builder()
-                .userId(userId)
-                .token(token)
-                .expiresAt(expiresAt)
-                .build());
+        store.issue(userId, token, Duration.between(LocalDateTime.now(), expiresAt));
+    }
+
+    /** 재발급: 제시된 RT 를 새 RT 로 원자적 교체 */
+    public RefreshTokenStore.Rotation rotate(String presented, String newToken, LocalDateTime expiresAt) {
+        return store.rotate(presented, newToken, Duration.between(LocalDateTime.now(), expiresAt));
     }
 
-    @Transactional
     public void deleteAllByUserId(Long userId) {
-        repo.deleteByUserId(userId);
+        store.revokeAll(userId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+package com.codelab.micproject.auth.service;
+
+import java.time.Duration;
+
+/**
+ * 리프레시 토큰 저장소
+ * - 사용자당 하나의 "패밀리"(로그인 1회 = 패밀리 1개)만 유지
+ * - rotate: 제시된 RT 를 사용 처리하고 같은 패밀리로 새 RT 발급 (원자적)
+ * - 이미 사용된 RT 가 다시 오면(탈취/재전송 의심) 패밀리 전체 폐기 → REUSED
+ *   단, 회전 직후 유예 시간 안의 재요청(여러 탭 동시 refresh, 재시도)은 같은 후속 RT 를 돌려줌 (Redis 구현)
+ *
+ * 구현: RedisRefreshTokenStore(기본), JpaRefreshTokenStore(app.auth.refresh-store=jpa)
+ */
+public interface RefreshTokenStore {
+
+    /** 로그인 시: 사용자의 기존 패밀리를 폐기하고 새 패밀리로 RT 저장 */
+    void issue(Long userId, String token, Duration ttl);
+
+    /** /api/auth/refresh: 제시된 RT → 새 RT 교체 (쿠키에는 Rotation.refreshToken 을 내려줄 것) */
+    Rotation rotate(String presented, String newToken, Duration ttl);
+
+    /** 로그아웃 등: 사용자 RT 전부 폐기 */
+    void revokeAll(Long userId);
+
+    enum Status { ROTATED, NOT_FOUND, REUSED }
+
+    /** refreshToken: ROTATED 일 때 클라이언트에 내려줄 RT (새로 만든 것 또는 유예 시간 내 재요청이면 기존 후속 RT) */
+    record Rotation(Status status, Long userId, String refreshToken) {
+        public static Rotation notFound()                          { return new Rotation(Status.NOT_FOUND, null, null); }
+        public static Rotation rotated(Long userId, String token)  { return new Rotation(Status.ROTATED, userId, token); }
+        public static Rotation reused(Long userId)                 { return new Rotation(Status.REUSED, userId, null); }
+        public boolean ok() { return status == Status.ROTATED; }
+    }
+}
@@ -0,0 +1,79 @@
+package com.codelab.micproject.auth.web;
+
+import com.codelab.micproject.common.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메모리 코드 저장소 (단일 노드/로컬 개발용)
+ * - 만료 항목은 주기적으로 정리, 조회 시에도 만료 확인
+ * - max-entries 초과 시 신규 발송 거절 (메모리 상한)
+ */
+@Component
+@ConditionalOnProperty(name = "app.phone-verify.store", havingValue = "memory")
+public class InMemoryPhoneCodeStore implements PhoneCodeStore {
+
+    private final ConcurrentHashMap<String, Slot> store = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public InMemoryPhoneCodeStore(@Value("${app.phone-verify.memory.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public void save(String phone, String code, long issuedAtSec, Duration ttl) {
+        if (store.size() >= maxEntries && !store.containsKey(phone)) {
+            sweep();
+            if (store.size() >= maxEntries) {
+                throw new TooManyRequestsException("인증 요청이 많습니다. 잠시 후 다시 시도해 주세요.", 30);
+            }
+        }
+        store.put(phone, new Slot(new Entry(code, issuedAtSec, 0), System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    @Override
+    public Entry find(String phone) {
+        Slot s = live(phone);
+        return s == null ? null : s.entry;
+    }
+
+    @Override
+    public int incrementAttempts(String phone) {
+        Slot s = store.computeIfPresent(phone, (k, v) ->
+                new Slot(new Entry(v.entry.code(), v.entry.issuedAt(), v.entry.attempts() + 1), v.expiresAt));
+        return s == null ? 0 : s.entry.attempts();
+    }
+
+    @Override
+    public void remove(String phone) {
+        store.remove(phone);
+    }
+
+    @Override
+    public boolean exists(String phone) {
+        return live(phone) != null;
+    }
+
+    @Scheduled(fixedDelay = 30_000)
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        store.values().removeIf(s -> s.expiresAt <= now);
+    }
+
+    private Slot live(String phone) {
+        Slot s = store.get(phone);
+        if (s == null) return null;
+        if (s.expiresAt <= System.currentTimeMillis()) {
+            store.remove(phone, s);
+            return null;
+        }
+        return s;
+    }
+
+    private record Slot(Entry entry, long expiresAt) {}
+}
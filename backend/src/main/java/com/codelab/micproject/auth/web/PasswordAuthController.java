@@ -6,9 +6,8 @@ import com.codelab.micproject.account.user.dto.SignupRequest;
 import com.codelab.micproject.account.user.repository.UserRepository;
 import com.codelab.micproject.account.user.service.AuthService;
 import com.codelab.micproject.auth.blacklist.TokenBlacklist;
-import com.codelab.micproject.auth.domain.RefreshToken;
-import com.codelab.micproject.auth.repository.RefreshTokenRepository;
 import com.codelab.micproject.auth.service.PreSignupEmailService;
+import com.codelab.micproject.auth.service.RefreshTokenService;
 import com.codelab.micproject.common.util.CookieUtils;
 import com.codelab.micproject.security.jwt.JwtTokenProvider;
 import com.codelab.micproject.security.oauth2.UserPrincipal;
@@ -48,7 +47,7 @@ public class PasswordAuthController {
     private final AuthService authService;
     private final UserRepository userRepository;
     private final JwtTokenProvider tokenProvider;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenService refreshTokenService;
     private final PreSignupEmailService preSignupEmailService;
     private final TokenBlacklist blacklist;
 
@@ -137,21 +136,20 @@ public class PasswordAuthController {
 
     /** 로그인 */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginByEmail form, HttpServletResponse res) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginByEmail form, HttpServletRequest req, HttpServletResponse res) {
 
         // 0) 레거시/기존 쿠키를 먼저 만료시킴 (이름 혼재 정리)
         CookieUtils.expire(res, "ACCESS_TOKEN",  cookieDomain, cookieSecure, sameSite);
         CookieUtils.expire(res, "REFRESH_TOKEN", cookieDomain, cookieSecure, sameSite);
 
         // 1) 인증
-        String accessToken = authService.login(new LoginRequest(form.email(), form.password()));
+        String accessToken = authService.login(new LoginRequest(form.email(), form.password()), req.getRemoteAddr());
         Long userId = tokenProvider.getUserId(accessToken);
 
         // 2) RT 새로 발급 & DB 교체 저장
         String refreshToken = UUID.randomUUID().toString().replace("-", "");
         LocalDateTime rtExpires = LocalDateTime.now().plusDays(tokenProvider.getRefreshExpDays());
-        refreshTokenRepository.deleteByUserId(userId);
-        refreshTokenRepository.save(new RefreshToken(refreshToken, userId, rtExpires));
+        refreshTokenService.replace(userId, refreshToken, rtExpires);
 
         // 3) 쿠키 세팅 (발급/삭제와 동일 속성)
         int accessMaxAge  = (int) (tokenProvider.getAccessExpMin() * 60);
@@ -185,11 +183,9 @@ public class PasswordAuthController {
         // 1) AT jti 블랙리스트 등록
         String raw = CookieUtils.getCookieValue(req, "ACCESS_TOKEN").orElse(null);
         if (raw != null) {
-            String jti = tokenProvider.getJti(raw);
-            if (jti != null) {
-                long ttl = Math.max(0, tokenProvider.getExpiryAt(raw).getEpochSecond()
-                        - java.time.Instant.now().getEpochSecond());
-                blacklist.blacklist(jti, ttl);
+            var claims = tokenProvider.parse(raw);
+            if (claims.jti() != null) {
+                blacklist.blacklist(claims.jti(), claims.secondsUntilExpiry());
             }
         }
 
@@ -200,7 +196,7 @@ public class PasswordAuthController {
             userId = p.getId();
         }
         if (userId != null) {
-            refreshTokenRepository.deleteByUserId(userId);
+            refreshTokenService.deleteAllByUserId(userId);
         }
 
         // 3) 쿠키 만료 + 컨텍스트 정리
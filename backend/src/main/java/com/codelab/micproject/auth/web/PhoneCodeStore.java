@@ -0,0 +1,25 @@
+package com.codelab.micproject.auth.web;
+
+import java.time.Duration;
+
+/**
+ * 전화번호 인증 코드 저장소
+ * 구현: RedisPhoneCodeStore(기본, 노드 간 공유) / InMemoryPhoneCodeStore(app.phone-verify.store=memory, 단일 노드)
+ */
+public interface PhoneCodeStore {
+
+    /** 코드 저장(기존 코드 덮어씀), ttl 경과 시 자동 삭제 */
+    void save(String phone, String code, long issuedAtSec, Duration ttl);
+
+    /** 저장된 코드 (없거나 만료면 null) */
+    Entry find(String phone);
+
+    /** 검증 실패 횟수 +1 후 누적값 반환 */
+    int incrementAttempts(String phone);
+
+    void remove(String phone);
+
+    boolean exists(String phone);
+
+    record Entry(String code, long issuedAt, int attempts) {}
+}
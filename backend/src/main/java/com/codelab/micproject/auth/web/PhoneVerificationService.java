@@ -1,20 +1,26 @@
 package com.codelab.micproject.auth.web;
 
-import lombok.Getter;
+import com.codelab.micproject.common.exception.TooManyRequestsException;
+import com.codelab.micproject.common.resilience.TokenBucketLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.Map;
-import java.util.Random;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 전화번호 인증 코드 뼈대 서비스.
- * - 실제 SMS 연동 대신 메모리에 6자리 코드를 저장/검증
- * - 코드 유효기간: 3분, 재요청 간격: 30초
- * - 서버 재시작 시 데이터 초기화 (운영에서는 Redis 등 외부 스토리지 추천)
+ * - 실제 SMS 연동 대신 PhoneCodeStore(기본 Redis)에 6자리 코드를 저장/검증 → 어느 노드에서 검증해도 동일
+ * - 코드 유효기간: 3분, 재요청 간격: 30초, 검증 실패 5회면 코드 폐기
+ * - 발송 속도 제한: 전화번호별/IP별 토큰 버킷
+ * - 전화번호는 숫자만 남겨 키로 사용 ("010-1234-5678" 과 "01012345678" 은 같은 번호)
+ * - 실제 SMS 발송이 붙기 전까지는 HTTP 엔드포인트로 노출하지 않음 (코드가 로그에만 남음)
  */
 @Service
 public class PhoneVerificationService {
@@ -22,45 +28,76 @@ public class PhoneVerificationService {
 
     private static final long EXPIRE_SEC = 180;   // 3분
     private static final long RESEND_GAP = 30;    // 30초
-    private final Random random = new Random();
+    private static final int MAX_ATTEMPTS = 5;
 
-    private final Map<String, Entry> store = new ConcurrentHashMap<>();
+    // SecureRandom 은 내부 동기화가 있어 스레드별 인스턴스로 경합 제거
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    private final PhoneCodeStore store;
+    private final TokenBucketLimiter phoneLimiter;
+    private final TokenBucketLimiter ipLimiter;
+
+    public PhoneVerificationService(
+            PhoneCodeStore store,
+            StringRedisTemplate redis,
+            @Value("${app.phone-verify.rate.phone-capacity:3}") int phoneCapacity,
+            @Value("${app.phone-verify.rate.phone-refill-per-min:1}") double phoneRefillPerMin,
+            @Value("${app.phone-verify.rate.ip-capacity:20}") int ipCapacity,
+            @Value("${app.phone-verify.rate.ip-refill-per-min:2}") double ipRefillPerMin
+    ) {
+        this.store = store;
+        this.phoneLimiter = new TokenBucketLimiter("phone-send", redis, phoneCapacity, phoneRefillPerMin);
+        this.ipLimiter = new TokenBucketLimiter("phone-send-ip", redis, ipCapacity, ipRefillPerMin);
+    }
 
     public void sendCode(String phone) {
-        Entry existing = store.get(phone);
+        sendCode(phone, null);
+    }
+
+    public void sendCode(String rawPhone, String clientIp) {
+        String phone = normalize(rawPhone);
         long now = Instant.now().getEpochSecond();
-        if (existing != null && now - existing.getIssuedAt() < RESEND_GAP) {
+        PhoneCodeStore.Entry existing = store.find(phone);
+        if (existing != null && now - existing.issuedAt() < RESEND_GAP) {
             throw new IllegalStateException("코드 재요청은 잠시 후 가능합니다.");
         }
-        String code = String.format("%06d", random.nextInt(1_000_000));
-        store.put(phone, new Entry(code, now));
+        if (clientIp != null && !ipLimiter.tryAcquire(clientIp)) {
+            throw new TooManyRequestsException("인증 요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.", ipLimiter.refillSeconds());
+        }
+        if (!phoneLimiter.tryAcquire(phone)) {
+            throw new TooManyRequestsException("인증 요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.", phoneLimiter.refillSeconds());
+        }
+        String code = String.format("%06d", RANDOM.get().nextInt(1_000_000));
+        store.save(phone, code, now, Duration.ofSeconds(EXPIRE_SEC));
         // 실제 환경: 여기서 SMS 발송 API 연동 필요
         log.info("[PHONE_VERIFY] phone={} code={} (테스트용 로그, 운영 시 제거하세요)", phone, code);
     }
 
-    public boolean verify(String phone, String code) {
-        Entry e = store.get(phone);
-        if (e == null) return false;
-        long now = Instant.now().getEpochSecond();
-        if (now - e.issuedAt > EXPIRE_SEC) {
-            store.remove(phone);
-            return false;
+    public boolean verify(String rawPhone, String code) {
+        String phone = normalize(rawPhone);
+        PhoneCodeStore.Entry e = store.find(phone);
+        if (e == null || code == null) return false;
+        boolean ok = MessageDigest.isEqual(
+                e.code().getBytes(StandardCharsets.UTF_8), code.getBytes(StandardCharsets.UTF_8));
+        if (ok) {
+            store.remove(phone); // 1회용
+        } else if (store.incrementAttempts(phone) >= MAX_ATTEMPTS) {
+            store.remove(phone); // 무차별 대입 방지
         }
-        boolean ok = e.code.equals(code);
-        if (ok) store.remove(phone); // 1회용
         return ok;
     }
 
     /** 현재 세션이 인증 완료 상태인지(선택적으로 회원가입시 활용) */
     public boolean isVerified(String phone) {
         // 간단히: 존재하지 않으면 인증 완료로 간주(엄격 적용하려면 verify 성공 시 별도 VerifiedSet에 저장)
-        return !store.containsKey(phone);
+        return !store.exists(normalize(phone));
     }
 
-    @Getter
-    private static class Entry {
-        private final String code;
-        private final long issuedAt;
-        Entry(String code, long issuedAt) { this.code = code; this.issuedAt = issuedAt; }
+    /** 하이픈 등 구분자 제거 — 속도 제한/코드 저장 키를 번호 하나당 하나로 */
+    static String normalize(String phone) {
+        if (phone == null) throw new IllegalArgumentException("전화번호가 없습니다.");
+        String digits = phone.replaceAll("[^0-9]", "");
+        if (digits.isEmpty()) throw new IllegalArgumentException("전화번호 형식");
+        return digits;
     }
 }
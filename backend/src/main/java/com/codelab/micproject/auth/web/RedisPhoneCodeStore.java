@@ -0,0 +1,71 @@
+package com.codelab.micproject.auth.web;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis 코드 저장소: phone:code:{phone} → hash {code, issuedAt, attempts}, TTL = 코드 유효기간
+ * - 저장(덮어쓰기 + TTL)과 실패 횟수 증가는 Lua 스크립트 1회로 원자적
+ * - 실패 횟수 증가는 키가 살아 있을 때만 (만료 직후 HINCRBY 가 TTL 없는 해시를 다시 만들지 않도록)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.phone-verify.store", havingValue = "redis", matchIfMissing = true)
+public class RedisPhoneCodeStore implements PhoneCodeStore {
+
+    private static final String KEY = "phone:code:";
+
+    // KEYS[1]=key  ARGV: code, issuedAt, ttlMs
+    private static final DefaultRedisScript<Long> SAVE = new DefaultRedisScript<>("""
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[1], 'code', ARGV[1], 'issuedAt', ARGV[2], 'attempts', '0')
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return 1
+            """, Long.class);
+
+    // KEYS[1]=key → 누적 실패 횟수, 키가 없으면(만료/삭제) 0
+    private static final DefaultRedisScript<Long> INCR_ATTEMPTS = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end
+            return redis.call('HINCRBY', KEYS[1], 'attempts', 1)
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+
+    @Override
+    public void save(String phone, String code, long issuedAtSec, Duration ttl) {
+        redis.execute(SAVE, List.of(KEY + phone), code, String.valueOf(issuedAtSec), String.valueOf(ttl.toMillis()));
+    }
+
+    @Override
+    public Entry find(String phone) {
+        Map<Object, Object> h = redis.opsForHash().entries(KEY + phone);
+        if (h.isEmpty() || h.get("code") == null) return null;
+        return new Entry(
+                (String) h.get("code"),
+                Long.parseLong((String) h.get("issuedAt")),
+                Integer.parseInt((String) h.getOrDefault("attempts", "0")));
+    }
+
+    @Override
+    public int incrementAttempts(String phone) {
+        Long n = redis.execute(INCR_ATTEMPTS, List.of(KEY + phone));
+        return n == null ? 0 : n.intValue();
+    }
+
+    @Override
+    public void remove(String phone) {
+        redis.delete(KEY + phone);
+    }
+
+    @Override
+    public boolean exists(String phone) {
+        return Boolean.TRUE.equals(redis.hasKey(KEY + phone));
+    }
+}
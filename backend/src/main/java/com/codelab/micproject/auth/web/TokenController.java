@@ -2,9 +2,8 @@ package com.codelab.micproject.auth.web;
 
 import com.codelab.micproject.account.user.domain.User;
 import com.codelab.micproject.account.user.repository.UserRepository;
-import com.codelab.micproject.auth.domain.RefreshToken;
-import com.codelab.micproject.auth.repository.RefreshTokenRepository;
 import com.codelab.micproject.auth.service.RefreshTokenService;
+import com.codelab.micproject.auth.service.RefreshTokenStore;
 import com.codelab.micproject.common.util.CookieUtils;
 import com.codelab.micproject.security.jwt.JwtTokenProvider;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,11 +12,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -27,7 +24,6 @@ import java.util.UUID;
 public class TokenController {
 
     private final JwtTokenProvider tokenProvider;
-    private final RefreshTokenRepository refreshTokenRepository;
     private final RefreshTokenService refreshTokenService;
     private final UserRepository userRepository;
 
@@ -37,7 +33,6 @@ public class TokenController {
 
     /** RT가 유효하면 AT 재발급 + RT 회전(rotate) */
     @PostMapping("/refresh")
-    @Transactional
     public ResponseEntity<Void> refresh(HttpServletRequest req, HttpServletResponse res) {
         // 0) 쿠키에서 RT 추출
         String rt = CookieUtils.getCookieValue(req, "REFRESH_TOKEN").orElse(null);
@@ -46,35 +41,30 @@ public class TokenController {
             return unauthorized();
         }
 
-        // 1) RT 유효성 확인
-        RefreshToken entity = refreshTokenRepository.findByToken(rt).orElse(null);
-        if (entity == null) {
-            log.debug("[/refresh] refresh token not found (token rotated or invalid)");
-            return unauthorized();
-        }
-        LocalDateTime now = LocalDateTime.now();
-        if (entity.getExpiresAt() == null || entity.getExpiresAt().isBefore(now)) {
-            log.debug("[/refresh] refresh token expired");
+        // 1) RT 회전(rotate) : 검증 + 기존 RT 사용 처리 + 신규 RT 저장을 저장소에서 원자적으로
+        //    (동시 요청이 유예 시간 안에 오면 먼저 만든 후속 RT 가 돌아옴 → rotation.refreshToken() 사용)
+        String newRefresh = UUID.randomUUID().toString().replace("-", "");
+        LocalDateTime newRtExp = LocalDateTime.now().plusDays(tokenProvider.getRefreshExpDays());
+        RefreshTokenStore.Rotation rotation = refreshTokenService.rotate(rt, newRefresh, newRtExp);
+        if (!rotation.ok()) {
+            log.debug("[/refresh] refresh rejected: {}", rotation.status());
             return unauthorized();
         }
+        newRefresh = rotation.refreshToken();
 
         // 2) 사용자 로드
-        Long userId = entity.getUserId();
+        Long userId = rotation.userId();
         User user = userRepository.findById(userId).orElse(null);
         if (user == null || !user.isEnabled()) {
             log.warn("[/refresh] user not found or disabled: {}", userId);
+            refreshTokenService.deleteAllByUserId(userId);
             return unauthorized();
         }
 
         // 3) 새 AT 생성
         String newAccess = tokenProvider.createAccessToken(user);
 
-        // 4) RT 회전(rotate) : 기존 RT 폐기 후 신규 RT/만료로 교체
-        String newRefresh = UUID.randomUUID().toString().replace("-", "");
-        LocalDateTime newRtExp = now.plusDays(tokenProvider.getRefreshExpDays());
-        refreshTokenService.replace(userId, newRefresh, newRtExp);
-
-        // 5) 쿠키 교체(속성 일관성 유지)
+        // 4) 쿠키 교체(속성 일관성 유지)
         int accessMaxAgeSec  = (int) (tokenProvider.getAccessExpMin() * 60);
         int refreshMaxAgeSec = (int) (tokenProvider.getRefreshExpDays() * 24 * 3600);
         CookieUtils.addHttpOnlyCookie(res, "ACCESS_TOKEN",  newAccess,  accessMaxAgeSec,  cookieDomain, cookieSecure, sameSite);
@@ -2,7 +2,9 @@
 package com.codelab.micproject.booking.controller;
 
 import com.codelab.micproject.booking.dto.*;
+import com.codelab.micproject.account.consultant.domain.ConsultantLevel;
 import com.codelab.micproject.booking.service.AvailabilityService;
+import com.codelab.micproject.booking.support.FreeBusyIndex;
 import com.codelab.micproject.common.response.ApiResponse;
 import com.codelab.micproject.security.oauth2.UserPrincipal;
 import jakarta.validation.Valid;
@@ -13,6 +15,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 @RestController
@@ -43,6 +46,18 @@ public class AvailabilityController {
         return ApiResponse.ok(service.listSavedSlotsPublic(consultantId, from, to));
     }
 
+    // 예) /api/availability/search?date=2025-10-01&from=18:00&to=22:00&mode=ANY&level=SENIOR&maxPrice=60000
+    @GetMapping("/search")
+    public ApiResponse<List<FreeConsultantView>> search(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime from,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime to,
+                                                        @RequestParam(defaultValue = "ANY") FreeBusyIndex.Mode mode,
+                                                        @RequestParam(required = false) ConsultantLevel level,
+                                                        @RequestParam(required = false) Integer maxPrice,
+                                                        @RequestParam(defaultValue = "50") int limit) {
+        return ApiResponse.ok(service.searchFree(date, from, to, mode, level, maxPrice, limit));
+    }
+
     // ===== 프론트 요구 추가 (me/slots) =====
     @PreAuthorize("hasAuthority('ROLE_CONSULTANT')")
     @GetMapping("/me/slots")
@@ -13,7 +13,9 @@ import java.time.OffsetDateTime;
 @Entity @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 @Table(indexes = {
         @Index(columnList = "consultant_id, startAt"),
-        @Index(columnList = "consultant_id, endAt")
+        @Index(columnList = "consultant_id, endAt"),
+        @Index(columnList = "status, endAt"),
+        @Index(columnList = "status, created_at")
 })
 public class Appointment extends BaseTimeEntity {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,32 @@
+package com.codelab.micproject.booking.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 상담사 시간 점유 기록 (이중 예약 방지용)
+ * - (consultant_id, slot_start) 유니크 → 같은 칸을 두 번 잡으려는 INSERT 는 인덱스에서 거절
+ * - slot_start 는 epoch 분(minute) 값, 예약 구간을 claim 단위(기본 30분) 칸으로 나눠 칸마다 1행
+ * - appointment_id: 칸을 잡은 예약 (해제는 소유 예약 기준으로만 → 늦은 취소/중복 취소가 다른 예약의 칸을 지우지 않음)
+ * - 예약 취소/만료 시 해당 예약의 행 삭제
+ */
+@Entity @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Table(name = "appointment_slot_claim", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_slot_claim", columnNames = {"consultant_id", "slot_start"})
+})
+public class AppointmentSlotClaim {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "consultant_id", nullable = false)
+    private Long consultantId;
+
+    /** epoch minute */
+    @Column(name = "slot_start", nullable = false)
+    private Long slotStart;
+
+    /** 점유한 예약 id (컬럼 도입 전 행은 null → 기동 시 backfill 이 채움) */
+    @Column(name = "appointment_id")
+    private Long appointmentId;
+}
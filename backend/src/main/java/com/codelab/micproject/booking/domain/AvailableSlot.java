@@ -12,6 +12,10 @@ import java.time.LocalDateTime;
         indexes = {
                 @Index(name="idx_available_slot_consultant", columnList = "consultant_id"),
                 @Index(name="idx_available_slot_range", columnList = "startAt,endAt")
+        },
+        uniqueConstraints = {
+                // 같은 슬롯 중복 방지 → 여러 노드의 materializer 가 동시에 돌아도 INSERT IGNORE 로 안전
+                @UniqueConstraint(name="uk_available_slot", columnNames = {"consultant_id", "startAt", "endAt"})
         })
 public class AvailableSlot {
 
@@ -23,4 +27,9 @@ public class AvailableSlot {
 
     private LocalDateTime startAt;
     private LocalDateTime endAt;
+
+    /** 가용시간 규칙(Availability)에서 자동 생성된 슬롯 여부 — 규칙이 바뀌면 materializer 가 정리 */
+    @Builder.Default
+    @Column(name = "rule_generated", nullable = false)
+    private boolean ruleGenerated = false;
 }
@@ -0,0 +1,31 @@
+package com.codelab.micproject.booking.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상담사가 직접 지운 자동 생성 슬롯 (규칙은 그대로 두고 그 한 칸만 빼고 싶을 때)
+ * - SlotMaterializerJob 이 규칙을 펼칠 때 여기 있는 구간은 다시 만들지 않음
+ * - 같은 구간을 수동으로 다시 등록하면 삭제, 지난 구간은 materializer 가 정리
+ */
+@Entity @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Table(name = "available_slot_exclusions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_available_slot_exclusion", columnNames = {"consultant_id", "start_at", "end_at"})
+})
+public class AvailableSlotExclusion {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "consultant_id", nullable = false)
+    private Long consultantId;
+
+    /** KST 로컬 시각 (available_slots 와 같은 기준) */
+    @Column(name = "start_at", nullable = false)
+    private LocalDateTime startAt;
+
+    @Column(name = "end_at", nullable = false)
+    private LocalDateTime endAt;
+}
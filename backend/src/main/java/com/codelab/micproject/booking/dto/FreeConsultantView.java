@@ -0,0 +1,13 @@
+package com.codelab.micproject.booking.dto;
+
+import com.codelab.micproject.account.consultant.domain.ConsultantLevel;
+
+import java.util.List;
+
+/** "X시에 비어 있는 상담사" 검색 결과 한 건 (freeRanges: 검색 범위 안의 빈 구간) */
+public record FreeConsultantView(
+        Long consultantId,
+        ConsultantLevel level,
+        int price,
+        List<SlotDto> freeRanges
+) {}
@@ -6,10 +6,23 @@ import java.time.*;
 import java.util.List;
 
 
+/**
+ * 가용시간 규칙 등록
+ * 시작 시각(분)·슬롯 길이는 예약 점유 칸(app.booking.claim-granule-min, 기본 30분) 배수만 허용
+ * — 다른 granule 로 운영하면 서비스 검증(SLOT_NOT_ALIGNED)이 최종 판단
+ */
 public record UpsertAvailabilityReq(
         @Min(1) @Max(7) int weekday,
-        @Pattern(regexp = "^\\d{2}:\\d{2}$") String startTime,
-        @Pattern(regexp = "^\\d{2}:\\d{2}$") String endTime,
-        @Min(10) int slotMinutes,
+        @Pattern(regexp = "^([01]\\d|2[0-3]):(00|30)$", message = "시작 시각은 30분 단위(HH:00/HH:30)") String startTime,
+        @Pattern(regexp = "^([01]\\d|2[0-3]):[0-5]\\d$") String endTime,
+        @Min(GRANULE_MIN) @Max(1440) int slotMinutes,
         String zoneId
-){}
\ No newline at end of file
+){
+    /** app.booking.claim-granule-min 기본값과 같게 유지 */
+    public static final int GRANULE_MIN = 30;
+
+    @AssertTrue(message = "슬롯 길이는 30분 단위")
+    public boolean isSlotGranuleAligned() {
+        return slotMinutes % GRANULE_MIN == 0;
+    }
+}
@@ -0,0 +1,189 @@
+package com.codelab.micproject.booking.job;
+
+import com.codelab.micproject.booking.domain.AppointmentStatus;
+import com.codelab.micproject.booking.repository.AppointmentRepository;
+import com.codelab.micproject.booking.service.AppointmentLifecycleService;
+import com.codelab.micproject.booking.support.AppointmentLifecycleQueue;
+import com.codelab.micproject.booking.support.AppointmentLifecycleQueue.Kind;
+import com.codelab.micproject.common.resilience.RedisLease;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 예약 생명주기 엔진 (기존 1분 폴링 AppointmentCleanupJob 대체)
+ *
+ * - 지연 큐(AppointmentLifecycleQueue)에서 기한 지난 id 만 꺼내 batch-size 단위로 일괄 전환
+ *   · EXPIRE_HOLD: REQUESTED → CANCELLED (+ 시간 점유 해제)
+ *   · COMPLETE   : APPROVED  → DONE
+ * - poll-ms(기본 1초)마다 확인 → 기한 후 수 초 안에 전환, DB 는 꺼낸 id 의 PK 로만 접근
+ * - Redis 리스(lease:appt-lifecycle)를 가진 노드 하나만 처리, 보유 노드가 죽으면 lease-ms 뒤 다른 노드가 인계
+ * - 꺼낸 id 는 처리 중 집합에 visibility-ms 동안 보관, 전환 트랜잭션 커밋 후 ack
+ *   (커밋 전에 노드가 죽으면 기한 후 reclaim 으로 다시 처리 — 전환은 상태 조건부라 중복 실행해도 무해)
+ * - 처리 실패 묶음은 retry-ms 뒤로 재등록
+ * - reseed-ms 주기로 기한이 다음 두 주기 안(또는 이미 지난) REQUESTED/APPROVED 예약만
+ *   (status, created_at / status, endAt) 인덱스로 읽어 큐를 보정 — 먼 미래 예약은 기한이 가까워진 주기에 적재
+ *   (Redis 재시작/커밋 직후 등록 실패 대비, 같은 id 재등록은 기한만 갱신)
+ */
+@Slf4j
+@Component
+public class AppointmentLifecycleEngine {
+
+    private static final int MAX_BATCHES_PER_TICK = 10;
+
+    private final AppointmentLifecycleQueue queue;
+    private final AppointmentLifecycleService lifecycleService;
+    private final AppointmentRepository appointmentRepository;
+    private final RedisLease lease;
+    private final int batchSize;
+    private final long retryMs;
+    private final long visibilityMs;
+    private final long reseedHorizonMs;
+
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong reclaimed = new AtomicLong();
+    private final AtomicLong lastReseedAt = new AtomicLong();
+
+    public AppointmentLifecycleEngine(AppointmentLifecycleQueue queue,
+                                      AppointmentLifecycleService lifecycleService,
+                                      AppointmentRepository appointmentRepository,
+                                      StringRedisTemplate redis,
+                                      @Value("${app.booking.lifecycle.lease-ms:15000}") long leaseMs,
+                                      @Value("${app.booking.lifecycle.batch-size:200}") int batchSize,
+                                      @Value("${app.booking.lifecycle.retry-ms:30000}") long retryMs,
+                                      @Value("${app.booking.lifecycle.visibility-ms:60000}") long visibilityMs,
+                                      @Value("${app.booking.lifecycle.reseed-ms:3600000}") long reseedMs) {
+        this.queue = queue;
+        this.lifecycleService = lifecycleService;
+        this.appointmentRepository = appointmentRepository;
+        this.lease = new RedisLease("appt-lifecycle", redis, leaseMs);
+        this.batchSize = Math.max(1, batchSize);
+        this.retryMs = retryMs;
+        this.visibilityMs = visibilityMs;
+        this.reseedHorizonMs = 2 * reseedMs; // 다음 재적재 전에 기한이 오는 예약까지
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.lifecycle.poll-ms:1000}")
+    public void tick() {
+        if (!lease.tryAcquire()) return;
+        drain(Kind.EXPIRE_HOLD);
+        drain(Kind.COMPLETE);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reseed();
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.lifecycle.reseed-ms:3600000}",
+               initialDelayString = "${app.booking.lifecycle.reseed-ms:3600000}")
+    public void reseed() {
+        if (!lease.tryAcquire()) return;
+        try {
+            ZoneId zone = ZoneId.systemDefault(); // createdAt 은 감사(auditing) 기본 타임존의 LocalDateTime
+            Instant horizon = Instant.now().plusMillis(reseedHorizonMs);
+            List<Object[]> holds = appointmentRepository.findIdAndCreatedAtByStatusBefore(AppointmentStatus.REQUESTED,
+                    LocalDateTime.ofInstant(horizon.minus(lifecycleService.holdDuration()), zone));
+            for (Object[] row : holds) {
+                LocalDateTime createdAt = (LocalDateTime) row[1];
+                if (createdAt == null) continue;
+                queue.schedule(Kind.EXPIRE_HOLD, (Long) row[0],
+                        createdAt.atZone(zone).toInstant().plus(lifecycleService.holdDuration()));
+            }
+            List<Object[]> approved = appointmentRepository.findIdAndEndAtByStatusBefore(AppointmentStatus.APPROVED,
+                    horizon.atOffset(ZoneOffset.UTC));
+            for (Object[] row : approved) {
+                OffsetDateTime endAt = (OffsetDateTime) row[1];
+                if (endAt != null) queue.schedule(Kind.COMPLETE, (Long) row[0], endAt.toInstant());
+            }
+            lastReseedAt.set(System.currentTimeMillis());
+            log.info("[Lifecycle] reseeded {} holds, {} approved sessions", holds.size(), approved.size());
+        } catch (RuntimeException e) {
+            log.warn("[Lifecycle] reseed failed: {}", e.toString());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("leaseHeld", lease.isHeld());
+        m.put("expired", expired.get());
+        m.put("completed", completed.get());
+        m.put("failedBatches", failedBatches.get());
+        m.put("reclaimed", reclaimed.get());
+        m.put("lastReseedAt", lastReseedAt.get());
+        try {
+            m.put("pendingHolds", queue.size(Kind.EXPIRE_HOLD));
+            m.put("pendingCompletions", queue.size(Kind.COMPLETE));
+            m.put("inFlightHolds", queue.inFlight(Kind.EXPIRE_HOLD));
+            m.put("inFlightCompletions", queue.inFlight(Kind.COMPLETE));
+        } catch (RuntimeException e) {
+            m.put("queueError", e.toString());
+        }
+        return m;
+    }
+
+    private void drain(Kind kind) {
+        long now = System.currentTimeMillis();
+        try {
+            long n = queue.reclaimExpired(kind, now, batchSize);
+            if (n > 0) {
+                reclaimed.addAndGet(n);
+                log.warn("[Lifecycle] reclaimed {} {} items past visibility deadline", n, kind);
+            }
+        } catch (RuntimeException e) {
+            log.warn("[Lifecycle] queue unavailable: {}", e.toString());
+            return;
+        }
+        for (int round = 0; round < MAX_BATCHES_PER_TICK; round++) {
+            List<Long> ids;
+            try {
+                ids = queue.popDue(kind, now, batchSize, visibilityMs);
+            } catch (RuntimeException e) {
+                log.warn("[Lifecycle] queue unavailable: {}", e.toString());
+                return;
+            }
+            if (ids.isEmpty()) return;
+            try {
+                if (kind == Kind.EXPIRE_HOLD) {
+                    int n = lifecycleService.expireHolds(ids);
+                    expired.addAndGet(n);
+                    if (n > 0) log.info("Expired {} pending appointments (REQUESTED -> CANCELLED)", n);
+                } else {
+                    completed.addAndGet(lifecycleService.complete(ids));
+                }
+            } catch (RuntimeException e) {
+                failedBatches.incrementAndGet();
+                log.warn("[Lifecycle] {} batch of {} failed, retrying in {}ms: {}", kind, ids.size(), retryMs, e.toString());
+                try {
+                    queue.requeue(kind, ids, now + retryMs);
+                } catch (RuntimeException re) {
+                    log.warn("[Lifecycle] requeue failed (reclaimed after visibility deadline): {}", re.toString());
+                }
+                return;
+            }
+            // 전환 트랜잭션은 위 호출에서 커밋됨 → 이제 처리 중 집합에서 제거
+            try {
+                queue.ack(kind, ids);
+            } catch (RuntimeException e) {
+                log.warn("[Lifecycle] ack failed (reclaim will retry as no-op): {}", e.toString());
+            }
+            if (ids.size() < batchSize) return;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.codelab.micproject.booking.job;
+
+import com.codelab.micproject.account.consultant.support.ConsultantCardChanged;
+import com.codelab.micproject.booking.domain.Availability;
+import com.codelab.micproject.booking.repository.AvailabilityRepository;
+import com.codelab.micproject.booking.repository.AvailableSlotRepository;
+import com.codelab.micproject.booking.service.SlotClaimService;
+import com.codelab.micproject.booking.support.CompiledAvailability;
+import com.codelab.micproject.booking.support.FreeBusyIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 예약 점유 칸(app.booking.claim-granule-min) 경계 점검
+ * - 칸 도입 이전에 저장된 규칙/슬롯 중 칸 경계에 맞지 않는 것을 기동 시 보고 (예약 시 SLOT_NOT_ALIGNED 로 거절됨)
+ * - 규칙: 시작 시각/슬롯 길이/향후 1년 타임존 오프셋 — 어긋난 규칙은 materializer 가 건너뜀, 상담사가 다시 등록해야 함
+ * - 슬롯: 미래 available_slots 를 id 키셋으로 훑음
+ * - app.booking.alignment-audit.repair=true 면 어긋난 미래 슬롯을 삭제 (어차피 예약 불가한 행)
+ */
+@Slf4j
+@Component
+public class SlotAlignmentAudit {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final String DELETE_SQL = "DELETE FROM available_slots WHERE id = ?";
+    private static final int PAGE = 1000;
+    private static final int LOG_IDS = 20;
+
+    private final AvailabilityRepository availabilityRepository;
+    private final AvailableSlotRepository availableSlotRepository;
+    private final SlotClaimService slotClaimService;
+    private final JdbcTemplate jdbcTemplate;
+    private final FreeBusyIndex freeBusyIndex;
+    private final ApplicationEventPublisher events;
+    private final boolean repairOnStartup;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong repairedSlots = new AtomicLong();
+    private volatile int lastMisalignedRules;
+    private volatile int lastMisalignedSlots;
+    private volatile List<Long> lastRuleIds = List.of();
+    private volatile long lastRunAt;
+
+    public SlotAlignmentAudit(AvailabilityRepository availabilityRepository,
+                              AvailableSlotRepository availableSlotRepository,
+                              SlotClaimService slotClaimService,
+                              JdbcTemplate jdbcTemplate,
+                              FreeBusyIndex freeBusyIndex,
+                              ApplicationEventPublisher events,
+                              @Value("${app.booking.alignment-audit.repair:false}") boolean repairOnStartup) {
+        this.availabilityRepository = availabilityRepository;
+        this.availableSlotRepository = availableSlotRepository;
+        this.slotClaimService = slotClaimService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.freeBusyIndex = freeBusyIndex;
+        this.events = events;
+        this.repairOnStartup = repairOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            run(repairOnStartup);
+        } catch (RuntimeException e) {
+            log.warn("[SlotAlignment] startup audit failed: {}", e.toString());
+        }
+    }
+
+    /** 점검 1회 → stats (이미 실행 중이면 바로 반환) */
+    public Map<String, Object> run(boolean repair) {
+        if (!running.compareAndSet(false, true)) return stats();
+        try {
+            int granule = slotClaimService.granuleMin();
+            Instant now = Instant.now();
+
+            // 1) 규칙
+            List<Long> badRules = new ArrayList<>();
+            for (Availability a : availabilityRepository.findAll()) {
+                if (!CompiledAvailability.isAligned(a, granule, now, now.plus(Duration.ofDays(366)))) badRules.add(a.getId());
+            }
+            if (!badRules.isEmpty()) {
+                log.warn("[SlotAlignment] {} availability rules not aligned to {}-min claim cells (skipped by materializer): ids={}",
+                        badRules.size(), granule, head(badRules));
+            }
+
+            // 2) 미래 슬롯
+            LocalDateTime from = LocalDateTime.now(KST);
+            List<Long> badSlots = new ArrayList<>();
+            List<Object[]> badRows = new ArrayList<>();
+            long afterId = 0;
+            List<Object[]> page;
+            do {
+                page = availableSlotRepository.findFutureRowsAfter(from, afterId, PageRequest.of(0, PAGE));
+                for (Object[] row : page) {
+                    LocalDateTime s = (LocalDateTime) row[2];
+                    LocalDateTime e = (LocalDateTime) row[3];
+                    if (!slotClaimService.isAligned(s.atZone(KST).toOffsetDateTime(), e.atZone(KST).toOffsetDateTime())) {
+                        badSlots.add((Long) row[0]);
+                        badRows.add(row);
+                    }
+                }
+                if (!page.isEmpty()) afterId = (Long) page.get(page.size() - 1)[0];
+            } while (page.size() == PAGE);
+            if (!badSlots.isEmpty()) {
+                log.warn("[SlotAlignment] {} future slots not aligned to {}-min claim cells{}: ids={}",
+                        badSlots.size(), granule, repair ? " (deleting)" : "", head(badSlots));
+            }
+
+            if (repair && !badSlots.isEmpty()) {
+                jdbcTemplate.batchUpdate(DELETE_SQL, badSlots, PAGE, (ps, id) -> ps.setLong(1, id));
+                Set<Long> changed = new HashSet<>();
+                for (Object[] row : badRows) {
+                    Long consultantId = (Long) row[1];
+                    freeBusyIndex.slotChangedAfterCommit(consultantId, (LocalDateTime) row[2], (LocalDateTime) row[3], false);
+                    changed.add(consultantId);
+                }
+                changed.forEach(id -> events.publishEvent(new ConsultantCardChanged(id)));
+                repairedSlots.addAndGet(badSlots.size());
+            }
+
+            lastMisalignedRules = badRules.size();
+            lastMisalignedSlots = repair ? 0 : badSlots.size();
+            lastRuleIds = List.copyOf(head(badRules));
+            lastRunAt = System.currentTimeMillis();
+            return stats();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("granuleMin", slotClaimService.granuleMin());
+        m.put("misalignedRules", lastMisalignedRules);
+        m.put("misalignedRuleIds", lastRuleIds);
+        m.put("misalignedSlots", lastMisalignedSlots);
+        m.put("repairedSlots", repairedSlots.get());
+        m.put("lastRunAt", lastRunAt);
+        return m;
+    }
+
+    private static List<Long> head(List<Long> ids) {
+        return ids.size() > LOG_IDS ? ids.subList(0, LOG_IDS) : ids;
+    }
+}
@@ -0,0 +1,270 @@
+package com.codelab.micproject.booking.job;
+
+import com.codelab.micproject.account.consultant.support.ConsultantCardChanged;
+import com.codelab.micproject.booking.domain.Availability;
+import com.codelab.micproject.booking.dto.SlotDto;
+import com.codelab.micproject.booking.repository.AvailabilityRepository;
+import com.codelab.micproject.booking.repository.AvailableSlotExclusionRepository;
+import com.codelab.micproject.booking.repository.AvailableSlotRepository;
+import com.codelab.micproject.booking.support.CompiledAvailability;
+import com.codelab.micproject.booking.support.FreeBusyIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 가용시간 규칙(Availability) → 개별 슬롯(available_slots) 롤링 생성
+ *
+ * - 오늘(KST)부터 weeks-ahead 주까지 규칙을 펼친 뒤 기존 행과 비교(diff)
+ *   · 없는 슬롯: JDBC batch INSERT IGNORE (IDENTITY id 라 Hibernate batch 가 꺼지므로 JdbcTemplate 사용)
+ *   · 규칙에서 사라진 자동 생성 슬롯(rule_generated=1, 미래분): batch DELETE
+ *   · 상담사가 직접 등록한 슬롯(rule_generated=0)은 건드리지 않음
+ *   · 상담사가 지운 자동 생성 슬롯(available_slot_exclusions)은 다시 만들지 않음
+ *   · claim 칸 경계에 맞지 않는 규칙(칸 도입 전 저장분, 창 안의 DST 오프셋 포함)은 건너뜀 → 예약 불가 슬롯을 만들지 않고,
+ *     그 규칙이 예전에 만든 미래 슬롯은 "규칙에서 사라진 슬롯"으로 정리됨
+ * - 상담사를 chunk-size 개씩 묶어 전용 풀에서 병렬 처리 (조율 스레드는 결과만 기다림 — 풀 밖에서 기다려야 교착 없음)
+ * - uk_available_slot + INSERT IGNORE 로 여러 노드가 동시에 돌아도 중복 행이 생기지 않음
+ * - 규칙 변경(upsert) 시 해당 상담사만 커밋 후 즉시 재생성
+ */
+@Slf4j
+@Component
+public class SlotMaterializerJob {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final String INSERT_SQL =
+            "INSERT IGNORE INTO available_slots (consultant_id, start_at, end_at, rule_generated) VALUES (?, ?, ?, 1)";
+    private static final String DELETE_SQL =
+            "DELETE FROM available_slots WHERE id = ? AND rule_generated = 1";
+
+    private final AvailabilityRepository availabilityRepository;
+    private final AvailableSlotRepository availableSlotRepository;
+    private final AvailableSlotExclusionRepository exclusionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final FreeBusyIndex freeBusyIndex;
+    private final ApplicationEventPublisher events;
+
+    private final int weeksAhead;
+    private final int chunkSize;
+    private final int batchSize;
+    private final int granuleMin;
+    private final ExecutorService pool;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicLong inserted = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong misalignedRuleSkips = new AtomicLong();
+    private final AtomicLong lastRunMillis = new AtomicLong();
+
+    public SlotMaterializerJob(AvailabilityRepository availabilityRepository,
+                               AvailableSlotRepository availableSlotRepository,
+                               AvailableSlotExclusionRepository exclusionRepository,
+                               JdbcTemplate jdbcTemplate,
+                               FreeBusyIndex freeBusyIndex,
+                               ApplicationEventPublisher events,
+                               @Value("${app.booking.materializer.weeks-ahead:4}") int weeksAhead,
+                               @Value("${app.booking.materializer.chunk-size:50}") int chunkSize,
+                               @Value("${app.booking.materializer.batch-size:500}") int batchSize,
+                               @Value("${app.booking.materializer.threads:4}") int threads,
+                               @Value("${app.booking.claim-granule-min:30}") int granuleMin) {
+        this.availabilityRepository = availabilityRepository;
+        this.availableSlotRepository = availableSlotRepository;
+        this.exclusionRepository = exclusionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.freeBusyIndex = freeBusyIndex;
+        this.events = events;
+        this.weeksAhead = Math.max(1, weeksAhead);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.batchSize = Math.max(1, batchSize);
+        this.granuleMin = granuleMin;
+        this.pool = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "slot-materializer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** 기동 직후 1회 — materializeAll 은 풀에 chunk 를 넣고 기다리므로 풀 밖의 별도 스레드에서 실행 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Thread t = new Thread(this::materializeAll, "slot-materializer-warmup");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /** 매일 새벽 창(window)을 하루씩 밀어 생성 */
+    @Scheduled(cron = "${app.booking.materializer.cron:0 10 3 * * *}")
+    public void materializeAll() {
+        if (!running.compareAndSet(false, true)) return; // 이 노드에서 이미 진행 중
+        long started = System.currentTimeMillis();
+        try {
+            Set<Long> ids = new LinkedHashSet<>(availabilityRepository.findConsultantIds());
+            ids.addAll(availableSlotRepository.findRuleGeneratedConsultantIds(LocalDate.now(KST).atStartOfDay()));
+            List<Long> all = new ArrayList<>(ids);
+            exclusionRepository.deleteBefore(LocalDate.now(KST).atStartOfDay()); // 지난 제외 구간 정리
+
+            List<Future<int[]>> futures = new ArrayList<>();
+            for (int i = 0; i < all.size(); i += chunkSize) {
+                List<Long> chunk = all.subList(i, Math.min(i + chunkSize, all.size()));
+                futures.add(pool.submit(() -> materialize(chunk)));
+            }
+            int ins = 0, del = 0, failed = 0;
+            for (Future<int[]> f : futures) {
+                try {
+                    int[] r = f.get();
+                    ins += r[0];
+                    del += r[1];
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.warn("[SlotMaterializer] chunk failed: {}", e.getCause().toString());
+                }
+            }
+            lastRunMillis.set(System.currentTimeMillis() - started);
+            log.info("[SlotMaterializer] {} consultants, +{} / -{} slots, {} failed chunks in {}ms",
+                    all.size(), ins, del, failed, lastRunMillis.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /** 규칙 변경 트랜잭션 커밋 후 해당 상담사만 재생성 (요청 스레드는 기다리지 않음) */
+    public void materializeAfterCommit(Long consultantId) {
+        Runnable task = () -> pool.execute(() -> {
+            try {
+                materialize(List.of(consultantId));
+            } catch (RuntimeException e) {
+                log.warn("[SlotMaterializer] consultant {} failed: {}", consultantId, e.toString());
+            }
+        });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("running", running.get());
+        m.put("weeksAhead", weeksAhead);
+        m.put("inserted", inserted.get());
+        m.put("deleted", deleted.get());
+        m.put("misalignedRuleSkips", misalignedRuleSkips.get());
+        m.put("lastRunMillis", lastRunMillis.get());
+        return m;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    /** 상담사 묶음 하나 처리 → [삽입 시도 수, 삭제 수] */
+    private int[] materialize(List<Long> consultantIds) {
+        LocalDateTime now = LocalDateTime.now(KST);
+        LocalDate today = now.toLocalDate();
+        LocalDate lastDay = today.plusWeeks(weeksAhead);
+        LocalDateTime from = today.atStartOfDay();
+        LocalDateTime to = lastDay.plusDays(1).atStartOfDay();
+
+        // 1) 규칙 펼치기 (KST 로컬 시각으로 저장 — listSavedSlotsPublic 이 Asia/Seoul 로 해석)
+        Instant windowFrom = from.atZone(KST).toInstant();
+        Instant windowTo = to.atZone(KST).toInstant();
+        Map<Long, List<Availability>> rulesBy = new HashMap<>();
+        List<Long> skipped = new ArrayList<>();
+        for (Availability a : availabilityRepository.findByConsultantIds(consultantIds)) {
+            Long consultantId = a.getConsultant().getId();
+            rulesBy.computeIfAbsent(consultantId, k -> new ArrayList<>()); // 전부 건너뛰어도 기존 자동 슬롯 정리 대상
+            if (CompiledAvailability.isAligned(a, granuleMin, windowFrom, windowTo)) rulesBy.get(consultantId).add(a);
+            else skipped.add(a.getId());
+        }
+        if (!skipped.isEmpty()) {
+            misalignedRuleSkips.addAndGet(skipped.size());
+            log.warn("[SlotMaterializer] skipped {} rules not aligned to {}-min claim cells: ids={}",
+                    skipped.size(), granuleMin, skipped.size() > 20 ? skipped.subList(0, 20) + "..." : skipped);
+        }
+        Set<SlotKey> wanted = new HashSet<>();
+        List<SlotDto> buf = new ArrayList<>();
+        rulesBy.forEach((consultantId, rows) -> {
+            CompiledAvailability rules = CompiledAvailability.compile(rows);
+            buf.clear();
+            for (LocalDate day = today; !day.isAfter(lastDay); day = day.plusDays(1)) rules.appendSlots(day, buf);
+            for (SlotDto s : buf) {
+                LocalDateTime start = s.startAt().atZoneSameInstant(KST).toLocalDateTime();
+                if (start.isBefore(now) || !start.isBefore(to)) continue;
+                wanted.add(new SlotKey(consultantId, start, s.endAt().atZoneSameInstant(KST).toLocalDateTime()));
+            }
+        });
+
+        for (Object[] row : exclusionRepository.findRowsForConsultants(consultantIds, from, to)) {
+            wanted.remove(new SlotKey((Long) row[0], (LocalDateTime) row[1], (LocalDateTime) row[2]));
+        }
+
+        // 2) 기존 행과 diff
+        Set<SlotKey> existing = new HashSet<>();
+        List<Long> deleteIds = new ArrayList<>();
+        List<SlotKey> deleteKeys = new ArrayList<>();
+        for (Object[] row : availableSlotRepository.findRowsForConsultants(consultantIds, from, to)) {
+            SlotKey key = new SlotKey((Long) row[1], (LocalDateTime) row[2], (LocalDateTime) row[3]);
+            existing.add(key);
+            boolean generated = (Boolean) row[4];
+            if (generated && !wanted.contains(key) && !key.startAt().isBefore(now)) {
+                deleteIds.add((Long) row[0]);
+                deleteKeys.add(key);
+            }
+        }
+        List<SlotKey> toInsert = new ArrayList<>();
+        for (SlotKey k : wanted) if (!existing.contains(k)) toInsert.add(k);
+
+        // 3) 일괄 반영
+        if (!toInsert.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, toInsert, batchSize, (ps, k) -> {
+                ps.setLong(1, k.consultantId());
+                ps.setObject(2, k.startAt());
+                ps.setObject(3, k.endAt());
+            });
+            toInsert.forEach(k -> freeBusyIndex.slotChangedAfterCommit(k.consultantId(), k.startAt(), k.endAt(), true));
+        }
+        if (!deleteIds.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_SQL, deleteIds, batchSize, (ps, id) -> ps.setLong(1, id));
+            deleteKeys.forEach(k -> freeBusyIndex.slotChangedAfterCommit(k.consultantId(), k.startAt(), k.endAt(), false));
+        }
+        // 슬롯이 바뀐 상담사 카드(다음 빈 슬롯) 갱신
+        Set<Long> changed = new HashSet<>();
+        toInsert.forEach(k -> changed.add(k.consultantId()));
+        deleteKeys.forEach(k -> changed.add(k.consultantId()));
+        changed.forEach(id -> events.publishEvent(new ConsultantCardChanged(id)));
+
+        inserted.addAndGet(toInsert.size());
+        deleted.addAndGet(deleteIds.size());
+        return new int[]{ toInsert.size(), deleteIds.size() };
+    }
+
+    private record SlotKey(long consultantId, LocalDateTime startAt, LocalDateTime endAt) {}
+}
@@ -7,43 +7,39 @@ import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 
-import java.time.LocalDateTime;   // ← 엔티티의 createdAt 타입에 맞춰 조정
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
 
-    // 1) 리스케줄 동시성 제어
+    // 1) 진행 중 예약 조회 (slot claim 보정용)
+    List<Appointment> findByStatusInAndEndAtAfter(Collection<AppointmentStatus> statuses, OffsetDateTime after);
+
+    // 2) 생명주기 엔진: 기한 지난 id 묶음 처리 (PK 조회, 전체 스캔 없음)
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("select a from Appointment a where a.id = :id")
-    Optional<Appointment> findByIdForUpdate(@Param("id") Long id);
-
-    // 2) 겹침 검사 (생성/변경 공용) — 생성: excludeId=null, 변경: excludeId=대상ID
-    @Query("""
-        select (count(a) > 0) from Appointment a
-         where a.consultant.id = :consultantId
-           and (:excludeId is null or a.id <> :excludeId)
-           and a.status in :blocking
-           and a.startAt < :endAt
-           and a.endAt   > :startAt
-    """)
-    boolean existsActiveOverlap(
-            @Param("consultantId") Long consultantId,
-            @Param("startAt")      OffsetDateTime startAt,
-            @Param("endAt")        OffsetDateTime endAt,
-            @Param("excludeId")    Long excludeId,
-            @Param("blocking")     Collection<AppointmentStatus> blocking
-    );
-
-    // 3) 오래된 REQUESTED 자동 정리 (createdAt 타입 주의!)
-    List<Appointment> findByStatusAndCreatedAtBefore(
-            AppointmentStatus status,
-            LocalDateTime cutoff
-    );
-
-    // 4) 편의 조회
+    @Query("select a from Appointment a where a.id in :ids and a.status = :status")
+    List<Appointment> lockByIdInAndStatus(@Param("ids") Collection<Long> ids,
+                                          @Param("status") AppointmentStatus status);
+
+    // 상태 조건부 일괄 전환 (낙관적 락 버전도 함께 올려 동시 수정과 충돌하도록)
+    @Modifying(clearAutomatically = true)
+    @Query("update Appointment a set a.status = :to, a.version = a.version + 1 where a.id in :ids and a.status = :from")
+    int transition(@Param("ids") Collection<Long> ids,
+                   @Param("from") AppointmentStatus from,
+                   @Param("to") AppointmentStatus to);
+
+    // 지연 큐 재적재용: 기한이 before 이전인 것만 [id, createdAt] / [id, endAt]  (status, created_at / status, endAt 인덱스)
+    @Query("select a.id, a.createdAt from Appointment a where a.status = :status and a.createdAt < :before")
+    List<Object[]> findIdAndCreatedAtByStatusBefore(@Param("status") AppointmentStatus status,
+                                                    @Param("before") LocalDateTime before);
+
+    @Query("select a.id, a.endAt from Appointment a where a.status = :status and a.endAt < :before")
+    List<Object[]> findIdAndEndAtByStatusBefore(@Param("status") AppointmentStatus status,
+                                                @Param("before") OffsetDateTime before);
+
+    // 3) 편의 조회
     List<Appointment> findByUser(User u);
     List<Appointment> findByConsultant(User consultant);
     List<Appointment> findByConsultantAndStatus(User consultant, AppointmentStatus status);
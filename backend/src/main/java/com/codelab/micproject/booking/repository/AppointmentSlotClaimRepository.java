@@ -0,0 +1,70 @@
+package com.codelab.micproject.booking.repository;
+
+import com.codelab.micproject.booking.domain.AppointmentSlotClaim;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AppointmentSlotClaimRepository extends JpaRepository<AppointmentSlotClaim, Long> {
+
+    /** 이미 점유된 칸이면 0 반환 (예외 없이 → 영속성 컨텍스트가 깨지지 않음, MySQL) */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO appointment_slot_claim (consultant_id, slot_start, appointment_id) VALUES (:consultantId, :slotStart, :appointmentId)",
+            nativeQuery = true)
+    int insertIgnore(@Param("consultantId") Long consultantId,
+                     @Param("slotStart") long slotStart,
+                     @Param("appointmentId") Long appointmentId);
+
+    @Query("""
+        select (count(c) > 0) from AppointmentSlotClaim c
+         where c.consultantId = :consultantId and c.slotStart >= :from and c.slotStart < :to
+    """)
+    boolean existsInRange(@Param("consultantId") Long consultantId,
+                          @Param("from") long from,
+                          @Param("to") long to);
+
+    /** 해당 예약이 잡은 칸만 삭제 */
+    @Modifying
+    @Query("""
+        delete from AppointmentSlotClaim c
+         where c.consultantId = :consultantId and c.slotStart >= :from and c.slotStart < :to
+           and c.appointmentId = :appointmentId
+    """)
+    int deleteOwned(@Param("consultantId") Long consultantId,
+                    @Param("from") long from,
+                    @Param("to") long to,
+                    @Param("appointmentId") Long appointmentId);
+
+    /** 소유자 컬럼 도입 전 행(appointment_id null) → 그 구간의 진행 중 예약에 귀속 */
+    @Modifying
+    @Query("""
+        update AppointmentSlotClaim c set c.appointmentId = :appointmentId
+         where c.consultantId = :consultantId and c.slotStart >= :from and c.slotStart < :to
+           and c.appointmentId is null
+    """)
+    int adoptUnowned(@Param("consultantId") Long consultantId,
+                     @Param("from") long from,
+                     @Param("to") long to,
+                     @Param("appointmentId") Long appointmentId);
+
+    /** free/busy 인덱스 재구성용: [consultantId, slotStart] */
+    @Query("select c.consultantId, c.slotStart from AppointmentSlotClaim c where c.slotStart >= :from and c.slotStart < :to")
+    List<Object[]> findRowsInRange(@Param("from") long from, @Param("to") long to);
+
+    /** 상담사 카드(다음 빈 슬롯) 계산용: [consultantId, slotStart] */
+    @Query("""
+        select c.consultantId, c.slotStart from AppointmentSlotClaim c
+         where c.consultantId in :consultantIds and c.slotStart >= :from and c.slotStart < :to
+    """)
+    List<Object[]> findRowsForConsultants(@Param("consultantIds") Collection<Long> consultantIds,
+                                          @Param("from") long from,
+                                          @Param("to") long to);
+
+    @Modifying
+    @Query("delete from AppointmentSlotClaim c where c.slotStart < :before")
+    int deleteBefore(@Param("before") long before);
+}
@@ -4,11 +4,21 @@ package com.codelab.micproject.booking.repository;
 import com.codelab.micproject.account.user.domain.User;
 import com.codelab.micproject.booking.domain.Availability;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 
+import java.util.Collection;
 import java.util.List;
 
 
 public interface AvailabilityRepository extends JpaRepository<Availability, Long> {
     List<Availability> findByConsultant(User consultant);
+
+    // 슬롯 materializer 용: 규칙이 있는 상담사 / 상담사 묶음의 규칙 일괄 조회
+    @Query("select distinct a.consultant.id from Availability a")
+    List<Long> findConsultantIds();
+
+    @Query("select a from Availability a where a.consultant.id in :consultantIds")
+    List<Availability> findByConsultantIds(@Param("consultantIds") Collection<Long> consultantIds);
 }
\ No newline at end of file
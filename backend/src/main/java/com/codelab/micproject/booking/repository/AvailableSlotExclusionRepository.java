@@ -0,0 +1,37 @@
+package com.codelab.micproject.booking.repository;
+
+import com.codelab.micproject.booking.domain.AvailableSlotExclusion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface AvailableSlotExclusionRepository extends JpaRepository<AvailableSlotExclusion, Long> {
+
+    boolean existsByConsultantIdAndStartAtAndEndAt(Long consultantId, LocalDateTime startAt, LocalDateTime endAt);
+
+    @Modifying
+    @Query("delete from AvailableSlotExclusion e where e.consultantId = :consultantId and e.startAt = :startAt and e.endAt = :endAt")
+    int deleteSlot(@Param("consultantId") Long consultantId,
+                   @Param("startAt") LocalDateTime startAt,
+                   @Param("endAt") LocalDateTime endAt);
+
+    // materializer diff 용: [consultantId, startAt, endAt]
+    @Query("""
+        select e.consultantId, e.startAt, e.endAt from AvailableSlotExclusion e
+         where e.consultantId in :consultantIds and e.startAt >= :from and e.startAt < :to
+    """)
+    List<Object[]> findRowsForConsultants(@Param("consultantIds") Collection<Long> consultantIds,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Transactional
+    @Query("delete from AvailableSlotExclusion e where e.startAt < :before")
+    int deleteBefore(@Param("before") LocalDateTime before);
+}
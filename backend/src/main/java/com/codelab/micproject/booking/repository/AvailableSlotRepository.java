@@ -3,9 +3,13 @@ package com.codelab.micproject.booking.repository;
 
 import com.codelab.micproject.account.user.domain.User;
 import com.codelab.micproject.booking.domain.AvailableSlot;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface AvailableSlotRepository extends JpaRepository<AvailableSlot, Long> {
@@ -20,4 +24,31 @@ public interface AvailableSlotRepository extends JpaRepository<AvailableSlot, Lo
 
     // 디버깅용: 컨설턴트의 모든 슬롯 조회
     List<AvailableSlot> findByConsultant(User consultant);
+
+    // free/busy 인덱스 재구성용: [consultantId, startAt, endAt] (엔티티 로딩 없이)
+    @Query("select s.consultant.id, s.startAt, s.endAt from AvailableSlot s where s.startAt < :to and s.endAt > :from")
+    List<Object[]> findRowsOverlapping(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // 규칙이 모두 지워진 상담사의 자동 생성 슬롯도 정리 대상에 포함하기 위함
+    @Query("select distinct s.consultant.id from AvailableSlot s where s.ruleGenerated = true and s.startAt >= :from")
+    List<Long> findRuleGeneratedConsultantIds(@Param("from") LocalDateTime from);
+
+    // 칸 경계 점검(SlotAlignmentAudit)용: 미래 슬롯 [id, consultantId, startAt, endAt] 을 id 키셋으로
+    @Query("""
+        select s.id, s.consultant.id, s.startAt, s.endAt from AvailableSlot s
+         where s.startAt >= :from and s.id > :afterId
+         order by s.id
+    """)
+    List<Object[]> findFutureRowsAfter(@Param("from") LocalDateTime from,
+                                       @Param("afterId") long afterId,
+                                       Pageable page);
+
+    // materializer diff 용: [id, consultantId, startAt, endAt, ruleGenerated]
+    @Query("""
+        select s.id, s.consultant.id, s.startAt, s.endAt, s.ruleGenerated from AvailableSlot s
+         where s.consultant.id in :consultantIds and s.startAt >= :from and s.startAt < :to
+    """)
+    List<Object[]> findRowsForConsultants(@Param("consultantIds") Collection<Long> consultantIds,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
 }
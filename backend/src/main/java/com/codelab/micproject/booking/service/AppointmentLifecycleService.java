@@ -0,0 +1,65 @@
+package com.codelab.micproject.booking.service;
+
+import com.codelab.micproject.booking.domain.Appointment;
+import com.codelab.micproject.booking.domain.AppointmentStatus;
+import com.codelab.micproject.booking.repository.AppointmentRepository;
+import com.codelab.micproject.booking.support.AppointmentLifecycleQueue;
+import com.codelab.micproject.booking.support.AppointmentLifecycleQueue.Kind;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 예약 상태 전환 (등록 + 실행)
+ * - 등록: 예약 생성/승인 시점에 AppointmentLifecycleQueue 에 기한 등록 (커밋 후)
+ * - 실행: AppointmentLifecycleEngine 이 기한 지난 id 묶음을 넘기면 상태 조건부 일괄 UPDATE
+ *   (이미 승인/취소된 예약은 WHERE status 조건에서 걸러짐)
+ */
+@Service
+@RequiredArgsConstructor
+public class AppointmentLifecycleService {
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentLifecycleQueue queue;
+    private final SlotClaimService slotClaimService;
+
+    @Value("${app.booking.hold-minutes:15}")
+    private int holdMinutes;
+
+    /** REQUESTED 생성: hold-minutes 뒤 만료 예약 */
+    public void holdCreated(Appointment a) {
+        queue.scheduleAfterCommit(Kind.EXPIRE_HOLD, a.getId(), Instant.now().plus(holdDuration()));
+    }
+
+    /** APPROVED 전환/일정 변경: 종료 시각에 DONE 예약 */
+    public void approved(Appointment a) {
+        if (a.getEndAt() == null) return;
+        queue.scheduleAfterCommit(Kind.COMPLETE, a.getId(), a.getEndAt().toInstant());
+    }
+
+    public Duration holdDuration() {
+        return Duration.ofMinutes(holdMinutes);
+    }
+
+    /** 홀드 만료: 아직 REQUESTED 인 것만 잠그고 점유 해제 후 CANCELLED 로 일괄 전환 */
+    @Transactional
+    public int expireHolds(Collection<Long> ids) {
+        List<Appointment> due = appointmentRepository.lockByIdInAndStatus(ids, AppointmentStatus.REQUESTED);
+        if (due.isEmpty()) return 0;
+        due.forEach(slotClaimService::release);
+        List<Long> dueIds = due.stream().map(Appointment::getId).toList();
+        return appointmentRepository.transition(dueIds, AppointmentStatus.REQUESTED, AppointmentStatus.CANCELLED);
+    }
+
+    /** 세션 종료: APPROVED → DONE 일괄 전환 (점유는 지난 칸이라 purgePast 가 정리) */
+    @Transactional
+    public int complete(Collection<Long> ids) {
+        return appointmentRepository.transition(ids, AppointmentStatus.APPROVED, AppointmentStatus.DONE);
+    }
+}
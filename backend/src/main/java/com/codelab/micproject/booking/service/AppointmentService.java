@@ -10,17 +10,18 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
-import java.util.EnumSet;
 
 @Service
 @RequiredArgsConstructor
 public class AppointmentService {
 
     private final AppointmentRepository appointmentRepository;
+    private final SlotClaimService slotClaimService;
+    private final AppointmentLifecycleService lifecycleService;
 
     @Transactional
     public void reschedule(Long appointmentId, UserPrincipal me, RescheduleRequest req) {
-        var appt = appointmentRepository.findByIdForUpdate(appointmentId)
+        var appt = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new IllegalArgumentException("예약을 찾을 수 없습니다."));
 
         if (appt.getUser() == null || !appt.getUser().getId().equals(me.getId())) {
@@ -42,18 +43,14 @@ public class AppointmentService {
             throw new IllegalArgumentException("과거 시간으로는 변경할 수 없습니다.");
         }
 
-        var ACTIVE = java.util.EnumSet.of(AppointmentStatus.REQUESTED, AppointmentStatus.APPROVED);
-        boolean overlap = appointmentRepository.existsActiveOverlap(
-                    appt.getConsultant().getId(),
-                    newStart,
-                    newEnd,
-                    appt.getId(),      // 변경이므로 자기 자신 제외
-                    ACTIVE
-                        );
-        if (overlap) throw new IllegalStateException("이미 예약된 시간입니다.");
-
+        // 기존 점유 해제 → 새 구간 점유 (실패 시 예외 → 트랜잭션 롤백으로 기존 점유/시각 복구)
+        slotClaimService.release(appt);
         appt.setStartAt(newStart);
         appt.setEndAt(newEnd);
-        // flush는 트랜잭션 종료 시점에 일어남 (업데이트 SQL과 함께 @Version 증가)
+        if (!slotClaimService.tryClaim(appt)) {
+            throw new IllegalStateException("이미 예약된 시간입니다.");
+        }
+        if (appt.getStatus() == AppointmentStatus.APPROVED) lifecycleService.approved(appt); // 종료 기한 갱신
+        // 같은 예약의 동시 변경은 @Version 으로 감지 (flush 시점에 낙관적 락 충돌)
     }
 }
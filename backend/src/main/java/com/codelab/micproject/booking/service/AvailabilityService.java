@@ -1,23 +1,32 @@
 // src/main/java/com/codelab/micproject/booking/service/AvailabilityService.java
 package com.codelab.micproject.booking.service;
 
+import com.codelab.micproject.account.consultant.support.ConsultantCardChanged;
 import com.codelab.micproject.account.user.domain.User;
 import com.codelab.micproject.account.user.repository.UserRepository;
 import com.codelab.micproject.booking.domain.Availability;
 import com.codelab.micproject.booking.domain.AvailableSlot;
+import com.codelab.micproject.booking.domain.AvailableSlotExclusion;
+import com.codelab.micproject.account.consultant.domain.ConsultantLevel;
 import com.codelab.micproject.booking.dto.AvailabilitySlotDto;
 import com.codelab.micproject.booking.dto.AvailabilityView;
+import com.codelab.micproject.booking.dto.FreeConsultantView;
 import com.codelab.micproject.booking.dto.SlotDto;
 import com.codelab.micproject.booking.dto.UpsertAvailabilityReq;
+import com.codelab.micproject.booking.job.SlotMaterializerJob;
 import com.codelab.micproject.booking.repository.AvailabilityRepository;
+import com.codelab.micproject.booking.repository.AvailableSlotExclusionRepository;
 import com.codelab.micproject.booking.repository.AvailableSlotRepository;
+import com.codelab.micproject.booking.support.AvailabilityRuleCache;
+import com.codelab.micproject.booking.support.CompiledAvailability;
+import com.codelab.micproject.booking.support.FreeBusyIndex;
 import com.codelab.micproject.security.oauth2.UserPrincipal;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.*;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,11 +34,17 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AvailabilityService {
 
-    private static final DateTimeFormatter HM = DateTimeFormatter.ofPattern("HH:mm");
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
 
     private final AvailabilityRepository availabilityRepository;
     private final AvailableSlotRepository availableSlotRepository; // ★ 추가
+    private final AvailableSlotExclusionRepository exclusionRepository;
     private final UserRepository userRepository;
+    private final AvailabilityRuleCache ruleCache;
+    private final FreeBusyIndex freeBusyIndex;
+    private final SlotMaterializerJob slotMaterializer;
+    private final SlotClaimService slotClaimService;
+    private final ApplicationEventPublisher events;
 
     /** 유효성 검사: 가용시간+간격에 맞는지 (불일치 시 예외) */
     @Transactional(readOnly = true)
@@ -42,49 +57,22 @@ public class AvailabilityService {
     /** 유효성 검사: 가용시간+간격에 맞는지 (boolean) */
     @Transactional(readOnly = true)
     public boolean isValid(User consultant, OffsetDateTime startAt, OffsetDateTime endAt) {
-        var avails = availabilityRepository.findByConsultant(consultant);
-        if (avails == null || avails.isEmpty()) {
+        var rules = rulesOf(consultant);
+        if (rules.isEmpty()) {
             throw new IllegalStateException("NO_AVAILABILITY_FOR_CONSULTANT");
         }
-        return avails.stream().anyMatch(av -> fits(av, startAt, endAt));
+        return rules.fits(startAt, endAt);
     }
 
-    /** 단일 Availability에 슬롯이 “정확히” 들어맞는지 */
-    private boolean fits(Availability av, OffsetDateTime startAt, OffsetDateTime endAt) {
-        String zoneStr = (av.getZoneId() != null && !av.getZoneId().isBlank())
-                ? av.getZoneId() : "Asia/Seoul";
-        ZoneId zone = ZoneId.of(zoneStr);
-
-        ZonedDateTime startZ = startAt.atZoneSameInstant(zone);
-        ZonedDateTime endZ   = endAt.atZoneSameInstant(zone);
-
-        if (!startZ.toLocalDate().equals(endZ.toLocalDate())) return false;
-        if (startZ.getDayOfWeek().getValue() != av.getWeekday()) return false;
-
-        LocalTime availStart = parseHm(av.getStartTime());
-        LocalTime availEnd   = parseHm(av.getEndTime());
-        if (availStart == null || availEnd == null) return false;
-
-        LocalTime s = startZ.toLocalTime();
-        LocalTime e = endZ.toLocalTime();
-
-        if (s.isBefore(availStart)) return false;
-        if (e.isAfter(availEnd)) return false;
-
-        int slot = av.getSlotMinutes();
-        if (slot <= 0) return false;
-
-        long minutes = Duration.between(s, e).toMinutes();
-        if (minutes <= 0 || minutes % slot != 0) return false;
-
-        long startOffset = Duration.between(availStart, s).toMinutes();
-        long endOffset   = Duration.between(availStart, e).toMinutes();
-        return (startOffset % slot == 0) && (endOffset % slot == 0);
+    /** 컴파일된 가용시간 규칙 (캐시) */
+    private CompiledAvailability rulesOf(User consultant) {
+        return ruleCache.get(consultant.getId(), () -> availabilityRepository.findByConsultant(consultant));
     }
 
     @Transactional
     public AvailabilityView upsert(UserPrincipal me, UpsertAvailabilityReq req){
         var meUser = userRepository.findById(me.id()).orElseThrow();
+        requireAlignedRule(req);
         var a = Availability.builder()
                 .consultant(meUser)
                 .weekday(req.weekday())
@@ -94,16 +82,13 @@ public class AvailabilityService {
                 .zoneId(req.zoneId())
                 .build();
         availabilityRepository.save(a);
+        ruleCache.evictAfterCommit(meUser.getId());
+        slotMaterializer.materializeAfterCommit(meUser.getId());
         return new AvailabilityView(
                 a.getId(), a.getWeekday(), a.getStartTime(),
                 a.getEndTime(), a.getSlotMinutes(), a.getZoneId());
     }
 
-    private static LocalTime parseHm(String v) {
-        if (v == null || v.isBlank()) return null;
-        try { return LocalTime.parse(v, HM); } catch (Exception e) { return null; }
-    }
-
     /** 공개: [from,to] 범위에 대한 가용 슬롯 생성(규칙 기반) */
     @Transactional(readOnly = true)
     public List<SlotDto> generateSlots(Long consultantId, LocalDate from, LocalDate to){
@@ -116,28 +101,11 @@ public class AvailabilityService {
         }
 
         var consultant = userRepository.findById(consultantId).orElseThrow();
-        var availList = availabilityRepository.findByConsultant(consultant);
+        var rules = rulesOf(consultant);
 
         List<SlotDto> out = new ArrayList<>();
         for (var day = from; !day.isAfter(to); day = day.plusDays(1)){
-            int wd = day.getDayOfWeek().getValue(); // 1~7
-            for (var av : availList){
-                if (av.getWeekday() != wd) continue;
-
-                var zone = (av.getZoneId()!=null && !av.getZoneId().isBlank())
-                        ? ZoneId.of(av.getZoneId()) : ZoneId.systemDefault();
-
-                var availStart = parseHm(av.getStartTime());
-                var availEnd   = parseHm(av.getEndTime());
-                if (availStart == null || availEnd == null) continue;
-
-                var slot = Duration.ofMinutes(av.getSlotMinutes());
-                for (var t = availStart; !t.plus(slot).isAfter(availEnd); t = t.plus(slot)){
-                    var startZdt = ZonedDateTime.of(day, t, zone);
-                    var endZdt = startZdt.plus(slot);
-                    out.add(new SlotDto(startZdt.toOffsetDateTime(), endZdt.toOffsetDateTime()));
-                }
-            }
+            rules.appendSlots(day, out);
         }
         return out;
     }
@@ -166,13 +134,20 @@ public class AvailabilityService {
             if (!end.isAfter(start)) {
                 throw new IllegalArgumentException("endAt must be after startAt");
             }
+            // 예약 점유 칸 경계에 맞지 않는 슬롯은 이웃 예약과 칸을 나눠 갖게 되므로 등록 거절
+            slotClaimService.requireAligned(start.atZone(KST).toOffsetDateTime(), end.atZone(KST).toOffsetDateTime());
+            // 이미 같은 슬롯이 있으면 건너뜀 (자동 생성분 포함, uk_available_slot)
+            if (availableSlotRepository.existsByConsultantAndStartAtAndEndAt(consultant, start, end)) continue;
+            exclusionRepository.deleteSlot(consultant.getId(), start, end); // 지웠던 자동 슬롯을 다시 여는 경우
             var entity = AvailableSlot.builder()
                     .consultant(consultant)
                     .startAt(start)
                     .endAt(end)
                     .build();
             availableSlotRepository.save(entity);
+            freeBusyIndex.slotChangedAfterCommit(consultant.getId(), start, end, true);
         }
+        events.publishEvent(new ConsultantCardChanged(consultant.getId())); // 다음 빈 슬롯
     }
 
     @Transactional
@@ -183,6 +158,37 @@ public class AvailabilityService {
             throw new IllegalArgumentException("본인의 슬롯만 삭제할 수 있습니다.");
         }
         availableSlotRepository.delete(slot);
+        // 자동 생성 슬롯은 규칙이 그대로라 materializer 가 다시 만들므로 제외 구간으로 남김
+        if (slot.isRuleGenerated()
+                && !exclusionRepository.existsByConsultantIdAndStartAtAndEndAt(consultant.getId(), slot.getStartAt(), slot.getEndAt())) {
+            exclusionRepository.save(AvailableSlotExclusion.builder()
+                    .consultantId(consultant.getId())
+                    .startAt(slot.getStartAt())
+                    .endAt(slot.getEndAt())
+                    .build());
+        }
+        freeBusyIndex.slotChangedAfterCommit(consultant.getId(), slot.getStartAt(), slot.getEndAt(), false);
+        events.publishEvent(new ConsultantCardChanged(consultant.getId()));
+    }
+
+    /**
+     * 규칙으로 만들어질 슬롯이 모두 claim 칸 경계에 맞는지: 시작 시각·슬롯 길이·타임존 오프셋이 granule 배수
+     * (예: granule 30분에 45분 슬롯이면 10:00~10:45 / 10:45~11:30 이 10:30 칸을 나눠 가짐)
+     * 오프셋은 지금 하나가 아니라 앞으로 1년(materializer 창 포함, DST 주기 전체)의 모든 전환 후 값으로 확인
+     */
+    private void requireAlignedRule(UpsertAvailabilityReq req) {
+        int granule = slotClaimService.granuleMin();
+        var probe = Availability.builder()
+                .weekday(req.weekday())
+                .startTime(req.startTime())
+                .endTime(req.endTime())
+                .slotMinutes(req.slotMinutes())
+                .zoneId(req.zoneId())
+                .build();
+        Instant now = Instant.now();
+        if (!CompiledAvailability.isAligned(probe, granule, now, now.plus(Duration.ofDays(366)))) {
+            throw new IllegalArgumentException("SLOT_NOT_ALIGNED: 시작 시각과 슬롯 길이, 타임존 오프셋은 " + granule + "분 단위여야 합니다.");
+        }
     }
 
     /** 공개: [from,to] 범위의 '저장된 개별 슬롯' 조회 */
@@ -206,4 +212,21 @@ public class AvailabilityService {
                 s.getEndAt().atZone(zone).toOffsetDateTime()
         )).toList();
     }
+
+    /**
+     * 공개: date 의 [from, to) (KST) 에 비어 있는 상담사 검색 (free/busy 인덱스, DB 조회 없음)
+     * mode=ALL 이면 범위 전체가 빈 상담사, ANY 면 빈 칸이 하나라도 있는 상담사
+     */
+    public List<FreeConsultantView> searchFree(LocalDate date, LocalTime from, LocalTime to, FreeBusyIndex.Mode mode,
+                                               ConsultantLevel level, Integer maxPrice, int limit) {
+        int fromMin = from.getHour() * 60 + from.getMinute();
+        int toMin = to.equals(LocalTime.MIDNIGHT) ? 1440 : to.getHour() * 60 + to.getMinute();
+        if (toMin <= fromMin) {
+            throw new IllegalArgumentException("`to` must be after `from`");
+        }
+        int capped = Math.min(Math.max(limit, 1), 200);
+        return freeBusyIndex.search(date, fromMin, toMin, mode, level, maxPrice, capped).stream()
+                .map(m -> new FreeConsultantView(m.consultantId(), m.level(), m.price(), m.freeRanges()))
+                .toList();
+    }
 }
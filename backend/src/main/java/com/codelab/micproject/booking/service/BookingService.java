@@ -26,6 +26,8 @@ public class BookingService {
     private final ConsultantMetaRepository metaRepository;
     private final MeetingLinkFactory meetingLinkFactory;
     private final AvailabilityService availabilityService;
+    private final SlotClaimService slotClaimService;
+    private final AppointmentLifecycleService lifecycleService;
 
     @Transactional
     public AppointmentView request(UserPrincipal me, RequestAppointment req){
@@ -36,18 +38,7 @@ public class BookingService {
         // 1) 가용/간격 검증
         availabilityService.validate(consultant, req.startAt(), req.endAt());
 
-        // 2) 겹침(REQUESTED/APPROVED만 차단)
-        var blocking = java.util.EnumSet.of(AppointmentStatus.REQUESTED, AppointmentStatus.APPROVED);
-        boolean overlap = appointmentRepository.existsActiveOverlap(
-                    consultant.getId(),
-                    req.startAt(),
-                    req.endAt(),
-                    null,              // 생성이므로 제외 id 없음
-                    blocking
-                        );
-        if (overlap) throw new IllegalStateException("time slot already booked");
-
-        // 3) 요청 생성(REQUESTED)
+        // 2) 요청 생성(REQUESTED)
         var a = Appointment.builder()
                 .consultant(consultant).user(user)
                 .startAt(req.startAt()).endAt(req.endAt())
@@ -55,6 +46,12 @@ public class BookingService {
                 .build();
         appointmentRepository.save(a);
 
+        // 3) 시간 점유(유니크 인덱스, 소유자 = 이 예약) — 이미 잡힌 칸이면 실패 → 예약 INSERT 도 롤백
+        if (!slotClaimService.tryClaim(a)) {
+            throw new IllegalStateException("time slot already booked");
+        }
+        lifecycleService.holdCreated(a);
+
         return new AppointmentView(
                 a.getId(), consultant.getId(), user.getId(),
                 a.getStartAt(), a.getEndAt(), a.getStatus().name(), a.getMeetingUrl()
@@ -86,6 +83,7 @@ public class BookingService {
 
         a.setStatus(AppointmentStatus.APPROVED);
         a.setMeetingUrl(meetingLinkFactory.buildJoinUrl(a));
+        lifecycleService.approved(a);
         return new AppointmentView(
                 a.getId(), a.getConsultant().getId(), a.getUser().getId(),
                 a.getStartAt(), a.getEndAt(), a.getStatus().name(), a.getMeetingUrl()
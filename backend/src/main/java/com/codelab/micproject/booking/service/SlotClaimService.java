@@ -0,0 +1,152 @@
+package com.codelab.micproject.booking.service;
+
+import com.codelab.micproject.account.consultant.support.ConsultantCardChanged;
+import com.codelab.micproject.booking.domain.Appointment;
+import com.codelab.micproject.booking.domain.AppointmentStatus;
+import com.codelab.micproject.booking.repository.AppointmentRepository;
+import com.codelab.micproject.booking.repository.AppointmentSlotClaimRepository;
+import com.codelab.micproject.booking.support.FreeBusyIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.EnumSet;
+
+/**
+ * appointment_slot_claim 기반 이중 예약 방지
+ * - tryClaim: 예약 구간을 claim 칸(granule) 단위로 INSERT IGNORE (소유자 = 예약 id), 하나라도 이미 점유면 false
+ *   구간은 칸 경계에 정확히 맞아야 함 (맞지 않으면 이웃 예약과 칸을 나눠 갖게 되므로 거절)
+ *   → 가용시간 규칙/수동 슬롯도 등록 시점에 같은 칸 경계로 검증 (requireAligned)
+ * - 예약과 같은 트랜잭션에서 호출 → 예약이 롤백되면 점유도 롤백
+ * - release: 취소/만료 시 그 예약이 소유한 칸만 삭제 (이미 해제됐거나 다른 예약이 잡은 칸은 그대로)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SlotClaimService {
+
+    private final AppointmentSlotClaimRepository claimRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final FreeBusyIndex freeBusyIndex;
+    private final ApplicationEventPublisher events;
+
+    @Value("${app.booking.claim-granule-min:30}")
+    private int granuleMin;
+
+    /**
+     * 예약 구간 전체 점유 시도 (예약은 저장되어 id 가 있어야 함). 실패 시 이번 호출에서 잡은 칸은 되돌림
+     * 칸 경계에 맞지 않는 구간이면 IllegalArgumentException
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean tryClaim(Appointment a) {
+        if (a.getId() == null) throw new IllegalStateException("appointment must be saved before claiming");
+        Long consultantId = a.getConsultant().getId();
+        requireAligned(a.getStartAt(), a.getEndAt());
+        long from = floor(a.getStartAt());
+        long to = ceil(a.getEndAt());
+        for (long m = from; m < to; m += granuleMin) {
+            if (claimRepository.insertIgnore(consultantId, m, a.getId()) == 0) {
+                if (m > from) claimRepository.deleteOwned(consultantId, from, m, a.getId());
+                return false;
+            }
+        }
+        freeBusyIndex.markBusyAfterCommit(consultantId, from, to);
+        events.publishEvent(new ConsultantCardChanged(consultantId)); // 다음 빈 슬롯
+        return true;
+    }
+
+    /** 구간에 점유된 칸이 있는지 (인덱스 범위 조회, 점유하지 않음) */
+    @Transactional(readOnly = true)
+    public boolean isClaimed(Long consultantId, OffsetDateTime startAt, OffsetDateTime endAt) {
+        return claimRepository.existsInRange(consultantId, floor(startAt), ceil(endAt));
+    }
+
+    /** 예약이 소유한 칸만 해제. 지운 칸이 없으면(이미 해제됨) 아무것도 하지 않음 */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Appointment a) {
+        Long consultantId = a.getConsultant().getId();
+        long from = floor(a.getStartAt());
+        long to = ceil(a.getEndAt());
+        if (claimRepository.deleteOwned(consultantId, from, to, a.getId()) == 0) return;
+        freeBusyIndex.markReleasedAfterCommit(consultantId, from, to);
+        events.publishEvent(new ConsultantCardChanged(consultantId));
+    }
+
+    /** 구간이 claim 칸 경계에 맞는지 (초 단위 없음 + 시작/끝 모두 granule 배수인 epoch 분) */
+    public boolean isAligned(OffsetDateTime startAt, OffsetDateTime endAt) {
+        return onBoundary(startAt) && onBoundary(endAt);
+    }
+
+    public void requireAligned(OffsetDateTime startAt, OffsetDateTime endAt) {
+        if (!isAligned(startAt, endAt)) {
+            throw new IllegalArgumentException("SLOT_NOT_ALIGNED: 예약 구간은 " + granuleMin + "분 단위 경계에 맞아야 합니다.");
+        }
+    }
+
+    /**
+     * 기동 시 진행 중 예약(REQUESTED/APPROVED, 미래)의 점유 보정
+     * 테이블 도입 이전 예약 / 누락분 / 소유자 컬럼 도입 전 행(appointment_id null) 대비
+     * 소유자 없는 칸은 그 구간의 예약이 가져가고, 빈 칸은 INSERT IGNORE → 반복 실행해도 안전
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        var active = appointmentRepository.findByStatusInAndEndAtAfter(
+                EnumSet.of(AppointmentStatus.REQUESTED, AppointmentStatus.APPROVED), OffsetDateTime.now());
+        int conflicts = 0;
+        for (Appointment a : active) {
+            Long consultantId = a.getConsultant().getId();
+            long from = floor(a.getStartAt());
+            long to = ceil(a.getEndAt());
+            claimRepository.adoptUnowned(consultantId, from, to, a.getId());
+            for (long m = from; m < to; m += granuleMin) {
+                // 0 이면 이미 점유(정상 재실행) 또는 기존 이중 예약
+                if (claimRepository.insertIgnore(consultantId, m, a.getId()) == 0) conflicts++;
+            }
+        }
+        log.info("[SlotClaim] backfill checked {} active appointments ({} cells already claimed)", active.size(), conflicts);
+    }
+
+    /** 지난 점유 정리 (하루 지난 칸) */
+    @Scheduled(cron = "0 30 4 * * *")
+    @Transactional
+    public void purgePast() {
+        long before = OffsetDateTime.now().minus(Duration.ofDays(1)).toEpochSecond() / 60;
+        int n = claimRepository.deleteBefore(before);
+        if (n > 0) log.info("[SlotClaim] purged {} past claims", n);
+    }
+
+    /** claim 칸 번호(epoch 분) 범위 [from, to) — 같은 칸 정의를 쓰는 SlotHoldService 용 */
+    public long[] cellRange(OffsetDateTime startAt, OffsetDateTime endAt) {
+        return new long[]{ floor(startAt), ceil(endAt) };
+    }
+
+    public int granuleMin() {
+        return granuleMin;
+    }
+
+    private boolean onBoundary(OffsetDateTime t) {
+        long sec = t.toEpochSecond();
+        return t.getNano() == 0 && Math.floorMod(sec, 60) == 0 && Math.floorMod(Math.floorDiv(sec, 60), granuleMin) == 0;
+    }
+
+    private long floor(OffsetDateTime t) {
+        long min = Math.floorDiv(t.toEpochSecond(), 60);
+        return min - Math.floorMod(min, granuleMin);
+    }
+
+    private long ceil(OffsetDateTime t) {
+        long min = Math.floorDiv(t.toEpochSecond() + 59, 60);
+        long r = Math.floorMod(min, granuleMin);
+        return r == 0 ? min : min + (granuleMin - r);
+    }
+}
@@ -0,0 +1,130 @@
+package com.codelab.micproject.booking.service;
+
+import com.codelab.micproject.common.resilience.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 체크아웃 직전 단기 슬롯 홀드 (Redis, DB 접근 전)
+ * - 키: slot:hold:{consultantId}:{칸 epoch 분} (SlotClaimService 와 같은 칸 정의), 값: 홀드 토큰
+ * - 구간의 모든 칸을 Lua 한 번으로 NX 설정 (하나라도 다른 토큰이면 실패) → 경쟁에서 진 요청은 DB 를 건드리지 않고 거절
+ * - 보유자만 주문/예약/결제 행을 만들고, 결제 확정(confirm) 때 DB 점유로 전환되며 홀드는 해제
+ * - TTL(app.booking.hold-minutes) 이 지나면 자동 소멸 (버려진 체크아웃)
+ * - Redis 장애 시 홀드 없이 진행 (최종 판단은 DB 점유 테이블)
+ * 키를 스크립트 안에서 나열하므로 단일 샤드(비클러스터) Redis 전제.
+ */
+@Slf4j
+@Service
+public class SlotHoldService {
+
+    private static final String KEY_PREFIX = "slot:hold:";
+
+    // KEYS=칸들  ARGV: token, ttlMs → 1 홀드, 0 다른 체크아웃이 보유 중
+    private static final DefaultRedisScript<Long> HOLD = new DefaultRedisScript<>("""
+            for _, k in ipairs(KEYS) do
+              local v = redis.call('GET', k)
+              if v and v ~= ARGV[1] then return 0 end
+            end
+            for _, k in ipairs(KEYS) do redis.call('SET', k, ARGV[1], 'PX', ARGV[2]) end
+            return 1
+            """, Long.class);
+
+    // KEYS=칸들  ARGV: token → 자기 토큰인 칸만 삭제
+    private static final DefaultRedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            local n = 0
+            for _, k in ipairs(KEYS) do
+              if redis.call('GET', k) == ARGV[1] then n = n + redis.call('DEL', k) end
+            end
+            return n
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final SlotClaimService slotClaimService;
+    private final long ttlMs;
+    private final CircuitBreaker breaker = new CircuitBreaker("slot-hold", 3, 30_000);
+
+    private final AtomicLong granted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong bypassed = new AtomicLong();
+
+    public SlotHoldService(StringRedisTemplate redis,
+                           SlotClaimService slotClaimService,
+                           @Value("${app.booking.hold-minutes:15}") int holdMinutes) {
+        this.redis = redis;
+        this.slotClaimService = slotClaimService;
+        this.ttlMs = holdMinutes * 60_000L;
+    }
+
+    /**
+     * 홀드 시도
+     * @return 홀드 토큰, Redis 장애로 홀드 없이 진행할 때는 null
+     * @throws IllegalStateException 다른 체크아웃이 보유 중
+     */
+    public String hold(Long consultantId, OffsetDateTime startAt, OffsetDateTime endAt) {
+        String token = UUID.randomUUID().toString();
+        List<String> keys = keys(consultantId, startAt, endAt);
+        Long r = breaker.call(() -> redis.execute(HOLD, keys, token, String.valueOf(ttlMs)), () -> null);
+        if (r == null) {
+            bypassed.incrementAndGet();
+            return null;
+        }
+        if (r != 1L) {
+            rejected.incrementAndGet();
+            throw new IllegalStateException("slot is being held by another checkout");
+        }
+        granted.incrementAndGet();
+        return token;
+    }
+
+    /** 홀드 해제 (확정으로 DB 점유 전환 완료 / 체크아웃 실패) — 토큰이 다르면 아무것도 안 함 */
+    public void release(String token, Long consultantId, OffsetDateTime startAt, OffsetDateTime endAt) {
+        if (token == null || consultantId == null || startAt == null || endAt == null) return;
+        List<String> keys = keys(consultantId, startAt, endAt);
+        breaker.run(() -> redis.execute(RELEASE, keys, token));
+    }
+
+    /** 트랜잭션 커밋 후 해제 (확정 트랜잭션이 롤백되면 홀드 유지) */
+    public void releaseAfterCommit(String token, Long consultantId, OffsetDateTime startAt, OffsetDateTime endAt) {
+        if (token == null) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release(token, consultantId, startAt, endAt);
+                }
+            });
+        } else {
+            release(token, consultantId, startAt, endAt);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("granted", granted.get());
+        m.put("rejected", rejected.get());
+        m.put("bypassed", bypassed.get());
+        m.put("breakerState", breaker.state().name());
+        return m;
+    }
+
+    private List<String> keys(Long consultantId, OffsetDateTime startAt, OffsetDateTime endAt) {
+        long[] range = slotClaimService.cellRange(startAt, endAt);
+        int step = slotClaimService.granuleMin();
+        List<String> keys = new ArrayList<>();
+        for (long m = range[0]; m < range[1]; m += step) keys.add(KEY_PREFIX + consultantId + ":" + m);
+        return keys;
+    }
+}
@@ -0,0 +1,126 @@
+package com.codelab.micproject.booking.support;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 예약 상태 전환 지연 큐 (Redis sorted set, score = 기한 epoch ms, member = appointmentId)
+ * - appt:lc:EXPIRE_HOLD : REQUESTED 홀드 만료 → CANCELLED
+ * - appt:lc:COMPLETE    : APPROVED 세션 종료 → DONE
+ * 등록은 트랜잭션 커밋 후 (롤백된 예약이 큐에 남지 않도록), Redis 장애로 빠진 항목은
+ * AppointmentLifecycleEngine 의 주기 재적재(reseed)가 DB 인덱스 조회로 복구.
+ * 꺼낸 id 는 처리 중 집합(appt:lc:{kind}:processing, score = 가시성 기한)으로 옮겨 두고
+ * DB 전환이 커밋된 뒤 ack 로 지움 — 처리 노드가 커밋 전에 죽으면 기한 후 reclaim 이 대기 큐로 되돌림.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AppointmentLifecycleQueue {
+
+    public enum Kind { EXPIRE_HOLD, COMPLETE }
+
+    private static final String KEY_PREFIX = "appt:lc:";
+
+    // KEYS[1]=zset KEYS[2]=processing  ARGV: nowMs, limit, visibleUntilMs
+    // → 기한 지난 member 를 처리 중 집합으로 옮기면서 반환 (노드 간 중복 처리 방지)
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> POP_DUE = new DefaultRedisScript<>("""
+            local ids = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+            for _, id in ipairs(ids) do redis.call('ZADD', KEYS[2], ARGV[3], id) end
+            if #ids > 0 then redis.call('ZREM', KEYS[1], unpack(ids)) end
+            return ids
+            """, List.class);
+
+    // KEYS[1]=zset KEYS[2]=processing  ARGV: nowMs, limit → 가시성 기한 지난 처리 중 항목을 대기 큐로 (즉시 기한)
+    private static final DefaultRedisScript<Long> RECLAIM = new DefaultRedisScript<>("""
+            local ids = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+            for _, id in ipairs(ids) do redis.call('ZADD', KEYS[1], ARGV[1], id) end
+            if #ids > 0 then redis.call('ZREM', KEYS[2], unpack(ids)) end
+            return #ids
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+
+    /** 커밋 후 등록 (같은 id 재등록 시 기한만 갱신) */
+    public void scheduleAfterCommit(Kind kind, Long appointmentId, Instant dueAt) {
+        if (appointmentId == null || dueAt == null) return;
+        Runnable add = () -> {
+            try {
+                schedule(kind, appointmentId, dueAt);
+            } catch (RuntimeException e) {
+                log.warn("[Lifecycle] enqueue failed (reseed will recover) kind={} id={}: {}", kind, appointmentId, e.toString());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add.run();
+                }
+            });
+        } else {
+            add.run();
+        }
+    }
+
+    public void schedule(Kind kind, Long appointmentId, Instant dueAt) {
+        redis.opsForZSet().add(key(kind), appointmentId.toString(), dueAt.toEpochMilli());
+    }
+
+    /** 기한이 지난 항목을 최대 limit 개 꺼냄 — visibilityMs 안에 ack/requeue 하지 않으면 reclaim 대상 */
+    @SuppressWarnings("unchecked")
+    public List<Long> popDue(Kind kind, long nowMillis, int limit, long visibilityMs) {
+        List<Object> raw = redis.execute(POP_DUE, List.of(key(kind), processingKey(kind)),
+                String.valueOf(nowMillis), String.valueOf(limit), String.valueOf(nowMillis + visibilityMs));
+        List<Long> ids = new ArrayList<>();
+        if (raw != null) raw.forEach(v -> ids.add(Long.valueOf(v.toString())));
+        return ids;
+    }
+
+    /** DB 전환 커밋 후 처리 중 집합에서 제거 */
+    public void ack(Kind kind, Collection<Long> ids) {
+        if (ids.isEmpty()) return;
+        redis.opsForZSet().remove(processingKey(kind), ids.stream().map(String::valueOf).toArray());
+    }
+
+    /** 처리 실패분 재등록 (대기 큐에 먼저 넣고 처리 중에서 제거 — 사이에 죽어도 유실 없음) */
+    public void requeue(Kind kind, Collection<Long> ids, long retryAtMillis) {
+        for (Long id : ids) redis.opsForZSet().add(key(kind), id.toString(), retryAtMillis);
+        ack(kind, ids);
+    }
+
+    /** 가시성 기한이 지난 처리 중 항목(처리 노드 장애)을 대기 큐로 되돌림 → 되돌린 수 */
+    public long reclaimExpired(Kind kind, long nowMillis, int limit) {
+        Long n = redis.execute(RECLAIM, List.of(key(kind), processingKey(kind)),
+                String.valueOf(nowMillis), String.valueOf(limit));
+        return n == null ? 0 : n;
+    }
+
+    public long inFlight(Kind kind) {
+        Long n = redis.opsForZSet().zCard(processingKey(kind));
+        return n == null ? 0 : n;
+    }
+
+    public long size(Kind kind) {
+        Long n = redis.opsForZSet().zCard(key(kind));
+        return n == null ? 0 : n;
+    }
+
+    private static String key(Kind kind) {
+        return KEY_PREFIX + kind.name();
+    }
+
+    private static String processingKey(Kind kind) {
+        return key(kind) + ":processing";
+    }
+}
@@ -0,0 +1,57 @@
+package com.codelab.micproject.booking.support;
+
+import com.codelab.micproject.booking.domain.Availability;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * consultantId → CompiledAvailability 캐시
+ * - 예약/결제 검증마다 Availability 전체 조회 + 문자열 파싱하던 것을 TTL 동안 재사용
+ * - 같은 노드의 upsert 는 evict 로 즉시 반영, 다른 노드는 TTL 이내 반영
+ */
+@Component
+public class AvailabilityRuleCache {
+
+    private final long ttlMillis;
+    private final Map<Long, Entry> cache = new ConcurrentHashMap<>();
+
+    public AvailabilityRuleCache(@Value("${app.booking.availability-cache.ttl-sec:300}") long ttlSec) {
+        this.ttlMillis = ttlSec * 1000;
+    }
+
+    public CompiledAvailability get(Long consultantId, Supplier<List<Availability>> loader) {
+        long now = System.currentTimeMillis();
+        Entry e = cache.get(consultantId);
+        if (e != null && e.expiresAt > now) return e.rules;
+
+        CompiledAvailability compiled = CompiledAvailability.compile(loader.get());
+        cache.put(consultantId, new Entry(compiled, now + ttlMillis));
+        return compiled;
+    }
+
+    public void evict(Long consultantId) {
+        if (consultantId != null) cache.remove(consultantId);
+    }
+
+    /** 트랜잭션 안이면 커밋 후 evict (커밋 전 다른 요청이 옛 규칙을 다시 캐시하는 것 방지) */
+    public void evictAfterCommit(Long consultantId) {
+        evict(consultantId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(consultantId);
+                }
+            });
+        }
+    }
+
+    private record Entry(CompiledAvailability rules, long expiresAt) {}
+}
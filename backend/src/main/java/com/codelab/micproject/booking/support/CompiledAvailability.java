@@ -0,0 +1,162 @@
+package com.codelab.micproject.booking.support;
+
+import com.codelab.micproject.booking.domain.Availability;
+import com.codelab.micproject.booking.dto.SlotDto;
+
+import java.time.*;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 컨설턴트 가용시간 규칙을 미리 해석해 둔 형태
+ * - HH:mm 문자열 → 자정 기준 분(minute-of-day), zoneId 문자열 → ZoneRules
+ * - 요일(1~7)별 규칙 배열로 보관 → fits() 는 오프셋 조회 1회 + 정수 연산
+ * - 파싱 불가/slotMinutes<=0 규칙은 컴파일 시 제외 (기존에도 항상 불일치 처리됨)
+ */
+public final class CompiledAvailability {
+
+    /** 검증(fits)에서 zoneId 미지정 시 기본 (기존 동작 유지) */
+    private static final ZoneId VALIDATE_DEFAULT_ZONE = ZoneId.of("Asia/Seoul");
+
+    private final Rule[][] byWeekday = new Rule[8][]; // index 1~7
+    private final boolean empty;
+
+    private CompiledAvailability(List<Availability> rows) {
+        List<List<Rule>> tmp = new ArrayList<>(8);
+        for (int i = 0; i < 8; i++) tmp.add(new ArrayList<>());
+        for (Availability av : rows) {
+            Rule r = Rule.compile(av);
+            if (r != null) tmp.get(r.weekday).add(r);
+        }
+        for (int i = 0; i < 8; i++) byWeekday[i] = tmp.get(i).toArray(new Rule[0]);
+        this.empty = rows.isEmpty();
+    }
+
+    public static CompiledAvailability compile(List<Availability> rows) {
+        return new CompiledAvailability(rows == null ? List.of() : rows);
+    }
+
+    /** 등록된 Availability 행 자체가 없음 */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /** [startAt, endAt) 가 어느 규칙의 슬롯 경계에 정확히 맞는지 */
+    public boolean fits(OffsetDateTime startAt, OffsetDateTime endAt) {
+        long startEpoch = startAt.toEpochSecond();
+        long endEpoch = endAt.toEpochSecond();
+        for (int wd = 1; wd <= 7; wd++) {
+            for (Rule r : byWeekday[wd]) {
+                if (r.fits(startEpoch, endEpoch, startAt.toInstant(), endAt.toInstant())) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 규칙이 [from, to) 동안 만드는 슬롯이 모두 claim 칸(granuleMin) 경계에 맞는지
+     * - 시작 분·슬롯 길이, 그리고 그 기간의 모든 UTC 오프셋(DST 전환 후 포함)이 granule 배수여야 함
+     * - 슬롯 생성과 같은 zone(zoneId 없으면 시스템 기본)으로 판단, 해석 불가 규칙은 false
+     */
+    public static boolean isAligned(Availability av, int granuleMin, Instant from, Instant to) {
+        Rule r = Rule.compile(av);
+        if (r == null) return false;
+        if (r.startMin % granuleMin != 0 || r.slotMin % granuleMin != 0) return false;
+        int granuleSec = granuleMin * 60;
+        ZoneRules rules = r.generateZone.getRules();
+        if (rules.getOffset(from).getTotalSeconds() % granuleSec != 0) return false;
+        for (ZoneOffsetTransition t = rules.nextTransition(from);
+             t != null && t.getInstant().isBefore(to);
+             t = rules.nextTransition(t.getInstant())) {
+            if (t.getOffsetAfter().getTotalSeconds() % granuleSec != 0) return false;
+        }
+        return true;
+    }
+
+    /** 날짜 하나에 대해 규칙 기반 슬롯 생성 */
+    public void appendSlots(LocalDate day, List<SlotDto> out) {
+        for (Rule r : byWeekday[day.getDayOfWeek().getValue()]) r.appendSlots(day, out);
+    }
+
+    private static final class Rule {
+        final int weekday;
+        final int startMin;
+        final int endMin;
+        final int slotMin;
+        final ZoneRules validateRules; // zoneId 없으면 Asia/Seoul
+        final ZoneId generateZone;     // zoneId 없으면 시스템 기본 (기존 generateSlots 동작)
+
+        private Rule(int weekday, int startMin, int endMin, int slotMin, ZoneId zone) {
+            this.weekday = weekday;
+            this.startMin = startMin;
+            this.endMin = endMin;
+            this.slotMin = slotMin;
+            this.validateRules = (zone != null ? zone : VALIDATE_DEFAULT_ZONE).getRules();
+            this.generateZone = zone != null ? zone : ZoneId.systemDefault();
+        }
+
+        static Rule compile(Availability av) {
+            if (av.getWeekday() < 1 || av.getWeekday() > 7 || av.getSlotMinutes() <= 0) return null;
+            int s = parseHm(av.getStartTime());
+            int e = parseHm(av.getEndTime());
+            if (s < 0 || e < 0) return null;
+            ZoneId zone = null;
+            if (av.getZoneId() != null && !av.getZoneId().isBlank()) {
+                try { zone = ZoneId.of(av.getZoneId()); } catch (DateTimeException ex) { return null; }
+            }
+            return new Rule(av.getWeekday(), s, e, av.getSlotMinutes(), zone);
+        }
+
+        boolean fits(long startEpoch, long endEpoch, Instant start, Instant end) {
+            long ls = startEpoch + validateRules.getOffset(start).getTotalSeconds();
+            long le = endEpoch + validateRules.getOffset(end).getTotalSeconds();
+            long day = Math.floorDiv(ls, 86_400);
+            if (day != Math.floorDiv(le, 86_400)) return false;
+            if (Math.floorMod(day + 3, 7) + 1 != weekday) return false; // 1970-01-01 = 목(4)
+
+            long sSec = Math.floorMod(ls, 86_400);
+            long eSec = Math.floorMod(le, 86_400);
+            if (sSec % 60 != 0 || eSec % 60 != 0) return false;
+            int s = (int) (sSec / 60);
+            int e = (int) (eSec / 60);
+            if (s < startMin || e > endMin) return false;
+            int minutes = e - s;
+            return minutes > 0 && minutes % slotMin == 0 && (s - startMin) % slotMin == 0;
+        }
+
+        void appendSlots(LocalDate day, List<SlotDto> out) {
+            LocalDateTime first = day.atStartOfDay().plusMinutes(startMin);
+            ZoneRules rules = generateZone.getRules();
+            ZoneOffset offStart = rules.getOffset(first);
+            ZoneOffset offEnd = rules.getOffset(day.atStartOfDay().plusMinutes(endMin));
+            boolean fixed = offStart.equals(offEnd) && rules.isValidOffset(first, offStart);
+
+            for (int t = startMin; t + slotMin <= endMin; t += slotMin) {
+                if (fixed) {
+                    // 구간 내 DST 전환 없음 → 오프셋 고정 산술
+                    OffsetDateTime s = OffsetDateTime.of(first.plusMinutes(t - startMin), offStart);
+                    out.add(new SlotDto(s, s.plusMinutes(slotMin)));
+                } else {
+                    ZonedDateTime s = ZonedDateTime.of(day.atStartOfDay().plusMinutes(t), generateZone);
+                    out.add(new SlotDto(s.toOffsetDateTime(), s.plusMinutes(slotMin).toOffsetDateTime()));
+                }
+            }
+        }
+
+        /** "HH:mm" → 분, 형식 오류면 -1 */
+        private static int parseHm(String v) {
+            if (v == null || v.length() != 5 || v.charAt(2) != ':') return -1;
+            int h = digit(v, 0) * 10 + digit(v, 1);
+            int m = digit(v, 3) * 10 + digit(v, 4);
+            if (h < 0 || m < 0 || h > 23 || m > 59) return -1;
+            return h * 60 + m;
+        }
+
+        private static int digit(String v, int i) {
+            char c = v.charAt(i);
+            return (c >= '0' && c <= '9') ? c - '0' : -100;
+        }
+    }
+}
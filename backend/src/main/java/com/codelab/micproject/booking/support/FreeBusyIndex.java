@@ -0,0 +1,371 @@
+package com.codelab.micproject.booking.support;
+
+import com.codelab.micproject.account.consultant.domain.ConsultantLevel;
+import com.codelab.micproject.account.consultant.domain.ConsultantMeta;
+import com.codelab.micproject.account.consultant.repository.ConsultantMetaRepository;
+import com.codelab.micproject.account.user.domain.User;
+import com.codelab.micproject.account.user.domain.UserRole;
+import com.codelab.micproject.account.user.repository.UserRepository;
+import com.codelab.micproject.booking.dto.SlotDto;
+import com.codelab.micproject.booking.repository.AppointmentSlotClaimRepository;
+import com.codelab.micproject.booking.repository.AvailableSlotRepository;
+import com.codelab.micproject.payment.support.PricingPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 상담사 전체의 free/busy 비트셋 인덱스 ("X시에 비어 있는 상담사" 검색용)
+ *
+ * - 상담사 × 날짜(KST)마다 하루를 claim 칸(app.booking.claim-granule-min) 단위 비트로 표현
+ *   (30분이면 48비트 → long 하나)
+ * - free: 상담사가 등록한 AvailableSlot 이 온전히 덮는 칸
+ *   busy: appointment_slot_claim 의 점유 칸 (SlotClaimService 와 같은 칸 정의)
+ * - 검색은 (free & ~busy & 범위마스크) 를 상담사 배열 순서대로 훑기만 함 → DB 조회 없음
+ * - 같은 노드의 예약/취소/슬롯 변경은 커밋 후 비트 단위로 반영,
+ *   다른 노드의 변경과 상담사 추가/등급 변경은 주기 재구성(rebuild-ms) 때 반영
+ * - 인덱스는 검색 힌트일 뿐이고 실제 예약 가능 여부는 SlotClaimService 가 최종 판단
+ */
+@Slf4j
+@Component
+public class FreeBusyIndex {
+
+    public static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final UserRepository userRepository;
+    private final ConsultantMetaRepository consultantMetaRepository;
+    private final AvailableSlotRepository availableSlotRepository;
+    private final AppointmentSlotClaimRepository claimRepository;
+
+    private final int granuleMin;
+    private final int bitsPerDay;
+    private final int wordsPerDay;
+    private final int windowDays;
+
+    private volatile Snapshot current;    // null 이면 아직 준비 안 됨
+    private volatile Snapshot rebuilding; // 재구성 중 들어온 변경도 함께 반영
+
+    private final AtomicLong searches = new AtomicLong();
+    private final AtomicLong searchNanos = new AtomicLong();
+    private final AtomicLong incrementalUpdates = new AtomicLong();
+
+    public FreeBusyIndex(UserRepository userRepository,
+                         ConsultantMetaRepository consultantMetaRepository,
+                         AvailableSlotRepository availableSlotRepository,
+                         AppointmentSlotClaimRepository claimRepository,
+                         @Value("${app.booking.claim-granule-min:30}") int granuleMin,
+                         @Value("${app.booking.freebusy.window-days:60}") int windowDays) {
+        if (granuleMin <= 0 || 1440 % granuleMin != 0) {
+            throw new IllegalStateException("app.booking.claim-granule-min must divide 1440: " + granuleMin);
+        }
+        this.userRepository = userRepository;
+        this.consultantMetaRepository = consultantMetaRepository;
+        this.availableSlotRepository = availableSlotRepository;
+        this.claimRepository = claimRepository;
+        this.granuleMin = granuleMin;
+        this.bitsPerDay = 1440 / granuleMin;
+        this.wordsPerDay = (bitsPerDay + 63) / 64;
+        this.windowDays = Math.max(1, windowDays);
+    }
+
+    public enum Mode { ALL, ANY }
+
+    /** 검색 결과: 조건을 만족한 상담사와 범위 안의 빈 구간(연속 칸 병합) */
+    public record Match(Long consultantId, ConsultantLevel level, int price, List<SlotDto> freeRanges) {}
+
+    // ===================== 검색 =====================
+
+    /**
+     * date 의 [fromMin, toMin) (KST 자정 기준 분) 에서
+     *  - ALL: 범위 전체가 비어 있는 상담사
+     *  - ANY: 범위 안에 빈 칸이 하나라도 있는 상담사
+     * level/maxPrice 가 null 이면 조건 없음
+     * 오늘이면 지난 칸은 제외 (현재 시각을 칸 경계로 올림한 지점부터)
+     */
+    public List<Match> search(LocalDate date, int fromMin, int toMin, Mode mode,
+                              ConsultantLevel level, Integer maxPrice, int limit) {
+        Snapshot s = current;
+        if (s == null) throw new IllegalStateException("FREE_BUSY_INDEX_NOT_READY");
+        int day = s.dayIndex(date);
+        if (day < 0) throw new IllegalArgumentException("date is outside the searchable window");
+
+        long started = System.nanoTime();
+        int fromBit = Math.max(fromMin / granuleMin, firstBookableBit(date));
+        int toBit = Math.min((toMin + granuleMin - 1) / granuleMin, bitsPerDay);
+        if (fromBit >= toBit) { // 오늘 범위가 이미 지남 → ALL 이 빈 마스크로 전원 통과하지 않도록
+            searches.incrementAndGet();
+            searchNanos.addAndGet(System.nanoTime() - started);
+            return List.of();
+        }
+        long[] mask = rangeMask(fromBit, toBit);
+
+        List<Match> out = new ArrayList<>();
+        long[] avail = new long[wordsPerDay];
+        for (int c = 0; c < s.ids.length && out.size() < limit; c++) {
+            if (level != null && s.levels[c] != level) continue;
+            if (maxPrice != null && s.prices[c] > maxPrice) continue;
+
+            int base = s.offset(day, c);
+            boolean all = true, any = false;
+            for (int w = 0; w < wordsPerDay; w++) {
+                long a = s.free.get(base + w) & ~s.busy.get(base + w) & mask[w];
+                avail[w] = a;
+                if (a != mask[w]) all = false;
+                if (a != 0) any = true;
+            }
+            if (mode == Mode.ALL ? all : any) {
+                out.add(new Match(s.ids[c], s.levels[c], s.prices[c], ranges(date, avail)));
+            }
+        }
+        searches.incrementAndGet();
+        searchNanos.addAndGet(System.nanoTime() - started);
+        return out;
+    }
+
+    // ===================== 증분 반영 =====================
+
+    /** 예약 점유 칸 (SlotClaimService 칸 번호 = epoch 분) 을 커밋 후 busy 로 */
+    public void markBusyAfterCommit(Long consultantId, long fromEpochMin, long toEpochMin) {
+        afterCommit(() -> applyClaims(consultantId, fromEpochMin, toEpochMin, true));
+    }
+
+    public void markReleasedAfterCommit(Long consultantId, long fromEpochMin, long toEpochMin) {
+        afterCommit(() -> applyClaims(consultantId, fromEpochMin, toEpochMin, false));
+    }
+
+    /** 상담사가 등록/삭제한 개별 슬롯 (KST 로컬 시각) 을 커밋 후 free 에 반영 */
+    public void slotChangedAfterCommit(Long consultantId, LocalDateTime startAt, LocalDateTime endAt, boolean added) {
+        afterCommit(() -> applySlot(consultantId, startAt, endAt, added));
+    }
+
+    // ===================== 재구성 =====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    /** 오늘(KST)부터 window-days 일치 전체 재구성 후 교체 */
+    @Scheduled(fixedDelayString = "${app.booking.freebusy.rebuild-ms:300000}",
+               initialDelayString = "${app.booking.freebusy.rebuild-ms:300000}")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        try {
+            Snapshot next = loadConsultants(LocalDate.now(KST));
+            rebuilding = next;
+
+            LocalDateTime from = next.firstDay.atStartOfDay();
+            LocalDateTime to = from.plusDays(windowDays);
+            for (Object[] row : availableSlotRepository.findRowsOverlapping(from, to)) {
+                setSlot(next, (Long) row[0], (LocalDateTime) row[1], (LocalDateTime) row[2], true);
+            }
+            long fromMin = next.epochMin(0, 0);
+            for (Object[] row : claimRepository.findRowsInRange(fromMin, fromMin + (long) windowDays * 1440)) {
+                Long consultantId = (Long) row[0];
+                long cell = (Long) row[1];
+                setClaims(next, consultantId, cell, cell + granuleMin, true);
+            }
+            current = next;
+            log.info("[FreeBusy] rebuilt {} consultants × {} days in {}ms",
+                    next.ids.length, windowDays, System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            log.warn("[FreeBusy] rebuild failed, keeping previous index: {}", e.getMessage());
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Snapshot s = current;
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("ready", s != null);
+        m.put("consultants", s == null ? 0 : s.ids.length);
+        m.put("firstDay", s == null ? null : s.firstDay.toString());
+        m.put("windowDays", windowDays);
+        m.put("granuleMin", granuleMin);
+        long n = searches.get();
+        m.put("searches", n);
+        m.put("avgSearchMicros", n == 0 ? 0 : searchNanos.get() / n / 1000);
+        m.put("incrementalUpdates", incrementalUpdates.get());
+        return m;
+    }
+
+    // ===================== 내부 =====================
+
+    private Snapshot loadConsultants(LocalDate firstDay) {
+        List<User> consultants = userRepository.findByRoleAndEnabled(UserRole.CONSULTANT, true);
+        Map<Long, ConsultantMeta> metaByConsultant = new HashMap<>();
+        for (ConsultantMeta meta : consultantMetaRepository.findAll()) {
+            if (meta.getConsultant() != null) metaByConsultant.put(meta.getConsultant().getId(), meta);
+        }
+
+        int n = consultants.size();
+        long[] ids = new long[n];
+        ConsultantLevel[] levels = new ConsultantLevel[n];
+        int[] prices = new int[n];
+        for (int i = 0; i < n; i++) {
+            Long id = consultants.get(i).getId();
+            ConsultantMeta meta = metaByConsultant.get(id);
+            ConsultantLevel level = (meta != null && meta.getLevel() != null) ? meta.getLevel() : ConsultantLevel.JUNIOR;
+            ids[i] = id;
+            levels[i] = level;
+            prices[i] = (meta != null && meta.getBasePrice() != null)
+                    ? meta.getBasePrice().intValue()
+                    : PricingPolicy.unitPrice(level);
+        }
+        return new Snapshot(firstDay, ids, levels, prices);
+    }
+
+    private void applyClaims(Long consultantId, long fromEpochMin, long toEpochMin, boolean busy) {
+        incrementalUpdates.incrementAndGet();
+        Snapshot s = current;
+        if (s != null) setClaims(s, consultantId, fromEpochMin, toEpochMin, busy);
+        Snapshot r = rebuilding;
+        if (r != null) setClaims(r, consultantId, fromEpochMin, toEpochMin, busy);
+    }
+
+    private void applySlot(Long consultantId, LocalDateTime startAt, LocalDateTime endAt, boolean added) {
+        incrementalUpdates.incrementAndGet();
+        Snapshot s = current;
+        if (s != null) setSlot(s, consultantId, startAt, endAt, added);
+        Snapshot r = rebuilding;
+        if (r != null) setSlot(r, consultantId, startAt, endAt, added);
+    }
+
+    /** claim 칸 [from, to) (epoch 분) 을 busy 비트로 */
+    private void setClaims(Snapshot s, Long consultantId, long fromEpochMin, long toEpochMin, boolean value) {
+        Integer c = s.ordinal.get(consultantId);
+        if (c == null) return;
+        long origin = s.epochMin(0, 0);
+        for (long m = fromEpochMin; m < toEpochMin; m += granuleMin) {
+            long rel = (m - origin) / granuleMin;
+            if (m < origin || rel >= (long) windowDays * bitsPerDay) continue;
+            setBit(s.busy, s.offset((int) (rel / bitsPerDay), c), (int) (rel % bitsPerDay), value);
+        }
+    }
+
+    /** 슬롯 [startAt, endAt) 이 온전히 덮는 칸만 free 비트로 */
+    private void setSlot(Snapshot s, Long consultantId, LocalDateTime startAt, LocalDateTime endAt, boolean value) {
+        Integer c = s.ordinal.get(consultantId);
+        if (c == null || startAt == null || endAt == null) return;
+        LocalDateTime origin = s.firstDay.atStartOfDay();
+        long fromRel = Duration.between(origin, startAt).toMinutes();
+        long toRel = Duration.between(origin, endAt).toMinutes();
+        long firstCell = Math.floorDiv(fromRel + granuleMin - 1, granuleMin);
+        long endCell = Math.floorDiv(toRel, granuleMin);
+        long maxCell = (long) windowDays * bitsPerDay;
+        for (long cell = Math.max(0, firstCell); cell < Math.min(endCell, maxCell); cell++) {
+            setBit(s.free, s.offset((int) (cell / bitsPerDay), c), (int) (cell % bitsPerDay), value);
+        }
+    }
+
+    private static void setBit(AtomicLongArray words, int base, int bit, boolean value) {
+        int idx = base + (bit >>> 6);
+        long mask = 1L << bit;
+        long prev;
+        do {
+            prev = words.get(idx);
+            if (((prev & mask) != 0) == value) return;
+        } while (!words.compareAndSet(idx, prev, value ? prev | mask : prev & ~mask));
+    }
+
+    /** date 에서 예약 가능한 첫 칸: 오늘이면 현재 시각(KST)을 칸 경계로 올림, 그 외 0 */
+    private int firstBookableBit(LocalDate date) {
+        LocalDateTime now = LocalDateTime.now(KST);
+        if (!date.equals(now.toLocalDate())) return 0;
+        int minuteOfDay = now.getHour() * 60 + now.getMinute() + (now.getSecond() > 0 || now.getNano() > 0 ? 1 : 0);
+        return (minuteOfDay + granuleMin - 1) / granuleMin;
+    }
+
+    private long[] rangeMask(int fromBit, int toBit) {
+        long[] mask = new long[wordsPerDay];
+        for (int b = Math.max(0, fromBit); b < toBit; b++) mask[b >>> 6] |= 1L << b;
+        return mask;
+    }
+
+    /** 연속된 빈 칸을 [시작, 끝) 구간으로 병합 */
+    private List<SlotDto> ranges(LocalDate date, long[] avail) {
+        List<SlotDto> out = new ArrayList<>();
+        int runStart = -1;
+        for (int b = 0; b <= bitsPerDay; b++) {
+            boolean set = b < bitsPerDay && (avail[b >>> 6] & (1L << b)) != 0;
+            if (set && runStart < 0) runStart = b;
+            if (!set && runStart >= 0) {
+                out.add(new SlotDto(toTime(date, runStart), toTime(date, b)));
+                runStart = -1;
+            }
+        }
+        return out;
+    }
+
+    private OffsetDateTime toTime(LocalDate date, int bit) {
+        return date.atStartOfDay(KST).plusMinutes((long) bit * granuleMin).toOffsetDateTime();
+    }
+
+    private static void afterCommit(Runnable r) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    r.run();
+                }
+            });
+        } else {
+            r.run();
+        }
+    }
+
+    /** 상담사 순서가 고정된 불변 메타 + 날짜 우선(day-major) 비트 배열 */
+    private final class Snapshot {
+        final LocalDate firstDay;
+        final long[] ids;
+        final ConsultantLevel[] levels;
+        final int[] prices;
+        final Map<Long, Integer> ordinal = new HashMap<>();
+        final AtomicLongArray free;
+        final AtomicLongArray busy;
+
+        Snapshot(LocalDate firstDay, long[] ids, ConsultantLevel[] levels, int[] prices) {
+            this.firstDay = firstDay;
+            this.ids = ids;
+            this.levels = levels;
+            this.prices = prices;
+            for (int i = 0; i < ids.length; i++) ordinal.put(ids[i], i);
+            int words = windowDays * ids.length * wordsPerDay;
+            this.free = new AtomicLongArray(words);
+            this.busy = new AtomicLongArray(words);
+        }
+
+        int dayIndex(LocalDate date) {
+            long d = ChronoUnit.DAYS.between(firstDay, date);
+            return (d < 0 || d >= windowDays) ? -1 : (int) d;
+        }
+
+        int offset(int day, int consultant) {
+            return (day * ids.length + consultant) * wordsPerDay;
+        }
+
+        long epochMin(int day, int minuteOfDay) {
+            return firstDay.plusDays(day).atStartOfDay(KST).toEpochSecond() / 60 + minuteOfDay;
+        }
+    }
+}
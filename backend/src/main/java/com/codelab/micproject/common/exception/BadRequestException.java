@@ -0,0 +1,11 @@
+package com.codelab.micproject.common.exception;
+
+/**
+ * 400 Bad Request (클라이언트가 보낸 값 자체가 잘못됨 — 예: 위조/손상된 커서)
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -29,12 +29,25 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(e.getMessage()));
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse<Void>> tooMany(TooManyRequestsException e){
+        var res = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS);
+        if (e.getRetryAfterSec() > 0) res.header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSec()));
+        return res.body(ApiResponse.error(e.getMessage()));
+    }
+
     @ExceptionHandler({MethodArgumentNotValidException.class, ConstraintViolationException.class})
     public ResponseEntity<ApiResponse<Void>> invalid(Exception e){
         return ResponseEntity.badRequest()
                 .body(ApiResponse.error("Invalid request: " + e.getMessage()));
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ApiResponse<Void>> badRequest(BadRequestException e){
+        return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<ApiResponse<Void>> illegal(IllegalStateException e){
         return ResponseEntity.status(HttpStatus.CONFLICT)
@@ -0,0 +1,18 @@
+package com.codelab.micproject.common.exception;
+
+import lombok.Getter;
+
+/**
+ * 429 Too Many Requests (과부하/시도 횟수 초과)
+ * retryAfterSec > 0 이면 Retry-After 헤더로 내려감
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSec;
+
+    public TooManyRequestsException(String message, long retryAfterSec) {
+        super(message);
+        this.retryAfterSec = retryAfterSec;
+    }
+}
@@ -0,0 +1,171 @@
+package com.codelab.micproject.common.http;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 외부 HTTP 호출용 공용 WebClient (대상 호스트별 전용 커넥션 풀)
+ * - 호스트마다 풀을 분리 → OpenAI 가 느려져도 PortOne 결제 호출은 커넥션을 계속 얻음
+ * - connect / response / read / write 타임아웃 → 느린 상대가 요청 스레드를 무한정 붙잡지 않음
+ * - 풀 대기열 상한(pending-acquire-max) + 대기 시간 상한 → 초과분은 바로 실패
+ * - 호출 수 / 오류 / 타임아웃 / 풀 대기 거절 / 응답 시간(헤더 수신까지) 집계 → stats()
+ *
+ * 설정: app.http.{portone|openai}.base-url, connect-timeout-ms, response-timeout-ms, read-timeout-ms,
+ *       max-connections, pending-acquire-max, pending-acquire-timeout-ms, max-idle-ms
+ */
+@Slf4j
+@Component
+public class OutboundHttpClients {
+
+    public static final String PORTONE = "portone";
+    public static final String OPENAI = "openai";
+
+    private final Map<String, Pooled> clients = new LinkedHashMap<>();
+
+    public OutboundHttpClients(Environment env) {
+        clients.put(PORTONE, create(env, PORTONE, "https://api.iamport.kr",
+                new Defaults(2_000, 5_000, 50, 100, 2_000)));
+        // GptClient 는 gpt.apiUrl 전체 URL 로 호출 → baseUrl 없음
+        clients.put(OPENAI, create(env, OPENAI, null,
+                new Defaults(3_000, 60_000, 20, 40, 5_000)));
+    }
+
+    public WebClient portOne() {
+        return clients.get(PORTONE).client();
+    }
+
+    public WebClient openAi() {
+        return clients.get(OPENAI).client();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        clients.forEach((name, p) -> m.put(name, p.stats().snapshot(p.maxConnections())));
+        return m;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        clients.values().forEach(p -> p.provider().dispose());
+    }
+
+    private static Pooled create(Environment env, String name, String baseUrl, Defaults d) {
+        String prefix = "app.http." + name + ".";
+        int connectMs = env.getProperty(prefix + "connect-timeout-ms", Integer.class, d.connectMs());
+        long responseMs = env.getProperty(prefix + "response-timeout-ms", Long.class, d.responseMs());
+        long readMs = env.getProperty(prefix + "read-timeout-ms", Long.class, d.responseMs());
+        int maxConnections = env.getProperty(prefix + "max-connections", Integer.class, d.maxConnections());
+        int pendingMax = env.getProperty(prefix + "pending-acquire-max", Integer.class, d.pendingMax());
+        long acquireMs = env.getProperty(prefix + "pending-acquire-timeout-ms", Long.class, d.acquireMs());
+        long maxIdleMs = env.getProperty(prefix + "max-idle-ms", Long.class, 30_000L);
+        String url = env.getProperty(prefix + "base-url", baseUrl == null ? "" : baseUrl); // 테스트 스텁 서버 등
+
+        ConnectionProvider provider = ConnectionProvider.builder("http-" + name)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingMax)
+                .pendingAcquireTimeout(Duration.ofMillis(acquireMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleMs))
+                .evictInBackground(Duration.ofMillis(maxIdleMs))
+                .build();
+
+        HttpClient http = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectMs)
+                .responseTimeout(Duration.ofMillis(responseMs))
+                .doOnConnected(c -> c
+                        .addHandlerLast(new ReadTimeoutHandler(readMs, TimeUnit.MILLISECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(readMs, TimeUnit.MILLISECONDS)));
+
+        Stats stats = new Stats();
+        WebClient.Builder b = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(http))
+                .filter(timer(stats));
+        if (!url.isBlank()) b.baseUrl(url);
+
+        log.info("[HTTP] {} pool: maxConnections={}, pendingMax={}, connect={}ms, response={}ms",
+                name, maxConnections, pendingMax, connectMs, responseMs);
+        return new Pooled(b.build(), provider, stats, maxConnections);
+    }
+
+    /** 응답 헤더 수신까지의 시간 / 실패 원인 집계 */
+    private static ExchangeFilterFunction timer(Stats st) {
+        return (request, next) -> {
+            long startedAt = System.nanoTime();
+            st.inFlight.incrementAndGet();
+            return next.exchange(request)
+                    .doOnSuccess(res -> st.record(System.nanoTime() - startedAt,
+                            res != null && res.statusCode().isError()))
+                    .doOnError(e -> st.recordFailure(System.nanoTime() - startedAt, e))
+                    .doFinally(s -> st.inFlight.decrementAndGet());
+        };
+    }
+
+    private record Defaults(int connectMs, long responseMs, int maxConnections, int pendingMax, long acquireMs) {}
+
+    private record Pooled(WebClient client, ConnectionProvider provider, Stats stats, int maxConnections) {}
+
+    private static final class Stats {
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong httpErrors = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        final AtomicLong timeouts = new AtomicLong();
+        final AtomicLong poolRejected = new AtomicLong();
+        final AtomicLong totalNanos = new AtomicLong();
+        final AtomicLong maxNanos = new AtomicLong();
+        final AtomicInteger inFlight = new AtomicInteger();
+
+        void record(long nanos, boolean httpError) {
+            calls.incrementAndGet();
+            if (httpError) httpErrors.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        void recordFailure(long nanos, Throwable e) {
+            record(nanos, false);
+            failures.incrementAndGet();
+            for (Throwable t = e; t != null; t = t.getCause()) {
+                String type = t.getClass().getSimpleName();
+                if (type.startsWith("PoolAcquire")) { poolRejected.incrementAndGet(); return; }
+                if (t instanceof java.util.concurrent.TimeoutException
+                        || t instanceof io.netty.handler.timeout.TimeoutException
+                        || t instanceof io.netty.channel.ConnectTimeoutException) {
+                    timeouts.incrementAndGet();
+                    return;
+                }
+                if (t.getCause() == t) break;
+            }
+        }
+
+        Map<String, Object> snapshot(int maxConnections) {
+            long n = Math.max(1, calls.get());
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("maxConnections", maxConnections);
+            m.put("inFlight", inFlight.get());
+            m.put("calls", calls.get());
+            m.put("httpErrors", httpErrors.get());
+            m.put("failures", failures.get());
+            m.put("timeouts", timeouts.get());
+            m.put("poolRejected", poolRejected.get());
+            m.put("avgMs", totalNanos.get() / n / 1_000_000.0);
+            m.put("maxMs", maxNanos.get() / 1_000_000.0);
+            return m;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.codelab.micproject.common.mail;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 발송 대기 메일 (transactional outbox)
+ * - 업무 트랜잭션 안에서 INSERT → 커밋된 것만 EmailOutboxWorker 가 발송
+ * - PENDING → SENDING(선점) → SENT / 실패 시 PENDING(next_attempt_at 뒤로) / 재시도 초과 시 FAILED
+ */
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_outbox_poll", columnList = "status, provider, next_attempt_at")
+})
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailOutbox {
+
+    public enum Status { PENDING, SENDING, SENT, FAILED }
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private EmailService.Provider provider;
+
+    @Column(name = "to_address", nullable = false, length = 255)
+    private String toAddress;
+
+    @Column(nullable = false, length = 255)
+    private String subject;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) nextAttemptAt = createdAt;
+        if (status == null) status = Status.PENDING;
+    }
+}
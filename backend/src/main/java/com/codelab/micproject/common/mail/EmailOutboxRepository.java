@@ -0,0 +1,36 @@
+package com.codelab.micproject.common.mail;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /** 발송 대상 선점용 조회 (다른 노드가 잡은 행은 건너뜀, MySQL 8+) */
+    @Query(value = """
+            SELECT * FROM email_outbox
+             WHERE status = 'PENDING' AND provider = :provider AND next_attempt_at <= :now
+             ORDER BY id
+             LIMIT :limit
+             FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<EmailOutbox> lockDue(@Param("provider") String provider,
+                              @Param("now") LocalDateTime now,
+                              @Param("limit") int limit);
+
+    /** 선점 후 노드가 죽어 SENDING 에 멈춘 행 되살리기 */
+    @Modifying
+    @Query("update EmailOutbox o set o.status = com.codelab.micproject.common.mail.EmailOutbox.Status.PENDING where o.status = com.codelab.micproject.common.mail.EmailOutbox.Status.SENDING and o.claimedAt < :cutoff")
+    int releaseStale(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("update EmailOutbox o set o.status = com.codelab.micproject.common.mail.EmailOutbox.Status.SENT, o.sentAt = :now, o.lastError = null where o.id in :ids")
+    int markSent(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("select o.status, count(o) from EmailOutbox o group by o.status")
+    List<Object[]> countByStatus();
+}
@@ -0,0 +1,89 @@
+package com.codelab.micproject.common.mail;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * email_outbox 적재/선점/결과 기록
+ * - enqueue 는 호출자 트랜잭션에 참여 → 업무 데이터와 함께 커밋/롤백
+ * - 실패 시 지수 백오프(base × 2^(시도-1), 최대 1시간), max-attempts 초과 시 FAILED
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository repo;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.backoff-base-sec:30}")
+    private long backoffBaseSec;
+
+    @Transactional
+    public void enqueue(EmailService.Provider provider, String to, String subject, String html) {
+        repo.save(EmailOutbox.builder()
+                .provider(provider)
+                .toAddress(to)
+                .subject(subject)
+                .body(html)
+                .status(EmailOutbox.Status.PENDING)
+                .attempts(0)
+                .build());
+    }
+
+    /** 발송할 행을 최대 limit 개 SENDING 으로 선점 */
+    @Transactional
+    public List<EmailOutbox> claim(EmailService.Provider provider, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> rows = repo.lockDue(provider.name(), now, limit);
+        for (EmailOutbox o : rows) {
+            o.setStatus(EmailOutbox.Status.SENDING);
+            o.setClaimedAt(now);
+        }
+        return rows;
+    }
+
+    @Transactional
+    public void markSent(List<Long> ids) {
+        if (!ids.isEmpty()) repo.markSent(ids, LocalDateTime.now());
+    }
+
+    @Transactional
+    public void markFailed(Long id, String error) {
+        repo.findById(id).ifPresent(o -> {
+            int attempts = o.getAttempts() + 1;
+            o.setAttempts(attempts);
+            o.setLastError(error == null ? null : error.substring(0, Math.min(500, error.length())));
+            if (attempts >= maxAttempts) {
+                o.setStatus(EmailOutbox.Status.FAILED);
+                log.warn("[Outbox] give up id={} to={} after {} attempts: {}", id, o.getToAddress(), attempts, error);
+            } else {
+                long delay = Math.min(3600, backoffBaseSec << Math.min(attempts - 1, 16));
+                o.setStatus(EmailOutbox.Status.PENDING);
+                o.setNextAttemptAt(LocalDateTime.now().plusSeconds(delay));
+            }
+        });
+    }
+
+    @Transactional
+    public int releaseStale(LocalDateTime cutoff) {
+        return repo.releaseStale(cutoff);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<EmailOutbox.Status, Long> countByStatus() {
+        Map<EmailOutbox.Status, Long> m = new EnumMap<>(EmailOutbox.Status.class);
+        for (Object[] row : repo.countByStatus()) m.put((EmailOutbox.Status) row[0], (Long) row[1]);
+        return m;
+    }
+}
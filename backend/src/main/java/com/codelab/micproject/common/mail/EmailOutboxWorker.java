@@ -0,0 +1,158 @@
+package com.codelab.micproject.common.mail;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * email_outbox 발송 워커
+ * - poll 마다 Provider 별 여유 슬롯(concurrency)만큼 batch-size 건씩 선점해 전용 풀로 넘김
+ *   → 스케줄러 스레드는 막히지 않고, Provider 별 동시 SMTP 연결 수가 제한됨
+ * - 한 batch 는 JavaMailSender.send(MimeMessage...) 한 번 = SMTP 연결 1회로 여러 통 전송
+ * - 실패 건만 백오프 후 재시도 (EmailOutboxService.markFailed)
+ */
+@Slf4j
+@Component
+public class EmailOutboxWorker {
+
+    private final EmailOutboxService outbox;
+    private final EmailService emailService;
+    private final int batchSize;
+    private final Map<EmailService.Provider, Lane> lanes = new EnumMap<>(EmailService.Provider.class);
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public EmailOutboxWorker(
+            EmailOutboxService outbox,
+            EmailService emailService,
+            @Value("${app.mail.outbox.batch-size:20}") int batchSize,
+            @Value("${app.mail.outbox.concurrency.gmail:2}") int gmailConcurrency,
+            @Value("${app.mail.outbox.concurrency.naver:1}") int naverConcurrency
+    ) {
+        this.outbox = outbox;
+        this.emailService = emailService;
+        this.batchSize = Math.max(1, batchSize);
+        lanes.put(EmailService.Provider.GMAIL, new Lane("gmail", gmailConcurrency));
+        lanes.put(EmailService.Provider.NAVER, new Lane("naver", naverConcurrency));
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-ms:1000}")
+    public void poll() {
+        lanes.forEach((provider, lane) -> {
+            while (lane.permits.tryAcquire()) {
+                List<EmailOutbox> batch;
+                try {
+                    batch = outbox.claim(provider, batchSize);
+                } catch (RuntimeException e) {
+                    lane.permits.release();
+                    log.warn("[Outbox] claim failed provider={}: {}", provider, e.getMessage());
+                    return;
+                }
+                if (batch.isEmpty()) {
+                    lane.permits.release();
+                    return;
+                }
+                lane.pool.execute(() -> {
+                    try {
+                        deliver(provider, batch);
+                    } finally {
+                        lane.permits.release();
+                    }
+                });
+            }
+        });
+    }
+
+    /** SENDING 에서 멈춘 행(선점 후 노드 종료 등) 복구 */
+    @Scheduled(fixedDelay = 60_000)
+    public void recoverStale() {
+        int n = outbox.releaseStale(LocalDateTime.now().minusMinutes(10));
+        if (n > 0) log.warn("[Outbox] released {} stale SENDING rows", n);
+    }
+
+    private void deliver(EmailService.Provider provider, List<EmailOutbox> batch) {
+        Map<MimeMessage, Long> idByMessage = new IdentityHashMap<>();
+        for (EmailOutbox o : batch) {
+            try {
+                idByMessage.put(emailService.buildMessage(provider, o.getToAddress(), o.getSubject(), o.getBody()), o.getId());
+            } catch (RuntimeException e) {
+                fail(o.getId(), e);
+            }
+        }
+        if (idByMessage.isEmpty()) return;
+
+        Set<Long> failedIds = new HashSet<>();
+        try {
+            emailService.sender(provider).send(idByMessage.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                idByMessage.values().forEach(id -> { failedIds.add(id); fail(id, e); });
+            } else {
+                failedMessages.forEach((msg, ex) -> {
+                    Long id = idByMessage.get(msg);
+                    if (id != null) { failedIds.add(id); fail(id, ex); }
+                });
+            }
+        } catch (MailException e) {
+            idByMessage.values().forEach(id -> { failedIds.add(id); fail(id, e); });
+        }
+
+        List<Long> ok = idByMessage.values().stream().filter(id -> !failedIds.contains(id)).toList();
+        outbox.markSent(ok);
+        sent.addAndGet(ok.size());
+    }
+
+    private void fail(Long id, Exception e) {
+        failed.incrementAndGet();
+        try {
+            outbox.markFailed(id, e.getMessage());
+        } catch (RuntimeException dbEx) {
+            // 기록 실패 시 SENDING 으로 남고 recoverStale 이 되살림
+            log.warn("[Outbox] markFailed id={} failed: {}", id, dbEx.getMessage());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("sent", sent.get());
+        m.put("failedAttempts", failed.get());
+        m.put("byStatus", outbox.countByStatus());
+        lanes.forEach((p, lane) -> m.put("busy." + p.name().toLowerCase(Locale.ROOT), lane.concurrency - lane.permits.availablePermits()));
+        return m;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        lanes.values().forEach(l -> l.pool.shutdown());
+    }
+
+    private static final class Lane {
+        final int concurrency;
+        final Semaphore permits;
+        final ExecutorService pool;
+
+        Lane(String name, int concurrency) {
+            this.concurrency = Math.max(1, concurrency);
+            this.permits = new Semaphore(this.concurrency);
+            this.pool = Executors.newFixedThreadPool(this.concurrency, r -> {
+                Thread t = new Thread(r, "mail-" + name);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+}
@@ -3,13 +3,20 @@ package com.codelab.micproject.common.mail;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
-import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 
+import java.util.Map;
+
+/**
+ * 메일 조립/발송 진입점
+ * - send* 메서드는 SMTP 를 직접 호출하지 않고 email_outbox 에 적재 (호출자 트랜잭션과 함께 커밋)
+ * - 실제 발송은 EmailOutboxWorker 가 비동기로 처리
+ */
 @Service
 @RequiredArgsConstructor
 public class EmailService {
@@ -20,6 +27,9 @@ public class EmailService {
     @Qualifier("naverSender")
     private final JavaMailSender naverSender;
 
+    private final EmailOutboxService outbox;
+    private final EmailTemplateRegistry templates;
+
     @Value("${app.email.verify-base-url}")
     private String verifyBaseUrl;
 
@@ -42,9 +52,7 @@ public class EmailService {
             <a href="%s">%s</a>
         """.formatted(verifyLink, verifyLink);
 
-        JavaMailSender sender = (provider == Provider.GMAIL) ? gmailSender : naverSender;
-        String from = (provider == Provider.GMAIL) ? gmailFrom : naverFrom;
-        sendHtml(sender, from, to, subject, html);
+        outbox.enqueue(provider, to, subject, html);
     }
 
     /** 예쁜 템플릿으로 인증메일 보내기 */
@@ -52,20 +60,25 @@ public class EmailService {
         String subject = "[CareerFit] 이메일 인증을 완료해 주세요";
         String verifyLink = verifyBaseUrl + "?token=" + urlEncode(token);
 
-        // 템플릿 로드 & 치환
-        String html = loadTemplate("templates/email-verify.html")
-                .replace("{{appName}}", "CareerFit")
-                .replace("{{displayName}}", (displayName == null || displayName.isBlank()) ? "회원" : displayName)
-                .replace("{{verifyUrl}}", verifyLink)
-                .replace("{{logoUrl}}", "https://YOUR-CDN/logo/careerfit-white.png") // 절대경로로 변경
-                .replace("{{year}}", String.valueOf(java.time.Year.now().getValue()));
+        // 컴파일된 템플릿으로 치환 (파일 I/O 없음)
+        String html = templates.render(EmailTemplateRegistry.EMAIL_VERIFY, Map.of(
+                "appName", "CareerFit",
+                "displayName", (displayName == null || displayName.isBlank()) ? "회원" : displayName,
+                "verifyUrl", verifyLink,
+                "year", String.valueOf(java.time.Year.now().getValue())));
 
-        JavaMailSender sender = (provider == Provider.GMAIL) ? gmailSender : naverSender;
-        String from = (provider == Provider.GMAIL) ? gmailFrom : naverFrom;
-        sendHtml(sender, from, to, subject, html);
+        outbox.enqueue(provider, to, subject, html);
+    }
+
+    /** Provider 별 SMTP 발송기 (EmailOutboxWorker 용) */
+    public JavaMailSender sender(Provider provider) {
+        return (provider == Provider.GMAIL) ? gmailSender : naverSender;
     }
 
-    private void sendHtml(JavaMailSender sender, String from, String to, String subject, String html) {
+    /** outbox 한 건을 MimeMessage 로 조립 (발송은 EmailOutboxWorker 가 묶어서) */
+    public MimeMessage buildMessage(Provider provider, String to, String subject, String html) {
+        JavaMailSender sender = sender(provider);
+        String from = (provider == Provider.GMAIL) ? gmailFrom : naverFrom;
         try {
             MimeMessage message = sender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, /*multipart*/ true, "UTF-8");
@@ -75,41 +88,21 @@ public class EmailService {
             helper.setSubject(subject);
             helper.setText(html, true);
 
-            // 👍 로고 첨부 (CID = "careerfitLogo")
-            org.springframework.core.io.ClassPathResource logo =
-                    new org.springframework.core.io.ClassPathResource("templates/mail/careerfit-logo.png");
-            helper.addInline("careerfitLogo", logo, "image/png");
-
-            sender.send(message);
+            // 👍 로고 첨부 (CID = "careerfitLogo", 캐시된 바이트)
+            helper.addInline(EmailTemplateRegistry.LOGO_CID,
+                    new ByteArrayResource(templates.inline(EmailTemplateRegistry.LOGO_CID)), "image/png");
+            return message;
         } catch (Exception e) {
-            System.err.println("Mail send failed: " + e.getMessage());
-            throw new IllegalStateException("이메일 전송 실패", e);
-        }
-    }
-
-    private String loadTemplate(String ignored) {
-        String[] candidates = {
-                "templates/email-verify.html",
-                "email-verify.html",
-                "mail/email-verify.html"
-        };
-        for (String path : candidates) {
-            try (var is = new org.springframework.core.io.ClassPathResource(path).getInputStream()) {
-                return new String(is.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
-            } catch (Exception ignore) { }
+            throw new IllegalStateException("이메일 조립 실패", e);
         }
-        throw new IllegalStateException("메일 템플릿 로드 실패: templates/email-verify.html");
     }
 
-
     private String urlEncode(String v) {
         return java.net.URLEncoder.encode(v, java.nio.charset.StandardCharsets.UTF_8);
     }
 
     public void sendHtmlAutoFrom(String to, String subject, String html) {
         Provider provider = to.endsWith("@naver.com") ? Provider.NAVER : Provider.GMAIL;
-        JavaMailSender sender = (provider == Provider.GMAIL) ? gmailSender : naverSender;
-        String from = (provider == Provider.GMAIL) ? gmailFrom : naverFrom; // @Value로 주입
-        sendHtml(sender, from, to, subject, html);
+        outbox.enqueue(provider, to, subject, html);
     }
 }
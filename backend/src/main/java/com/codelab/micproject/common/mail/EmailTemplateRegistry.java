@@ -0,0 +1,160 @@
+package com.codelab.micproject.common.mail;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메일 템플릿/인라인 이미지 캐시
+ * - 기동 시 템플릿을 한 번 읽어 "리터럴 / {{placeholder}}" 조각으로 컴파일 → 발송마다 파일 I/O·replace 반복 없음
+ * - render 는 예상 길이로 미리 잡은 StringBuilder 한 번으로 조립
+ * - 인라인 이미지(로고)는 byte[] 로 보관
+ * - app.mail.template.hot-reload=true (로컬) 면 조회 시 파일 수정시각이 바뀐 템플릿만 다시 컴파일
+ */
+@Slf4j
+@Component
+public class EmailTemplateRegistry {
+
+    public static final String EMAIL_VERIFY = "email-verify";
+    public static final String LOGO_CID = "careerfitLogo";
+
+    /** 템플릿 이름 → 후보 경로 (앞에서부터 먼저 찾은 것 사용) */
+    private static final Map<String, String[]> TEMPLATE_PATHS = Map.of(
+            EMAIL_VERIFY, new String[]{"templates/email-verify.html", "email-verify.html", "mail/email-verify.html"}
+    );
+    private static final Map<String, String> INLINE_PATHS = Map.of(
+            LOGO_CID, "templates/mail/careerfit-logo.png"
+    );
+
+    private final boolean hotReload;
+    private final Map<String, Compiled> templates = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> inlines = new ConcurrentHashMap<>();
+
+    public EmailTemplateRegistry(@Value("${app.mail.template.hot-reload:false}") boolean hotReload) {
+        this.hotReload = hotReload;
+    }
+
+    @PostConstruct
+    void load() {
+        TEMPLATE_PATHS.keySet().forEach(this::compile);
+        INLINE_PATHS.forEach((cid, path) -> inlines.put(cid, readBytes(new ClassPathResource(path))));
+        log.info("[MailTemplate] loaded templates={} inlines={} hotReload={}", templates.keySet(), inlines.keySet(), hotReload);
+    }
+
+    /** 템플릿 렌더링 (값이 없는 placeholder 는 원문 그대로 남김) */
+    public String render(String name, Map<String, String> values) {
+        Compiled t = templates.get(name);
+        if (t == null) throw new IllegalStateException("메일 템플릿 없음: " + name);
+        if (hotReload && t.lastModified != lastModified(t.resource)) t = compile(name);
+        return t.template.render(values);
+    }
+
+    /** 인라인 첨부 이미지 */
+    public byte[] inline(String cid) {
+        byte[] bytes = inlines.get(cid);
+        if (bytes == null) throw new IllegalStateException("인라인 리소스 없음: " + cid);
+        return bytes;
+    }
+
+    private Compiled compile(String name) {
+        for (String path : TEMPLATE_PATHS.get(name)) {
+            Resource r = new ClassPathResource(path);
+            if (!r.exists()) continue;
+            String html = new String(readBytes(r), StandardCharsets.UTF_8);
+            Compiled c = new Compiled(CompiledTemplate.parse(html), r, lastModified(r));
+            templates.put(name, c);
+            return c;
+        }
+        throw new IllegalStateException("메일 템플릿 로드 실패: " + name);
+    }
+
+    private static byte[] readBytes(Resource r) {
+        try (InputStream is = r.getInputStream()) {
+            return is.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException("메일 리소스 로드 실패: " + r.getDescription(), e);
+        }
+    }
+
+    private static long lastModified(Resource r) {
+        try {
+            return r.lastModified();
+        } catch (IOException e) {
+            return -1; // jar 내부 등 수정시각을 알 수 없으면 재컴파일하지 않음
+        }
+    }
+
+    private record Compiled(CompiledTemplate template, Resource resource, long lastModified) {}
+
+    /** literals[0] {{names[0]}} literals[1] ... {{names[n-1]}} literals[n] */
+    static final class CompiledTemplate {
+        private final String[] literals;
+        private final String[] names;
+        private final int literalLength;
+
+        private CompiledTemplate(String[] literals, String[] names) {
+            this.literals = literals;
+            this.names = names;
+            int len = 0;
+            for (String l : literals) len += l.length();
+            this.literalLength = len;
+        }
+
+        /**
+         * {{name}} (영문/숫자/_ . -, 공백 없음) 만 placeholder 로 인식 — 예전 replace("{{name}}", v) 와 같은 결과
+         * 그 외 "{{" 는 리터럴로 두고 다음 위치부터 다시 찾음 (예: "{{{a}}}" → "{" + a + "}")
+         */
+        static CompiledTemplate parse(String src) {
+            List<String> literals = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            int pos = 0;
+            int scan = 0;
+            while (true) {
+                int open = src.indexOf("{{", scan);
+                int close = open < 0 ? -1 : src.indexOf("}}", open + 2);
+                if (close < 0) break;
+                String name = src.substring(open + 2, close);
+                if (!isName(name)) {
+                    scan = open + 1;
+                    continue;
+                }
+                literals.add(src.substring(pos, open));
+                names.add(name);
+                pos = scan = close + 2;
+            }
+            literals.add(src.substring(pos));
+            return new CompiledTemplate(literals.toArray(new String[0]), names.toArray(new String[0]));
+        }
+
+        private static boolean isName(String s) {
+            if (s.isEmpty()) return false;
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (!(Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '-')) return false;
+            }
+            return true;
+        }
+
+        String render(Map<String, String> values) {
+            StringBuilder sb = new StringBuilder(literalLength + names.length * 32);
+            for (int i = 0; i < names.length; i++) {
+                sb.append(literals[i]);
+                String v = values.get(names[i]);
+                if (v != null) sb.append(v);
+                else sb.append("{{").append(names[i]).append("}}");
+            }
+            return sb.append(literals[names.length]).toString();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.codelab.micproject.common.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 외부 의존성(Redis 등)용 최소 서킷 브레이커
+ * - CLOSED: 정상 호출, 연속 실패가 failureThreshold 에 도달하면 OPEN
+ * - OPEN: openMillis 동안 호출하지 않고 바로 fallback (연결 타임아웃 대기 제거)
+ * - HALF_OPEN: OPEN 시간이 지나면 단 1건만 시험 호출 → 성공 시 CLOSED, 실패 시 다시 OPEN
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+    private volatile long openedAt = -1;
+
+    public CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+    }
+
+    /** action 실행, 차단 중이거나 실패하면 fallback 결과 반환 */
+    public <T> T call(Supplier<T> action, Supplier<T> fallback) {
+        if (!allowRequest()) return fallback.get();
+        try {
+            T result = action.get();
+            onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            onFailure(e);
+            return fallback.get();
+        }
+    }
+
+    /** 반환값 없는 호출. 실행되어 성공했으면 true */
+    public boolean run(Runnable action) {
+        return call(() -> { action.run(); return true; }, () -> false);
+    }
+
+    public State state() {
+        if (openedAt < 0) return State.CLOSED;
+        return (System.currentTimeMillis() - openedAt < openMillis) ? State.OPEN : State.HALF_OPEN;
+    }
+
+    private boolean allowRequest() {
+        return switch (state()) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> probeInFlight.compareAndSet(false, true); // 시험 호출은 1건만
+        };
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        if (openedAt >= 0) log.info("[CircuitBreaker:{}] closed", name);
+        openedAt = -1;
+        probeInFlight.set(false);
+    }
+
+    private void onFailure(RuntimeException e) {
+        if (probeInFlight.getAndSet(false)) {
+            openedAt = System.currentTimeMillis();
+            log.warn("[CircuitBreaker:{}] probe failed, re-opened: {}", name, e.getMessage());
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && openedAt < 0) {
+            openedAt = System.currentTimeMillis();
+            log.warn("[CircuitBreaker:{}] opened after {} failures: {}", name, failureThreshold, e.getMessage());
+        }
+    }
+}
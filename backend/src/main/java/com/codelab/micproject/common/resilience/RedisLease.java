@@ -0,0 +1,71 @@
+package com.codelab.micproject.common.resilience;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 노드 간 단일 작업자 리스(lease) — 여러 ECS 태스크 중 한 곳만 작업하도록
+ * - SET NX PX 로 획득, 보유 중이면 같은 호출로 연장 (작업 주기 < ttl 이어야 함)
+ * - 값은 노드별 토큰이라 다른 노드의 리스를 연장/해제하지 않음
+ * - Redis 장애 시 획득 실패로 처리 (아무도 작업하지 않음 → 복구 후 재개)
+ */
+public class RedisLease {
+
+    // KEYS[1]=lease  ARGV: owner, ttlMs → 1 보유(획득/연장), 0 다른 노드 보유
+    private static final DefaultRedisScript<Long> ACQUIRE = new DefaultRedisScript<>("""
+            local cur = redis.call('GET', KEYS[1])
+            if cur == ARGV[1] then
+              redis.call('PEXPIRE', KEYS[1], ARGV[2])
+              return 1
+            end
+            if cur then return 0 end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            return 1
+            """, Long.class);
+
+    // KEYS[1]=lease  ARGV: owner
+    private static final DefaultRedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end
+            return 0
+            """, Long.class);
+
+    private final String key;
+    private final StringRedisTemplate redis;
+    private final long ttlMs;
+    private final String owner = UUID.randomUUID().toString();
+    private volatile boolean held;
+
+    public RedisLease(String name, StringRedisTemplate redis, long ttlMs) {
+        this.key = "lease:" + name;
+        this.redis = redis;
+        this.ttlMs = ttlMs;
+    }
+
+    /** 획득 또는 연장, 보유 여부 반환 */
+    public boolean tryAcquire() {
+        try {
+            Long r = redis.execute(ACQUIRE, List.of(key), owner, String.valueOf(ttlMs));
+            held = r != null && r == 1L;
+        } catch (RuntimeException e) {
+            held = false;
+        }
+        return held;
+    }
+
+    public void release() {
+        if (!held) return;
+        held = false;
+        try {
+            redis.execute(RELEASE, List.of(key), owner);
+        } catch (RuntimeException ignore) {
+            // ttl 지나면 자동 해제
+        }
+    }
+
+    public boolean isHeld() {
+        return held;
+    }
+}
@@ -0,0 +1,97 @@
+package com.codelab.micproject.common.resilience;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 키별 토큰 버킷 (capacity 만큼 버스트 허용, 분당 refillPerMin 개 충전)
+ * - Redis Lua 로 노드 간 공유, Redis 장애 시 노드 로컬 버킷으로 대체
+ * - 로컬 버킷은 maxLocalKeys 를 넘으면 가득 찬(=한동안 안 쓴) 버킷부터 정리
+ */
+public class TokenBucketLimiter {
+
+    // KEYS[1]=bucket  ARGV: capacity, refillPerMs, nowMs
+    private static final DefaultRedisScript<Long> ACQUIRE = new DefaultRedisScript<>("""
+            local b = redis.call('HMGET', KEYS[1], 't', 'ts')
+            local cap = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local now = tonumber(ARGV[3])
+            local tokens = tonumber(b[1]) or cap
+            local ts = tonumber(b[2]) or now
+            tokens = math.min(cap, tokens + math.max(0, now - ts) * rate)
+            local ok = 0
+            if tokens >= 1 then
+              tokens = tokens - 1
+              ok = 1
+            end
+            redis.call('HSET', KEYS[1], 't', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], math.ceil(cap / rate))
+            return ok
+            """, Long.class);
+
+    private static final int MAX_LOCAL_KEYS = 10_000;
+
+    private final String prefix;
+    private final StringRedisTemplate redis;
+    private final CircuitBreaker breaker;
+    private final double capacity;
+    private final double refillPerMs;
+
+    private final ConcurrentHashMap<String, Bucket> local = new ConcurrentHashMap<>();
+
+    public TokenBucketLimiter(String name, StringRedisTemplate redis, int capacity, double refillPerMin) {
+        this.prefix = "rl:" + name + ":";
+        this.redis = redis;
+        this.breaker = new CircuitBreaker("rate-limit-" + name, 3, 30_000);
+        this.capacity = Math.max(1, capacity);
+        this.refillPerMs = Math.max(refillPerMin, 0.001) / 60_000.0;
+    }
+
+    /** 토큰 1개 소비, 없으면 false */
+    public boolean tryAcquire(String key) {
+        long now = System.currentTimeMillis();
+        Long ok = breaker.call(() -> redis.execute(ACQUIRE, List.of(prefix + key),
+                String.valueOf(capacity), String.valueOf(refillPerMs), String.valueOf(now)), () -> null);
+        if (ok != null) return ok == 1L;
+        return tryAcquireLocal(key, now);
+    }
+
+    /** 빈 버킷이 다시 1개 찰 때까지 걸리는 대략적인 초 (Retry-After 용) */
+    public long refillSeconds() {
+        return (long) Math.ceil(1 / refillPerMs / 1000);
+    }
+
+    private boolean tryAcquireLocal(String key, long now) {
+        if (local.size() >= MAX_LOCAL_KEYS) {
+            local.values().removeIf(b -> b.tokensAt(now) >= capacity);
+        }
+        Bucket bucket = local.computeIfAbsent(key, k -> new Bucket(capacity, now));
+        synchronized (bucket) {
+            double tokens = bucket.tokensAt(now);
+            bucket.updatedAt = now;
+            if (tokens < 1) {
+                bucket.tokens = tokens;
+                return false;
+            }
+            bucket.tokens = tokens - 1;
+            return true;
+        }
+    }
+
+    private final class Bucket {
+        double tokens;
+        long updatedAt;
+
+        Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+
+        double tokensAt(long now) {
+            return Math.min(capacity, tokens + Math.max(0, now - updatedAt) * refillPerMs);
+        }
+    }
+}
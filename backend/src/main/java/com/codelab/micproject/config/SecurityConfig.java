@@ -7,6 +7,7 @@ import com.codelab.micproject.security.oauth2.OAuth2AuthenticationFailureHandler
 import com.codelab.micproject.security.oauth2.OAuth2AuthenticationSuccessHandler;
 import com.codelab.micproject.security.web.JsonAccessDeniedHandler;
 import com.codelab.micproject.security.web.JsonAuthenticationEntryPoint;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -42,6 +43,8 @@ public class SecurityConfig {
                 )
                 .cors(cors -> {}) // ★ CorsConfig(WebMvcConfigurer) 적용
                 .authorizeHttpRequests(auth -> auth
+                        // 비동기 응답(CompletableFuture)의 재디스패치: 최초 요청에서 이미 인가됨 (STATELESS 라 컨텍스트 복원 불가)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll() // ← 추가
                         .requestMatchers("/", "/health", "/api/health", "/error").permitAll()
                         .requestMatchers("/oauth2/**", "/login/**").permitAll()
@@ -61,6 +64,7 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/me").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/consultants/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/public/consultants/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/reviews/consultant/**").permitAll() // 예약 페이지 공개 리뷰/집계
                         .requestMatchers(HttpMethod.POST, "/api/payments/portone/webhook").permitAll()
                         .requestMatchers("/api/admin/**").hasAuthority("ROLE_ADMIN")
                         .requestMatchers("/uploads/**").permitAll()
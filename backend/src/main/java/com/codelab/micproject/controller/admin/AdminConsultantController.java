@@ -1,6 +1,7 @@
 package com.codelab.micproject.controller.admin;
 
 
+import com.codelab.micproject.account.consultant.support.ConsultantCardChanged;
 import com.codelab.micproject.account.consultant.domain.*;
 import com.codelab.micproject.account.consultant.dto.UpsertMetaReq;
 import com.codelab.micproject.account.consultant.repository.ConsultantMetaRepository;
@@ -8,6 +9,7 @@ import com.codelab.micproject.account.user.domain.*;
 import com.codelab.micproject.account.user.repository.UserRepository;
 import com.codelab.micproject.common.response.ApiResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 public class AdminConsultantController {
     private final UserRepository userRepo;
     private final ConsultantMetaRepository metaRepo;
+    private final ApplicationEventPublisher events;
 
 
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
@@ -30,6 +33,7 @@ public class AdminConsultantController {
         meta.setLevel(ConsultantLevel.valueOf(req.level()));
         meta.setBasePrice(req.basePrice());
         metaRepo.save(meta);
+        events.publishEvent(new ConsultantCardChanged(c.getId()));
         return ApiResponse.ok();
     }
 }
\ No newline at end of file
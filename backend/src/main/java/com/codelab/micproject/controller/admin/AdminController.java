@@ -1,19 +1,64 @@
 package com.codelab.micproject.controller.admin;
 
 
+import com.codelab.micproject.account.consultant.service.ConsultantCardProjector;
+import com.codelab.micproject.account.consultant.support.ConsultantCardChanged;
 import com.codelab.micproject.account.user.domain.UserRole;
 import com.codelab.micproject.account.user.repository.UserRepository;
+import com.codelab.micproject.auth.blacklist.TieredTokenBlacklist;
+import com.codelab.micproject.booking.job.AppointmentLifecycleEngine;
+import com.codelab.micproject.booking.job.SlotAlignmentAudit;
+import com.codelab.micproject.booking.job.SlotMaterializerJob;
+import com.codelab.micproject.booking.service.SlotHoldService;
+import com.codelab.micproject.booking.support.FreeBusyIndex;
+import com.codelab.micproject.common.http.OutboundHttpClients;
+import com.codelab.micproject.common.mail.EmailOutboxWorker;
 import com.codelab.micproject.common.response.ApiResponse;
+import com.codelab.micproject.payment.domain.WebhookInbox;
+import com.codelab.micproject.payment.job.PaymentReconcileJob;
+import com.codelab.micproject.payment.job.WebhookInboxWorker;
+import com.codelab.micproject.payment.portone.PortOneTokenManager;
+import com.codelab.micproject.payment.portone.WebhookInboxService;
+import com.codelab.micproject.payment.service.LostSlotRefundService;
+import com.codelab.micproject.review.job.ReviewStatRepairJob;
+import com.codelab.micproject.review.support.ReviewFeedVersion;
+import com.codelab.micproject.security.jwt.PrincipalCache;
+import com.codelab.micproject.security.password.PasswordHashExecutor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
 
 @RestController
 @RequestMapping("/api/admin")
 @RequiredArgsConstructor
 public class AdminController {
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final TieredTokenBlacklist tokenBlacklist;
+    private final PasswordHashExecutor passwordHashExecutor;
+    private final EmailOutboxWorker emailOutboxWorker;
+    private final FreeBusyIndex freeBusyIndex;
+    private final SlotMaterializerJob slotMaterializer;
+    private final SlotAlignmentAudit slotAlignmentAudit;
+    private final AppointmentLifecycleEngine lifecycleEngine;
+    private final SlotHoldService slotHoldService;
+    private final PortOneTokenManager portOneTokenManager;
+    private final OutboundHttpClients outboundHttp;
+    private final WebhookInboxWorker webhookInboxWorker;
+    private final WebhookInboxService webhookInbox;
+    private final PaymentReconcileJob paymentReconcileJob;
+    private final LostSlotRefundService lostSlotRefundService;
+    private final ConsultantCardProjector consultantCardProjector;
+    private final ReviewStatRepairJob reviewStatRepairJob;
+    private final ReviewFeedVersion reviewFeedVersion;
+    private final ApplicationEventPublisher events;
 
 
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
@@ -22,6 +67,166 @@ public class AdminController {
         var u = userRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("user not found"));
         u.setRole(role);
         userRepository.save(u);
+        principalCache.evict(id); // 변경된 권한이 다음 요청부터 반영되도록
+        events.publishEvent(new ConsultantCardChanged(id)); // 상담사 목록 포함/제외
         return ApiResponse.ok();
     }
+
+    /** 블랙리스트 계층별 처리 건수 / 서킷 상태 */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/blacklist/stats")
+    public ApiResponse<Map<String, Object>> blacklistStats() {
+        return ApiResponse.ok(tokenBlacklist.stats());
+    }
+
+    /** 로그인 BCrypt 풀: 대기 시간 vs 해시 시간, 거절 건수 */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/auth/hash-stats")
+    public ApiResponse<Map<String, Object>> hashStats() {
+        return ApiResponse.ok(passwordHashExecutor.stats());
+    }
+
+    /** 메일 outbox 적체/발송 현황 */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/mail/outbox")
+    public ApiResponse<Map<String, Object>> mailOutboxStats() {
+        return ApiResponse.ok(emailOutboxWorker.stats());
+    }
+
+    /** free/busy 인덱스 상태 / 검색 평균 시간 */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/booking/free-busy")
+    public ApiResponse<Map<String, Object>> freeBusyStats() {
+        return ApiResponse.ok(freeBusyIndex.stats());
+    }
+
+    /** 규칙 → 슬롯 materializer 현황 */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/booking/materializer")
+    public ApiResponse<Map<String, Object>> materializerStats() {
+        return ApiResponse.ok(slotMaterializer.stats());
+    }
+
+    /** 점유 칸 경계 점검: 어긋난 규칙(id)/미래 슬롯 수, 삭제한 슬롯 수 */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/booking/alignment")
+    public ApiResponse<Map<String, Object>> slotAlignmentStats() {
+        return ApiResponse.ok(slotAlignmentAudit.stats());
+    }
+
+    /** 점유 칸 경계 점검 즉시 실행 (repair=true 면 어긋난 미래 슬롯 삭제) */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PostMapping("/booking/alignment/run")
+    public ApiResponse<Map<String, Object>> runSlotAlignment(@RequestParam(defaultValue = "false") boolean repair) {
+        return ApiResponse.ok(slotAlignmentAudit.run(repair));
+    }
+
+    /** 예약 생명주기 엔진: 리스 보유 여부, 대기 중 전환 수, 처리 건수 */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/booking/lifecycle")
+    public ApiResponse<Map<String, Object>> lifecycleStats() {
+        return ApiResponse.ok(lifecycleEngine.stats());
+    }
+
+    /** 체크아웃 슬롯 홀드: 획득/거절/우회(Redis 장애) 건수 */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/booking/holds")
+    public ApiResponse<Map<String, Object>> slotHoldStats() {
+        return ApiResponse.ok(slotHoldService.stats());
+    }
+
+    /** PortOne 토큰 캐시: 실제 발급 호출 수 / 캐시 적중 / 남은 유효시간 */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/payments/portone-token")
+    public ApiResponse<Map<String, Object>> portOneTokenStats() {
+        return ApiResponse.ok(portOneTokenManager.stats());
+    }
+
+    /** 외부 HTTP(PortOne/OpenAI) 풀별 호출 수 / 타임아웃 / 풀 대기 거절 / 응답 시간 */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/http/outbound")
+    public ApiResponse<Map<String, Object>> outboundHttpStats() {
+        return ApiResponse.ok(outboundHttp.stats());
+    }
+
+    /** PortOne 웹훅 수신함: 적체(backlog/가장 오래된 대기 나이), 상태별 건수, 처리 시간 */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/payments/webhook-inbox")
+    public ApiResponse<Map<String, Object>> webhookInboxStats() {
+        return ApiResponse.ok(webhookInboxWorker.stats());
+    }
+
+    /**
+     * 웹훅 재처리: ids 지정 또는 기간 내 특정 상태(기본 FAILED) 일괄 → PENDING 으로 되돌림
+     * ex) POST /api/admin/payments/webhook-inbox/replay?ids=10,11
+     *     POST /api/admin/payments/webhook-inbox/replay?from=2025-01-01T00:00:00&to=2025-01-02T00:00:00
+     */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PostMapping("/payments/webhook-inbox/replay")
+    public ApiResponse<Map<String, Object>> replayWebhooks(
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(defaultValue = "FAILED") WebhookInbox.State state,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        int n;
+        if (ids != null && !ids.isEmpty()) {
+            n = webhookInbox.replay(ids);
+        } else if (from != null && to != null) {
+            n = webhookInbox.replay(state, from, to);
+        } else {
+            throw new IllegalArgumentException("ids or from/to required");
+        }
+        return ApiResponse.ok(Map.of("requeued", n));
+    }
+
+    /** PENDING 결제 대사: 조회 호출 수 / 결과별 건수 / 마지막 실행 */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/payments/reconcile")
+    public ApiResponse<Map<String, Object>> reconcileStats() {
+        return ApiResponse.ok(paymentReconcileJob.stats());
+    }
+
+    /** PENDING 결제 대사 즉시 실행 (이미 실행 중이면 무시, 리스를 가진 노드에서만 동작) */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PostMapping("/payments/reconcile/run")
+    public ApiResponse<Map<String, Object>> runReconcile() {
+        paymentReconcileJob.trigger();
+        return ApiResponse.ok(paymentReconcileJob.stats());
+    }
+
+    /** 슬롯을 잃은 결제 자동 환불: 요청 / 완료 / PortOne 취소 실패(수동 환불 대상) 건수 */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/payments/lost-slot-refunds")
+    public ApiResponse<Map<String, Object>> lostSlotRefundStats() {
+        return ApiResponse.ok(lostSlotRefundService.stats());
+    }
+
+    /** 상담사 목록 읽기 모델(consultant_card) 갱신 현황 */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/consultants/cards")
+    public ApiResponse<Map<String, Object>> consultantCards() {
+        return ApiResponse.ok(consultantCardProjector.stats());
+    }
+
+    /** 리뷰 집계 보정: 실행 횟수 / 보정한 상담사 수 / 마지막 실행 */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/reviews/stat-repair")
+    public ApiResponse<Map<String, Object>> reviewStatRepairStats() {
+        return ApiResponse.ok(reviewStatRepairJob.stats());
+    }
+
+    /** 리뷰 집계 보정 즉시 실행 (이미 실행 중이면 무시) */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PostMapping("/reviews/stat-repair/run")
+    public ApiResponse<Map<String, Object>> runReviewStatRepair() {
+        reviewStatRepairJob.run();
+        return ApiResponse.ok(reviewStatRepairJob.stats());
+    }
+
+    /** 리뷰 피드 ETag 버전: Redis 적중 / DB 로딩 수 */
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/reviews/feed-version")
+    public ApiResponse<Map<String, Object>> reviewFeedVersion() {
+        return ApiResponse.ok(reviewFeedVersion.stats());
+    }
 }
@@ -1,10 +1,13 @@
 package com.codelab.micproject.controller.admin;
 
+import com.codelab.micproject.account.consultant.support.ConsultantCardChanged;
 import com.codelab.micproject.account.user.domain.User;
 import com.codelab.micproject.account.user.domain.UserRole;
 import com.codelab.micproject.account.user.repository.UserRepository;
 import com.codelab.micproject.common.response.ApiResponse;
+import com.codelab.micproject.security.jwt.PrincipalCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -13,6 +16,8 @@ import org.springframework.web.bind.annotation.*;
 public class AdminUserController {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final ApplicationEventPublisher events;
 
     // 이메일로 유저 검색
     @GetMapping("/search")
@@ -32,6 +37,8 @@ public class AdminUserController {
                 .map(user -> {
                     user.setRole(role);
                     userRepository.save(user);
+                    principalCache.evict(id);
+                    events.publishEvent(new ConsultantCardChanged(id)); // 상담사 목록 포함/제외
                     return ApiResponse.ok(user);
                 })
                 .orElse(ApiResponse.error("유저를 찾을 수 없습니다."));
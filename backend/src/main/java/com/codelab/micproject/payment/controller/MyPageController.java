@@ -17,17 +17,21 @@ import java.util.List;
 public class MyPageController {
     private final MyPageService service;
 
-    // 사용자: 내 주문(예약 포함)
+    // 사용자: 내 주문(예약 포함), 최신순 — cursor/size 없으면 전체, 있으면 한 페이지 (다음 페이지 cursor=마지막 주문 id)
     @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN','ROLE_CONSULTANT')")
     @GetMapping("/orders")
-    public ApiResponse<List<OrderView>> myOrders(@AuthenticationPrincipal UserPrincipal me) {
-        return ApiResponse.ok(service.myOrders(me));
+    public ApiResponse<List<OrderView>> myOrders(@AuthenticationPrincipal UserPrincipal me,
+                                                 @RequestParam(required = false) Long cursor,
+                                                 @RequestParam(required = false) Integer size) {
+        return ApiResponse.ok(service.myOrders(me, cursor, size));
     }
 
-    // 컨설턴트: 나에게 들어온 주문들
+    // 컨설턴트: 나에게 들어온 주문들, 최신순 — 페이지 규칙은 /orders 와 같음
     @PreAuthorize("hasAuthority('ROLE_CONSULTANT')")
     @GetMapping("/consultant/orders")
-    public ApiResponse<List<OrderView>> consultantOrders(@AuthenticationPrincipal UserPrincipal me) {
-        return ApiResponse.ok(service.myConsultantOrders(me));
+    public ApiResponse<List<OrderView>> consultantOrders(@AuthenticationPrincipal UserPrincipal me,
+                                                         @RequestParam(required = false) Long cursor,
+                                                         @RequestParam(required = false) Integer size) {
+        return ApiResponse.ok(service.myConsultantOrders(me, cursor, size));
     }
 }
\ No newline at end of file
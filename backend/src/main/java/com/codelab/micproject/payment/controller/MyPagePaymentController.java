@@ -11,6 +11,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/mypage")
 @RequiredArgsConstructor
@@ -23,6 +25,16 @@ public class MyPagePaymentController {
             @AuthenticationPrincipal UserPrincipal me,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size){
-        return ApiResponse.ok(query.getMyPayments(me.id(), PageRequest.of(page, size)));
+        return ApiResponse.ok(query.getMyPayments(me.id(), PageRequest.of(page, Math.min(Math.max(size, 1), MyPaymentQueryService.MAX_PAGE_SIZE))));
+    }
+
+    // 키셋(무한 스크롤)용: 다음 페이지는 cursor=마지막 결제 id, 빈 목록이면 끝
+    @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
+    @GetMapping("/payments/cursor")
+    public ApiResponse<List<MyPaymentItem>> myPaymentsByCursor(
+            @AuthenticationPrincipal UserPrincipal me,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size){
+        return ApiResponse.ok(query.getMyPaymentsBefore(me.id(), cursor, size));
     }
 }
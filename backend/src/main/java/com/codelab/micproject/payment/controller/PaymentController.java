@@ -5,15 +5,18 @@ import com.codelab.micproject.payment.dto.CheckoutRequest;
 import com.codelab.micproject.payment.dto.CheckoutResponse;
 import com.codelab.micproject.payment.dto.ConfirmRequest;
 import com.codelab.micproject.payment.dto.PaymentWebhook;
+import com.codelab.micproject.payment.portone.WebhookInboxService;
 import com.codelab.micproject.payment.service.PaymentService;
 import com.codelab.micproject.security.oauth2.UserPrincipal;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/payments")
@@ -21,6 +24,11 @@ import java.util.Map;
 public class PaymentController {
     private final PaymentService service;
     private final PaymentService paymentService;
+    private final WebhookInboxService webhookInbox;
+
+    /** true 면 PortOne 조회 대기 중 Tomcat 요청 스레드를 반환 (비동기 응답) */
+    @Value("${app.http.async.enabled:false}")
+    private boolean asyncEnabled;
 
     @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_ADMIN')")
     @PostMapping("/checkout")
@@ -31,15 +39,18 @@ public class PaymentController {
 
     /** PortOne 콜백 success 후 서버 검증 */
     @PostMapping("/confirm")
-    public ApiResponse<Void> confirm(@RequestBody ConfirmRequest req){
+    public CompletableFuture<ApiResponse<Void>> confirm(@RequestBody ConfirmRequest req){
+        if (asyncEnabled) {
+            return service.confirmAsync(req).thenReturn(ApiResponse.ok()).toFuture();
+        }
         service.confirm(req);
-        return ApiResponse.ok();
+        return CompletableFuture.completedFuture(ApiResponse.ok());
     }
 
-    /** (선택) 시뮬 웹훅 */
+    /** (선택) 시뮬 웹훅 — PortOne 웹훅과 같은 수신함으로 적재 */
     @PostMapping("/webhook")
     public ApiResponse<Void> webhook(@RequestBody @Valid PaymentWebhook webhook){
-        paymentService.webhook(webhook);
+        webhookInbox.accept(webhook.impUid(), webhook.merchantUid(), webhook.status(), webhook);
         return ApiResponse.ok();
     }
 
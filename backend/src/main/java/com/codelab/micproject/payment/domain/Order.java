@@ -15,7 +15,8 @@ import java.util.*;
         name = "orders", // ✅ 예약어 회피
         indexes = {
                 @Index(name = "idx_orders_user_id", columnList = "user_id"),
-                @Index(name = "idx_orders_consultant_id", columnList = "consultant_id")
+                @Index(name = "idx_orders_consultant_id", columnList = "consultant_id"),
+                @Index(name = "idx_orders_user_status_id", columnList = "user_id, status, id") // 마이페이지 키셋
         }
 )
 public class Order {
@@ -10,6 +10,9 @@ import lombok.*;
 @NoArgsConstructor @AllArgsConstructor @Builder
 @Table(name="payments", uniqueConstraints = {
         @UniqueConstraint(name="uk_pay_merchant_uid", columnNames={"merchant_uid"})
+}, indexes = {
+        @Index(name="idx_pay_status_id", columnList="status, id"), // PENDING 대사 키셋 조회
+        @Index(name="idx_pay_user_id", columnList="user_id, id")    // 내 결제 목록 키셋
 })
 public class Payment {
 
@@ -61,6 +64,10 @@ public class Payment {
 
     private java.time.OffsetDateTime paidAt;
 
+    // 체크아웃 시 받은 Redis 슬롯 홀드 토큰 (확정 시 해제용, 홀드 없이 진행했으면 null)
+    @Column(name = "hold_token", length = 36)
+    private String holdToken;
+
     @Version
     private Long version;
 
@@ -0,0 +1,68 @@
+package com.codelab.micproject.payment.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * PortOne 웹훅 수신함
+ * - 웹훅 엔드포인트는 원문만 INSERT IGNORE 후 바로 200 (PortOne 재시도 폭주 방지)
+ * - (imp_uid, event_status) 유니크 → 같은 이벤트 재전송은 한 행으로 흡수
+ * - PENDING → PROCESSING(선점) → DONE / 같은 merchant_uid 의 중복 이벤트는 COALESCED
+ *   실패 시 PENDING(next_attempt_at 뒤로), 재시도 초과 시 FAILED (관리자 replay 로 재처리)
+ */
+@Entity
+@Table(name = "webhook_inbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_webhook_inbox_event", columnNames = {"imp_uid", "event_status"}),
+        indexes = {
+                @Index(name = "idx_webhook_inbox_poll", columnList = "state, next_attempt_at"),
+                @Index(name = "idx_webhook_inbox_merchant", columnList = "merchant_uid, state")
+        })
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WebhookInbox {
+
+    public enum State { PENDING, PROCESSING, DONE, COALESCED, FAILED }
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "imp_uid", nullable = false, length = 100)
+    private String impUid;
+
+    @Column(name = "merchant_uid", nullable = false, length = 100)
+    private String merchantUid;
+
+    /** 웹훅 본문의 status (paid / cancelled / failed ...) — 실제 처리는 PortOne 재조회 결과 기준 */
+    @Column(name = "event_status", nullable = false, length = 20)
+    private String eventStatus;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 12)
+    private State state;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,17 @@
+package com.codelab.micproject.payment.dto;
+
+import com.codelab.micproject.account.consultant.domain.ConsultantLevel;
+import com.codelab.micproject.account.user.domain.UserRole;
+
+/**
+ * 체크아웃 사전 조회 결과 (쿼리 1회)
+ * slotExistsKst: 요청 슬롯이 available_slots 에 KST 로컬 시각으로 정확히 존재하는지
+ */
+public record CheckoutContext(
+        UserRole consultantRole,
+        String consultantName,
+        ConsultantLevel level,
+        String zoneId,          // 첫(가장 작은 id) Availability 규칙의 zoneId (없으면 null)
+        boolean slotExistsKst,
+        String buyerName
+) {}
@@ -4,5 +4,6 @@ public record CheckoutResponse(
         String merchantUid,
         java.math.BigDecimal amount,
         String name,
-        String buyerName
+        String buyerName,
+        String holdToken   // 슬롯 홀드 토큰 (Redis 장애로 홀드 없이 진행한 경우 null)
 ) {}
@@ -0,0 +1,13 @@
+package com.codelab.micproject.payment.dto;
+
+import java.time.OffsetDateTime;
+
+/** 주문 목록 화면용 결제 요약 (PaymentRepository.findSummariesByOrderIds 로 페이지 단위 일괄 조회) */
+public record OrderPaymentSummary(
+        Long orderId,
+        String payMethod,
+        String pgProvider,
+        String cardBrand,
+        String cardLast4,
+        OffsetDateTime paidAt
+) {}
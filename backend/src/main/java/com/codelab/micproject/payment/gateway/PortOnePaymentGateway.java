@@ -1,24 +1,26 @@
 package com.codelab.micproject.payment.gateway;
 
+import com.codelab.micproject.common.http.OutboundHttpClients;
+import com.codelab.micproject.payment.portone.PortOneTokenManager;
 import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 // payment/gateway/portone/PortOnePaymentGateway.java
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class PortOnePaymentGateway implements PaymentGateway {
-    @Value("${portone.api-key}")    private String apiKey;
-    @Value("${portone.api-secret}") private String apiSecret;
-
-    private final WebClient web = WebClient.builder()
-            .baseUrl("https://api.iamport.kr").build();
+    private final PortOneTokenManager tokenManager;
+    private final OutboundHttpClients http;
 
     @Override
     public String issueMerchantUid(Long orderId) {
@@ -28,20 +30,74 @@ public class PortOnePaymentGateway implements PaymentGateway {
 
     @Override
     public String getAccessToken() {
-        var res = web.post().uri("/users/getToken")
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(Map.of("imp_key", apiKey, "imp_secret", apiSecret))
-                .retrieve().bodyToMono(JsonNode.class).block();
-        return res.get("response").get("access_token").asText();
+        return tokenManager.getAccessToken();
     }
 
     @Override
     public PortOnePaymentInfo getPaymentByImpUid(String impUid) {
-        String token = getAccessToken();
-        var res = web.get().uri("/payments/{impUid}", impUid)
-                .header(HttpHeaders.AUTHORIZATION, token)
-                .retrieve().bodyToMono(JsonNode.class).block();
-        var p = res.get("response");
+        return fetchPayment(impUid).block();
+    }
+
+    /** 결제 단건 조회 (논블로킹) — 토큰은 캐시에서, 조회는 PortOne 전용 커넥션 풀에서 */
+    public Mono<PortOnePaymentInfo> fetchPayment(String impUid) {
+        return tokenManager.withToken(token -> http.portOne().get().uri("/payments/{impUid}", impUid)
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .retrieve().bodyToMono(JsonNode.class))
+                .map(res -> toInfo(res.get("response")))
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("PORTONE_PAYMENT_QUERY_ERROR")))
+                .onErrorMap(e -> !(e instanceof IllegalStateException), e -> {
+                    log.error("PortOne getPaymentByImpUid failed: impUid={}", impUid, e);
+                    return new IllegalStateException("PORTONE_PAYMENT_QUERY_ERROR");
+                });
+    }
+
+    /**
+     * 결제 복수 조회 (GET /payments?imp_uid[]=...) — 한 번의 호출로 여러 건, 조회되지 않은 imp_uid 는 결과에서 빠짐
+     */
+    public Mono<List<PortOnePaymentInfo>> fetchPayments(Collection<String> impUids) {
+        if (impUids.isEmpty()) return Mono.just(List.of());
+        return tokenManager.withToken(token -> http.portOne().get()
+                        .uri(b -> {
+                            b.path("/payments");
+                            impUids.forEach(u -> b.queryParam("imp_uid[]", u));
+                            return b.build();
+                        })
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .retrieve().bodyToMono(JsonNode.class))
+                .map(res -> {
+                    List<PortOnePaymentInfo> list = new ArrayList<>();
+                    JsonNode arr = res.path("response");
+                    if (arr.isArray()) arr.forEach(p -> list.add(toInfo(p)));
+                    return list;
+                })
+                .onErrorMap(e -> !(e instanceof IllegalStateException), e -> {
+                    log.error("PortOne fetchPayments failed: size={}", impUids.size(), e);
+                    return new IllegalStateException("PORTONE_PAYMENT_QUERY_ERROR");
+                });
+    }
+
+    /**
+     * merchant_uid 로 가장 최근 결제 시도 조회 (GET /payments/find/{merchant_uid})
+     * imp_uid 를 모르는 결제(브라우저 콜백 유실)용, 결제 시도 자체가 없으면 empty
+     */
+    public Mono<Optional<PortOnePaymentInfo>> findByMerchantUid(String merchantUid) {
+        return tokenManager.withToken(token -> http.portOne().get()
+                        .uri("/payments/find/{merchantUid}", merchantUid)
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .exchangeToMono(res -> {
+                            if (res.statusCode().value() == 404) return Mono.just(Optional.<PortOnePaymentInfo>empty());
+                            if (res.statusCode().isError()) return res.<Optional<PortOnePaymentInfo>>createError();
+                            return res.bodyToMono(JsonNode.class)
+                                    .map(body -> Optional.of(toInfo(body.get("response"))));
+                        }))
+                .onErrorMap(e -> !(e instanceof IllegalStateException), e -> {
+                    log.error("PortOne findByMerchantUid failed: merchantUid={}", merchantUid, e);
+                    return new IllegalStateException("PORTONE_PAYMENT_QUERY_ERROR");
+                });
+    }
+
+    private static PortOnePaymentInfo toInfo(JsonNode p) {
+        if (p == null || p.isNull()) throw new IllegalStateException("PORTONE_PAYMENT_QUERY_ERROR");
 
         String cardNumber = p.path("card_number").asText(null); // "1234-****-****-4929"
         String last4 = null;
@@ -52,22 +108,19 @@ public class PortOnePaymentGateway implements PaymentGateway {
         long paidAtEpoch = p.path("paid_at").asLong(0);         // epoch seconds
 
         return new PortOnePaymentInfo(
-                p.get("imp_uid").asText(),
-                p.get("merchant_uid").asText(),
-                p.get("status").asText(),       // paid, ready, failed...
-                p.get("amount").asInt(),
-                brand, last4, paidAtEpoch       // 🔹 여기를 PortOnePaymentInfo에 추가
+                p.path("imp_uid").asText(null),
+                p.path("merchant_uid").asText(null),
+                p.path("status").asText(null),  // paid, ready, failed...
+                p.path("amount").asInt(),
+                brand, last4, paidAtEpoch,
+                p.path("pay_method").asText(null),
+                p.path("pg_provider").asText(null),
+                p.path("receipt_url").asText(null)
         );
     }
 
     @Override
     public boolean verify(String impUid, String merchantUid, int expectedAmount) {
-        var info = getPaymentByImpUid(impUid);
-        return "paid".equals(info.status())
-                && merchantUid.equals(info.merchantUid())
-                && expectedAmount == info.amount();
+        return getPaymentByImpUid(impUid).isPaidFor(merchantUid, expectedAmount);
     }
 }
-
-
-
@@ -2,5 +2,13 @@ package com.codelab.micproject.payment.gateway;
 
 public record PortOnePaymentInfo(
         String impUid, String merchantUid, String status, int amount,
-        String cardBrand, String cardLast4, long paidAtEpoch
-) {}
\ No newline at end of file
+        String cardBrand, String cardLast4, long paidAtEpoch,
+        String payMethod, String pgProvider, String receiptUrl
+) {
+    /** 결제 완료 + 주문번호/금액 일치 여부 */
+    public boolean isPaidFor(String expectedMerchantUid, int expectedAmount) {
+        return "paid".equals(status)
+                && expectedMerchantUid != null && expectedMerchantUid.equals(merchantUid)
+                && expectedAmount == amount;
+    }
+}
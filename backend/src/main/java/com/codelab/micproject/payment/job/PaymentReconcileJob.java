@@ -0,0 +1,218 @@
+package com.codelab.micproject.payment.job;
+
+import com.codelab.micproject.common.resilience.RedisLease;
+import com.codelab.micproject.payment.gateway.PortOnePaymentGateway;
+import com.codelab.micproject.payment.gateway.PortOnePaymentInfo;
+import com.codelab.micproject.payment.portone.PortOneWebhookService;
+import com.codelab.micproject.payment.repository.PaymentRepository;
+import com.codelab.micproject.payment.service.PaymentService;
+import com.codelab.micproject.payment.service.PaymentService.ReconcileOutcome;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PENDING 결제 대사(reconcile) — 브라우저 콜백(/confirm)도 웹훅도 도착하지 않은 결제를 PortOne 기준으로 정리
+ *
+ * - min-age-min 보다 오래된 PENDING 결제를 id 키셋으로 page-size 씩 훑음 (OFFSET 없음)
+ * - imp_uid 를 아는 결제는 복수 조회(GET /payments?imp_uid[]=) lookup-chunk 건씩 한 번에,
+ *   모르는 결제는 merchant_uid 조회(GET /payments/find/{merchant_uid}) 로
+ * - PortOne 호출은 초당 rate-per-sec 개 이하로 시작, 동시에 concurrency 개까지 (논블로킹 WebClient)
+ * - 반영은 PaymentService.reconcile → 결제완료는 confirm 과 같은 applyConfirm 경로
+ *   (주문 없는 구 방식 결제는 LEGACY 로 돌려받아 웹훅과 같은 PortOneWebhookService 경로로)
+ * - PortOne 에 결제 시도 자체가 없고 abandon-after-min 이 지났으면 FAILED (이탈한 결제)
+ * - Redis 리스(lease:payment-reconcile)를 가진 노드 하나만 실행, 전용 스레드에서 실행 (스케줄러 스레드 비점유)
+ */
+@Slf4j
+@Component
+public class PaymentReconcileJob {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentService paymentService;
+    private final PortOnePaymentGateway portOneGateway;
+    private final PortOneWebhookService webhookService;
+    private final RedisLease lease;
+    private final long minAgeMin;
+    private final long abandonAfterMin;
+    private final int pageSize;
+    private final int lookupChunk;
+    private final int concurrency;
+    private final Duration pace;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "payment-reconcile");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong lookupRequests = new AtomicLong();
+    private final AtomicLong lookupErrors = new AtomicLong();
+    private final Map<ReconcileOutcome, AtomicLong> outcomes = new EnumMap<>(ReconcileOutcome.class);
+    private volatile long lastRunAt;
+    private volatile long lastRunMs;
+
+    public PaymentReconcileJob(PaymentRepository paymentRepository,
+                               PaymentService paymentService,
+                               PortOnePaymentGateway portOneGateway,
+                               PortOneWebhookService webhookService,
+                               StringRedisTemplate redis,
+                               @Value("${app.payment.reconcile.lease-ms:600000}") long leaseMs,
+                               @Value("${app.payment.reconcile.min-age-min:10}") long minAgeMin,
+                               @Value("${app.payment.reconcile.abandon-after-min:1440}") long abandonAfterMin,
+                               @Value("${app.payment.reconcile.page-size:200}") int pageSize,
+                               @Value("${app.payment.reconcile.lookup-chunk:50}") int lookupChunk,
+                               @Value("${app.payment.reconcile.concurrency:4}") int concurrency,
+                               @Value("${app.payment.reconcile.rate-per-sec:10}") int ratePerSec) {
+        this.paymentRepository = paymentRepository;
+        this.paymentService = paymentService;
+        this.portOneGateway = portOneGateway;
+        this.webhookService = webhookService;
+        this.lease = new RedisLease("payment-reconcile", redis, leaseMs);
+        this.minAgeMin = minAgeMin;
+        this.abandonAfterMin = abandonAfterMin;
+        this.pageSize = Math.max(1, pageSize);
+        this.lookupChunk = Math.max(1, Math.min(100, lookupChunk));
+        this.concurrency = Math.max(1, concurrency);
+        this.pace = Duration.ofMillis(Math.max(1, 1000 / Math.max(1, ratePerSec)));
+        for (ReconcileOutcome o : ReconcileOutcome.values()) outcomes.put(o, new AtomicLong());
+    }
+
+    @Scheduled(fixedDelayString = "${app.payment.reconcile.interval-ms:300000}", initialDelay = 60_000)
+    public void trigger() {
+        if (!running.compareAndSet(false, true)) return;
+        runner.execute(() -> {
+            try {
+                sweep();
+            } catch (RuntimeException e) {
+                log.warn("[Reconcile] sweep failed: {}", e.toString());
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private void sweep() {
+        if (!lease.tryAcquire()) return;
+        long startedAt = System.currentTimeMillis();
+        try {
+            OffsetDateTime now = OffsetDateTime.now(KST);
+            OffsetDateTime cutoff = now.minusMinutes(minAgeMin);
+            OffsetDateTime abandonBefore = now.minusMinutes(abandonAfterMin);
+
+            long afterId = 0;
+            while (true) {
+                List<Object[]> rows = paymentRepository.findStalePendingAfter(afterId, cutoff, PageRequest.of(0, pageSize));
+                if (rows.isEmpty()) break;
+                afterId = (Long) rows.get(rows.size() - 1)[0];
+                scanned.addAndGet(rows.size());
+
+                reconcilePage(rows.stream().map(Pending::of).toList(), abandonBefore);
+
+                if (rows.size() < pageSize || !lease.tryAcquire()) break; // 페이지마다 리스 연장
+            }
+        } finally {
+            lastRunAt = startedAt;
+            lastRunMs = System.currentTimeMillis() - startedAt;
+            lease.release();
+        }
+    }
+
+    private void reconcilePage(List<Pending> page, OffsetDateTime abandonBefore) {
+        List<Mono<List<Lookup>>> requests = new ArrayList<>();
+
+        List<Pending> withImp = page.stream().filter(p -> p.impUid() != null).toList();
+        for (int i = 0; i < withImp.size(); i += lookupChunk) {
+            List<Pending> chunk = withImp.subList(i, Math.min(withImp.size(), i + lookupChunk));
+            requests.add(portOneGateway.fetchPayments(chunk.stream().map(Pending::impUid).toList())
+                    .map(found -> {
+                        Map<String, PortOnePaymentInfo> byImp = new HashMap<>();
+                        found.forEach(info -> byImp.put(info.impUid(), info));
+                        return chunk.stream().map(p -> new Lookup(p, byImp.get(p.impUid()))).toList();
+                    }));
+        }
+        page.stream().filter(p -> p.impUid() == null).forEach(p ->
+                requests.add(portOneGateway.findByMerchantUid(p.merchantUid())
+                        .map(info -> List.of(new Lookup(p, info.orElse(null))))));
+
+        // 호출 시작 간격 = pace (초당 rate-per-sec), 동시 진행은 concurrency 개까지
+        List<Lookup> results = Flux.fromIterable(requests)
+                .delayElements(pace)
+                .flatMap(req -> {
+                    lookupRequests.incrementAndGet();
+                    return req.onErrorResume(e -> {
+                        lookupErrors.incrementAndGet();
+                        log.warn("[Reconcile] PortOne lookup failed: {}", e.toString());
+                        return Mono.just(List.of()); // 다음 주기에 다시 조회
+                    });
+                }, concurrency)
+                .flatMapIterable(l -> l)
+                .collectList()
+                .block();
+        if (results == null) return;
+
+        // DB 반영은 이 스레드에서 한 건씩 (건별 짧은 트랜잭션)
+        for (Lookup r : results) {
+            boolean abandon = r.info() == null && r.pending().createdAt() != null
+                    && r.pending().createdAt().isBefore(abandonBefore);
+            try {
+                ReconcileOutcome o = paymentService.reconcile(r.pending().merchantUid(), r.info(), abandon);
+                outcomes.get(o).incrementAndGet();
+                if (o == ReconcileOutcome.LEGACY) {
+                    String note = webhookService.applyVerified(r.pending().merchantUid(), r.info());
+                    if (note != null) log.warn("[Reconcile] legacy payment merchantUid={}: {}", r.pending().merchantUid(), note);
+                }
+            } catch (RuntimeException e) {
+                log.warn("[Reconcile] apply failed merchantUid={}: {}", r.pending().merchantUid(), e.toString());
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("leaseHeld", lease.isHeld());
+        m.put("running", running.get());
+        m.put("scanned", scanned.get());
+        m.put("lookupRequests", lookupRequests.get());
+        m.put("lookupErrors", lookupErrors.get());
+        outcomes.forEach((o, n) -> m.put(o.name().toLowerCase(Locale.ROOT), n.get()));
+        m.put("lastRunAt", lastRunAt);
+        m.put("lastRunMs", lastRunMs);
+        return m;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        runner.shutdownNow();
+    }
+
+    private record Pending(Long id, String merchantUid, String impUid, OffsetDateTime createdAt) {
+        static Pending of(Object[] row) {
+            return new Pending((Long) row[0], (String) row[1], (String) row[2], (OffsetDateTime) row[3]);
+        }
+    }
+
+    private record Lookup(Pending pending, PortOnePaymentInfo info) {}
+}
@@ -0,0 +1,132 @@
+package com.codelab.micproject.payment.job;
+
+import com.codelab.micproject.payment.domain.WebhookInbox;
+import com.codelab.micproject.payment.portone.PortOneWebhookService;
+import com.codelab.micproject.payment.portone.WebhookInboxService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * webhook_inbox 처리 워커
+ * - poll 마다 대기 행을 선점해 merchant_uid 단위 작업으로 전용 풀에 넘김 (스케줄러 스레드는 막히지 않음)
+ * - 풀 대기열이 threads 만큼 차 있으면 더 선점하지 않음 → 노드가 감당 못 하는 양은 다른 노드 몫으로 남김
+ * - 실패 건만 백오프 후 재시도 (WebhookInboxService.markFailed)
+ */
+@Slf4j
+@Component
+public class WebhookInboxWorker {
+
+    private final WebhookInboxService inbox;
+    private final PortOneWebhookService webhookService;
+    private final int batchSize;
+    private final int threads;
+    private final int retentionDays;
+    private final ThreadPoolExecutor pool;
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+
+    public WebhookInboxWorker(
+            WebhookInboxService inbox,
+            PortOneWebhookService webhookService,
+            @Value("${app.payment.webhook.threads:4}") int threads,
+            @Value("${app.payment.webhook.batch-size:50}") int batchSize,
+            @Value("${app.payment.webhook.retention-days:30}") int retentionDays
+    ) {
+        this.inbox = inbox;
+        this.webhookService = webhookService;
+        this.batchSize = Math.max(1, batchSize);
+        this.threads = Math.max(1, threads);
+        this.retentionDays = Math.max(1, retentionDays);
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "webhook-inbox-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    @Scheduled(fixedDelayString = "${app.payment.webhook.poll-ms:500}")
+    public void poll() {
+        while (pool.getQueue().size() < threads) {
+            Map<String, List<WebhookInbox>> groups;
+            try {
+                groups = inbox.claim(batchSize);
+            } catch (RuntimeException e) {
+                log.warn("[Webhook] claim failed: {}", e.getMessage());
+                return;
+            }
+            if (groups.isEmpty()) return;
+            groups.values().forEach(events -> pool.execute(() -> processAll(events)));
+        }
+    }
+
+    /** PROCESSING 에서 멈춘 행(선점 후 노드 종료 등) 복구 */
+    @Scheduled(fixedDelay = 60_000)
+    public void recoverStale() {
+        int n = inbox.releaseStale(LocalDateTime.now().minusMinutes(10));
+        if (n > 0) log.warn("[Webhook] released {} stale PROCESSING rows", n);
+    }
+
+    /** 처리 완료(DONE/COALESCED) 행 보관기간 정리 */
+    @Scheduled(cron = "${app.payment.webhook.purge-cron:0 30 4 * * *}", zone = "Asia/Seoul")
+    public void purge() {
+        int n = inbox.purgeProcessed(LocalDateTime.now().minusDays(retentionDays));
+        if (n > 0) log.info("[Webhook] purged {} processed inbox rows", n);
+    }
+
+    /** 같은 merchant_uid 의 이벤트는 id 순으로 한 스레드에서 처리 */
+    private void processAll(List<WebhookInbox> events) {
+        for (WebhookInbox w : events) {
+            long startedAt = System.nanoTime();
+            try {
+                String note = webhookService.process(w.getImpUid(), w.getMerchantUid());
+                inbox.markDone(w.getId(), note);
+                processed.incrementAndGet();
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                log.warn("[Webhook] processing failed id={} merchantUid={}: {}", w.getId(), w.getMerchantUid(), e.toString());
+                try {
+                    inbox.markFailed(w.getId(), e.toString());
+                } catch (RuntimeException dbEx) {
+                    // 기록 실패 시 PROCESSING 으로 남고 recoverStale 이 되살림
+                    log.warn("[Webhook] markFailed id={} failed: {}", w.getId(), dbEx.getMessage());
+                }
+            } finally {
+                totalNanos.addAndGet(System.nanoTime() - startedAt);
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long n = Math.max(1, processed.get() + failed.get());
+        Map<String, Object> m = new LinkedHashMap<>(inbox.stats());
+        m.put("processed", processed.get());
+        m.put("failedAttempts", failed.get());
+        m.put("avgProcessMs", totalNanos.get() / n / 1_000_000.0);
+        m.put("active", pool.getActiveCount());
+        m.put("queuedTasks", pool.getQueue().size());
+        return m;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+}
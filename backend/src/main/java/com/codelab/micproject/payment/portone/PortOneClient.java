@@ -1,12 +1,11 @@
 package com.codelab.micproject.payment.portone;
 
+import com.codelab.micproject.common.http.OutboundHttpClients;
 import com.codelab.micproject.common.logging.MaskingUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
@@ -17,63 +16,22 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class PortOneClient {
 
-    private final WebClient portone = WebClient.builder()
-            .baseUrl("https://api.iamport.kr")
-            .build();
+    private final OutboundHttpClients http;
+    private final PortOneTokenManager tokenManager;
 
-    @Value("${portone.api-key}")    // application.properties: portone.api-key
-    private String apiKey;
-
-    @Value("${portone.api-secret}") // application.properties: portone.api-secret
-    private String apiSecret;
-
-    /** 액세스 토큰 */
+    /** 액세스 토큰 (PortOneTokenManager 캐시 공유) */
     public String getAccessToken() {
-        if (isBlank(apiKey) || isBlank(apiSecret)) {
-            log.error("PortOne credentials are empty. apiKey? {}, apiSecret? {}", apiKey != null, apiSecret != null);
-            throw new IllegalStateException("PORTONE_TOKEN_MISCONFIGURED");
-        }
-
-        Map<String, String> body = Map.of(
-                "imp_key", apiKey.trim(),
-                "imp_secret", apiSecret.trim()
-        );
-
-        Map<String, Object> outer = portone.post()
-                .uri("/users/getToken")
-                .contentType(MediaType.APPLICATION_JSON)
-                .accept(MediaType.APPLICATION_JSON)
-                .bodyValue(body)
-                .retrieve()
-                .bodyToMono(Map.class)
-                .onErrorResume(e -> {
-                    log.error("PortOne getAccessToken HTTP error", e);
-                    return Mono.error(new IllegalStateException("PORTONE_TOKEN_ERROR"));
-                })
-                .block();
-
-        if (outer == null) throw new IllegalStateException("PORTONE_TOKEN_ERROR");
-        Object code = outer.get("code");
-        if (code instanceof Number && ((Number) code).intValue() != 0) {
-            log.error("PortOne getAccessToken bad response: {}", outer);
-            throw new IllegalStateException("PORTONE_TOKEN_ERROR");
-        }
-        Map<?, ?> resp = (Map<?, ?>) outer.get("response");
-        if (resp == null || resp.get("access_token") == null) {
-            log.error("PortOne getAccessToken missing token: {}", outer);
-            throw new IllegalStateException("PORTONE_TOKEN_ERROR");
-        }
-        return String.valueOf(resp.get("access_token"));
+        return tokenManager.getAccessToken();
     }
 
     /** imp_uid 단건 조회 */
     @SuppressWarnings("unchecked")
     public Map<String, Object> getPaymentByImpUid(String token, String impUid) {
-        Map<String, Object> outer = portone.get()
-                .uri("/payments/{impUid}", impUid)
-                .headers(h -> h.setBearerAuth(token))
-                .retrieve()
-                .bodyToMono(Map.class)
+        Map<String, Object> outer = tokenManager.retryOnUnauthorized(token, t -> http.portOne().get()
+                        .uri("/payments/{impUid}", impUid)
+                        .headers(h -> h.setBearerAuth(t))
+                        .retrieve()
+                        .bodyToMono(Map.class))
                 .onErrorResume(e -> {
                     log.error("PortOne getPaymentByImpUid failed: impUid={}", impUid, e);
                     return Mono.error(new IllegalStateException("PORTONE_PAYMENT_QUERY_ERROR"));
@@ -108,14 +66,15 @@ public class PortOneClient {
         if (amount != null) body.put("amount", amount.intValue()); // 원 단위 정수
         if (reason != null) body.put("reason", reason);
 
-        Map<String, Object> outer = portone.post()
-                .uri("/payments/cancel")
-                .headers(h -> h.setBearerAuth(token))
-                .contentType(MediaType.APPLICATION_JSON)
-                .accept(MediaType.APPLICATION_JSON)
-                .bodyValue(body)
-                .retrieve()
-                .bodyToMono(Map.class)
+        // 401 은 취소가 처리되지 않은 응답이므로 새 토큰으로 다시 보내도 이중 취소 없음
+        Map<String, Object> outer = tokenManager.retryOnUnauthorized(token, t -> http.portOne().post()
+                        .uri("/payments/cancel")
+                        .headers(h -> h.setBearerAuth(t))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .bodyValue(body)
+                        .retrieve()
+                        .bodyToMono(Map.class))
                 .onErrorResume(e -> {
                     log.error("PortOne cancelPayment failed: impUid={}, merchantUid={}", impUid, merchantUid, e);
                     return Mono.error(new IllegalStateException("PORTONE_CANCEL_ERROR"));
@@ -130,6 +89,4 @@ public class PortOneClient {
         }
         return (Map<String, Object>) outer.get("response");
     }
-
-    private static boolean isBlank(String s) { return s == null || s.trim().isEmpty(); }
 }
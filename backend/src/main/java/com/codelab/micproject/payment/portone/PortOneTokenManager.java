@@ -0,0 +1,209 @@
+package com.codelab.micproject.payment.portone;
+
+import com.codelab.micproject.common.http.OutboundHttpClients;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * PortOne 액세스 토큰 공용 관리 (PortOneClient / PortOnePaymentGateway 공용)
+ * - 응답의 expired_at 에서 safety-sec 을 뺀 시각까지 캐시 (토큰 유효기간 약 30분)
+ * - 만료 refresh-ahead-sec 전부터는 백그라운드에서 미리 갱신 → 요청 스레드는 거의 기다리지 않음
+ * - 동시에 만료를 만난 호출들은 진행 중인 갱신 하나(single-flight)를 함께 기다림
+ * - 캐시 토큰으로 401 을 받으면 그 토큰을 폐기하고 새 토큰으로 한 번만 재시도 (retryOnUnauthorized)
+ * - remoteFetches 로 실제 /users/getToken 호출 수 확인
+ */
+@Slf4j
+@Component
+public class PortOneTokenManager {
+
+    private final WebClient portone;
+
+    private final String apiKey;
+    private final String apiSecret;
+    private final long safetyMs;
+    private final long refreshAheadMs;
+
+    private volatile Token current;
+    private final AtomicReference<CompletableFuture<Token>> inflight = new AtomicReference<>();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "portone-token");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicLong remoteFetches = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong fetchFailures = new AtomicLong();
+    private final AtomicLong unauthorizedRetries = new AtomicLong();
+
+    public PortOneTokenManager(OutboundHttpClients http,
+                               @Value("${portone.api-key}") String apiKey,
+                               @Value("${portone.api-secret}") String apiSecret,
+                               @Value("${app.portone.token.safety-sec:60}") long safetySec,
+                               @Value("${app.portone.token.refresh-ahead-sec:300}") long refreshAheadSec) {
+        this.portone = http.portOne();
+        this.apiKey = apiKey;
+        this.apiSecret = apiSecret;
+        this.safetyMs = safetySec * 1000;
+        this.refreshAheadMs = refreshAheadSec * 1000;
+    }
+
+    /** 유효한 토큰 반환 (캐시 → 없거나 만료면 진행 중인 갱신에 합류) */
+    public String getAccessToken() {
+        Token t = current;
+        long now = System.currentTimeMillis();
+        if (t != null && now < t.usableUntil()) {
+            cacheHits.incrementAndGet();
+            if (now >= t.usableUntil() - refreshAheadMs) refreshAsync();
+            return t.value();
+        }
+        try {
+            return refreshAsync().join().value();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    /** 비동기 호출용: 캐시 적중이면 즉시, 아니면 갱신 완료 시점에 발행 (호출 스레드를 막지 않음) */
+    public Mono<String> accessToken() {
+        Token t = current;
+        long now = System.currentTimeMillis();
+        if (t != null && now < t.usableUntil()) {
+            cacheHits.incrementAndGet();
+            if (now >= t.usableUntil() - refreshAheadMs) refreshAsync();
+            return Mono.just(t.value());
+        }
+        return Mono.fromFuture(this::refreshAsync).map(Token::value);
+    }
+
+    /** 호출 측에서 401 등으로 토큰이 무효임을 알게 된 경우 (같은 토큰일 때만 폐기) */
+    public void invalidate(String token) {
+        Token t = current;
+        if (t != null && t.value().equals(token)) current = null;
+    }
+
+    /** 캐시 토큰으로 호출 (401 이면 새 토큰으로 한 번 재시도) */
+    public <T> Mono<T> withToken(Function<String, Mono<T>> call) {
+        return accessToken().flatMap(token -> retryOnUnauthorized(token, call));
+    }
+
+    /**
+     * token 으로 호출하고 401 이면 그 토큰을 폐기한 뒤 새 토큰으로 한 번만 재시도
+     * (만료 전인데 서버에서 먼저 무효가 된 토큰 — 키 재발급, 다른 서버의 재발급 등)
+     */
+    public <T> Mono<T> retryOnUnauthorized(String token, Function<String, Mono<T>> call) {
+        return call.apply(token).onErrorResume(WebClientResponseException.Unauthorized.class, e -> {
+            invalidate(token);
+            unauthorizedRetries.incrementAndGet();
+            log.warn("PortOne rejected the cached token (401), retrying once with a fresh token");
+            return accessToken().flatMap(call);
+        });
+    }
+
+    /** 만료 임박 토큰을 미리 갱신 (요청이 없어도 다음 요청이 기다리지 않도록) */
+    @Scheduled(fixedDelayString = "${app.portone.token.check-ms:60000}")
+    public void refreshIfDue() {
+        Token t = current;
+        if (t != null && System.currentTimeMillis() >= t.usableUntil() - refreshAheadMs) refreshAsync();
+    }
+
+    public Map<String, Object> stats() {
+        Token t = current;
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("remoteFetches", remoteFetches.get());
+        m.put("cacheHits", cacheHits.get());
+        m.put("fetchFailures", fetchFailures.get());
+        m.put("unauthorizedRetries", unauthorizedRetries.get());
+        m.put("cached", t != null);
+        m.put("usableForSec", t == null ? 0 : Math.max(0, (t.usableUntil() - System.currentTimeMillis()) / 1000));
+        m.put("refreshing", inflight.get() != null);
+        return m;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdown();
+    }
+
+    /** single-flight: 진행 중인 갱신이 있으면 그것을, 없으면 새로 시작 */
+    private CompletableFuture<Token> refreshAsync() {
+        CompletableFuture<Token> mine = new CompletableFuture<>();
+        CompletableFuture<Token> running = inflight.compareAndExchange(null, mine);
+        if (running != null) return running;
+
+        refresher.execute(() -> {
+            try {
+                Token t = fetch();
+                current = t;
+                mine.complete(t);
+            } catch (RuntimeException e) {
+                fetchFailures.incrementAndGet();
+                mine.completeExceptionally(e);
+            } finally {
+                inflight.compareAndSet(mine, null);
+            }
+        });
+        return mine;
+    }
+
+    private Token fetch() {
+        if (isBlank(apiKey) || isBlank(apiSecret)) {
+            log.error("PortOne credentials are empty. apiKey? {}, apiSecret? {}", apiKey != null, apiSecret != null);
+            throw new IllegalStateException("PORTONE_TOKEN_MISCONFIGURED");
+        }
+        remoteFetches.incrementAndGet();
+
+        Map<?, ?> outer = portone.post()
+                .uri("/users/getToken")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("imp_key", apiKey.trim(), "imp_secret", apiSecret.trim()))
+                .retrieve()
+                .bodyToMono(Map.class)
+                .onErrorResume(e -> {
+                    log.error("PortOne getAccessToken HTTP error", e);
+                    return Mono.error(new IllegalStateException("PORTONE_TOKEN_ERROR"));
+                })
+                .block();
+
+        if (outer == null) throw new IllegalStateException("PORTONE_TOKEN_ERROR");
+        Object code = outer.get("code");
+        if (code instanceof Number && ((Number) code).intValue() != 0) {
+            log.error("PortOne getAccessToken bad response: {}", outer);
+            throw new IllegalStateException("PORTONE_TOKEN_ERROR");
+        }
+        Map<?, ?> resp = (Map<?, ?>) outer.get("response");
+        if (resp == null || resp.get("access_token") == null) {
+            log.error("PortOne getAccessToken missing token: {}", outer);
+            throw new IllegalStateException("PORTONE_TOKEN_ERROR");
+        }
+
+        // expired_at(epoch초) 이 없으면 보수적으로 10분만 사용
+        long now = System.currentTimeMillis();
+        long expiresAt = resp.get("expired_at") instanceof Number n ? n.longValue() * 1000 : now + 600_000;
+        long usableUntil = Math.max(now + 1000, expiresAt - safetyMs);
+        return new Token(String.valueOf(resp.get("access_token")), usableUntil);
+    }
+
+    private static boolean isBlank(String s) { return s == null || s.trim().isEmpty(); }
+
+    private record Token(String value, long usableUntil) {}
+}
@@ -11,12 +11,15 @@ import java.util.Map;
 @RequestMapping("/api/payments/portone")
 public class PortOneWebhookController {
 
-    private final PortOneWebhookService service;
+    private final WebhookInboxService inbox;
 
     // PortOne 콘솔에 등록하는 웹훅 엔드포인트
+    // 원문만 webhook_inbox 에 적재하고 바로 200 → 검증/반영은 WebhookInboxWorker 가 비동기로 (멱등)
     @PostMapping("/webhook")
     public ResponseEntity<String> webhook(@RequestBody Map<String, Object> payload) {
-        service.handle(payload);   // 멱등 처리 내부 보장
+        inbox.accept(str(payload.get("imp_uid")), str(payload.get("merchant_uid")), str(payload.get("status")), payload);
         return ResponseEntity.ok("OK");
     }
+
+    private static String str(Object o) { return o == null ? null : String.valueOf(o); }
 }
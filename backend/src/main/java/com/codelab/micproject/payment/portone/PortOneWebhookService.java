@@ -5,83 +5,105 @@ import com.codelab.micproject.account.user.repository.UserRepository;
 import com.codelab.micproject.booking.domain.Appointment;
 import com.codelab.micproject.booking.domain.AppointmentStatus;
 import com.codelab.micproject.booking.repository.AppointmentRepository;
+import com.codelab.micproject.booking.service.AppointmentLifecycleService;
+import com.codelab.micproject.booking.service.SlotClaimService;
 import com.codelab.micproject.payment.domain.Order;
+import com.codelab.micproject.payment.domain.OrderAppointment;
 import com.codelab.micproject.payment.domain.OrderStatus;
 import com.codelab.micproject.payment.domain.Payment;
 import com.codelab.micproject.payment.domain.PaymentStatus;
 import com.codelab.micproject.payment.domain.Refund;
 import com.codelab.micproject.payment.domain.RefundStatus;
+import com.codelab.micproject.payment.gateway.PortOnePaymentGateway;
+import com.codelab.micproject.payment.gateway.PortOnePaymentInfo;
 import com.codelab.micproject.payment.repository.OrderRepository;
 import com.codelab.micproject.payment.repository.PaymentRepository;
 import com.codelab.micproject.payment.repository.RefundRepository;
-import jakarta.transaction.Transactional;
+import com.codelab.micproject.payment.service.PaymentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
-import java.util.List;
-import java.util.Map;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PortOneWebhookService {
 
-    private final PortOneClient portOneClient;
+    private final PortOnePaymentGateway portOneGateway;
+    private final TransactionTemplate transactionTemplate;
     private final PaymentRepository paymentRepository;
     private final AppointmentRepository appointmentRepository;
     private final UserRepository userRepository;
     private final OrderRepository orderRepository;     // 사용
     private final RefundRepository refundRepository;   // 사용
+    private final SlotClaimService slotClaimService;
+    private final AppointmentLifecycleService lifecycleService;
+    private final PaymentService paymentService;
 
     private static final ZoneId KST = ZoneId.of("Asia/Seoul");
 
-    @Transactional
-    public void handle(Map<String, Object> payload) {
-        final String impUid = str(payload.get("imp_uid"));
-        final String merchantUid = str(payload.get("merchant_uid"));
-        if (merchantUid == null) {
-            log.warn("Webhook payload without merchant_uid: {}", payload);
-            return;
-        }
-
-        // 락을 잡아 멱등/경합 방지
-        Payment pay = paymentRepository.findWithLockByMerchantUid(merchantUid).orElse(null);
-        if (pay == null) {
+    /**
+     * 수신함 이벤트 1건 처리 (WebhookInboxWorker 에서 호출), 처리 결과 메모 반환
+     * PortOne 재검증은 락 밖에서 먼저 하고, 결제 행 락은 비교/갱신 구간에만 잡음.
+     * - 주문 결제(체크아웃, pay.order 있음): 결제완료는 confirm 과 같은 PaymentService 경로, 환불은 주문의 예약 전체 취소
+     * - 주문 없는 결제(구 방식): 결제 행의 시간으로 예약 생성/취소
+     */
+    public String process(String impUid, String merchantUid) {
+        if (!paymentRepository.existsByMerchantUid(merchantUid)) {
             log.warn("Payment not found. merchantUid={}", merchantUid);
-            return;
+            return "PAYMENT_NOT_FOUND";
         }
 
         // PortOne 서버-서버 재검증
-        String token = portOneClient.getAccessToken();
-        Map<String, Object> info = portOneClient.getPaymentByImpUid(token, impUid);
-        String verifiedStatus = str(info.get("status"));          // paid/cancelled/refunded...
-        BigDecimal paidAmount = toBigDecimal(info.get("amount"));
-        String pgProvider   = str(info.get("pg_provider"));
-        String payMethod    = str(info.get("pay_method"));
-        String receiptUrl   = str(info.get("receipt_url"));
+        PortOnePaymentInfo info = portOneGateway.getPaymentByImpUid(impUid);
+        if (info.merchantUid() != null && !info.merchantUid().equals(merchantUid)) {
+            log.error("Webhook merchant_uid mismatch. webhook={}, portone={}, impUid={}", merchantUid, info.merchantUid(), impUid);
+            return "MERCHANT_UID_MISMATCH";
+        }
+
+        return transactionTemplate.execute(s -> apply(impUid, merchantUid, info));
+    }
+
+    /** 이미 PortOne 에서 조회한 결제 반영 (대사 잡의 주문 없는 결제용, 재조회 없음) — process 와 같은 경로 */
+    public String applyVerified(String merchantUid, PortOnePaymentInfo info) {
+        return transactionTemplate.execute(s -> apply(info.impUid(), merchantUid, info));
+    }
+
+    private String apply(String impUid, String merchantUid, PortOnePaymentInfo info) {
+        // 락을 잡아 멱등/경합 방지 (confirm 과 동시 도착 시 직렬화)
+        Payment pay = paymentRepository.findWithLockByMerchantUid(merchantUid).orElse(null);
+        if (pay == null) return "PAYMENT_NOT_FOUND";
+
+        String verifiedStatus = info.status();          // paid/cancelled/refunded...
 
         if (eq(verifiedStatus, "paid")) {
-            handlePaid(pay, impUid, paidAmount, pgProvider, payMethod, receiptUrl);
-            return;
+            if (pay.getOrder() != null) {
+                // 이미 PAID 면 변경 없음, 홀드 만료 후 슬롯을 잃었으면 환불까지 끝난 상태로 커밋
+                return paymentService.applyVerifiedPayment(merchantUid, info) ? null : "SLOT_TAKEN_REFUNDED";
+            }
+            handlePaid(pay, impUid, BigDecimal.valueOf(info.amount()), info.pgProvider(), info.payMethod(), info.receiptUrl());
+            return null;
         }
 
         if (eq(verifiedStatus, "cancelled") || eq(verifiedStatus, "refunded")) {
             handleRefunded(pay);
-            return;
+            return null;
         }
 
         if (eq(verifiedStatus, "failed")) {
             pay.setStatus(PaymentStatus.FAILED);
             paymentRepository.save(pay);
             log.info("Payment marked FAILED. merchantUid={}", merchantUid);
-            return;
+            return null;
         }
 
         log.info("Unhandled PortOne status: {} (merchantUid={})", verifiedStatus, merchantUid);
+        return "UNHANDLED_STATUS:" + verifiedStatus;
     }
 
     private void handlePaid(Payment pay,
@@ -105,30 +127,10 @@ public class PortOneWebhookService {
             return;
         }
 
-        // ✅ 슬롯 최종 겹침 체크 (REQUESTED/APPROVED만 차단, CANCELLED 허용)
-        User consultant = userRepository.findById(pay.getConsultantId()).orElseThrow();
-        var blocking = List.of(AppointmentStatus.REQUESTED, AppointmentStatus.APPROVED);
-
-        boolean overlap = appointmentRepository.existsActiveOverlap(
-                    consultant.getId(),
-                    pay.getStartAt(),
-                    pay.getEndAt(),
-                    null,
-                    blocking
-        );
-        if (overlap) {
-            log.error("Overlap detected at approve stage. merchantUid={}", pay.getMerchantUid());
-            pay.setStatus(PaymentStatus.FAILED);
-            paymentRepository.save(pay);
-            return;
-        }
-
-        // Appointment 생성(멱등)
-        Appointment apt;
-        if (pay.getAppointmentId() != null) {
-            apt = appointmentRepository.findById(pay.getAppointmentId()).orElse(null);
-        } else {
-            apt = Appointment.builder()
+        // Appointment 생성(멱등) + 슬롯 최종 점유 (아직 예약이 연결되지 않은 경우에만, 유니크 인덱스로 동시 승인 차단)
+        if (pay.getAppointmentId() == null) {
+            User consultant = userRepository.findById(pay.getConsultantId()).orElseThrow();
+            Appointment apt = Appointment.builder()
                     .consultant(consultant)
                     .user(userRepository.findById(pay.getUserId()).orElseThrow())
                     .startAt(pay.getStartAt())
@@ -137,7 +139,15 @@ public class PortOneWebhookService {
                     .meetingUrl("https://meet.example.com/" + pay.getMerchantUid()) // TODO: OpenVidu
                     .build();
             appointmentRepository.save(apt);
+            if (!slotClaimService.tryClaim(apt)) {
+                log.error("Overlap detected at approve stage. merchantUid={}", pay.getMerchantUid());
+                appointmentRepository.delete(apt);
+                pay.setStatus(PaymentStatus.FAILED);
+                paymentRepository.save(pay);
+                return;
+            }
             pay.setAppointmentId(apt.getId());
+            lifecycleService.approved(apt);
         }
 
         // Payment 업데이트
@@ -169,16 +179,14 @@ public class PortOneWebhookService {
         paymentRepository.save(pay);
 
         // Appointment 취소 (→ CANCELLED 이므로 다시 예약 가능)
-        if (pay.getAppointmentId() != null) {
-            appointmentRepository.findById(pay.getAppointmentId()).ifPresent(a -> {
-                a.setStatus(AppointmentStatus.CANCELLED);
-                a.setMeetingUrl(null);
-                appointmentRepository.save(a);
-            });
+        Order order = pay.getOrder();
+        if (order != null) {
+            for (OrderAppointment oa : order.getAppointments()) cancelAppointment(oa.getAppointment());
+        } else if (pay.getAppointmentId() != null) {
+            appointmentRepository.findById(pay.getAppointmentId()).ifPresent(this::cancelAppointment);
         }
 
         // Order/Refund 동기화 (연관 사용)
-        Order order = pay.getOrder();
         if (order != null) {
             order.setStatus(OrderStatus.REFUNDED);
             orderRepository.save(order);
@@ -200,13 +208,16 @@ public class PortOneWebhookService {
         log.info("Payment REFUNDED synced. merchantUid={}", pay.getMerchantUid());
     }
 
+    /** 진행 중(REQUESTED/APPROVED) 예약만 점유 해제, 이미 취소/완료된 예약은 상태만 유지 */
+    private void cancelAppointment(Appointment a) {
+        boolean active = a.getStatus() == AppointmentStatus.REQUESTED || a.getStatus() == AppointmentStatus.APPROVED;
+        if (!active) return;
+        a.setStatus(AppointmentStatus.CANCELLED);
+        a.setMeetingUrl(null);
+        slotClaimService.release(a);
+        appointmentRepository.save(a);
+    }
+
     // utils
-    private static String str(Object o) { return o == null ? null : String.valueOf(o); }
     private static boolean eq(String a, String bLower) { return a != null && a.equalsIgnoreCase(bLower); }
-    private static BigDecimal toBigDecimal(Object amount) {
-        if (amount == null) return null;
-        if (amount instanceof BigDecimal bd) return bd;
-        if (amount instanceof Number n) return new BigDecimal(n.toString());
-        return new BigDecimal(String.valueOf(amount));
-    }
 }
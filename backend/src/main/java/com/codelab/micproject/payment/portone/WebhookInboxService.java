@@ -0,0 +1,180 @@
+package com.codelab.micproject.payment.portone;
+
+import com.codelab.micproject.payment.domain.WebhookInbox;
+import com.codelab.micproject.payment.repository.WebhookInboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * webhook_inbox 적재/선점/결과 기록
+ * - accept: 원문 INSERT IGNORE 만 수행 (PortOne 호출/결제 행 락 없음) → 웹훅 응답이 항상 빠름
+ * - claim: 대기 행을 선점하면서 merchant_uid 별로 묶음
+ *   같은 imp_uid 의 이벤트가 여러 건이면 가장 최근 1건만 처리하고 나머지는 COALESCED
+ *   (처리 시 PortOne 에서 현재 상태를 다시 조회하므로 마지막 1건 처리로 모두 반영됨)
+ * - 실패 시 지수 백오프(base × 2^(시도-1), 최대 1시간), max-attempts 초과 시 FAILED
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WebhookInboxService {
+
+    private final WebhookInboxRepository repo;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.payment.webhook.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.payment.webhook.backoff-base-sec:10}")
+    private long backoffBaseSec;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /** 수신 이벤트 적재, 새로 적재됐으면 true (재전송이면 false) */
+    @Transactional
+    public boolean accept(String impUid, String merchantUid, String status, Object payload) {
+        if (isBlank(impUid) || isBlank(merchantUid)) {
+            log.warn("Webhook without imp_uid/merchant_uid ignored: {}", payload);
+            return false;
+        }
+        String eventStatus = isBlank(status) ? "unknown" : status.trim().toLowerCase(Locale.ROOT);
+        int n = repo.insertIgnore(impUid.trim(), merchantUid.trim(), eventStatus, toJson(payload), LocalDateTime.now());
+        (n > 0 ? accepted : duplicates).incrementAndGet();
+        return n > 0;
+    }
+
+    /**
+     * 처리할 행을 최대 limit 개 선점, merchant_uid 별 처리 목록으로 반환 (목록 안은 id 순)
+     * 같은 merchant 의 이벤트는 한 작업에서 순서대로 처리 → 결제 행 락 경합 없음
+     */
+    @Transactional
+    public Map<String, List<WebhookInbox>> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<WebhookInbox> due = repo.lockDue(now, limit);
+        if (due.isEmpty()) return Map.of();
+
+        Set<String> merchants = new LinkedHashSet<>();
+        due.forEach(w -> merchants.add(w.getMerchantUid()));
+
+        // 선점한 행 + 같은 merchant 의 나머지 대기 행 (다른 노드가 잡은 행은 제외)
+        Map<Long, WebhookInbox> rows = new TreeMap<>();
+        due.forEach(w -> rows.put(w.getId(), w));
+        repo.lockPendingByMerchant(merchants).forEach(w -> rows.putIfAbsent(w.getId(), w));
+
+        // imp_uid 별 최신 이벤트만 대표로 남김
+        Map<String, WebhookInbox> leaderByImp = new LinkedHashMap<>();
+        for (WebhookInbox w : rows.values()) {
+            WebhookInbox prev = leaderByImp.put(w.getImpUid(), w);
+            if (prev != null) {
+                prev.setState(WebhookInbox.State.COALESCED);
+                prev.setProcessedAt(now);
+                prev.setLastError("coalesced into #" + w.getId());
+                coalesced.incrementAndGet();
+            }
+        }
+
+        Map<String, List<WebhookInbox>> byMerchant = new LinkedHashMap<>();
+        leaderByImp.values().stream()
+                .sorted(Comparator.comparing(WebhookInbox::getId))
+                .forEach(w -> {
+                    w.setState(WebhookInbox.State.PROCESSING);
+                    w.setClaimedAt(now);
+                    byMerchant.computeIfAbsent(w.getMerchantUid(), k -> new ArrayList<>()).add(w);
+                });
+        return byMerchant;
+    }
+
+    @Transactional
+    public void markDone(Long id, String note) {
+        repo.markDone(id, LocalDateTime.now(), truncate(note));
+    }
+
+    @Transactional
+    public void markFailed(Long id, String error) {
+        repo.findById(id).ifPresent(w -> {
+            int attempts = w.getAttempts() + 1;
+            w.setAttempts(attempts);
+            w.setLastError(truncate(error));
+            if (attempts >= maxAttempts) {
+                w.setState(WebhookInbox.State.FAILED);
+                log.error("[Webhook] give up id={} merchantUid={} impUid={} after {} attempts: {}",
+                        id, w.getMerchantUid(), w.getImpUid(), attempts, error);
+            } else {
+                long delay = Math.min(3600, backoffBaseSec << Math.min(attempts - 1, 16));
+                w.setState(WebhookInbox.State.PENDING);
+                w.setNextAttemptAt(LocalDateTime.now().plusSeconds(delay));
+            }
+        });
+    }
+
+    @Transactional
+    public int releaseStale(LocalDateTime cutoff) {
+        return repo.releaseStale(cutoff);
+    }
+
+    @Transactional
+    public int purgeProcessed(LocalDateTime before) {
+        return repo.purgeProcessed(before);
+    }
+
+    /** 관리자 재처리: 지정 id (PROCESSING 중인 행 제외) */
+    @Transactional
+    public int replay(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) return 0;
+        return repo.requeue(ids, LocalDateTime.now());
+    }
+
+    /** 관리자 재처리: 기간 내 특정 상태(기본 FAILED) 일괄 */
+    @Transactional
+    public int replay(WebhookInbox.State state, LocalDateTime from, LocalDateTime to) {
+        if (state == WebhookInbox.State.PENDING || state == WebhookInbox.State.PROCESSING) {
+            throw new IllegalArgumentException("replay state must be DONE, COALESCED or FAILED");
+        }
+        if (!from.isBefore(to)) throw new IllegalArgumentException("from must be before to");
+        return repo.requeueByState(state, from, to, LocalDateTime.now());
+    }
+
+    /** 적체 지표: 상태별 건수, 가장 오래된 대기 이벤트 나이 */
+    @Transactional(readOnly = true)
+    public Map<String, Object> stats() {
+        Map<WebhookInbox.State, Long> byState = new EnumMap<>(WebhookInbox.State.class);
+        for (Object[] row : repo.countByState()) byState.put((WebhookInbox.State) row[0], (Long) row[1]);
+        LocalDateTime oldest = repo.oldestPendingReceivedAt();
+
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("accepted", accepted.get());
+        m.put("duplicates", duplicates.get());
+        m.put("coalesced", coalesced.get());
+        m.put("byState", byState);
+        m.put("backlog", byState.getOrDefault(WebhookInbox.State.PENDING, 0L)
+                + byState.getOrDefault(WebhookInbox.State.PROCESSING, 0L));
+        m.put("oldestPendingAgeSec", oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toSeconds());
+        return m;
+    }
+
+    private String toJson(Object payload) {
+        if (payload instanceof String s) return s;
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            return String.valueOf(payload);
+        }
+    }
+
+    private static String truncate(String s) {
+        return s == null ? null : s.substring(0, Math.min(500, s.length()));
+    }
+
+    private static boolean isBlank(String s) { return s == null || s.trim().isEmpty(); }
+}
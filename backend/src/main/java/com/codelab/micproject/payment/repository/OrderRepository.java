@@ -3,11 +3,16 @@ package com.codelab.micproject.payment.repository;
 
 import com.codelab.micproject.account.user.domain.User;
 import com.codelab.micproject.payment.domain.Order;
+import com.codelab.micproject.payment.dto.CheckoutContext;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
@@ -35,6 +40,40 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     """)
     List<Order> findPaidOrdersByUser(@Param("user") User user);
 
+    // 마이페이지 키셋 페이지: 사용자 PAID 주문 id (cursor 미만, 최신순)
+    @Query("""
+        select o.id from Order o
+        where o.user.id = :userId and o.status = com.codelab.micproject.payment.domain.OrderStatus.PAID
+          and o.id < :cursor
+        order by o.id desc
+    """)
+    List<Long> findPaidOrderIdsByUserBefore(@Param("userId") Long userId,
+                                            @Param("cursor") long cursor,
+                                            Pageable page);
+
+    // 컨설턴트 마이페이지 키셋 페이지: 주문 id (cursor 미만, 최신순)
+    @Query("""
+        select o.id from Order o
+        where o.consultant.id = :consultantId and o.id < :cursor
+        order by o.id desc
+    """)
+    List<Long> findOrderIdsByConsultantBefore(@Param("consultantId") Long consultantId,
+                                              @Param("cursor") long cursor,
+                                              Pageable page);
+
+    // 페이지의 주문 + 상담사/사용자 + 예약을 한 번에 (id 로 먼저 자른 뒤 fetch → 메모리 페이징 없음)
+    @Query("""
+        select distinct o
+        from Order o
+        join fetch o.consultant c
+        join fetch o.user u
+        left join fetch o.appointments oa
+        left join fetch oa.appointment a
+        where o.id in :ids
+        order by o.id desc
+    """)
+    List<Order> findWithAppointmentsByIdIn(@Param("ids") Collection<Long> ids);
+
     // 컨설턴트별 주문 목록 (사용자/예약까지 fetch)
     @Query("""
         select distinct o
@@ -46,4 +85,25 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
         order by o.id desc
     """)
     List<Order> findByConsultant(@Param("consultant") User consultant);
+
+    // 체크아웃 사전 조회: 상담사 역할/이름/등급, 첫(최소 id) 규칙 zoneId, 슬롯 정확 일치 여부, 구매자 이름을 한 번에
+    @Query("""
+        select new com.codelab.micproject.payment.dto.CheckoutContext(
+            c.role, c.name, m.level,
+            (select av.zoneId from Availability av
+              where av.id = (select min(av2.id) from Availability av2 where av2.consultant = c)),
+            case when exists (
+                select 1 from AvailableSlot s
+                 where s.consultant = c and s.startAt = :startLocal and s.endAt = :endLocal
+            ) then true else false end,
+            b.name)
+        from User c
+        left join ConsultantMeta m on m.consultant = c
+        join User b on b.id = :buyerId
+        where c.id = :consultantId
+    """)
+    Optional<CheckoutContext> loadCheckoutContext(@Param("consultantId") Long consultantId,
+                                                  @Param("buyerId") Long buyerId,
+                                                  @Param("startLocal") LocalDateTime startLocal,
+                                                  @Param("endLocal") LocalDateTime endLocal);
 }
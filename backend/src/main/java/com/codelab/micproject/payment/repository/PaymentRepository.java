@@ -3,12 +3,17 @@ package com.codelab.micproject.payment.repository;
 import com.codelab.micproject.payment.domain.Order;
 import com.codelab.micproject.payment.domain.Payment;
 import com.codelab.micproject.payment.domain.PaymentStatus;
+import com.codelab.micproject.payment.dto.MyPaymentItem;
+import com.codelab.micproject.payment.dto.OrderPaymentSummary;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -21,7 +26,74 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     Optional<Payment> findByMerchantUid(String merchantUid);
 
+    boolean existsByMerchantUid(String merchantUid);
+
+    /** 대사 대상: cutoff 이전에 생성된 PENDING 결제를 id 키셋으로 [id, merchantUid, impUid, createdAt] */
+    @Query("""
+        select p.id, p.merchantUid, p.impUid, p.createdAt from Payment p
+         where p.status = com.codelab.micproject.payment.domain.PaymentStatus.PENDING
+           and p.id > :afterId and p.createdAt < :cutoff
+         order by p.id
+    """)
+    List<Object[]> findStalePendingAfter(@Param("afterId") long afterId,
+                                         @Param("cutoff") OffsetDateTime cutoff,
+                                         Pageable page);
+
     Optional<Payment> findByOrder(Order order);
 
+    /** 주문 목록 페이지의 결제 요약 일괄 조회 (주문당 findByOrder 반복 제거) */
+    @Query("""
+        select new com.codelab.micproject.payment.dto.OrderPaymentSummary(
+            p.order.id, p.payMethod, p.pgProvider, p.cardBrand, p.cardLast4, p.paidAt)
+        from Payment p
+        where p.order.id in :orderIds
+    """)
+    List<OrderPaymentSummary> findSummariesByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * 내 결제 목록 프로젝션 — 주문/상담사 조인, 취소 가능·환불 여부를 SQL 에서 계산 (행당 추가 쿼리 없음)
+     * cancellable: 주문 PAID 이고 cancelFrom(내일 0시 KST) 이전에 시작하는 예약이 없음
+     * 주문 없는 결제(구 방식)는 내용 쿼리의 inner join 에서 빠지므로 count 에서도 제외 (totalElements 일치)
+     */
+    @Query(value = """
+        select new com.codelab.micproject.payment.dto.MyPaymentItem(
+            p.id, o.id, p.merchantUid, p.amount, cast(p.status as string), o.bundleCount, c.name,
+            p.paidAt, p.cardBrand, p.cardLast4,
+            case when o.status = com.codelab.micproject.payment.domain.OrderStatus.PAID
+                      and not exists (select 1 from OrderAppointment oa join oa.appointment a
+                                       where oa.order = o and a.startAt < :cancelFrom)
+                 then true else false end,
+            case when exists (select 1 from Refund r where r.order = o) then 'FULL' else 'NONE' end)
+        from Payment p
+        join p.order o
+        join o.consultant c
+        where p.userId = :userId
+        order by p.id desc
+    """, countQuery = "select count(p) from Payment p where p.userId = :userId and p.order is not null")
+    Page<MyPaymentItem> findMyPaymentItems(@Param("userId") Long userId,
+                                           @Param("cancelFrom") OffsetDateTime cancelFrom,
+                                           Pageable pageable);
+
+    /** 위와 같은 프로젝션의 키셋 페이지 (id < cursor, 최신순, OFFSET/COUNT 없음) */
+    @Query("""
+        select new com.codelab.micproject.payment.dto.MyPaymentItem(
+            p.id, o.id, p.merchantUid, p.amount, cast(p.status as string), o.bundleCount, c.name,
+            p.paidAt, p.cardBrand, p.cardLast4,
+            case when o.status = com.codelab.micproject.payment.domain.OrderStatus.PAID
+                      and not exists (select 1 from OrderAppointment oa join oa.appointment a
+                                       where oa.order = o and a.startAt < :cancelFrom)
+                 then true else false end,
+            case when exists (select 1 from Refund r where r.order = o) then 'FULL' else 'NONE' end)
+        from Payment p
+        join p.order o
+        join o.consultant c
+        where p.userId = :userId and p.id < :cursor
+        order by p.id desc
+    """)
+    List<MyPaymentItem> findMyPaymentItemsBefore(@Param("userId") Long userId,
+                                                 @Param("cursor") long cursor,
+                                                 @Param("cancelFrom") OffsetDateTime cancelFrom,
+                                                 Pageable page);
+
     Page<Payment> findByUserIdAndStatusOrderByIdDesc(Long userId, PaymentStatus status, Pageable pageable);
 }
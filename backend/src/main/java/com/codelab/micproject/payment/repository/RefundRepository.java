@@ -3,7 +3,16 @@ package com.codelab.micproject.payment.repository;
 
 import com.codelab.micproject.payment.domain.Refund;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface RefundRepository extends JpaRepository<Refund, Long> {
     boolean existsByOrderId(Long orderId);
+
+    /** 주문 목록 페이지에서 환불 레코드가 있는 주문 id 일괄 조회 */
+    @Query("select distinct r.order.id from Refund r where r.order.id in :orderIds")
+    List<Long> findOrderIdsWithRefund(@Param("orderIds") Collection<Long> orderIds);
 }
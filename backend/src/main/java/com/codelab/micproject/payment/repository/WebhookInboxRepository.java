@@ -0,0 +1,92 @@
+package com.codelab.micproject.payment.repository;
+
+import com.codelab.micproject.payment.domain.WebhookInbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface WebhookInboxRepository extends JpaRepository<WebhookInbox, Long> {
+
+    /** 같은 (imp_uid, event_status) 가 이미 있으면 0 반환 (재전송 흡수, MySQL) */
+    @Modifying
+    @Query(value = """
+            INSERT IGNORE INTO webhook_inbox
+                (imp_uid, merchant_uid, event_status, payload, state, attempts, next_attempt_at, received_at)
+            VALUES (:impUid, :merchantUid, :eventStatus, :payload, 'PENDING', 0, :now, :now)
+            """, nativeQuery = true)
+    int insertIgnore(@Param("impUid") String impUid,
+                     @Param("merchantUid") String merchantUid,
+                     @Param("eventStatus") String eventStatus,
+                     @Param("payload") String payload,
+                     @Param("now") LocalDateTime now);
+
+    /** 처리 대상 선점용 조회 (다른 노드가 잡은 행은 건너뜀, MySQL 8+) */
+    @Query(value = """
+            SELECT * FROM webhook_inbox
+             WHERE state = 'PENDING' AND next_attempt_at <= :now
+             ORDER BY id
+             LIMIT :limit
+             FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<WebhookInbox> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /** 같은 merchant_uid 의 나머지 대기 이벤트 (선점한 대표 이벤트 처리로 함께 반영됨) */
+    @Query(value = """
+            SELECT * FROM webhook_inbox
+             WHERE state = 'PENDING' AND merchant_uid IN (:merchantUids)
+             FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<WebhookInbox> lockPendingByMerchant(@Param("merchantUids") Collection<String> merchantUids);
+
+    @Modifying
+    @Query("update WebhookInbox w set w.state = com.codelab.micproject.payment.domain.WebhookInbox.State.DONE, w.processedAt = :now, w.lastError = :note where w.id = :id")
+    int markDone(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("note") String note);
+
+    /** 선점 후 노드가 죽어 PROCESSING 에 멈춘 행 되살리기 */
+    @Modifying
+    @Query("update WebhookInbox w set w.state = com.codelab.micproject.payment.domain.WebhookInbox.State.PENDING where w.state = com.codelab.micproject.payment.domain.WebhookInbox.State.PROCESSING and w.claimedAt < :cutoff")
+    int releaseStale(@Param("cutoff") LocalDateTime cutoff);
+
+    /** 관리자 재처리: 지정 행을 PENDING 으로 되돌림 (시도 횟수 초기화) */
+    @Modifying
+    @Query("""
+        update WebhookInbox w
+           set w.state = com.codelab.micproject.payment.domain.WebhookInbox.State.PENDING,
+               w.attempts = 0, w.nextAttemptAt = :now, w.lastError = null
+         where w.id in :ids and w.state <> com.codelab.micproject.payment.domain.WebhookInbox.State.PROCESSING
+    """)
+    int requeue(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /** 관리자 재처리: 기간 내 특정 상태(FAILED 등) 일괄 */
+    @Modifying
+    @Query("""
+        update WebhookInbox w
+           set w.state = com.codelab.micproject.payment.domain.WebhookInbox.State.PENDING,
+               w.attempts = 0, w.nextAttemptAt = :now, w.lastError = null
+         where w.state = :state and w.receivedAt >= :from and w.receivedAt < :to
+    """)
+    int requeueByState(@Param("state") WebhookInbox.State state,
+                       @Param("from") LocalDateTime from,
+                       @Param("to") LocalDateTime to,
+                       @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+        delete from WebhookInbox w
+         where w.state in (com.codelab.micproject.payment.domain.WebhookInbox.State.DONE,
+                           com.codelab.micproject.payment.domain.WebhookInbox.State.COALESCED)
+           and w.receivedAt < :before
+    """)
+    int purgeProcessed(@Param("before") LocalDateTime before);
+
+    @Query("select w.state, count(w) from WebhookInbox w group by w.state")
+    List<Object[]> countByState();
+
+    @Query("select min(w.receivedAt) from WebhookInbox w where w.state = com.codelab.micproject.payment.domain.WebhookInbox.State.PENDING")
+    LocalDateTime oldestPendingReceivedAt();
+}
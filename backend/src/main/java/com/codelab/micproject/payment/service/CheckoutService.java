@@ -5,10 +5,9 @@ import com.codelab.micproject.account.consultant.domain.ConsultantLevel;
 import com.codelab.micproject.account.consultant.repository.ConsultantMetaRepository;
 import com.codelab.micproject.account.user.domain.UserRole;
 import com.codelab.micproject.account.user.repository.UserRepository;
-import com.codelab.micproject.booking.domain.AppointmentStatus; // ✅ 추가
 import com.codelab.micproject.booking.dto.SlotDto;
-import com.codelab.micproject.booking.repository.AppointmentRepository;
 import com.codelab.micproject.booking.service.AvailabilityService;
+import com.codelab.micproject.booking.service.SlotClaimService;
 import com.codelab.micproject.payment.domain.Payment;
 import com.codelab.micproject.payment.domain.PaymentStatus;
 import com.codelab.micproject.payment.dto.CheckoutRequest;
@@ -20,14 +19,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.List; // ✅ 추가
+import java.time.OffsetDateTime;
 
 @Service
 @RequiredArgsConstructor
 public class CheckoutService {
 
     private final UserRepository userRepository;
-    private final AppointmentRepository appointmentRepository;
+    private final SlotClaimService slotClaimService;
     private final ConsultantMetaRepository metaRepository;
     private final PaymentRepository paymentRepository;
     private final AvailabilityService availabilityService;
@@ -48,16 +47,10 @@ public class CheckoutService {
         // 1) 가용/간격 검증
         availabilityService.validate(consultant, startAt, endAt);
 
-        // 2) 겹침 체크 (REQUESTED/APPROVED만 차단, CANCELLED 허용)
-        var blocking = java.util.EnumSet.of(AppointmentStatus.REQUESTED, AppointmentStatus.APPROVED);
-        boolean overlap = appointmentRepository.existsActiveOverlap(
-                    consultant.getId(),
-                    startAt,
-                    endAt,
-                    null,
-                    blocking
-        );
-        if (overlap) throw new IllegalArgumentException("SLOT_ALREADY_BOOKED");
+        // 2) 점유 여부 확인 (실제 점유는 결제 승인 시 Appointment 생성과 함께)
+        if (slotClaimService.isClaimed(consultant.getId(), startAt, endAt)) {
+            throw new IllegalArgumentException("SLOT_ALREADY_BOOKED");
+        }
 
         // 3) 금액(1회권) 계산
         var meta  = metaRepository.findByConsultant(consultant).orElse(null);
@@ -84,13 +77,14 @@ public class CheckoutService {
                 .amount(amount)
                 .currency("KRW")
                 .payMethod(req.method())
+                .createdAt(OffsetDateTime.now()) // 대사 잡의 p.createdAt < cutoff 조건 대상
                 .build();
         paymentRepository.save(pay);
 
         // 5) 프론트 결제창 파라미터 반환
         String name      = "1:1 화상면접 1회권";
         String buyerName = (user.getName() != null) ? user.getName() : "회원";
-        return new CheckoutResponse(merchantUid, amount, name, buyerName);
+        return new CheckoutResponse(merchantUid, amount, name, buyerName, null);
     }
 
     /** 슬롯 배열에서 단일 슬롯을 강제 추출 (1개만 허용) */
@@ -0,0 +1,131 @@
+package com.codelab.micproject.payment.service;
+
+import com.codelab.micproject.booking.domain.Appointment;
+import com.codelab.micproject.booking.service.SlotHoldService;
+import com.codelab.micproject.payment.domain.*;
+import com.codelab.micproject.payment.portone.PortOneClient;
+import com.codelab.micproject.payment.repository.PaymentRepository;
+import com.codelab.micproject.payment.repository.RefundRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 결제는 됐지만 홀드 만료 후 슬롯을 잃은 주문의 자동 환불
+ * - 결제 행 락을 잡은 트랜잭션(confirm / 웹훅 / 대사)에서는 종료 상태만 기록:
+ *   결제 FAILED, 주문 CANCELED, 환불 REQUESTED — PortOne 호출 없음 (락 보유 = DB 작업 시간)
+ * - 커밋 후 같은 스레드에서 PortOne 전액 취소 → 결과를 새 짧은 트랜잭션으로 반영
+ *   성공: 환불 COMPLETED, 결제/주문 REFUNDED / 실패: 환불 REQUESTED 그대로 (수동 환불 대상)
+ */
+@Slf4j
+@Service
+public class LostSlotRefundService {
+
+    static final String REASON = "예약 시간 마감으로 자동 환불";
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final RefundRepository refundRepository;
+    private final PaymentRepository paymentRepository;
+    private final SlotHoldService slotHoldService;
+    private final PortOneClient portOneClient;
+    private final TransactionTemplate newTx;
+
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public LostSlotRefundService(RefundRepository refundRepository,
+                                 PaymentRepository paymentRepository,
+                                 SlotHoldService slotHoldService,
+                                 PortOneClient portOneClient,
+                                 PlatformTransactionManager txManager) {
+        this.refundRepository = refundRepository;
+        this.paymentRepository = paymentRepository;
+        this.slotHoldService = slotHoldService;
+        this.portOneClient = portOneClient;
+        this.newTx = new TransactionTemplate(txManager);
+        this.newTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW); // afterCommit 안에서도 별도 트랜잭션
+    }
+
+    /** 락 트랜잭션 안: 종료 상태 + 환불 요청 행만 남기고, PortOne 취소는 커밋 후로 */
+    public void markLostAndRefundAfterCommit(Payment payment, Order order) {
+        payment.setStatus(PaymentStatus.FAILED);
+        order.setStatus(OrderStatus.CANCELED);
+        Refund refund = refundRepository.save(Refund.builder()
+                .order(order)
+                .amount(payment.getAmount())
+                .status(RefundStatus.REQUESTED)
+                .reason(REASON)
+                .createdAt(OffsetDateTime.now(KST))
+                .build());
+        order.getAppointments().forEach(oa -> {
+            Appointment a = oa.getAppointment();
+            slotHoldService.releaseAfterCommit(payment.getHoldToken(), a.getConsultant().getId(), a.getStartAt(), a.getEndAt());
+        });
+        requested.incrementAndGet();
+        log.warn("Paid checkout lost its slot after hold expiry, refund queued: merchantUid={}", payment.getMerchantUid());
+
+        Long refundId = refund.getId();
+        String impUid = payment.getImpUid();
+        String merchantUid = payment.getMerchantUid();
+        BigDecimal amount = payment.getAmount();
+        Runnable task = () -> refund(refundId, impUid, merchantUid, amount);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    /** 커밋 후: PortOne 전액 취소 → 성공 시 새 트랜잭션에서 환불/결제/주문 완료 처리 */
+    void refund(Long refundId, String impUid, String merchantUid, BigDecimal amount) {
+        try {
+            portOneClient.cancelPayment(portOneClient.getAccessToken(), impUid, merchantUid, amount, REASON);
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            log.error("Auto refund failed, manual refund required: merchantUid={}, impUid={}, refundId={}: {}",
+                    merchantUid, impUid, refundId, e.toString());
+            return;
+        }
+        try {
+            newTx.executeWithoutResult(s -> {
+                Payment payment = paymentRepository.findWithLockByMerchantUid(merchantUid).orElseThrow();
+                Refund refund = refundRepository.findById(refundId).orElseThrow();
+                refund.setStatus(RefundStatus.COMPLETED);
+                refund.setCompletedAt(OffsetDateTime.now(KST));
+                payment.setStatus(PaymentStatus.REFUNDED);
+                if (payment.getOrder() != null) payment.getOrder().setStatus(OrderStatus.REFUNDED);
+            });
+            completed.incrementAndGet();
+            log.info("Auto refund completed: merchantUid={}, refundId={}", merchantUid, refundId);
+        } catch (RuntimeException e) {
+            // 취소는 PortOne 에 반영됨 — 이후 cancelled 웹훅이 결제/주문을 REFUNDED 로 맞춤
+            log.error("Auto refund done at PortOne but not recorded: merchantUid={}, refundId={}: {}",
+                    merchantUid, refundId, e.toString());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("requested", requested.get());
+        m.put("completed", completed.get());
+        m.put("failed", failed.get());
+        return m;
+    }
+}
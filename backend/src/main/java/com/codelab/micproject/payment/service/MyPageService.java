@@ -1,10 +1,9 @@
 // com.codelab.micproject.payment.service.MyPageService
 package com.codelab.micproject.payment.service;
 
-import com.codelab.micproject.account.user.repository.UserRepository;
 import com.codelab.micproject.payment.domain.Order;
 import com.codelab.micproject.payment.domain.OrderStatus;
-import com.codelab.micproject.payment.domain.Payment;
+import com.codelab.micproject.payment.dto.OrderPaymentSummary;
 import com.codelab.micproject.payment.dto.OrderView;
 import com.codelab.micproject.payment.repository.OrderRepository;
 import com.codelab.micproject.payment.repository.PaymentRepository;
@@ -12,12 +11,14 @@ import com.codelab.micproject.payment.repository.RefundRepository;
 import com.codelab.micproject.security.oauth2.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.util.List;
+import java.util.*;
+import java.util.function.BiFunction;
 
 @Slf4j
 @Service
@@ -26,32 +27,60 @@ public class MyPageService {
 
     private static final ZoneId KST = ZoneId.of("Asia/Seoul");
 
-    private final UserRepository userRepository;
     private final OrderRepository orderRepository;
-    private final PaymentRepository paymentRepository;   // ✅ 추가
-    private final RefundRepository refundRepository;     // ✅ 추가
+    private final PaymentRepository paymentRepository;
+    private final RefundRepository refundRepository;
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * 내 PAID 주문 (최신순)
+     * - cursor/size 중 하나라도 주면 키셋 한 페이지 (cursor = 이전 페이지 마지막 주문 id)
+     * - 둘 다 없으면(기존 호출) 전체 — MAX_PAGE_SIZE 단위로 끊어 읽음
+     * 페이지당 쿼리 수 고정: 주문 id → 주문/예약 fetch → 결제 요약 → 환불 여부 (4회, 주문 수와 무관)
+     */
     @Transactional(readOnly = true)
-    public List<OrderView> myOrders(UserPrincipal me) {
-        var user = userRepository.findById(me.id()).orElseThrow();
-        var orders = orderRepository.findPaidOrdersByUser(user);
-        log.info("🔍 [MyPage] User {} has {} PAID orders", me.id(), orders.size());
-        orders.forEach(o -> {
-            log.info("  - Order {}: {} appointments", o.getId(), o.getAppointments().size());
-            o.getAppointments().forEach(oa -> {
-                log.info("    - OrderAppointment {}: Appointment {}", oa.getId(), oa.getAppointment().getId());
-            });
-        });
-        return orders.stream().map(this::toView).toList();
+    public List<OrderView> myOrders(UserPrincipal me, Long cursor, Integer size) {
+        return load(cursor, size, (before, n) ->
+                orderRepository.findPaidOrderIdsByUserBefore(me.id(), before, PageRequest.of(0, n)));
     }
 
+    /** 나에게 들어온 주문 (최신순, 페이지 규칙은 myOrders 와 같음) */
     @Transactional(readOnly = true)
-    public List<OrderView> myConsultantOrders(UserPrincipal me) {
-        var meUser = userRepository.findById(me.id()).orElseThrow();
-        return orderRepository.findByConsultant(meUser).stream().map(this::toView).toList();
+    public List<OrderView> myConsultantOrders(UserPrincipal me, Long cursor, Integer size) {
+        return load(cursor, size, (before, n) ->
+                orderRepository.findOrderIdsByConsultantBefore(me.id(), before, PageRequest.of(0, n)));
+    }
+
+    private List<OrderView> load(Long cursor, Integer size, BiFunction<Long, Integer, List<Long>> idsBefore) {
+        if (cursor != null || size != null) return toViews(idsBefore.apply(cursorOf(cursor), sizeOf(size)));
+
+        List<OrderView> all = new ArrayList<>();
+        long before = Long.MAX_VALUE;
+        while (true) {
+            List<Long> ids = idsBefore.apply(before, MAX_PAGE_SIZE);
+            all.addAll(toViews(ids));
+            if (ids.size() < MAX_PAGE_SIZE) return all;
+            before = ids.get(ids.size() - 1);
+        }
+    }
+
+    private List<OrderView> toViews(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        List<Order> orders = orderRepository.findWithAppointmentsByIdIn(ids);
+
+        Map<Long, OrderPaymentSummary> payments = new HashMap<>();
+        for (OrderPaymentSummary p : paymentRepository.findSummariesByOrderIds(ids)) payments.put(p.orderId(), p);
+        Set<Long> refunded = new HashSet<>(refundRepository.findOrderIdsWithRefund(ids));
+
+        LocalDate today = LocalDate.now(KST);
+        return orders.stream()
+                .map(o -> toView(o, payments.get(o.getId()), refunded.contains(o.getId()), today))
+                .toList();
     }
 
-    private OrderView toView(Order o) {
+    private OrderView toView(Order o, OrderPaymentSummary p, boolean refunded, LocalDate today) {
         // 예약 요약
         var apps = o.getAppointments().stream()
                 .map(oa -> oa.getAppointment())
@@ -59,20 +88,16 @@ public class MyPageService {
                         a.getId(), a.getStartAt(), a.getEndAt(), a.getStatus().name(), a.getMeetingUrl()
                 )).toList();
 
-        // 결제 레코드
-        Payment p = paymentRepository.findByOrder(o).orElse(null);
-
         // 취소 가능: 주문이 PAID이고, 모든 예약 startAt이 '오늘 이후'(KST)
         boolean cancellable = false;
         if (o.getStatus() == OrderStatus.PAID && !o.getAppointments().isEmpty()) {
-            LocalDate today = LocalDate.now(KST);
             cancellable = o.getAppointments().stream().allMatch(oa ->
                     oa.getAppointment().getStartAt().atZoneSameInstant(KST).toLocalDate().isAfter(today)
             );
         }
 
         // 환불 상태(간단 판별): 환불 레코드 존재 → FULL, 아니면 NONE
-        String refundStatus = refundRepository.existsByOrderId(o.getId()) ? "FULL" : "NONE";
+        String refundStatus = refunded ? "FULL" : "NONE";
 
         return new OrderView(
                 o.getId(),
@@ -84,15 +109,24 @@ public class MyPageService {
                 o.getStatus().name(),
                 o.getCreatedAt(),
                 // 🔻 결제/환불/취소 필드 세팅(결제가 없으면 null/기본값)
-                p != null ? p.getPayMethod()   : null,        // paymentMethod
-                p != null ? p.getPgProvider()  : null,        // pgProvider
-                p != null ? p.getCardBrand()   : null,        // cardBrand
-                p != null ? p.getCardLast4()   : null,        // cardLast4
-                p != null ? p.getPaidAt()      : null,        // paidAt
+                p != null ? p.payMethod()   : null,        // paymentMethod
+                p != null ? p.pgProvider()  : null,        // pgProvider
+                p != null ? p.cardBrand()   : null,        // cardBrand
+                p != null ? p.cardLast4()   : null,        // cardLast4
+                p != null ? p.paidAt()      : null,        // paidAt
                 refundStatus,                                 // refundStatus
                 cancellable,                                   // cancellable
                 // 예약 목록
                 apps
         );
     }
+
+    private static long cursorOf(Long cursor) {
+        return cursor == null || cursor <= 0 ? Long.MAX_VALUE : cursor;
+    }
+
+    private static int sizeOf(Integer size) {
+        if (size == null || size <= 0) return DEFAULT_PAGE_SIZE;
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
 }
@@ -1,58 +1,51 @@
 // com.codelab.micproject.payment.service.MyPaymentQueryService
 package com.codelab.micproject.payment.service;
 
-import com.codelab.micproject.payment.domain.OrderStatus;
 import com.codelab.micproject.payment.dto.MyPaymentItem;
 import com.codelab.micproject.payment.repository.PaymentRepository;
-import com.codelab.micproject.payment.repository.RefundRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.time.ZoneId;
+import java.util.List;
 
+/**
+ * 내 결제 목록 조회
+ * - 주문/상담사/취소 가능/환불 여부까지 한 번의 프로젝션 쿼리로 (행당 지연 로딩·exists 쿼리 없음)
+ * - 취소 가능: 주문이 PAID 이고, 모든 예약 startAt이 오늘(KST) 이후 → 내일 0시(KST) 이전 시작 예약이 없음
+ * - 환불 상태(간단 버전): 환불 레코드 존재하면 FULL, 아니면 NONE
+ */
 @Service
 @RequiredArgsConstructor
 public class MyPaymentQueryService {
     private static final ZoneId KST = ZoneId.of("Asia/Seoul");
 
+    public static final int DEFAULT_PAGE_SIZE = 10;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final PaymentRepository paymentRepository;
-    private final RefundRepository refundRepository; // 부분/전액 환불 판단에 사용(있다면)
 
+    /** 페이지 번호 방식 (기존 API, 전체 건수 포함) */
+    @Transactional(readOnly = true)
     public Page<MyPaymentItem> getMyPayments(Long userId, Pageable pageable){
-        return paymentRepository.findByUserIdOrderByIdDesc(userId, pageable)
-                .map(p -> {
-                    var o = p.getOrder();
-                    // 취소 가능: 주문이 PAID 이고, 모든 예약 startAt이 오늘(KST) 이후
-                    boolean cancellable = false;
-                    if (o != null && o.getStatus() == OrderStatus.PAID) {
-                        cancellable = o.getAppointments().stream().allMatch(oa ->
-                                oa.getAppointment().getStartAt()
-                                        .atZoneSameInstant(KST).toLocalDate()
-                                        .isAfter(LocalDate.now(KST))
-                        );
-                    }
-
-                    // 환불 상태(간단 버전): 환불 레코드 존재하면 FULL, 아니면 NONE
-                    String refundStatus = refundRepository.existsByOrderId(o.getId())
-                            ? "FULL" : "NONE";
-
-                    return new MyPaymentItem(
-                            p.getId(),
-                            o.getId(),
-                            p.getMerchantUid(),
-                            p.getAmount(),
-                            p.getStatus().name(),
-                            o.getBundleCount(),
-                            o.getConsultant().getName(),
-                            p.getPaidAt(),                // 🔹 paidAt 반환
-                            p.getCardBrand(),             // 🔹 카드사
-                            p.getCardLast4(),             // 🔹 끝4자리
-                            cancellable,
-                            refundStatus
-                    );
-                });
+        return paymentRepository.findMyPaymentItems(userId, cancelFrom(), pageable);
+    }
+
+    /** 키셋 방식: cursor = 이전 페이지 마지막 결제 id (없으면 최신부터) */
+    @Transactional(readOnly = true)
+    public List<MyPaymentItem> getMyPaymentsBefore(Long userId, Long cursor, Integer size){
+        long c = cursor == null || cursor <= 0 ? Long.MAX_VALUE : cursor;
+        int n = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        return paymentRepository.findMyPaymentItemsBefore(userId, c, cancelFrom(), PageRequest.of(0, n));
+    }
+
+    private static OffsetDateTime cancelFrom() {
+        return LocalDate.now(KST).plusDays(1).atStartOfDay(KST).toOffsetDateTime();
     }
 }
@@ -1,7 +1,9 @@
 package com.codelab.micproject.payment.service;
 
 import com.codelab.micproject.account.user.repository.UserRepository;
+import com.codelab.micproject.booking.domain.Appointment;
 import com.codelab.micproject.booking.domain.AppointmentStatus;
+import com.codelab.micproject.booking.service.SlotClaimService;
 import com.codelab.micproject.payment.domain.*;
 import com.codelab.micproject.payment.repository.*;
 import com.codelab.micproject.security.oauth2.UserPrincipal;
@@ -15,6 +17,7 @@ import java.time.OffsetDateTime;
 public class OrderService {
     private final UserRepository userRepository;
     private final OrderRepository orderRepository;
+    private final SlotClaimService slotClaimService;
     // private final PaymentRepository paymentRepository;   // ← 임시 미사용
     // private final RefundRepository refundRepository;
 
@@ -28,8 +31,7 @@ public class OrderService {
 
         // A안에서는 결제 전 취소만 간단히 허용(예시)
         order.setStatus(OrderStatus.CANCELED);
-        order.getAppointments().forEach(oa ->
-                oa.getAppointment().setStatus(AppointmentStatus.CANCELLED));
+        order.getAppointments().forEach(oa -> cancelAppointment(oa.getAppointment()));
 
         // TODO: B안(주문/환불) 붙일 때 여기서 payment/ refund 처리 복구
     }
@@ -42,9 +44,15 @@ public class OrderService {
             throw new IllegalStateException("not your order");
 
         order.setStatus(OrderStatus.CANCELED);
-        order.getAppointments().forEach(oa ->
-                oa.getAppointment().setStatus(AppointmentStatus.CANCELLED));
+        order.getAppointments().forEach(oa -> cancelAppointment(oa.getAppointment()));
         // 환불/정책 추가 필요 시 여기 확장
     }
 
+    /** 진행 중(REQUESTED/APPROVED) 예약만 취소 + 점유 해제 (이미 취소/종료된 예약은 그대로) */
+    private void cancelAppointment(Appointment a) {
+        if (a.getStatus() != AppointmentStatus.REQUESTED && a.getStatus() != AppointmentStatus.APPROVED) return;
+        a.setStatus(AppointmentStatus.CANCELLED);
+        slotClaimService.release(a);
+    }
+
 }
\ No newline at end of file
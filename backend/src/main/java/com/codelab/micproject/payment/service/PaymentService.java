@@ -1,7 +1,6 @@
 package com.codelab.micproject.payment.service;
 
 import com.codelab.micproject.account.consultant.domain.ConsultantLevel;
-import com.codelab.micproject.account.consultant.repository.ConsultantMetaRepository;
 import com.codelab.micproject.account.user.domain.User;
 import com.codelab.micproject.account.user.domain.UserRole;
 import com.codelab.micproject.account.user.repository.UserRepository;
@@ -9,14 +8,17 @@ import com.codelab.micproject.booking.domain.Appointment;
 import com.codelab.micproject.booking.domain.AppointmentStatus;
 import com.codelab.micproject.booking.dto.SlotDto;
 import com.codelab.micproject.booking.repository.AppointmentRepository;
-import com.codelab.micproject.booking.repository.AvailabilityRepository;
 import com.codelab.micproject.booking.repository.AvailableSlotRepository;
+import com.codelab.micproject.booking.service.AppointmentLifecycleService;
+import com.codelab.micproject.booking.service.SlotClaimService;
+import com.codelab.micproject.booking.service.SlotHoldService;
 import com.codelab.micproject.payment.domain.*;
+import com.codelab.micproject.payment.dto.CheckoutContext;
 import com.codelab.micproject.payment.dto.CheckoutRequest;
 import com.codelab.micproject.payment.dto.CheckoutResponse;
 import com.codelab.micproject.payment.dto.ConfirmRequest;
-import com.codelab.micproject.payment.dto.PaymentWebhook;
 import com.codelab.micproject.payment.gateway.PortOnePaymentGateway;
+import com.codelab.micproject.payment.gateway.PortOnePaymentInfo;
 import com.codelab.micproject.payment.portone.PortOneClient;
 import com.codelab.micproject.payment.repository.OrderAppointmentRepository;
 import com.codelab.micproject.payment.repository.OrderRepository;
@@ -27,13 +29,17 @@ import com.codelab.micproject.security.oauth2.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.math.BigDecimal;
 import java.time.*;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
 import java.util.Optional;
 
 @Slf4j
@@ -42,46 +48,72 @@ import java.util.Optional;
 public class PaymentService {
 
     private final UserRepository userRepository;
-    private final ConsultantMetaRepository metaRepository;
     private final AppointmentRepository appointmentRepository;
     private final OrderRepository orderRepository;
     private final PaymentRepository paymentRepository;
     private final RefundRepository refundRepository;
     private final OrderAppointmentRepository orderAppointmentRepository;
+    private final SlotClaimService slotClaimService;
+    private final AppointmentLifecycleService lifecycleService;
+    private final SlotHoldService slotHoldService;
+    private final TransactionTemplate transactionTemplate;
+    private final LostSlotRefundService lostSlotRefundService;
 
-    private final AvailabilityRepository availabilityRepository;     // 컨설턴트 TZ 확인용
     private final AvailableSlotRepository availableSlotRepository;   // ★ 정확 일치 검증용
 
     private final PortOneClient portOneClient;                  // PortOne REST (토큰/조회/취소)
-    private final PortOnePaymentGateway portOneGateway;         // issueMerchantUid(), verify() 용
+    private final PortOnePaymentGateway portOneGateway;         // issueMerchantUid(), 결제 단건 조회
 
     private static final ZoneId KST = ZoneId.of("Asia/Seoul");
 
-    /** PortOne REST 호출용 */
-    private final WebClient portone = WebClient.builder()
-            .baseUrl("https://api.iamport.kr")
-            .build();
-
-    /** 체크아웃: 단일 1회권만 허용 */
-    @Transactional
+    /**
+     * 체크아웃: 단일 1회권만 허용
+     * Redis 슬롯 홀드를 먼저 잡고(DB 접근 없음), 보유자만 트랜잭션 안에서 주문/예약/결제 행 생성.
+     * 트랜잭션이 실패하면 홀드를 바로 풀어 다른 사용자가 기다리지 않게 함.
+     */
     public CheckoutResponse checkout(UserPrincipal me, CheckoutRequest req) {
-        User user = userRepository.findById(me.id()).orElseThrow();
-        User consultant = userRepository.findById(req.consultantId()).orElseThrow();
-
-        if (consultant.getRole() != UserRole.CONSULTANT) {
-            throw new IllegalStateException("not a consultant");
-        }
         if (req.slots() == null || req.slots().size() != 1) {
             throw new IllegalStateException("only single slot is allowed");
         }
         SlotDto slot = req.slots().get(0);
+        if (slot.startAt() == null || slot.endAt() == null || !slot.endAt().isAfter(slot.startAt())) {
+            throw new IllegalArgumentException("invalid slot");
+        }
+
+        String holdToken = slotHoldService.hold(req.consultantId(), slot.startAt(), slot.endAt());
+        try {
+            return transactionTemplate.execute(tx -> createCheckout(me, req, slot, holdToken));
+        } catch (RuntimeException e) {
+            slotHoldService.release(holdToken, req.consultantId(), slot.startAt(), slot.endAt());
+            throw e;
+        }
+    }
 
-        // 단가 계산(등급별 1회권) — meta.basePrice 우선, 없으면 정책가
-        var meta  = metaRepository.findByConsultant(consultant).orElse(null);
-        ConsultantLevel level = (meta != null && meta.getLevel() != null) ? meta.getLevel() : ConsultantLevel.JUNIOR;
+    private CheckoutResponse createCheckout(UserPrincipal me, CheckoutRequest req, SlotDto slot, String holdToken) {
+        // 사전 조회 1회: 상담사 역할/이름/등급, 규칙 TZ, 슬롯 정확 일치(KST), 구매자 이름
+        LocalDateTime startKst = LocalDateTime.ofInstant(slot.startAt().toInstant(), KST);
+        LocalDateTime endKst   = LocalDateTime.ofInstant(slot.endAt().toInstant(), KST);
+        CheckoutContext ctx = orderRepository.loadCheckoutContext(req.consultantId(), me.id(), startKst, endKst)
+                .orElseThrow();
+
+        if (ctx.consultantRole() != UserRole.CONSULTANT) {
+            throw new IllegalStateException("not a consultant");
+        }
+
+        // 예약 생성 전: 가용 검사 (DB 행을 만들기 전에 실패)
+        if (!isValidSlotForConsultant(req.consultantId(), ctx, slot)) {
+            throw new IllegalArgumentException("invalid slot for consultant availability");
+        }
+
+        // 단가 계산(등급별 1회권) — 정책가
+        ConsultantLevel level = ctx.level() != null ? ctx.level() : ConsultantLevel.JUNIOR;
         BigDecimal unit = BigDecimal.valueOf(PricingPolicy.unitPrice(level));
         BigDecimal total = unit; // 1회권
 
+        // 엔티티 참조만 (추가 SELECT 없음)
+        User user = userRepository.getReferenceById(me.id());
+        User consultant = userRepository.getReferenceById(req.consultantId());
+
         // 주문 생성
         Order order = Order.builder()
                 .user(user)
@@ -94,24 +126,6 @@ public class PaymentService {
                 .build();
         orderRepository.save(order);
 
-        // 예약 생성 전: 가용/겹침 검사
-        if (!isValidSlotForConsultant(consultant, slot)) {
-            throw new IllegalArgumentException("invalid slot for consultant availability");
-        }
-
-        // ✅ CANCELLED 는 겹침에서 제외: 예약을 막는 상태만 고려
-        // ✅ CANCELLED 는 겹침에서 제외: 예약을 막는 상태만 고려
-        var blocking = List.of(AppointmentStatus.REQUESTED, AppointmentStatus.APPROVED);
-
-        boolean overlap = appointmentRepository.existsActiveOverlap(
-                    consultant.getId(),
-                    slot.startAt(),
-                    slot.endAt(),
-                    null,
-                    blocking
-        );
-        if (overlap) throw new IllegalStateException("time slot already booked");
-
         Appointment a = Appointment.builder()
                 .consultant(consultant)
                 .user(user)
@@ -121,6 +135,12 @@ public class PaymentService {
                 .build();
         appointmentRepository.save(a);
 
+        // ✅ 시간 점유(유니크 인덱스, 소유자 = 이 예약): 취소/만료된 예약은 점유가 해제되어 있으므로 다시 잡을 수 있음
+        if (!slotClaimService.tryClaim(a)) {
+            throw new IllegalStateException("time slot already booked");
+        }
+        lifecycleService.holdCreated(a);
+
         orderAppointmentRepository.save(
                 OrderAppointment.builder().order(order).appointment(a).build()
         );
@@ -137,154 +157,197 @@ public class PaymentService {
                 .amount(total)
                 .userId(user.getId())
                 .consultantId(consultant.getId())
+                .holdToken(holdToken)
                 .createdAt(OffsetDateTime.now())
                 .build();
         paymentRepository.save(pay);
 
-        String name      = "[" + level.name() + "] 1회권 (" + consultant.getName() + ")";
-        String buyerName = Optional.ofNullable(user.getName()).orElse("회원");
+        String name      = "[" + level.name() + "] 1회권 (" + ctx.consultantName() + ")";
+        String buyerName = Optional.ofNullable(ctx.buyerName()).orElse("회원");
 
-        return new CheckoutResponse(merchantUid, total, name, buyerName);
+        return new CheckoutResponse(merchantUid, total, name, buyerName, holdToken);
     }
 
-    /** 결제 성공 콜백 → 서버 검증 → 예약 자동 APPROVED */
-    @Transactional
+    /**
+     * 결제 성공 콜백 → 서버 검증 → 예약 자동 APPROVED
+     * PortOne 조회(토큰 + 단건 조회)는 락 밖에서 한 번만 수행하고,
+     * 행 락을 잡은 트랜잭션 안에서는 조회 결과 비교와 상태 변경만 함 (락 보유 = DB 작업 시간).
+     */
     public void confirm(ConfirmRequest req) {
+        PortOnePaymentInfo info = portOneGateway.getPaymentByImpUid(req.impUid());
+        requireConfirmed(transactionTemplate.execute(s -> applyConfirm(req, info)));
+    }
+
+    /**
+     * confirm 비동기 버전 (app.http.async.enabled=true 일 때 컨트롤러가 사용)
+     * PortOne 조회 대기 중에는 어떤 스레드도 점유하지 않고, 조회가 끝나면 DB 구간만 boundedElastic 에서 실행.
+     */
+    public Mono<Void> confirmAsync(ConfirmRequest req) {
+        return portOneGateway.fetchPayment(req.impUid())
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(info -> requireConfirmed(transactionTemplate.execute(s -> applyConfirm(req, info))))
+                .then();
+    }
+
+    public enum ReconcileOutcome { PAID, REFUNDED, FAILED, ABANDONED, SKIPPED, CONFLICT, LEGACY }
+
+    /**
+     * PENDING 결제 대사 반영 (PaymentReconcileJob) — PortOne 조회는 호출 측에서 락 밖에서 끝낸 상태
+     * - paid: confirm 과 같은 applyConfirm 경로 (홀드 만료로 취소된 예약이면 재점유 시도, 실패 시 커밋 후 전액 환불 → REFUNDED)
+     * - failed / cancelled: 결제 FAILED, 주문 CANCELED (REQUESTED 예약은 생명주기 엔진이 만료 처리)
+     * - paid 인데 주문 없는 결제(구 CheckoutService 경로): 여기서는 바꾸지 않고 LEGACY
+     *   → 호출 측이 웹훅과 같은 경로(예약 생성 + 점유)로 반영 (applyConfirm 은 주문의 예약만 확정하므로 예약 없이 PAID 가 됨)
+     * - 결제 시도 자체가 없음(info == null): abandon 이면 FAILED, 아니면 다음 주기로
+     * - 그 사이 confirm/웹훅이 먼저 반영했으면(PENDING 아님) 건너뜀
+     */
+    public ReconcileOutcome reconcile(String merchantUid, PortOnePaymentInfo info, boolean abandon) {
+        try {
+            return transactionTemplate.execute(s -> {
+                Payment payment = paymentRepository.findWithLockByMerchantUid(merchantUid).orElse(null);
+                if (payment == null || payment.getStatus() != PaymentStatus.PENDING) return ReconcileOutcome.SKIPPED;
+
+                if (info == null) {
+                    if (!abandon) return ReconcileOutcome.SKIPPED;
+                    markUnpaid(payment);
+                    return ReconcileOutcome.ABANDONED;
+                }
+                String status = info.status() == null ? "" : info.status().toLowerCase(Locale.ROOT);
+                switch (status) {
+                    case "paid" -> {
+                        if (payment.getOrder() == null) return ReconcileOutcome.LEGACY;
+                        return applyConfirm(new ConfirmRequest(info.impUid(), merchantUid), info)
+                                ? ReconcileOutcome.PAID : ReconcileOutcome.REFUNDED;
+                    }
+                    case "failed", "cancelled" -> {
+                        payment.setImpUid(info.impUid());
+                        markUnpaid(payment);
+                        return ReconcileOutcome.FAILED;
+                    }
+                    default -> {
+                        return ReconcileOutcome.SKIPPED; // ready(가상계좌 입금 대기) 등
+                    }
+                }
+            });
+        } catch (IllegalStateException e) {
+            // 금액 불일치 → 결제는 됐으나 자동 확정 불가, 수동 확인 필요
+            log.error("Reconcile conflict: merchantUid={}, impUid={}, status={}: {}",
+                    merchantUid, info == null ? null : info.impUid(), info == null ? null : info.status(), e.getMessage());
+            return ReconcileOutcome.CONFLICT;
+        }
+    }
+
+    private void markUnpaid(Payment payment) {
+        payment.setStatus(PaymentStatus.FAILED);
+        Order order = payment.getOrder();
+        if (order != null && order.getStatus() == OrderStatus.CREATED) order.setStatus(OrderStatus.CANCELED);
+        log.info("Payment reconciled as unpaid: merchantUid={}", payment.getMerchantUid());
+    }
+
+    /** 슬롯을 잃어 환불된 결제는 커밋 후 409 로 알림 */
+    private static void requireConfirmed(Boolean confirmed) {
+        if (!Boolean.TRUE.equals(confirmed)) {
+            throw new IllegalStateException("SLOT_TAKEN_REFUNDED: 결제 대기 중 예약 시간이 마감되어 전액 환불 처리됩니다.");
+        }
+    }
+
+    /**
+     * 웹훅 결제완료 반영 (PortOneWebhookService, 호출 측 트랜잭션 안) — confirm 과 같은 applyConfirm 경로
+     * 이미 PAID 면 그대로 true, 슬롯을 잃어 환불됐으면 false
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean applyVerifiedPayment(String merchantUid, PortOnePaymentInfo info) {
+        return applyConfirm(new ConfirmRequest(info.impUid(), merchantUid), info);
+    }
+
+    /**
+     * 검증 후 결제/주문/예약 확정. 홀드 만료 후 슬롯을 다른 예약이 가져갔으면 환불 대기 상태로 false
+     * (예외로 롤백하지 않고 종료 상태를 커밋 → 대사 잡이 같은 결제를 계속 CONFLICT 로 잡지 않음)
+     * PortOne 전액 취소는 락 트랜잭션 커밋 후 LostSlotRefundService 가 수행
+     */
+    private boolean applyConfirm(ConfirmRequest req, PortOnePaymentInfo info) {
         Payment payment = paymentRepository.findWithLockByMerchantUid(req.merchantUid())
                 .orElseThrow(() -> new IllegalArgumentException("payment not found"));
+        // 멱등: confirm / 웹훅 / 대사 중 먼저 온 쪽이 반영했으면 그대로
+        if (payment.getStatus() == PaymentStatus.PAID) return true;
+        if (payment.getStatus() == PaymentStatus.REFUNDED) return false;
         Order order = payment.getOrder();
+        // 슬롯을 잃어 환불 대기 중(커밋 후 PortOne 취소 진행/실패) — 다시 점유하지 않음
+        if (payment.getStatus() == PaymentStatus.FAILED && order != null
+                && order.getStatus() == OrderStatus.CANCELED && refundRepository.existsByOrderId(order.getId())) {
+            return false;
+        }
 
         int expectedAmount = (order != null)
                 ? order.getTotalPrice().intValue()
                 : payment.getAmount().intValue();
 
-        boolean ok = portOneGateway.verify(req.impUid(), req.merchantUid(), expectedAmount);
-        if (!ok) {
-            log.warn("Payment verification failed: merchantUid={}, impUid={}, expectedAmount={}",
-                    req.merchantUid(), req.impUid(), expectedAmount);
+        if (!info.isPaidFor(req.merchantUid(), expectedAmount)) {
+            log.warn("Payment verification failed: merchantUid={}, impUid={}, expectedAmount={}, status={}, amount={}",
+                    req.merchantUid(), req.impUid(), expectedAmount, info.status(), info.amount());
             throw new IllegalStateException("payment verification failed");
         }
 
-        // ── PortOne 상세 조회 ──
-        String token = portOneClient.getAccessToken();
-        Map<String, Object> info = portOneClient.getPaymentByImpUid(token, req.impUid());
-
-        // ⚠️ 전체 카드번호 저장/로그 금지
-        String cardName   = (String) info.get("card_name");    // ex) "삼성카드"
-        String cardNumber = (String) info.get("card_number");  // ex) "1234-****-****-4929"
-        String last4Masked = com.codelab.micproject.common.logging.MaskingUtil.maskCardNumber(cardNumber);
-        String last4 = last4Masked != null && last4Masked.length() >= 4
-                ? last4Masked.substring(last4Masked.length() - 4) : null;
-        Number paidAtEpoch = (Number) info.get("paid_at");
-
+        // ⚠️ 전체 카드번호 저장/로그 금지 (info 에는 끝 4자리만 있음)
         payment.setStatus(PaymentStatus.PAID);
         payment.setImpUid(req.impUid());
         payment.setPgTransactionId(req.impUid());
-        payment.setCardBrand(cardName);
-        payment.setCardLast4(last4);
-        if (paidAtEpoch != null && paidAtEpoch.longValue() > 0) {
-            payment.setPaidAt(OffsetDateTime.ofInstant(
-                    Instant.ofEpochSecond(paidAtEpoch.longValue()),
-                    ZoneId.of("Asia/Seoul")));
+        payment.setCardBrand(info.cardBrand());
+        payment.setCardLast4(info.cardLast4());
+        if (info.paidAtEpoch() > 0) {
+            payment.setPaidAt(OffsetDateTime.ofInstant(Instant.ofEpochSecond(info.paidAtEpoch()), KST));
         }
-        payment.setPayMethod((String) info.get("pay_method"));
-        payment.setPgProvider((String) info.get("pg_provider"));
-        payment.setReceiptUrl((String) info.get("receipt_url"));
+        payment.setPayMethod(info.payMethod());
+        payment.setPgProvider(info.pgProvider());
+        payment.setReceiptUrl(info.receiptUrl());
 
         log.info("Payment confirmed: merchantUid={}, impUid={}, amount={}, brand={}, last4={}, paidAt={}",
-                req.merchantUid(), req.impUid(), expectedAmount, cardName, last4, payment.getPaidAt());
-
-        if (order != null) {
-            order.setStatus(OrderStatus.PAID);
-            order.getAppointments().forEach(oa -> {
-                var a = oa.getAppointment();
-                a.setStatus(AppointmentStatus.APPROVED);
-                a.setMeetingUrl("https://meet.example.com/" + a.getId());
-            });
-        }
-    }
+                req.merchantUid(), req.impUid(), expectedAmount, info.cardBrand(), info.cardLast4(), payment.getPaidAt());
 
-    @Transactional
-    public void webhook(PaymentWebhook webhook) {
-        String impUid = webhook.impUid();
-        String merchantUid = webhook.merchantUid();
-
-        String token = portOneClient.getAccessToken();
-        Map<String, Object> p = portOneClient.getPaymentByImpUid(token, impUid);
-        String verifiedStatus = String.valueOf(p.get("status")); // paid, cancelled 등
-
-        Payment payment = paymentRepository.findByMerchantUid(merchantUid).orElse(null);
-        if (payment == null) return;
+        if (order == null) return true;
 
-        if ("paid".equalsIgnoreCase(verifiedStatus)) {
-            payment.setStatus(PaymentStatus.PAID);
-            // 필요 시 cardBrand/cardLast4/paidAt 채우기
+        // 홀드 만료로 이미 취소된 예약이면 다시 점유 시도 (그새 다른 예약이 잡았으면 확정 불가 → 전액 환불)
+        List<Appointment> reclaimed = new ArrayList<>();
+        for (OrderAppointment oa : order.getAppointments()) {
+            Appointment a = oa.getAppointment();
+            if (a.getStatus() != AppointmentStatus.CANCELLED) continue;
+            if (!slotClaimService.tryClaim(a)) {
+                reclaimed.forEach(slotClaimService::release);
+                lostSlotRefundService.markLostAndRefundAfterCommit(payment, order);
+                return false;
+            }
+            reclaimed.add(a);
         }
 
-        if ("cancelled".equalsIgnoreCase(verifiedStatus) || "refunded".equalsIgnoreCase(verifiedStatus)) {
-            payment.setStatus(PaymentStatus.REFUNDED);
-
-            Order order = payment.getOrder();
-            if (order != null) {
-                order.setStatus(OrderStatus.REFUNDED);
-                order.getAppointments().forEach(oa -> {
-                    var a = oa.getAppointment();
-                    a.setStatus(AppointmentStatus.CANCELLED);
-                    a.setMeetingUrl(null);
-                });
-                boolean exists = refundRepository.existsByOrderId(order.getId());
-                if (!exists) {
-                    Refund refund = Refund.builder()
-                            .order(order)
-                            .amount(payment.getAmount())
-                            .status(RefundStatus.COMPLETED)
-                            .reason("PORTONE_WEBHOOK")
-                            .createdAt(OffsetDateTime.now(KST))
-                            .completedAt(OffsetDateTime.now(KST))
-                            .build();
-                    refundRepository.save(refund);
-                }
-            }
+        order.setStatus(OrderStatus.PAID);
+        for (OrderAppointment oa : order.getAppointments()) {
+            Appointment a = oa.getAppointment();
+            a.setStatus(AppointmentStatus.APPROVED);
+            a.setMeetingUrl("https://meet.example.com/" + a.getId());
+            lifecycleService.approved(a);
+            // 홀드 → DB 점유(확정 예약)로 전환 완료, 커밋 후 Redis 홀드 해제
+            slotHoldService.releaseAfterCommit(payment.getHoldToken(), a.getConsultant().getId(), a.getStartAt(), a.getEndAt());
         }
+        return true;
     }
 
     // ========= 검증/취소 유틸 =========
 
-    /** 컨설턴트의 타임존 결정: availability.zoneId 우선, 없으면 KST, 그래도 없으면 시스템 기본 */
-    private ZoneId resolveConsultantZone(User consultant) {
-        List<com.codelab.micproject.booking.domain.Availability> list =
-                availabilityRepository.findByConsultant(consultant);
-        if (!list.isEmpty()) {
-            String z = list.get(0).getZoneId();
-            if (z != null && !z.isBlank()) return ZoneId.of(z);
-        }
-        return KST != null ? KST : ZoneId.systemDefault();
-    }
-
-    /** 가용시간 검증: available_slots “정확 일치” 존재 여부로 판정 */
-    private boolean isValidSlotForConsultant(User consultant, SlotDto s) {
-        ZoneId zone = resolveConsultantZone(consultant);
+    /**
+     * 가용시간 검증: available_slots "정확 일치" 존재 여부로 판정
+     * 규칙 TZ 가 없거나 KST 면 사전 조회 결과 그대로, 다른 TZ 일 때만 해당 TZ 로 한 번 더 조회
+     */
+    private boolean isValidSlotForConsultant(Long consultantId, CheckoutContext ctx, SlotDto s) {
+        ZoneId zone = KST;
+        if (ctx.zoneId() != null && !ctx.zoneId().isBlank()) zone = ZoneId.of(ctx.zoneId());
+        if (zone.equals(KST)) return ctx.slotExistsKst();
 
-        // OffsetDateTime(UTC기준 시각)을 컨설턴트 TZ의 LocalDateTime으로 변환
         LocalDateTime startLocal = LocalDateTime.ofInstant(s.startAt().toInstant(), zone);
-        LocalDateTime endLocal   = LocalDateTime.ofInstant(s.endAt().toInstant(),   zone);
-
-        log.info("🔍 [Slot Validation] consultantId={}, zone={}", consultant.getId(), zone);
-        log.info("🔍 [Slot Validation] Request slot: startAt={}, endAt={}", s.startAt(), s.endAt());
-        log.info("🔍 [Slot Validation] Converted to local: startLocal={}, endLocal={}", startLocal, endLocal);
-
+        LocalDateTime endLocal   = LocalDateTime.ofInstant(s.endAt().toInstant(), zone);
         boolean exists = availableSlotRepository.existsByConsultantAndStartAtAndEndAt(
-                consultant, startLocal, endLocal
-        );
-
+                userRepository.getReferenceById(consultantId), startLocal, endLocal);
         if (!exists) {
-            log.warn("⚠️ [Slot Validation] No exact match found in DB");
-            // DB에 저장된 슬롯들을 확인
-            var allSlots = availableSlotRepository.findByConsultant(consultant);
-            log.warn("⚠️ [Slot Validation] Available slots in DB for consultant {}: {}", consultant.getId(), allSlots.size());
-            allSlots.stream().limit(5).forEach(slot ->
-                log.warn("  - Slot: start={}, end={}", slot.getStartAt(), slot.getEndAt())
-            );
+            log.debug("[Slot Validation] no exact slot: consultantId={}, zone={}, start={}, end={}",
+                    consultantId, zone, startLocal, endLocal);
         }
         return exists;
     }
@@ -331,8 +394,10 @@ public class PaymentService {
         order.setStatus(OrderStatus.REFUNDED);
         order.getAppointments().forEach(oa -> {
             Appointment a = oa.getAppointment();
+            boolean active = a.getStatus() == AppointmentStatus.REQUESTED || a.getStatus() == AppointmentStatus.APPROVED;
             a.setStatus(AppointmentStatus.CANCELLED);
             a.setMeetingUrl(null);
+            if (active) slotClaimService.release(a);
         });
 
         Refund refund = Refund.builder()
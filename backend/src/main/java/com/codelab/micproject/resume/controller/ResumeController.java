@@ -4,11 +4,14 @@ import com.codelab.micproject.resume.dto.*;
 import com.codelab.micproject.resume.service.ResumeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/resume")
 @RequiredArgsConstructor
@@ -17,18 +20,23 @@ public class ResumeController {
 
     private final ResumeService resumeService;
 
+    /** true 면 GPT 응답 대기 중 Tomcat 요청 스레드를 반환 (비동기 응답) */
+    @Value("${app.http.async.enabled:false}")
+    private boolean asyncEnabled;
+
     /**
      * 이력서 파일 업로드 + GPT 분석 요청
      * - Multipart 로 PDF/DOCX 업로드
      * - 옵션(언어/톤/포맷 등)을 함께 보낼 수 있음
      */
     @PostMapping(value = "/analyze", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResumeAnalyzeResponse analyze(
+    public CompletableFuture<ResumeAnalyzeResponse> analyze(
             @RequestPart("file") MultipartFile file,
             @Valid @RequestPart(value = "options", required = false) ResumeOptions options
     ) {
         ResumeAnalyzeRequest req = new ResumeAnalyzeRequest(file, options);
-        return resumeService.analyze(req);
+        if (asyncEnabled) return resumeService.analyzeAsync(req).toFuture();
+        return CompletableFuture.completedFuture(resumeService.analyze(req));
     }
 
     /**
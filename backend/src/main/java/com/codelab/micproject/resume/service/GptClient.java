@@ -1,5 +1,6 @@
 package com.codelab.micproject.resume.service;
 
+import com.codelab.micproject.common.http.OutboundHttpClients;
 import com.codelab.micproject.resume.config.GptProperties;
 import com.codelab.micproject.resume.dto.ResumeOptions;
 import com.codelab.micproject.resume.dto.SuggestionItem;
@@ -8,7 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,6 +17,7 @@ import java.util.Map;
 
 /**
  * OpenAI Chat Completions 호출 클라이언트 (WebClient)
+ * - OutboundHttpClients 의 OpenAI 전용 풀 사용 (타임아웃/동시 연결 상한 적용)
  * - GptProperties 를 통해 application.yml 의 gpt.* 설정을 주입받음
  */
 @Component
@@ -23,7 +25,7 @@ import java.util.Map;
 @Slf4j
 public class GptClient {
 
-    private final WebClient webClient = WebClient.builder().build();
+    private final OutboundHttpClients http; // OpenAI 전용 커넥션 풀 + 타임아웃
     private final GptProperties props; // 설정 클래스 주입
 
     public String getModel() {
@@ -33,8 +35,13 @@ public class GptClient {
     /**
      * 이력서 본문을 요약 + 개선 포인트 제안으로 변환
      */
-    @SuppressWarnings("unchecked")
     public AnalysisResult analyze(String text, ResumeOptions options) {
+        return analyzeAsync(text, options).block();
+    }
+
+    /** analyze 의 논블로킹 버전 (응답 대기 중 호출 스레드를 점유하지 않음) */
+    @SuppressWarnings("unchecked")
+    public Mono<AnalysisResult> analyzeAsync(String text, ResumeOptions options) {
         String language = options != null ? options.getLanguage() : "ko";
         int suggestionCount = options != null ? options.getSuggestionCount() : 5;
         String tone = options != null ? options.getTone() : "formal";
@@ -57,7 +64,7 @@ public class GptClient {
                 )
         );
 
-        Map<String, Object> resp = webClient.post()
+        return http.openAi().post()
                 .uri(props.getApiUrl())
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + props.getApiKey())
                 .contentType(MediaType.APPLICATION_JSON)
@@ -65,8 +72,11 @@ public class GptClient {
                 .bodyValue(body)
                 .retrieve()
                 .bodyToMono(Map.class)
-                .block();
+                .map(resp -> toResult((Map<String, Object>) resp))
+                .switchIfEmpty(Mono.fromSupplier(() -> toResult(null))); // 빈 응답 → 파싱 실패와 동일 처리
+    }
 
+    private AnalysisResult toResult(Map<String, Object> resp) {
         String content = extractMessageContent(resp);
         ParsedJson pj = ParsedJson.parse(content);
 
@@ -3,12 +3,13 @@ package com.codelab.micproject.resume.service;
 import com.codelab.micproject.resume.dto.*;
 import com.codelab.micproject.resume.entity.ResumeAnalysis;
 import com.codelab.micproject.resume.repository.ResumeAnalysisRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -30,23 +31,48 @@ public class ResumeService {
     private final GptClient gptClient;
     private final ResumeAnalysisRepository repository;
 
-    @Transactional
+    /**
+     * GPT 응답 대기 중에는 트랜잭션/DB 커넥션을 잡지 않음 (저장은 repository.save 자체 트랜잭션)
+     */
     public ResumeAnalyzeResponse analyze(ResumeAnalyzeRequest request) {
         MultipartFile file = request.getFile();
         ResumeOptions options = request.getOptions() != null ? request.getOptions() : new ResumeOptions();
 
         // 1) 파일 → 텍스트
         String text = parser.parseToText(file);
-        String preview = parser.preview(text);
 
         // 2) GPT 분석
-        String requestId = UUID.randomUUID().toString().replace("-", "");
         GptClient.AnalysisResult result = gptClient.analyze(text, options);
 
+        // 3) 저장 + 4) 응답
+        return persist(file.getOriginalFilename(), options, parser.preview(text), result);
+    }
+
+    /**
+     * analyze 비동기 버전 (app.http.async.enabled=true)
+     * 파싱은 요청 스레드에서(Multipart 는 요청 수명 안에서만 유효), GPT 대기 중에는 스레드 반환,
+     * 저장은 boundedElastic 에서 실행
+     */
+    public Mono<ResumeAnalyzeResponse> analyzeAsync(ResumeAnalyzeRequest request) {
+        MultipartFile file = request.getFile();
+        ResumeOptions options = request.getOptions() != null ? request.getOptions() : new ResumeOptions();
+        String filename = file.getOriginalFilename();
+        String text = parser.parseToText(file);
+        String preview = parser.preview(text);
+
+        return gptClient.analyzeAsync(text, options)
+                .publishOn(Schedulers.boundedElastic())
+                .map(result -> persist(filename, options, preview, result));
+    }
+
+    private ResumeAnalyzeResponse persist(String filename, ResumeOptions options, String preview,
+                                          GptClient.AnalysisResult result) {
+        String requestId = UUID.randomUUID().toString().replace("-", "");
+
         // 3) DB 저장 (JSON 직렬화는 간단히 수동)
         ResumeAnalysis entity = new ResumeAnalysis();
         entity.setRequestId(requestId);
-        entity.setFilename(file.getOriginalFilename());
+        entity.setFilename(filename);
         entity.setLanguage(options.getLanguage());
         entity.setModel(gptClient.getModel());
         entity.setSummary(result.summary());
@@ -59,7 +85,7 @@ public class ResumeService {
         return ResumeAnalyzeResponse.builder()
                 .id(entity.getId())
                 .requestId(requestId)
-                .originalFilename(file.getOriginalFilename())
+                .originalFilename(filename)
                 .language(options.getLanguage())
                 .summary(result.summary())
                 .suggestions(result.suggestions())
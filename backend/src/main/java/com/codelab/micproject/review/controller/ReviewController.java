@@ -3,11 +3,19 @@ package com.codelab.micproject.review.controller;
 
 import com.codelab.micproject.common.response.ApiResponse;
 import com.codelab.micproject.review.dto.CreateReview;
+import com.codelab.micproject.review.dto.ReviewFeedPage;
+import com.codelab.micproject.review.dto.ReviewStatsView;
 import com.codelab.micproject.review.dto.ReviewView;
 import com.codelab.micproject.review.service.ReviewService;
+import com.codelab.micproject.review.service.ReviewStatService;
+import com.codelab.micproject.review.support.ReviewFeedVersion;
 import com.codelab.micproject.security.oauth2.UserPrincipal;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -19,6 +27,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ReviewController {
     private final ReviewService service;
+    private final ReviewStatService statService;
+    private final ReviewFeedVersion feedVersion;
 
     // 리뷰 작성: 로그인 필요
     @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_CONSULTANT','ROLE_ADMIN')")
@@ -35,6 +45,30 @@ public class ReviewController {
         return ApiResponse.ok(service.listForConsultant(id));
     }
 
+    // 컨설턴트 평점 분포 + 상위 태그: 집계 테이블 조회 (리뷰 수와 무관)
+    @PreAuthorize("permitAll()")
+    @GetMapping("/consultant/{id}/stats")
+    public ApiResponse<ReviewStatsView> stats(@PathVariable Long id,
+                                              @RequestParam(defaultValue = "5") int topTags){
+        return ApiResponse.ok(statService.stats(id, topTags));
+    }
+
+    // 컨설턴트 리뷰 피드: 최신순 키셋 페이지, 다음 페이지는 cursor=nextCursor
+    // ETag = 가장 최근 리뷰 id → 새 리뷰가 없으면 DB 조회 없이 304
+    @PreAuthorize("permitAll()")
+    @GetMapping("/consultant/{id}/feed")
+    public ResponseEntity<ApiResponse<ReviewFeedPage>> feed(@PathVariable Long id,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "20") int size,
+                                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        String etag = feedVersion.etag(id);
+        if (ReviewFeedVersion.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                .body(ApiResponse.ok(service.feed(id, cursor, size)));
+    }
+
     @PreAuthorize("hasAnyAuthority('ROLE_USER','ROLE_CONSULTANT','ROLE_ADMIN')")
     @GetMapping("/my/existence")
     public ApiResponse<Boolean> existsMine(@AuthenticationPrincipal UserPrincipal me,
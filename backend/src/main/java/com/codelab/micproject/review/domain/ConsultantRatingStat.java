@@ -0,0 +1,47 @@
+package com.codelab.micproject.review.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상담사별 평점 집계 (consultant_rating_stat)
+ * - 리뷰 작성 트랜잭션에서 원자적 증분 (ConsultantRatingStatRepository.increment)
+ * - 야간 보정 작업(ReviewStatRepairJob)이 review 테이블과 비교해 어긋난 행만 다시 계산
+ */
+@Entity
+@Table(name = "consultant_rating_stat")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class ConsultantRatingStat {
+
+    @Id
+    @Column(name = "consultant_id")
+    private Long consultantId;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    // 점수별 건수 (분포)
+    @Column(nullable = false) private long r1;
+    @Column(nullable = false) private long r2;
+    @Column(nullable = false) private long r3;
+    @Column(nullable = false) private long r4;
+    @Column(nullable = false) private long r5;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public double avg() {
+        return ratingCount == 0 ? 0.0 : (double) ratingSum / ratingCount;
+    }
+
+    /** 1~5 점 순서 */
+    public long[] distribution() {
+        return new long[]{ r1, r2, r3, r4, r5 };
+    }
+}
@@ -0,0 +1,30 @@
+package com.codelab.micproject.review.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 상담사별 리뷰 태그 건수 (consultant_tag_stat)
+ * - (consultant_id, tag) 유니크, 리뷰 작성 시 INSERT ... ON DUPLICATE KEY UPDATE cnt = cnt + 1
+ * - 상위 태그 조회는 (consultant_id, cnt) 인덱스 역순 LIMIT
+ */
+@Entity
+@Table(name = "consultant_tag_stat",
+        uniqueConstraints = @UniqueConstraint(name = "uk_tag_stat", columnNames = {"consultant_id", "tag"}),
+        indexes = @Index(name = "idx_tag_stat_top", columnList = "consultant_id, cnt"))
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class ConsultantTagStat {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "consultant_id", nullable = false)
+    private Long consultantId;
+
+    @Column(nullable = false, length = 20)
+    private String tag;
+
+    @Column(nullable = false)
+    private long cnt;
+}
@@ -17,6 +17,9 @@ import java.util.List;
 
 
 @Entity @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Table(indexes = {
+        @Index(name = "idx_review_consultant_feed", columnList = "consultant_id, createdAt, id") // 리뷰 피드 키셋
+})
 public class Review {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
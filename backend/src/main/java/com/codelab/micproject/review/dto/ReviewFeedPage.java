@@ -0,0 +1,9 @@
+package com.codelab.micproject.review.dto;
+
+import java.util.List;
+
+/** 리뷰 피드 한 페이지, nextCursor 가 null 이면 마지막 페이지 */
+public record ReviewFeedPage(
+        List<ReviewView> items,
+        String nextCursor
+) {}
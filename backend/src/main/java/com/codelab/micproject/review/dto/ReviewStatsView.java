@@ -0,0 +1,14 @@
+package com.codelab.micproject.review.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record ReviewStatsView(
+        Long consultantId,
+        double avgRating,
+        long reviewCount,
+        Map<Integer, Long> distribution, // 1~5점별 건수
+        List<TagCount> topTags           // 많이 받은 태그 순
+) {
+    public record TagCount(String tag, long count) {}
+}
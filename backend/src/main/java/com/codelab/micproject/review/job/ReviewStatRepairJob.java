@@ -0,0 +1,137 @@
+package com.codelab.micproject.review.job;
+
+import com.codelab.micproject.common.resilience.RedisLease;
+import com.codelab.micproject.review.domain.ConsultantRatingStat;
+import com.codelab.micproject.review.domain.ConsultantTagStat;
+import com.codelab.micproject.review.repository.ConsultantRatingStatRepository;
+import com.codelab.micproject.review.repository.ConsultantTagStatRepository;
+import com.codelab.micproject.review.repository.ReviewRepository;
+import com.codelab.micproject.review.service.ReviewStatService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 리뷰 집계 야간 보정
+ * - review / review_tags 전체 집계와 consultant_rating_stat / consultant_tag_stat 을 비교
+ * - 어긋난 상담사만 ReviewStatService.repair 로 잠근 뒤 다시 계산 (보정 중 들어온 리뷰도 안전)
+ * - Redis 리스(lease:review-stat-repair)를 가진 노드 하나만 실행
+ * - 기동 시 집계 테이블이 비어 있으면 한 번 실행 (기존 리뷰 채우기)
+ */
+@Slf4j
+@Component
+public class ReviewStatRepairJob {
+
+    private final ReviewRepository reviewRepository;
+    private final ConsultantRatingStatRepository ratingStatRepository;
+    private final ConsultantTagStatRepository tagStatRepository;
+    private final ReviewStatService reviewStatService;
+    private final RedisLease lease;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong repaired = new AtomicLong();
+    private volatile int lastDrifted;
+    private volatile long lastRunAt;
+    private volatile long lastRunMs;
+
+    public ReviewStatRepairJob(ReviewRepository reviewRepository,
+                               ConsultantRatingStatRepository ratingStatRepository,
+                               ConsultantTagStatRepository tagStatRepository,
+                               ReviewStatService reviewStatService,
+                               StringRedisTemplate redis,
+                               @Value("${app.review.stat-repair.lease-ms:1800000}") long leaseMs) {
+        this.reviewRepository = reviewRepository;
+        this.ratingStatRepository = ratingStatRepository;
+        this.tagStatRepository = tagStatRepository;
+        this.reviewStatService = reviewStatService;
+        this.lease = new RedisLease("review-stat-repair", redis, leaseMs);
+    }
+
+    /** 집계 테이블 도입 직후(비어 있음) 기존 리뷰로 채움 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (ratingStatRepository.count() == 0) run();
+    }
+
+    @Scheduled(cron = "${app.review.stat-repair.cron:0 40 4 * * *}", zone = "Asia/Seoul")
+    public void run() {
+        if (!running.compareAndSet(false, true)) return;
+        try {
+            if (!lease.tryAcquire()) return;
+            long startedAt = System.currentTimeMillis();
+            try {
+                Set<Long> drifted = findDrifted();
+                int n = 0;
+                for (Long consultantId : drifted) {
+                    try {
+                        if (reviewStatService.repair(consultantId)) n++;
+                    } catch (RuntimeException e) {
+                        log.warn("[ReviewStat] repair consultant={} failed: {}", consultantId, e.toString());
+                    }
+                }
+                runs.incrementAndGet();
+                repaired.addAndGet(n);
+                lastDrifted = drifted.size();
+                if (n > 0) log.warn("[ReviewStat] repaired {} consultants with drifted aggregates", n);
+            } finally {
+                lastRunAt = startedAt;
+                lastRunMs = System.currentTimeMillis() - startedAt;
+                lease.release();
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /** 전체 비교 (잠금 없이) → 어긋나 보이는 상담사 id, 실제 보정 여부는 repair 가 잠근 뒤 판단 */
+    private Set<Long> findDrifted() {
+        Map<Long, long[]> expected = new HashMap<>();
+        for (Object[] row : reviewRepository.ratingAggregates()) {
+            expected.put((Long) row[0], ReviewStatService.ratingRow(row));
+        }
+        Set<Long> drifted = new LinkedHashSet<>();
+        for (ConsultantRatingStat s : ratingStatRepository.findAll()) {
+            long[] want = expected.remove(s.getConsultantId());
+            if (!Arrays.equals(want == null ? new long[7] : want, ReviewStatService.ratingValues(s))) {
+                drifted.add(s.getConsultantId());
+            }
+        }
+        drifted.addAll(expected.keySet()); // 리뷰는 있는데 집계 행이 없음
+
+        Map<Long, Map<String, Long>> expectedTags = new HashMap<>();
+        for (Object[] row : reviewRepository.tagCounts()) {
+            expectedTags.computeIfAbsent((Long) row[0], k -> new HashMap<>())
+                    .put((String) row[1], ((Number) row[2]).longValue());
+        }
+        Map<Long, Map<String, Long>> actualTags = new HashMap<>();
+        for (ConsultantTagStat t : tagStatRepository.findAll()) {
+            actualTags.computeIfAbsent(t.getConsultantId(), k -> new HashMap<>()).put(t.getTag(), t.getCnt());
+        }
+        Set<Long> ids = new HashSet<>(expectedTags.keySet());
+        ids.addAll(actualTags.keySet());
+        for (Long id : ids) {
+            if (!Objects.equals(expectedTags.get(id), actualTags.get(id))) drifted.add(id);
+        }
+        return drifted;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("running", running.get());
+        m.put("runs", runs.get());
+        m.put("repaired", repaired.get());
+        m.put("lastDrifted", lastDrifted);
+        m.put("lastRunAt", lastRunAt);
+        m.put("lastRunMs", lastRunMs);
+        return m;
+    }
+}
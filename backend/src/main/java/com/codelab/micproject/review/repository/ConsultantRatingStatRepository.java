@@ -0,0 +1,50 @@
+package com.codelab.micproject.review.repository;
+
+import com.codelab.micproject.review.domain.ConsultantRatingStat;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface ConsultantRatingStatRepository extends JpaRepository<ConsultantRatingStat, Long> {
+
+    /** 리뷰 1건 반영: 행이 없으면 생성, 있으면 x = x + ? (행 잠금 한 번, MySQL) */
+    @Modifying
+    @Query(value = """
+            INSERT INTO consultant_rating_stat
+                (consultant_id, rating_sum, rating_count, r1, r2, r3, r4, r5, updated_at)
+            VALUES (:consultantId, :rating, 1,
+                    (:rating = 1), (:rating = 2), (:rating = 3), (:rating = 4), (:rating = 5), :now)
+            ON DUPLICATE KEY UPDATE
+                rating_sum = rating_sum + :rating,
+                rating_count = rating_count + 1,
+                r1 = r1 + (:rating = 1),
+                r2 = r2 + (:rating = 2),
+                r3 = r3 + (:rating = 3),
+                r4 = r4 + (:rating = 4),
+                r5 = r5 + (:rating = 5),
+                updated_at = :now
+            """, nativeQuery = true)
+    int increment(@Param("consultantId") Long consultantId,
+                  @Param("rating") int rating,
+                  @Param("now") LocalDateTime now);
+
+    /** 보정 전 빈 행 보장 (이미 있으면 무시) */
+    @Modifying
+    @Query(value = """
+            INSERT IGNORE INTO consultant_rating_stat
+                (consultant_id, rating_sum, rating_count, r1, r2, r3, r4, r5, updated_at)
+            VALUES (:consultantId, 0, 0, 0, 0, 0, 0, 0, :now)
+            """, nativeQuery = true)
+    int insertIgnore(@Param("consultantId") Long consultantId, @Param("now") LocalDateTime now);
+
+    /** 보정 중 같은 상담사의 증분을 막음 (리뷰 작성 트랜잭션은 이 행 잠금에서 대기) */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ConsultantRatingStat s where s.consultantId = :consultantId")
+    Optional<ConsultantRatingStat> findForUpdate(@Param("consultantId") Long consultantId);
+}
@@ -0,0 +1,26 @@
+package com.codelab.micproject.review.repository;
+
+import com.codelab.micproject.review.domain.ConsultantTagStat;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ConsultantTagStatRepository extends JpaRepository<ConsultantTagStat, Long> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO consultant_tag_stat (consultant_id, tag, cnt) VALUES (:consultantId, :tag, 1)
+            ON DUPLICATE KEY UPDATE cnt = cnt + 1
+            """, nativeQuery = true)
+    int increment(@Param("consultantId") Long consultantId, @Param("tag") String tag);
+
+    /** 상위 태그 (idx_tag_stat_top 역순) */
+    @Query("select t from ConsultantTagStat t where t.consultantId = :consultantId and t.cnt > 0 order by t.cnt desc")
+    List<ConsultantTagStat> findTop(@Param("consultantId") Long consultantId, Pageable page);
+
+    List<ConsultantTagStat> findByConsultantId(Long consultantId);
+}
@@ -3,11 +3,14 @@ package com.codelab.micproject.review.repository;
 
 import com.codelab.micproject.review.domain.Review;
 import com.codelab.micproject.account.user.domain.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 
 
@@ -15,13 +18,60 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     // 최신순 조회
     List<Review> findByConsultantOrderByCreatedAtDesc(User consultant);
 
+    // 리뷰 피드 첫 페이지 (최신순, createdAt → id)
+    @Query("""
+        select r from Review r
+         where r.consultant.id = :consultantId
+         order by r.createdAt desc, r.id desc
+    """)
+    List<Review> findFeedFirst(@Param("consultantId") Long consultantId, Pageable page);
+
+    // 리뷰 피드 다음 페이지: (createdAt, id) 가 커서보다 앞선(더 오래된) 행
+    @Query("""
+        select r from Review r
+         where r.consultant.id = :consultantId
+           and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))
+         order by r.createdAt desc, r.id desc
+    """)
+    List<Review> findFeedAfter(@Param("consultantId") Long consultantId,
+                               @Param("createdAt") OffsetDateTime createdAt,
+                               @Param("id") Long id,
+                               Pageable page);
+
+    // 페이지의 태그 일괄 조회: [reviewId, tag]
+    @Query("select r.id, t from Review r join r.tags t where r.id in :reviewIds")
+    List<Object[]> findTagsByReviewIds(@Param("reviewIds") Collection<Long> reviewIds);
+
+    // 피드 버전(ETag) 원본: 상담사의 가장 최근 리뷰 id (없으면 null)
+    @Query("select max(r.id) from Review r where r.consultant.id = :consultantId")
+    Long findLatestIdByConsultant(@Param("consultantId") Long consultantId);
+
     // 중복 리뷰 방지(원하면 사용)
     boolean existsByReviewerAndConsultant(User reviewer, User consultant);
 
-    // 평균/개수 뽑을 때 (원하면)
-    @Query("select avg(r.rating) from Review r where r.consultant = :consultant")
-    Double avgRatingByConsultant(@Param("consultant") User consultant);
+    // 집계 보정용: [consultantId, 평점 합계, 건수, 1점 ~ 5점 건수]
+    @Query("""
+        select r.consultant.id, sum(r.rating), count(r),
+               sum(case when r.rating = 1 then 1 else 0 end), sum(case when r.rating = 2 then 1 else 0 end),
+               sum(case when r.rating = 3 then 1 else 0 end), sum(case when r.rating = 4 then 1 else 0 end),
+               sum(case when r.rating = 5 then 1 else 0 end)
+        from Review r group by r.consultant.id
+    """)
+    List<Object[]> ratingAggregates();
+
+    @Query("""
+        select r.consultant.id, sum(r.rating), count(r),
+               sum(case when r.rating = 1 then 1 else 0 end), sum(case when r.rating = 2 then 1 else 0 end),
+               sum(case when r.rating = 3 then 1 else 0 end), sum(case when r.rating = 4 then 1 else 0 end),
+               sum(case when r.rating = 5 then 1 else 0 end)
+        from Review r where r.consultant.id = :consultantId group by r.consultant.id
+    """)
+    List<Object[]> ratingAggregateOf(@Param("consultantId") Long consultantId);
+
+    // 태그 보정용: [consultantId, tag, 건수]
+    @Query("select r.consultant.id, t, count(r) from Review r join r.tags t group by r.consultant.id, t")
+    List<Object[]> tagCounts();
 
-    @Query("select count(r) from Review r where r.consultant = :consultant")
-    long countByConsultant(@Param("consultant") User consultant);
+    @Query("select t, count(r) from Review r join r.tags t where r.consultant.id = :consultantId group by t")
+    List<Object[]> tagCountsOf(@Param("consultantId") Long consultantId);
 }
\ No newline at end of file
@@ -1,20 +1,28 @@
 package com.codelab.micproject.review.service;
 
+import com.codelab.micproject.account.consultant.support.ConsultantCardChanged;
 import com.codelab.micproject.account.user.domain.UserRole;
 import com.codelab.micproject.account.user.repository.UserRepository;
 import com.codelab.micproject.booking.domain.AppointmentStatus;
+import com.codelab.micproject.common.exception.BadRequestException;
 import com.codelab.micproject.payment.repository.OrderAppointmentRepository;
 import com.codelab.micproject.review.domain.Review;
 import com.codelab.micproject.review.dto.CreateReview;
+import com.codelab.micproject.review.dto.ReviewFeedPage;
 import com.codelab.micproject.review.dto.ReviewView;
 import com.codelab.micproject.review.repository.ReviewRepository;
+import com.codelab.micproject.review.support.ReviewFeedVersion;
 import com.codelab.micproject.security.oauth2.UserPrincipal;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
-import java.util.List;
+import java.time.format.DateTimeParseException;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +31,11 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final UserRepository userRepository;
     private final OrderAppointmentRepository orderAppointmentRepository; // 리뷰 진입 조건 확인용
+    private final ReviewStatService reviewStatService;
+    private final ReviewFeedVersion feedVersion;
+    private final ApplicationEventPublisher events;
+
+    public static final int MAX_FEED_SIZE = 50;
 
     @Transactional
     public ReviewView create(UserPrincipal me, CreateReview req) {
@@ -65,19 +78,54 @@ public class ReviewService {
         r.getTags().addAll(tags);
 
         reviewRepository.save(r);
+        reviewStatService.record(consultant.getId(), r.getRating(), tags); // 집계 증분 (같은 트랜잭션)
+        feedVersion.bumpAfterCommit(consultant.getId(), r.getId());           // 피드 ETag 갱신
+        events.publishEvent(new ConsultantCardChanged(consultant.getId())); // 카드 평점 갱신
         return toView(r);
     }
 
     @Transactional(readOnly = true)
     public List<ReviewView> listForConsultant(Long consultantId) { // ★ 이름/리턴/파라미터 정확히
         var consultant = userRepository.findById(consultantId).orElseThrow();
-        return reviewRepository.findByConsultantOrderByCreatedAtDesc(consultant)
-                .stream()
-                .map(this::toView)
+        return toViews(reviewRepository.findByConsultantOrderByCreatedAtDesc(consultant));
+    }
+
+    /**
+     * 리뷰 피드 (최신순 키셋 페이지): cursor = 이전 페이지 nextCursor
+     * 페이지당 쿼리 2회 (리뷰 + 태그 IN 조회), 작성자 id 는 FK 값이라 추가 조회 없음
+     */
+    @Transactional(readOnly = true)
+    public ReviewFeedPage feed(Long consultantId, String cursor, int size) {
+        int n = Math.min(Math.max(size, 1), MAX_FEED_SIZE);
+        var page = PageRequest.of(0, n);
+        List<Review> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = reviewRepository.findFeedFirst(consultantId, page);
+        } else {
+            FeedCursor c = FeedCursor.decode(cursor);
+            rows = reviewRepository.findFeedAfter(consultantId, c.createdAt(), c.id(), page);
+        }
+        String next = rows.size() < n ? null : FeedCursor.of(rows.get(rows.size() - 1)).encode();
+        return new ReviewFeedPage(toViews(rows), next);
+    }
+
+    /** 태그는 목록 전체를 IN 한 번으로 (리뷰마다 지연 로딩하지 않음) */
+    private List<ReviewView> toViews(List<Review> rows) {
+        if (rows.isEmpty()) return List.of();
+        Map<Long, List<String>> tags = new HashMap<>();
+        for (Object[] row : reviewRepository.findTagsByReviewIds(rows.stream().map(Review::getId).toList())) {
+            tags.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((String) row[1]);
+        }
+        return rows.stream()
+                .map(r -> toView(r, tags.getOrDefault(r.getId(), List.of())))
                 .toList();
     }
 
     private ReviewView toView(Review r) {
+        return toView(r, List.copyOf(r.getTags()));
+    }
+
+    private ReviewView toView(Review r, List<String> tags) {
         return new ReviewView(
                 r.getId(),
                 r.getReviewer().getId(),
@@ -85,7 +133,7 @@ public class ReviewService {
                 r.getRating(),
                 r.getComment(),
                 r.getCreatedAt(),
-                List.copyOf(r.getTags())
+                tags
         );
     }
 
@@ -95,4 +143,26 @@ public class ReviewService {
         var consultant = userRepository.findById(consultantId).orElseThrow();
         return reviewRepository.existsByReviewerAndConsultant(reviewer, consultant);
     }
+
+    /** 피드 커서: (createdAt, id) 를 base64url 로 감싼 불투명 문자열 */
+    record FeedCursor(OffsetDateTime createdAt, Long id) {
+        static FeedCursor of(Review r) {
+            return new FeedCursor(r.getCreatedAt(), r.getId());
+        }
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static FeedCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int bar = raw.lastIndexOf('|');
+                return new FeedCursor(OffsetDateTime.parse(raw.substring(0, bar)), Long.parseLong(raw.substring(bar + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new BadRequestException("INVALID_CURSOR");
+            }
+        }
+    }
 }
@@ -0,0 +1,118 @@
+package com.codelab.micproject.review.service;
+
+import com.codelab.micproject.account.consultant.support.ConsultantCardChanged;
+import com.codelab.micproject.review.domain.ConsultantRatingStat;
+import com.codelab.micproject.review.domain.ConsultantTagStat;
+import com.codelab.micproject.review.dto.ReviewStatsView;
+import com.codelab.micproject.review.repository.ConsultantRatingStatRepository;
+import com.codelab.micproject.review.repository.ConsultantTagStatRepository;
+import com.codelab.micproject.review.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 상담사별 리뷰 집계 (평점 합계/건수/분포, 태그 건수)
+ * - record: 리뷰 작성과 같은 트랜잭션에서 UPDATE ... SET x = x + ? → 리뷰가 롤백되면 집계도 롤백
+ * - stats: 집계 행 1건 + 상위 태그 LIMIT (리뷰 수와 무관)
+ * - repair: 집계 행을 잠근 뒤 review 테이블에서 다시 계산 (야간 보정 작업에서 어긋난 상담사만)
+ */
+@Service
+@RequiredArgsConstructor
+public class ReviewStatService {
+
+    public static final int DEFAULT_TOP_TAGS = 5;
+
+    private final ConsultantRatingStatRepository ratingStatRepository;
+    private final ConsultantTagStatRepository tagStatRepository;
+    private final ReviewRepository reviewRepository;
+    private final ApplicationEventPublisher events;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long consultantId, int rating, Collection<String> tags) {
+        ratingStatRepository.increment(consultantId, rating, LocalDateTime.now());
+        for (String tag : tags) tagStatRepository.increment(consultantId, tag);
+    }
+
+    @Transactional(readOnly = true)
+    public ReviewStatsView stats(Long consultantId, int topTags) {
+        var s = ratingStatRepository.findById(consultantId).orElse(null);
+        long[] dist = s == null ? new long[5] : s.distribution();
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        for (int i = 0; i < 5; i++) distribution.put(i + 1, dist[i]);
+
+        var tags = tagStatRepository.findTop(consultantId, PageRequest.of(0, Math.min(Math.max(topTags, 1), 20))).stream()
+                .map(t -> new ReviewStatsView.TagCount(t.getTag(), t.getCnt()))
+                .toList();
+        return new ReviewStatsView(
+                consultantId,
+                s == null ? 0.0 : s.avg(),
+                s == null ? 0 : s.getRatingCount(),
+                distribution,
+                tags
+        );
+    }
+
+    /**
+     * 한 상담사 집계를 review 테이블 기준으로 다시 계산, 바뀌었으면 true
+     * 집계 행 잠금이 첫 조회보다 먼저 → 잠금 이후 스냅샷으로 세므로 진행 중이던 리뷰 작성과 어긋나지 않음
+     */
+    @Transactional
+    public boolean repair(Long consultantId) {
+        LocalDateTime now = LocalDateTime.now();
+        ratingStatRepository.insertIgnore(consultantId, now);
+        ConsultantRatingStat s = ratingStatRepository.findForUpdate(consultantId).orElseThrow();
+
+        List<Object[]> agg = reviewRepository.ratingAggregateOf(consultantId);
+        long[] expected = agg.isEmpty() ? new long[7] : ratingRow(agg.get(0));
+        boolean changed = !Arrays.equals(expected, ratingValues(s));
+        if (changed) {
+            s.setRatingSum(expected[0]);
+            s.setRatingCount(expected[1]);
+            s.setR1(expected[2]);
+            s.setR2(expected[3]);
+            s.setR3(expected[4]);
+            s.setR4(expected[5]);
+            s.setR5(expected[6]);
+            s.setUpdatedAt(now);
+        }
+
+        Map<String, Long> expectedTags = new HashMap<>();
+        for (Object[] row : reviewRepository.tagCountsOf(consultantId)) {
+            expectedTags.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        for (ConsultantTagStat t : tagStatRepository.findByConsultantId(consultantId)) {
+            Long want = expectedTags.remove(t.getTag());
+            if (want == null) {
+                tagStatRepository.delete(t);
+                changed = true;
+            } else if (want != t.getCnt()) {
+                t.setCnt(want);
+                changed = true;
+            }
+        }
+        expectedTags.forEach((tag, cnt) -> tagStatRepository.save(
+                ConsultantTagStat.builder().consultantId(consultantId).tag(tag).cnt(cnt).build()));
+        changed |= !expectedTags.isEmpty();
+
+        if (changed) events.publishEvent(new ConsultantCardChanged(consultantId));
+        return changed;
+    }
+
+    /** [합계, 건수, 1점 ~ 5점] (ReviewRepository.ratingAggregates 행의 1번 열부터) */
+    public static long[] ratingRow(Object[] row) {
+        long[] v = new long[7];
+        for (int i = 0; i < 7; i++) v[i] = row[i + 1] == null ? 0 : ((Number) row[i + 1]).longValue();
+        return v;
+    }
+
+    public static long[] ratingValues(ConsultantRatingStat s) {
+        return new long[]{ s.getRatingSum(), s.getRatingCount(), s.getR1(), s.getR2(), s.getR3(), s.getR4(), s.getR5() };
+    }
+}
@@ -0,0 +1,139 @@
+package com.codelab.micproject.review.support;
+
+import com.codelab.micproject.common.resilience.CircuitBreaker;
+import com.codelab.micproject.review.repository.ReviewRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상담사 리뷰 피드 버전 = 가장 최근 리뷰 id (리뷰는 추가만 되므로 id 가 바뀌지 않으면 피드도 그대로)
+ * - Redis review:latest:{consultantId} 에 보관 → 변경 없는 페이지 재요청(If-None-Match)은 DB 조회 없이 304
+ * - 미스 시 DB max(id) 로 채움(SET NX), 리뷰 작성 커밋 후 더 큰 id 로만 올림 → 둘이 경합해도 최신 값으로 수렴
+ * - Redis 장애 시 매번 DB max(id) (인덱스 조회)
+ * - 올림이 실패하면 키를 지움(DEL) → 다음 조회가 DB 에서 다시 채움 (옛 버전으로 304 를 내지 않도록)
+ *   DEL 도 실패하면 이 인스턴스는 해당 상담사 키를 무시하고 DB 를 읽다가, 다음 조회 때 DEL 재시도
+ */
+@Component
+public class ReviewFeedVersion {
+
+    private static final String KEY_PREFIX = "review:latest:";
+
+    // KEYS[1]=key  ARGV: id, ttlMs → 기존 값보다 클 때만 갱신
+    private static final DefaultRedisScript<Long> RAISE = new DefaultRedisScript<>("""
+            local cur = tonumber(redis.call('GET', KEYS[1]) or '0')
+            if tonumber(ARGV[1]) > cur then
+              redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+              return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final ReviewRepository reviewRepository;
+    private final CircuitBreaker breaker;
+    private final Duration ttl;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong bumpFailures = new AtomicLong();
+
+    // 올림도 DEL 도 실패해 Redis 값이 낡았을 수 있는 상담사
+    private final Set<Long> staleKeys = ConcurrentHashMap.newKeySet();
+
+    public ReviewFeedVersion(StringRedisTemplate redis,
+                             ReviewRepository reviewRepository,
+                             @Value("${app.review.feed.version-ttl-sec:86400}") long ttlSec) {
+        this.redis = redis;
+        this.reviewRepository = reviewRepository;
+        this.breaker = new CircuitBreaker("review-feed-redis", 3, 30_000);
+        this.ttl = Duration.ofSeconds(Math.max(60, ttlSec));
+    }
+
+    /** 강한 ETag (따옴표 포함) */
+    public String etag(Long consultantId) {
+        return "\"r" + consultantId + "-" + latestId(consultantId) + "\"";
+    }
+
+    /** If-None-Match 가 현재 ETag 를 포함하는지 (목록/약한 비교/* 허용) */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        for (String t : ifNoneMatch.split(",")) {
+            String v = t.trim();
+            if (v.equals("*") || v.equals(etag) || v.equals("W/" + etag)) return true;
+        }
+        return false;
+    }
+
+    public long latestId(Long consultantId) {
+        String key = KEY_PREFIX + consultantId;
+        if (staleKeys.contains(consultantId)) {
+            loads.incrementAndGet();
+            if (evict(consultantId)) staleKeys.remove(consultantId);
+            Long id = reviewRepository.findLatestIdByConsultant(consultantId);
+            return id == null ? 0 : id;
+        }
+        String cached = breaker.call(() -> redis.opsForValue().get(key), () -> null);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return Long.parseLong(cached);
+        }
+        loads.incrementAndGet();
+        Long id = reviewRepository.findLatestIdByConsultant(consultantId);
+        long latest = id == null ? 0 : id;
+        breaker.run(() -> redis.opsForValue().setIfAbsent(key, Long.toString(latest), ttl));
+        return latest;
+    }
+
+    /** 리뷰 작성 트랜잭션 커밋 후 버전 올림 (롤백되면 그대로) */
+    public void bumpAfterCommit(Long consultantId, Long reviewId) {
+        Runnable bump = () -> {
+            boolean raised = breaker.run(() -> redis.execute(RAISE, List.of(KEY_PREFIX + consultantId),
+                    Long.toString(reviewId), Long.toString(ttl.toMillis())));
+            if (raised) return;
+            bumpFailures.incrementAndGet();
+            if (!evict(consultantId)) staleKeys.add(consultantId);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump.run();
+                }
+            });
+        } else {
+            bump.run();
+        }
+    }
+
+    /** 키 삭제 — 브레이커가 열려 있어도 직접 시도 (낡은 버전을 남기지 않는 게 우선) */
+    private boolean evict(Long consultantId) {
+        try {
+            redis.delete(KEY_PREFIX + consultantId);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("hits", hits.get());
+        m.put("loads", loads.get());
+        m.put("bumpFailures", bumpFailures.get());
+        m.put("staleKeys", staleKeys.size());
+        m.put("breakerState", breaker.state().name());
+        return m;
+    }
+}
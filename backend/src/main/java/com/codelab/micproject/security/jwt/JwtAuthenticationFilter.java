@@ -24,7 +24,7 @@ import java.util.Map;
 /**
  * 흐름:
  * 1) Authorization 헤더(Bearer) 또는 ACCESS_TOKEN 쿠키에서 JWT 추출
- * 2) 토큰 검증 → userId 파싱 → DB 조회
+ * 2) 토큰 검증(1회 파싱) → userId → PrincipalCache 조회 (미스일 때만 DB 조회)
  * 3) UserPrincipal 생성 후 SecurityContext에 인증 객체 저장
  *    (권한은 UserPrincipal.getAuthorities()에서 ROLE_XXX로 제공)
  * 4) 실패/만료 시 인증 없이 다음 필터 진행 (401은 컨트롤러/시큐리티가 판단)
@@ -36,6 +36,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTokenProvider tokenProvider;
     private final UserRepository userRepository;
     private final TokenBlacklist blacklist;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest req,
@@ -49,9 +50,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
+                // 0) 서명 검증 + 클레임 추출 (1회만 파싱)
+                TokenClaims claims = tokenProvider.parse(token);
+
                 // 1) jti 블랙리스트 먼저 (Redis 실패 시 스킵)
                 try {
-                    String jti = tokenProvider.getJti(token);
+                    String jti = claims.jti();
                     if (jti != null && blacklist.isBlacklisted(jti)) {
                         logger.warn("⚠️ [JWT Filter] Token blacklisted: " + jti);
                         res.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
@@ -62,32 +66,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     // Redis 연결 실패 시에도 인증 계속 진행
                 }
 
-                // 2) 유저 로드
-                Long userId = null;
-                try {
-                    userId = tokenProvider.getUserId(token);
-                    logger.info("🔍 [JWT Filter] UserId from token: " + userId);
-                } catch (Exception parseEx) {
-                    logger.error("❌ [JWT Filter] Failed to parse userId: " + parseEx.getMessage());
-                    return;
-                }
-
-                if (userId != null) {
-                    User user = userRepository.findById(userId).orElse(null);
-                    logger.info("🔍 [JWT Filter] User found: " + (user != null) + ", enabled: " + (user != null && user.isEnabled()));
+                // 2) 유저 로드 (PrincipalCache 히트 시 DB 조회 없음)
+                Long userId = claims.userId();
+                UserPrincipal principal = principalCache.get(userId, this::loadEnabledPrincipal);
 
-                    if (user != null && user.isEnabled()) {
-                        UserPrincipal principal = new UserPrincipal(user, Map.of());
-                        var auth = new UsernamePasswordAuthenticationToken(
-                                principal, null, principal.getAuthorities());
-                        auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(req));
-                        SecurityContextHolder.getContext().setAuthentication(auth);
-                        logger.info("✅ [JWT Filter] Authentication set for user: " + userId + ", role: " + user.getRole() + ", authorities: " + principal.getAuthorities());
-                    } else {
-                        logger.warn("⚠️ [JWT Filter] User not found or disabled for userId: " + userId);
-                    }
+                if (principal != null) {
+                    var auth = new UsernamePasswordAuthenticationToken(
+                            principal, null, principal.getAuthorities());
+                    auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(req));
+                    SecurityContextHolder.getContext().setAuthentication(auth);
+                    logger.debug("✅ [JWT Filter] Authentication set for user: " + userId + ", authorities: " + principal.getAuthorities());
                 } else {
-                    logger.warn("⚠️ [JWT Filter] userId is null after parsing token");
+                    logger.warn("⚠️ [JWT Filter] User not found or disabled for userId: " + userId);
                 }
             } else if (token == null) {
                 logger.warn("⚠️ [JWT Filter] No token found for: " + requestPath);
@@ -102,6 +92,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         chain.doFilter(req, res);
     }
 
+    /** 캐시 미스 시에만 호출: 존재 + enabled 인 사용자만 principal 로 변환 */
+    private UserPrincipal loadEnabledPrincipal(Long userId) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null || !user.isEnabled()) return null;
+        return new UserPrincipal(user, Map.of());
+    }
+
     private String resolveToken(HttpServletRequest req) {
         String header = req.getHeader(HttpHeaders.AUTHORIZATION);
         if (header != null && header.startsWith("Bearer ")) {
@@ -93,19 +93,33 @@ public class JwtTokenProvider {
         return jws.getPayload();
     }
 
+    /**
+     * 서명 검증 1회로 필요한 클레임을 모두 추출.
+     * 필터/로그아웃처럼 여러 값이 필요한 곳은 getUserId/getJti 를 따로 부르지 말고 이것을 사용.
+     */
+    public TokenClaims parse(String token) {
+        Claims c = parseClaims(token);
+        return new TokenClaims(
+                Long.valueOf(c.getSubject()),
+                c.getId(),
+                c.get("role", String.class),
+                c.getExpiration().toInstant()
+        );
+    }
+
     /** subject → userId */
     public Long getUserId(String token) {
-        return Long.valueOf(parseClaims(token).getSubject());
+        return parse(token).userId();
     }
 
     /** jti 추출 (액세스 토큰 전용) */
     public String getJti(String token) {
-        return parseClaims(token).getId();
+        return parse(token).jti();
     }
 
     /** 만료 시각(Instant) */
     public Instant getExpiryAt(String token) {
-        return parseClaims(token).getExpiration().toInstant();
+        return parse(token).expiresAt();
     }
 
     /** 만료 epoch-second (편의용) */
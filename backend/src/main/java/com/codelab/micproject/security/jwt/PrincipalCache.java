@@ -0,0 +1,110 @@
+package com.codelab.micproject.security.jwt;
+
+import com.codelab.micproject.security.oauth2.UserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * userId → UserPrincipal 단기 캐시 (JwtAuthenticationFilter 전용)
+ * - 매 요청마다 users 테이블 SELECT 하던 것을 TTL 동안 메모리에서 응답
+ * - 크기 상한(max-size): 접근 순서 LinkedHashMap → 넘치면 가장 오래 안 쓴 항목 1개 제거 (O(1))
+ *   만료 항목은 조회 시 덮어쓰이고, 안 쓰이는 항목은 LRU 로 밀려남 (전체 스캔 없음)
+ * - 권한(role)/활성(enabled) 변경 시 evict(userId) 호출 필수
+ *   (다른 노드의 캐시는 TTL 만큼 늦게 반영되므로 TTL은 짧게 유지)
+ * - 로드는 잠금 밖에서 하므로, 로드 중에 evict 가 끼면 읽어 온(낡았을 수 있는) 값은 넣지 않음
+ *   키별 무효화 세대(evict 순번)를 기억해 로드 시작 시점과 비교 — 세대 기록도 max-size 로 제한,
+ *   밀려난 기록보다 먼저 시작한 로드는 보수적으로 넣지 않음
+ */
+@Component
+public class PrincipalCache {
+
+    private final long ttlMillis;
+    private final int maxSize;
+    private final Map<Long, Entry> cache;
+    private final Map<Long, Long> evictedAt;   // userId → 마지막 evict 순번 (cache 와 같은 잠금)
+    private long evictSeq;                     // 전체 evict 순번
+    private long droppedEvictSeq;              // evictedAt 에서 밀려난 기록 중 가장 큰 순번
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+
+    public PrincipalCache(
+            @Value("${app.jwt.principal-cache.ttl-sec:60}") long ttlSec,
+            @Value("${app.jwt.principal-cache.max-size:10000}") int maxSize
+    ) {
+        this.ttlMillis = ttlSec * 1000;
+        this.maxSize = Math.max(1, maxSize);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > PrincipalCache.this.maxSize;
+            }
+        };
+        this.evictedAt = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                if (size() <= PrincipalCache.this.maxSize) return false;
+                droppedEvictSeq = Math.max(droppedEvictSeq, eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * 캐시 조회, 없거나 만료면 loader(DB 조회)로 채움.
+     * loader 가 null 을 돌려주면(없음/비활성) 캐시하지 않음.
+     */
+    public UserPrincipal get(Long userId, Function<Long, UserPrincipal> loader) {
+        long now = System.currentTimeMillis();
+        Entry e;
+        long seqAtLoad;
+        synchronized (cache) {
+            e = cache.get(userId);
+            seqAtLoad = evictSeq;
+        }
+        if (e != null && e.expiresAt > now) {
+            hits.incrementAndGet();
+            return e.principal;
+        }
+
+        loads.incrementAndGet();
+        UserPrincipal loaded = loader.apply(userId); // DB 조회는 잠금 밖에서
+        synchronized (cache) {
+            if (loaded == null) cache.remove(userId);
+            else if (!evictedSince(userId, seqAtLoad)) cache.put(userId, new Entry(loaded, now + ttlMillis));
+        }
+        return loaded;
+    }
+
+    /** 권한/활성 상태가 바뀐 사용자 즉시 무효화 */
+    public void evict(Long userId) {
+        if (userId == null) return;
+        synchronized (cache) {
+            cache.remove(userId);
+            evictedAt.remove(userId);           // 재삽입해 가장 최근 기록으로
+            evictedAt.put(userId, ++evictSeq);
+        }
+    }
+
+    /** seq 이후 userId 가 evict 되었는지 (기록이 밀려났으면 그 뒤에 시작한 로드만 안전) — cache 잠금 안에서 호출 */
+    private boolean evictedSince(Long userId, long seq) {
+        Long at = evictedAt.get(userId);
+        if (at != null) return at > seq;
+        return droppedEvictSeq > seq;
+    }
+
+    public long hitCount()  { return hits.get(); }
+    public long loadCount() { return loads.get(); }
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private record Entry(UserPrincipal principal, long expiresAt) {}
+}
@@ -0,0 +1,15 @@
+package com.codelab.micproject.security.jwt;
+
+import java.time.Instant;
+
+/**
+ * 서명 검증이 끝난 토큰에서 꺼낸 값 묶음 (JwtTokenProvider.parse 결과)
+ * - jti/role 은 리프레시 토큰에는 없으므로 null 가능
+ */
+public record TokenClaims(Long userId, String jti, String role, Instant expiresAt) {
+
+    /** 남은 유효시간(초). 이미 만료면 0 */
+    public long secondsUntilExpiry() {
+        return Math.max(0, expiresAt.getEpochSecond() - Instant.now().getEpochSecond());
+    }
+}
@@ -0,0 +1,111 @@
+package com.codelab.micproject.security.password;
+
+import com.codelab.micproject.common.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BCrypt 검증 전용 스레드풀
+ * - 동시 해시 계산 수를 threads 로 제한 → 로그인 폭주가 다른 API 의 CPU 를 잠식하지 않음
+ * - 대기열(queue-capacity)이 차면 즉시 429 (요청 스레드가 줄 서서 쌓이지 않게)
+ * - 대기 시간(queue wait)과 해시 시간(hash time)을 분리 집계 → stats()
+ */
+@Slf4j
+@Component
+public class PasswordHashExecutor {
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor pool;
+    private final long timeoutMs;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong queueWaitNanos = new AtomicLong();
+    private final AtomicLong hashNanos = new AtomicLong();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+
+    public PasswordHashExecutor(
+            PasswordEncoder encoder,
+            @Value("${app.auth.hash.threads:0}") int threads,
+            @Value("${app.auth.hash.queue-capacity:64}") int queueCapacity,
+            @Value("${app.auth.hash.timeout-ms:3000}") long timeoutMs
+    ) {
+        this.encoder = encoder;
+        this.timeoutMs = timeoutMs;
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "pw-hash-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** encoder.matches 를 전용 풀에서 실행 (포화/시간초과 시 TooManyRequestsException) */
+    public boolean matches(CharSequence raw, String encoded) {
+        long enqueuedAt = System.nanoTime();
+        Future<Boolean> f;
+        try {
+            f = pool.submit(() -> {
+                long startedAt = System.nanoTime();
+                long waited = startedAt - enqueuedAt;
+                queueWaitNanos.addAndGet(waited);
+                maxQueueWaitNanos.accumulateAndGet(waited, Math::max);
+                try {
+                    return encoder.matches(raw, encoded);
+                } finally {
+                    hashNanos.addAndGet(System.nanoTime() - startedAt);
+                    completed.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new TooManyRequestsException("로그인 요청이 많습니다. 잠시 후 다시 시도해 주세요.", 1);
+        }
+
+        try {
+            return f.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            f.cancel(true);
+            rejected.incrementAndGet();
+            throw new TooManyRequestsException("로그인 요청이 많습니다. 잠시 후 다시 시도해 주세요.", 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("비밀번호 검증이 중단되었습니다.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("비밀번호 검증 실패", e.getCause());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long n = Math.max(1, completed.get());
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("poolSize", pool.getMaximumPoolSize());
+        m.put("active", pool.getActiveCount());
+        m.put("queued", pool.getQueue().size());
+        m.put("completed", completed.get());
+        m.put("rejected", rejected.get());
+        m.put("avgQueueWaitMs", queueWaitNanos.get() / n / 1_000_000.0);
+        m.put("maxQueueWaitMs", maxQueueWaitNanos.get() / 1_000_000.0);
+        m.put("avgHashMs", hashNanos.get() / n / 1_000_000.0);
+        return m;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+}
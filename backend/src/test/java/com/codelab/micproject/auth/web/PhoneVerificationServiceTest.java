@@ -0,0 +1,59 @@
+package com.codelab.micproject.auth.web;
+
+import com.codelab.micproject.common.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 전화번호 표기(하이픈 유무)가 달라도 같은 코드/같은 속도 제한 버킷을 써야 함
+ * (Redis 미응답 → 리미터는 노드 로컬 버킷)
+ */
+class PhoneVerificationServiceTest {
+
+    InMemoryPhoneCodeStore store = new InMemoryPhoneCodeStore(100);
+
+    private PhoneVerificationService service(int phoneCapacity) {
+        return new PhoneVerificationService(store, mock(StringRedisTemplate.class), phoneCapacity, 1, 20, 2);
+    }
+
+    @Test
+    void hyphenatedAndPlainNumbers_shareOneCode() {
+        PhoneVerificationService service = service(3);
+
+        service.sendCode("010-1234-5678", null);
+        String code = store.find("01012345678").code();
+
+        assertThat(service.verify("01012345678", code)).isTrue();
+        assertThat(service.isVerified("010-1234-5678")).isTrue();
+    }
+
+    @Test
+    void resendGap_appliesAcrossFormats() {
+        PhoneVerificationService service = service(3);
+        service.sendCode("010-1234-5678", null);
+
+        assertThatThrownBy(() -> service.sendCode("01012345678", null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rateLimit_appliesAcrossFormats() {
+        PhoneVerificationService service = service(1);
+        service.sendCode("010-1234-5678", null);
+        store.remove("01012345678"); // 재요청 간격은 건너뛰고 버킷만 확인
+
+        assertThatThrownBy(() -> service.sendCode("01012345678", null))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void normalize_keepsDigitsOnly() {
+        assertThat(PhoneVerificationService.normalize("010-1234-5678")).isEqualTo("01012345678");
+        assertThatThrownBy(() -> PhoneVerificationService.normalize("---"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
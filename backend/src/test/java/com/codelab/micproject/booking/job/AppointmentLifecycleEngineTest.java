@@ -0,0 +1,107 @@
+package com.codelab.micproject.booking.job;
+
+import com.codelab.micproject.booking.domain.AppointmentStatus;
+import com.codelab.micproject.booking.repository.AppointmentRepository;
+import com.codelab.micproject.booking.service.AppointmentLifecycleService;
+import com.codelab.micproject.booking.support.AppointmentLifecycleQueue;
+import com.codelab.micproject.booking.support.AppointmentLifecycleQueue.Kind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 생명주기 엔진: 꺼낸 id 는 전환 커밋 후에만 ack, 실패하면 재등록(ack 없음), 재적재는 가까운 기한만
+ */
+class AppointmentLifecycleEngineTest {
+
+    private static final long RESEED_MS = 3_600_000;
+
+    AppointmentLifecycleQueue queue;
+    AppointmentLifecycleService lifecycleService;
+    AppointmentRepository appointmentRepository;
+    AppointmentLifecycleEngine engine;
+
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    void setUp() {
+        queue = mock(AppointmentLifecycleQueue.class);
+        lifecycleService = mock(AppointmentLifecycleService.class);
+        appointmentRepository = mock(AppointmentRepository.class);
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        when(redis.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(1L); // 리스 획득
+        when(lifecycleService.holdDuration()).thenReturn(Duration.ofMinutes(15));
+
+        engine = new AppointmentLifecycleEngine(queue, lifecycleService, appointmentRepository, redis,
+                15_000, 200, 30_000, 60_000, RESEED_MS);
+    }
+
+    @Test
+    void processedBatch_isAckedAfterTransition() {
+        when(queue.popDue(eq(Kind.EXPIRE_HOLD), anyLong(), eq(200), eq(60_000L))).thenReturn(List.of(1L, 2L));
+        when(queue.popDue(eq(Kind.COMPLETE), anyLong(), anyInt(), anyLong())).thenReturn(List.of());
+        when(lifecycleService.expireHolds(List.of(1L, 2L))).thenReturn(2);
+
+        engine.tick();
+
+        InOrder order = inOrder(lifecycleService, queue);
+        order.verify(lifecycleService).expireHolds(List.of(1L, 2L));
+        order.verify(queue).ack(Kind.EXPIRE_HOLD, List.of(1L, 2L));
+        verify(queue, never()).requeue(any(), any(), anyLong());
+    }
+
+    @Test
+    void failedBatch_isRequeued_notAcked() {
+        when(queue.popDue(eq(Kind.EXPIRE_HOLD), anyLong(), anyInt(), anyLong())).thenReturn(List.of(1L));
+        when(queue.popDue(eq(Kind.COMPLETE), anyLong(), anyInt(), anyLong())).thenReturn(List.of());
+        when(lifecycleService.expireHolds(any())).thenThrow(new IllegalStateException("db down"));
+
+        engine.tick();
+
+        verify(queue).requeue(eq(Kind.EXPIRE_HOLD), eq(List.of(1L)), anyLong());
+        verify(queue, never()).ack(eq(Kind.EXPIRE_HOLD), any());
+        assertThat(engine.stats().get("failedBatches")).isEqualTo(1L);
+    }
+
+    @Test
+    void tick_reclaimsExpiredInFlightBeforePopping() {
+        when(queue.reclaimExpired(eq(Kind.COMPLETE), anyLong(), anyInt())).thenReturn(3L);
+        when(queue.popDue(any(), anyLong(), anyInt(), anyLong())).thenReturn(List.of());
+
+        engine.tick();
+
+        InOrder order = inOrder(queue);
+        order.verify(queue).reclaimExpired(eq(Kind.COMPLETE), anyLong(), eq(200));
+        order.verify(queue).popDue(eq(Kind.COMPLETE), anyLong(), anyInt(), anyLong());
+        assertThat(engine.stats().get("reclaimed")).isEqualTo(3L);
+    }
+
+    @Test
+    void reseed_onlyLoadsDeadlinesWithinTwoReseedPeriods() {
+        when(appointmentRepository.findIdAndCreatedAtByStatusBefore(any(), any())).thenReturn(List.of());
+        when(appointmentRepository.findIdAndEndAtByStatusBefore(any(), any())).thenReturn(List.of());
+
+        engine.reseed();
+
+        ArgumentCaptor<OffsetDateTime> endBefore = ArgumentCaptor.forClass(OffsetDateTime.class);
+        ArgumentCaptor<LocalDateTime> createdBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(appointmentRepository).findIdAndEndAtByStatusBefore(eq(AppointmentStatus.APPROVED), endBefore.capture());
+        verify(appointmentRepository).findIdAndCreatedAtByStatusBefore(eq(AppointmentStatus.REQUESTED), createdBefore.capture());
+
+        OffsetDateTime horizon = OffsetDateTime.now().plus(Duration.ofMillis(2 * RESEED_MS));
+        assertThat(Duration.between(horizon, endBefore.getValue()).abs()).isLessThan(Duration.ofSeconds(5));
+        assertThat(Duration.between(LocalDateTime.now().plus(Duration.ofMillis(2 * RESEED_MS)).minusMinutes(15),
+                createdBefore.getValue()).abs()).isLessThan(Duration.ofSeconds(5));
+    }
+}
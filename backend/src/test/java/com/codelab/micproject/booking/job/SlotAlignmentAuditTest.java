@@ -0,0 +1,103 @@
+package com.codelab.micproject.booking.job;
+
+import com.codelab.micproject.account.consultant.support.ConsultantCardChanged;
+import com.codelab.micproject.booking.domain.Availability;
+import com.codelab.micproject.booking.repository.AppointmentRepository;
+import com.codelab.micproject.booking.repository.AppointmentSlotClaimRepository;
+import com.codelab.micproject.booking.repository.AvailabilityRepository;
+import com.codelab.micproject.booking.repository.AvailableSlotRepository;
+import com.codelab.micproject.booking.service.SlotClaimService;
+import com.codelab.micproject.booking.support.FreeBusyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 점유 칸 경계 점검: 어긋난 규칙/미래 슬롯 보고, repair 시 어긋난 슬롯만 삭제
+ */
+class SlotAlignmentAuditTest {
+
+    AvailabilityRepository availabilityRepository;
+    AvailableSlotRepository slotRepository;
+    JdbcTemplate jdbcTemplate;
+    FreeBusyIndex freeBusyIndex;
+    ApplicationEventPublisher events;
+    SlotAlignmentAudit audit;
+
+    @BeforeEach
+    void setUp() {
+        availabilityRepository = mock(AvailabilityRepository.class);
+        slotRepository = mock(AvailableSlotRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        freeBusyIndex = mock(FreeBusyIndex.class);
+        events = mock(ApplicationEventPublisher.class);
+
+        SlotClaimService claims = new SlotClaimService(mock(AppointmentSlotClaimRepository.class),
+                mock(AppointmentRepository.class), freeBusyIndex, events);
+        ReflectionTestUtils.setField(claims, "granuleMin", 30);
+        audit = new SlotAlignmentAudit(availabilityRepository, slotRepository, claims,
+                jdbcTemplate, freeBusyIndex, events, false);
+
+        when(availabilityRepository.findAll()).thenReturn(List.of(
+                rule(1L, "09:00", 60, "Asia/Seoul"),
+                rule(2L, "09:15", 30, "Asia/Seoul"),
+                rule(3L, "09:00", 45, "Asia/Seoul")));
+
+        LocalDateTime t = LocalDate.now().plusDays(3).atTime(10, 0);
+        List<Object[]> rows = List.of(
+                new Object[]{10L, 7L, t, t.plusHours(1)},
+                new Object[]{11L, 7L, t.plusMinutes(15), t.plusMinutes(45)},
+                new Object[]{12L, 8L, t.plusHours(2), t.plusHours(2).plusMinutes(50)});
+        when(slotRepository.findFutureRowsAfter(any(), eq(0L), any())).thenReturn(rows);
+    }
+
+    @Test
+    void reportOnly_listsMisalignedRulesAndSlots_withoutDeleting() {
+        Map<String, Object> stats = audit.run(false);
+
+        assertThat(stats.get("misalignedRules")).isEqualTo(2);
+        assertThat(stats.get("misalignedRuleIds")).isEqualTo(List.of(2L, 3L));
+        assertThat(stats.get("misalignedSlots")).isEqualTo(2);
+        verifyNoInteractions(jdbcTemplate, events);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void repair_deletesOnlyMisalignedSlots_andRefreshesIndexAndCards() {
+        Map<String, Object> stats = audit.run(true);
+
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), ids.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(ids.getValue()).containsExactly(11L, 12L);
+        verify(freeBusyIndex, times(2)).slotChangedAfterCommit(anyLong(), any(), any(), eq(false));
+        verify(events).publishEvent(new ConsultantCardChanged(7L));
+        verify(events).publishEvent(new ConsultantCardChanged(8L));
+        assertThat(stats.get("repairedSlots")).isEqualTo(2L);
+        assertThat(stats.get("misalignedSlots")).isEqualTo(0);
+    }
+
+    private static Availability rule(Long id, String start, int slot, String zone) {
+        return Availability.builder()
+                .id(id)
+                .weekday(1)
+                .startTime(start)
+                .endTime("18:00")
+                .slotMinutes(slot)
+                .zoneId(zone)
+                .build();
+    }
+}
@@ -0,0 +1,183 @@
+package com.codelab.micproject.booking.service;
+
+import com.codelab.micproject.account.user.domain.AuthProvider;
+import com.codelab.micproject.account.user.domain.User;
+import com.codelab.micproject.account.user.domain.UserRole;
+import com.codelab.micproject.account.user.repository.UserRepository;
+import com.codelab.micproject.booking.domain.Appointment;
+import com.codelab.micproject.booking.domain.AppointmentSlotClaim;
+import com.codelab.micproject.booking.domain.AppointmentStatus;
+import com.codelab.micproject.booking.repository.AppointmentRepository;
+import com.codelab.micproject.booking.repository.AppointmentSlotClaimRepository;
+import com.codelab.micproject.booking.support.FreeBusyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 같은 슬롯에 수백 건 동시 체크아웃 → 정확히 한 건만 점유 (H2 MySQL 모드, 실제 유니크 인덱스)
+ * 소유자 기준 해제 / 칸 경계 검증도 함께 확인
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SlotClaimConcurrencyTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2030, 1, 7, 10, 0, 0, 0, ZoneOffset.ofHours(9));
+
+    @Autowired AppointmentSlotClaimRepository claimRepository;
+    @Autowired AppointmentRepository appointmentRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired PlatformTransactionManager txManager;
+
+    SlotClaimService slotClaimService;
+    TransactionTemplate tx;
+    User consultant;
+    User client;
+
+    @BeforeEach
+    void setUp() {
+        slotClaimService = new SlotClaimService(claimRepository, appointmentRepository,
+                mock(FreeBusyIndex.class), mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(slotClaimService, "granuleMin", 30);
+        tx = new TransactionTemplate(txManager);
+
+        claimRepository.deleteAll();
+        appointmentRepository.deleteAll();
+        consultant = userRepository.save(user(UserRole.CONSULTANT));
+        client = userRepository.save(user(UserRole.USER));
+    }
+
+    @Test
+    void hundredsOfParallelCheckoutsOnSameSlot_exactlyOneWins() throws Exception {
+        int attempts = 300;
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger wins = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<Long> winners = new ConcurrentLinkedQueue<>();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            futures.add(pool.submit(() -> {
+                go.await();
+                try {
+                    // 체크아웃과 같은 순서: 예약 저장 → 같은 트랜잭션에서 점유, 실패하면 예약까지 롤백
+                    Long id = tx.execute(s -> {
+                        Appointment a = appointmentRepository.save(appointment(START, START.plusMinutes(60)));
+                        if (!slotClaimService.tryClaim(a)) throw new IllegalStateException("time slot already booked");
+                        return a.getId();
+                    });
+                    wins.incrementAndGet();
+                    winners.add(id);
+                } catch (IllegalStateException e) {
+                    rejected.incrementAndGet();
+                } catch (Throwable t) {
+                    errors.add(t);
+                }
+                return null;
+            }));
+        }
+        go.countDown();
+        for (Future<?> f : futures) f.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertThat(errors).isEmpty();
+        assertThat(wins.get()).isEqualTo(1);
+        assertThat(rejected.get()).isEqualTo(attempts - 1);
+        assertThat(appointmentRepository.count()).isEqualTo(1);
+
+        List<AppointmentSlotClaim> cells = claimRepository.findAll();
+        assertThat(cells).hasSize(2);
+        assertThat(cells).allMatch(c -> c.getAppointmentId().equals(winners.peek()));
+    }
+
+    @Test
+    void adjacentSlots_doNotShareCells() {
+        Long first = claim(START, START.plusMinutes(60));
+        Long second = claim(START.plusMinutes(60), START.plusMinutes(120));
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(claimRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    void misalignedRange_isRejected() {
+        assertThatThrownBy(() -> claim(START, START.plusMinutes(45)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("SLOT_NOT_ALIGNED");
+        assertThat(claimRepository.count()).isZero();
+    }
+
+    @Test
+    void lateRelease_ofCancelledAppointment_keepsNewOwnersCells() {
+        Long oldId = claim(START, START.plusMinutes(60));
+        tx.executeWithoutResult(s -> slotClaimService.release(appointmentRepository.findById(oldId).orElseThrow()));
+
+        Long newId = claim(START, START.plusMinutes(60));
+        assertThat(newId).isNotNull();
+
+        // 같은 취소가 한 번 더 들어와도 (중복 웹훅/재시도) 새 예약의 칸은 그대로
+        tx.executeWithoutResult(s -> slotClaimService.release(appointmentRepository.findById(oldId).orElseThrow()));
+
+        List<AppointmentSlotClaim> cells = claimRepository.findAll();
+        assertThat(cells).hasSize(2);
+        assertThat(cells).allMatch(c -> c.getAppointmentId().equals(newId));
+    }
+
+    /** 점유 성공 시 예약 id, 실패 시 null (예약도 롤백) */
+    private Long claim(OffsetDateTime start, OffsetDateTime end) {
+        try {
+            return tx.execute(s -> {
+                Appointment a = appointmentRepository.save(appointment(start, end));
+                if (!slotClaimService.tryClaim(a)) throw new IllegalStateException("time slot already booked");
+                return a.getId();
+            });
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+
+    private Appointment appointment(OffsetDateTime start, OffsetDateTime end) {
+        return Appointment.builder()
+                .consultant(consultant)
+                .user(client)
+                .startAt(start)
+                .endAt(end)
+                .status(AppointmentStatus.REQUESTED)
+                .build();
+    }
+
+    private static User user(UserRole role) {
+        return User.builder()
+                .email(UUID.randomUUID() + "@test.local")
+                .name(role.name())
+                .role(role)
+                .provider(AuthProvider.LOCAL)
+                .build();
+    }
+}
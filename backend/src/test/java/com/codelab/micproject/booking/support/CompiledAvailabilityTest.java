@@ -0,0 +1,248 @@
+package com.codelab.micproject.booking.support;
+
+import com.codelab.micproject.booking.domain.Availability;
+import com.codelab.micproject.booking.dto.SlotDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CompiledAvailability(정수 연산) == 예전 AvailabilityService 의 ZonedDateTime/LocalTime 구현
+ * - 예전 fits / generateSlots 를 그대로 옮긴 legacy* 를 기준으로 표 비교
+ * - KST, 비 KST(뉴욕/런던), 30분 DST(로드하우), DST 전환일, 자정 직전 구간
+ */
+class CompiledAvailabilityTest {
+
+    private static final DateTimeFormatter HM = DateTimeFormatter.ofPattern("HH:mm");
+
+    private static final List<String> ZONES = List.of(
+            "Asia/Seoul", "America/New_York", "Europe/London", "Australia/Lord_Howe", "");
+
+    /** [start, end, slotMinutes] — 예전 생성 루프가 자정을 넘겨 돌지 않는 구간만 (자정 직전은 아래 별도) */
+    private static final List<Object[]> WINDOWS = List.of(
+            new Object[]{"09:00", "18:00", 30},
+            new Object[]{"00:00", "04:00", 60},   // 새벽 DST 전환 시각 포함
+            new Object[]{"01:00", "03:30", 30},
+            new Object[]{"10:00", "17:00", 50},   // 슬롯이 구간 끝에 딱 맞지 않음
+            new Object[]{"22:00", "02:00", 60});  // 자정을 넘는 규칙 (둘 다 슬롯 없음/불일치)
+
+    /** DST 전환일 포함 기간: 뉴욕 3/8·11/1, 런던 3/29·10/25, 로드하우 4/5·10/4 */
+    private static final List<LocalDate[]> PERIODS = List.of(
+            new LocalDate[]{LocalDate.of(2026, 3, 5), LocalDate.of(2026, 4, 8)},
+            new LocalDate[]{LocalDate.of(2026, 10, 1), LocalDate.of(2026, 11, 4)});
+
+    @Test
+    void generatedSlots_matchLegacy() {
+        for (String zone : ZONES) {
+            for (Object[] w : WINDOWS) {
+                List<Availability> rows = everyWeekday(w, zone);
+                CompiledAvailability compiled = CompiledAvailability.compile(rows);
+                forEachDay(day -> {
+                    List<SlotDto> actual = new ArrayList<>();
+                    compiled.appendSlots(day, actual);
+                    assertThat(actual).as("%s %s-%s/%s %s", zone, w[0], w[1], w[2], day)
+                            .isEqualTo(legacyGenerate(rows, day));
+                });
+            }
+        }
+    }
+
+    @Test
+    void fits_matchesLegacy_onSlotsAndNearMisses() {
+        for (String zone : ZONES) {
+            for (Object[] w : WINDOWS) {
+                List<Availability> rows = everyWeekday(w, zone);
+                CompiledAvailability compiled = CompiledAvailability.compile(rows);
+                forEachDay(day -> {
+                    for (SlotDto[] c : candidates(rows, day, (int) w[2])) {
+                        OffsetDateTime s = c[0].startAt();
+                        OffsetDateTime e = c[0].endAt();
+                        assertThat(compiled.fits(s, e)).as("%s %s-%s/%s %s..%s", zone, w[0], w[1], w[2], s, e)
+                                .isEqualTo(legacyFitsAny(rows, s, e));
+                    }
+                });
+            }
+        }
+    }
+
+    @Test
+    void endOfDayWindow_fitsMatchesLegacy_andGenerationStopsBeforeMidnight() {
+        ZoneId kst = ZoneId.of("Asia/Seoul");
+        List<Availability> rows = List.of(rule(1, "22:00", "23:59", 30, "Asia/Seoul"));
+        CompiledAvailability compiled = CompiledAvailability.compile(rows);
+        LocalDate monday = LocalDate.of(2026, 10, 19);
+
+        // 예전 루프는 23:30 + 30분이 00:00 으로 감겨 끝나지 않았음 → 기대값을 직접 적음
+        List<SlotDto> slots = new ArrayList<>();
+        compiled.appendSlots(monday, slots);
+        assertThat(slots).extracting(sl -> sl.startAt().atZoneSameInstant(kst).toLocalTime().toString())
+                .containsExactly("22:00", "22:30", "23:00");
+
+        for (String[] r : new String[][]{
+                {"22:00", "22:30"}, {"23:00", "23:30"}, {"23:30", "00:00"}, {"23:29", "23:59"}, {"21:30", "22:30"}}) {
+            OffsetDateTime s = ZonedDateTime.of(monday, LocalTime.parse(r[0]), kst).toOffsetDateTime();
+            OffsetDateTime e = ZonedDateTime.of(r[1].equals("00:00") ? monday.plusDays(1) : monday, LocalTime.parse(r[1]), kst)
+                    .toOffsetDateTime();
+            assertThat(compiled.fits(s, e)).as("%s-%s", r[0], r[1]).isEqualTo(legacyFitsAny(rows, s, e));
+        }
+    }
+
+    @Test
+    void fits_acceptsSameInstantInAnyOffset() {
+        List<Availability> rows = List.of(rule(1, "09:00", "18:00", 30, "Asia/Seoul"));
+        CompiledAvailability compiled = CompiledAvailability.compile(rows);
+        OffsetDateTime kst = OffsetDateTime.of(2026, 10, 19, 10, 0, 0, 0, ZoneOffset.ofHours(9));
+
+        assertThat(compiled.fits(kst.withOffsetSameInstant(ZoneOffset.UTC), kst.plusMinutes(60).withOffsetSameInstant(ZoneOffset.UTC)))
+                .isTrue();
+    }
+
+    @Test
+    void fits_rejectsSubMinuteBoundaries() {
+        // 예전 구현은 Duration.toMinutes 절삭으로 10:00:30~11:00:30 을 통과시켰음 — 슬롯 경계가 아니므로 거절
+        List<Availability> rows = List.of(rule(1, "09:00", "18:00", 60, "Asia/Seoul"));
+        OffsetDateTime s = OffsetDateTime.of(2026, 10, 19, 10, 0, 30, 0, ZoneOffset.ofHours(9));
+
+        assertThat(CompiledAvailability.compile(rows).fits(s, s.plusHours(1))).isFalse();
+    }
+
+    @Test
+    void isAligned_checksStartSlotAndOffsetsInWindow() {
+        Instant jan = Instant.parse("2026-01-01T00:00:00Z");
+        Instant feb = Instant.parse("2026-02-01T00:00:00Z");
+        Instant may = Instant.parse("2026-05-01T00:00:00Z");
+
+        assertThat(CompiledAvailability.isAligned(rule(1, "09:00", "18:00", 60, "Asia/Seoul"), 30, jan, may)).isTrue();
+        assertThat(CompiledAvailability.isAligned(rule(1, "09:00", "18:00", 30, "America/New_York"), 30, jan, may)).isTrue();
+        assertThat(CompiledAvailability.isAligned(rule(1, "09:00", "18:00", 45, "Asia/Seoul"), 30, jan, may)).isFalse();
+        assertThat(CompiledAvailability.isAligned(rule(1, "10:15", "18:00", 30, "Asia/Seoul"), 30, jan, may)).isFalse();
+        assertThat(CompiledAvailability.isAligned(rule(1, "09:00", "18:00", 30, "Asia/Kolkata"), 30, jan, may)).isTrue();
+        assertThat(CompiledAvailability.isAligned(rule(1, "09:00", "18:00", 60, "Asia/Kolkata"), 60, jan, may)).isFalse();
+        assertThat(CompiledAvailability.isAligned(rule(1, "9:00", "18:00", 30, "Asia/Seoul"), 30, jan, may)).isFalse();
+
+        // 로드하우: 여름 +11:00(1시간 칸 OK) → 4/5 부터 +10:30 — 전환이 기간 안에 있을 때만 거절
+        Availability lordHowe = rule(1, "09:00", "18:00", 60, "Australia/Lord_Howe");
+        assertThat(CompiledAvailability.isAligned(lordHowe, 60, jan, feb)).isTrue();
+        assertThat(CompiledAvailability.isAligned(lordHowe, 60, jan, may)).isFalse();
+    }
+
+    // ===== 후보 구간: 생성된 슬롯 + 어긋난 구간 =====
+
+    private static List<SlotDto[]> candidates(List<Availability> rows, LocalDate day, int slot) {
+        Set<SlotDto> out = new LinkedHashSet<>();
+        for (SlotDto s : legacyGenerate(rows, day)) {
+            OffsetDateTime a = s.startAt();
+            OffsetDateTime b = s.endAt();
+            out.add(s);
+            out.add(new SlotDto(a, b.plusMinutes(slot)));                 // 2슬롯
+            out.add(new SlotDto(a.plusMinutes(slot / 2), b.plusMinutes(slot / 2)));
+            out.add(new SlotDto(a.plusMinutes(1), b.plusMinutes(1)));
+            out.add(new SlotDto(a.minusMinutes(slot), b.minusMinutes(slot)));
+            out.add(new SlotDto(a, a));                                    // 길이 0
+            out.add(new SlotDto(a.plusDays(1), b.plusDays(1)));
+            out.add(new SlotDto(a.withOffsetSameInstant(ZoneOffset.UTC), b.withOffsetSameInstant(ZoneOffset.UTC)));
+        }
+        // 규칙 시작 시각을 KST/UTC 로 해석한 구간 (규칙 zone 과 다를 때 불일치해야 함)
+        LocalTime start = LocalTime.parse(rows.get(0).getStartTime(), HM);
+        for (ZoneOffset off : List.of(ZoneOffset.ofHours(9), ZoneOffset.UTC, ZoneOffset.ofHours(-5))) {
+            OffsetDateTime a = OffsetDateTime.of(day, start, off);
+            out.add(new SlotDto(a, a.plusMinutes(slot)));
+        }
+        return out.stream().map(s -> new SlotDto[]{s}).toList();
+    }
+
+    private static void forEachDay(java.util.function.Consumer<LocalDate> body) {
+        for (LocalDate[] p : PERIODS) {
+            for (LocalDate d = p[0]; !d.isAfter(p[1]); d = d.plusDays(1)) body.accept(d);
+        }
+    }
+
+    private static List<Availability> everyWeekday(Object[] w, String zone) {
+        List<Availability> rows = new ArrayList<>();
+        for (int wd = 1; wd <= 7; wd++) rows.add(rule(wd, (String) w[0], (String) w[1], (int) w[2], zone));
+        return rows;
+    }
+
+    private static Availability rule(int weekday, String start, String end, int slot, String zone) {
+        return Availability.builder()
+                .weekday(weekday)
+                .startTime(start)
+                .endTime(end)
+                .slotMinutes(slot)
+                .zoneId(zone)
+                .build();
+    }
+
+    // ===== 예전 구현 (d0aca83 이전 AvailabilityService 그대로) =====
+
+    private static boolean legacyFitsAny(List<Availability> rows, OffsetDateTime startAt, OffsetDateTime endAt) {
+        return rows.stream().anyMatch(av -> legacyFits(av, startAt, endAt));
+    }
+
+    private static boolean legacyFits(Availability av, OffsetDateTime startAt, OffsetDateTime endAt) {
+        String zoneStr = (av.getZoneId() != null && !av.getZoneId().isBlank())
+                ? av.getZoneId() : "Asia/Seoul";
+        ZoneId zone = ZoneId.of(zoneStr);
+
+        ZonedDateTime startZ = startAt.atZoneSameInstant(zone);
+        ZonedDateTime endZ = endAt.atZoneSameInstant(zone);
+
+        if (!startZ.toLocalDate().equals(endZ.toLocalDate())) return false;
+        if (startZ.getDayOfWeek().getValue() != av.getWeekday()) return false;
+
+        LocalTime availStart = legacyParseHm(av.getStartTime());
+        LocalTime availEnd = legacyParseHm(av.getEndTime());
+        if (availStart == null || availEnd == null) return false;
+
+        LocalTime s = startZ.toLocalTime();
+        LocalTime e = endZ.toLocalTime();
+
+        if (s.isBefore(availStart)) return false;
+        if (e.isAfter(availEnd)) return false;
+
+        int slot = av.getSlotMinutes();
+        if (slot <= 0) return false;
+
+        long minutes = Duration.between(s, e).toMinutes();
+        if (minutes <= 0 || minutes % slot != 0) return false;
+
+        long startOffset = Duration.between(availStart, s).toMinutes();
+        long endOffset = Duration.between(availStart, e).toMinutes();
+        return (startOffset % slot == 0) && (endOffset % slot == 0);
+    }
+
+    private static List<SlotDto> legacyGenerate(List<Availability> availList, LocalDate day) {
+        List<SlotDto> out = new ArrayList<>();
+        int wd = day.getDayOfWeek().getValue();
+        for (var av : availList) {
+            if (av.getWeekday() != wd) continue;
+
+            var zone = (av.getZoneId() != null && !av.getZoneId().isBlank())
+                    ? ZoneId.of(av.getZoneId()) : ZoneId.systemDefault();
+
+            var availStart = legacyParseHm(av.getStartTime());
+            var availEnd = legacyParseHm(av.getEndTime());
+            if (availStart == null || availEnd == null) continue;
+
+            var slot = Duration.ofMinutes(av.getSlotMinutes());
+            for (var t = availStart; !t.plus(slot).isAfter(availEnd); t = t.plus(slot)) {
+                var startZdt = ZonedDateTime.of(day, t, zone);
+                var endZdt = startZdt.plus(slot);
+                out.add(new SlotDto(startZdt.toOffsetDateTime(), endZdt.toOffsetDateTime()));
+            }
+        }
+        return out;
+    }
+
+    private static LocalTime legacyParseHm(String v) {
+        if (v == null || v.isBlank()) return null;
+        try { return LocalTime.parse(v, HM); } catch (Exception e) { return null; }
+    }
+}
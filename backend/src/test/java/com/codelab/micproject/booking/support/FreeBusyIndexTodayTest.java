@@ -0,0 +1,90 @@
+package com.codelab.micproject.booking.support;
+
+import com.codelab.micproject.account.consultant.repository.ConsultantMetaRepository;
+import com.codelab.micproject.account.user.domain.User;
+import com.codelab.micproject.account.user.domain.UserRole;
+import com.codelab.micproject.account.user.repository.UserRepository;
+import com.codelab.micproject.booking.dto.SlotDto;
+import com.codelab.micproject.booking.repository.AppointmentSlotClaimRepository;
+import com.codelab.micproject.booking.repository.AvailableSlotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 오늘 검색은 현재 시각 이후 칸만 본다 (지난 칸이 빈 칸으로 잡히지 않음)
+ */
+class FreeBusyIndexTodayTest {
+
+    private static final int GRANULE = 30;
+
+    FreeBusyIndex index;
+    LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        AvailableSlotRepository slotRepository = mock(AvailableSlotRepository.class);
+        AppointmentSlotClaimRepository claimRepository = mock(AppointmentSlotClaimRepository.class);
+
+        User consultant = User.builder().id(1L).role(UserRole.CONSULTANT).build();
+        when(userRepository.findByRoleAndEnabled(UserRole.CONSULTANT, true)).thenReturn(List.of(consultant));
+
+        // 오늘 하루 전체 + 내일 전체가 가용
+        today = LocalDate.now(FreeBusyIndex.KST);
+        LocalDateTime from = today.atStartOfDay();
+        List<Object[]> rows = List.<Object[]>of(new Object[]{1L, from, from.plusDays(2)});
+        when(slotRepository.findRowsOverlapping(any(), any())).thenReturn(rows);
+        when(claimRepository.findRowsInRange(anyLong(), anyLong())).thenReturn(List.of());
+
+        index = new FreeBusyIndex(userRepository, mock(ConsultantMetaRepository.class),
+                slotRepository, claimRepository, GRANULE, 7);
+        index.rebuild();
+    }
+
+    @Test
+    void todaySearch_startsAtNowRoundedUpToGranule() {
+        OffsetDateTime before = OffsetDateTime.now(FreeBusyIndex.KST);
+
+        List<FreeBusyIndex.Match> matches = index.search(today, 0, 1440, FreeBusyIndex.Mode.ANY, null, null, 10);
+
+        if (matches.isEmpty()) return; // 자정 직전이라 오늘 남은 칸이 없음
+        List<SlotDto> ranges = matches.get(0).freeRanges();
+        assertThat(ranges).isNotEmpty();
+        OffsetDateTime firstStart = ranges.get(0).startAt();
+        assertThat(firstStart).isAfterOrEqualTo(before.withSecond(0).withNano(0));
+        assertThat(firstStart.getMinute() % GRANULE).isZero();
+    }
+
+    @Test
+    void todayAllMode_ignoresPastCells() {
+        // 자정부터 잡아도 지난 칸 때문에 ALL 이 실패하지 않음 (남은 칸이 없으면 빈 결과)
+        List<FreeBusyIndex.Match> matches = index.search(today, 0, 1440, FreeBusyIndex.Mode.ALL, null, null, 10);
+
+        LocalDateTime now = LocalDateTime.now(FreeBusyIndex.KST);
+        if (now.getHour() == 23 && now.getMinute() >= 60 - GRANULE) {
+            assertThat(matches).isEmpty();
+        } else {
+            assertThat(matches).extracting(FreeBusyIndex.Match::consultantId).containsExactly(1L);
+        }
+    }
+
+    @Test
+    void futureDay_searchesWholeRange() {
+        List<FreeBusyIndex.Match> matches = index.search(today.plusDays(1), 0, 1440, FreeBusyIndex.Mode.ALL, null, null, 10);
+
+        assertThat(matches).hasSize(1);
+        assertThat(matches.get(0).freeRanges()).hasSize(1);
+        assertThat(matches.get(0).freeRanges().get(0).startAt().toLocalTime().toSecondOfDay()).isZero();
+    }
+}
@@ -0,0 +1,214 @@
+package com.codelab.micproject.common.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.ServerSocket;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * email_outbox → EmailOutboxWorker → 로컬 가짜 SMTP(GreenMail)
+ * - 저장소는 메모리 대역(lockDue/markSent/findById), 서비스/워커/메일 조립은 실제 코드
+ * - 실패 → 백오프 → 재시도 성공, 재시도 초과 → FAILED, 대량 발송 처리량(sends/sec)
+ */
+class EmailOutboxWorkerSmtpTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxWorkerSmtpTest.class);
+
+    // 로컬 SMTP 상대 처리량 하한 (CI 편차를 감안한 느슨한 값 — 워커가 건별로 막히지 않는지 확인)
+    private static final double MIN_SENDS_PER_SEC = 20;
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP.dynamicPort());
+
+    private final Map<Long, EmailOutbox> rows = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    private JavaMailSenderImpl gmail;
+    private EmailOutboxService outbox;
+    private EmailService emailService;
+    private EmailOutboxWorker worker;
+    private int deadPort;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        try (ServerSocket s = new ServerSocket(0)) {
+            deadPort = s.getLocalPort(); // 닫힌 포트 → 연결 거부
+        }
+        gmail = smtp(greenMail.getSmtp().getPort());
+        JavaMailSenderImpl naver = smtp(greenMail.getSmtp().getPort());
+
+        outbox = new EmailOutboxService(inMemoryRepository());
+        ReflectionTestUtils.setField(outbox, "maxAttempts", 8);
+        ReflectionTestUtils.setField(outbox, "backoffBaseSec", 30L);
+
+        EmailTemplateRegistry templates = new EmailTemplateRegistry(false);
+        templates.load();
+        emailService = new EmailService(gmail, naver, outbox, templates);
+        ReflectionTestUtils.setField(emailService, "gmailFrom", "noreply@careerfit.test");
+        ReflectionTestUtils.setField(emailService, "naverFrom", "noreply@careerfit.test");
+        ReflectionTestUtils.setField(emailService, "fromName", "CareerFit");
+
+        worker = new EmailOutboxWorker(outbox, emailService, 20, 2, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.shutdown();
+    }
+
+    @Test
+    @DisplayName("SMTP 실패 → 백오프 동안 재시도 안 함 → 시각 경과 후 재시도 성공(SENT)")
+    void retryWithBackoffThenSent() {
+        gmail.setPort(deadPort);
+        for (int i = 0; i < 3; i++) outbox.enqueue(EmailService.Provider.GMAIL, "user" + i + "@test.com", "hello " + i, "<p>hi</p>");
+
+        LocalDateTime before = LocalDateTime.now();
+        worker.poll();
+        await(() -> rows.values().stream().allMatch(o -> o.getAttempts() == 1 && o.getStatus() == EmailOutbox.Status.PENDING));
+        for (EmailOutbox o : rows.values()) {
+            assertThat(o.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(29));
+            assertThat(o.getNextAttemptAt()).isBefore(LocalDateTime.now().plusSeconds(31));
+            assertThat(o.getLastError()).isNotBlank();
+        }
+
+        // 백오프 중에는 선점되지 않음
+        gmail.setPort(greenMail.getSmtp().getPort());
+        worker.poll();
+        sleep(200);
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        assertThat(rows.values()).allMatch(o -> o.getStatus() == EmailOutbox.Status.PENDING);
+
+        // 백오프 경과
+        rows.values().forEach(o -> o.setNextAttemptAt(LocalDateTime.now().minusSeconds(1)));
+        worker.poll();
+        await(() -> rows.values().stream().allMatch(o -> o.getStatus() == EmailOutbox.Status.SENT));
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(3);
+        assertThat(rows.values()).allMatch(o -> o.getSentAt() != null && o.getLastError() == null && o.getAttempts() == 1);
+    }
+
+    @Test
+    @DisplayName("재시도 횟수 초과 시 FAILED")
+    void giveUpAfterMaxAttempts() {
+        ReflectionTestUtils.setField(outbox, "maxAttempts", 2);
+        gmail.setPort(deadPort);
+        outbox.enqueue(EmailService.Provider.GMAIL, "user@test.com", "hello", "<p>hi</p>");
+        EmailOutbox row = rows.values().iterator().next();
+
+        worker.poll();
+        await(() -> row.getAttempts() == 1);
+        assertThat(row.getStatus()).isEqualTo(EmailOutbox.Status.PENDING);
+
+        row.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        worker.poll();
+        await(() -> row.getStatus() == EmailOutbox.Status.FAILED);
+        assertThat(row.getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("대량 발송: 전부 SENT, 처리량 하한 이상")
+    void throughput() {
+        int n = 300;
+        for (int i = 0; i < n; i++) {
+            String to = (i % 3 == 0) ? "user" + i + "@naver.com" : "user" + i + "@gmail.com";
+            emailService.sendHtmlAutoFrom(to, "bulk " + i, "<p>bulk</p>");
+        }
+
+        long started = System.nanoTime();
+        await(() -> {
+            worker.poll();
+            return rows.values().stream().allMatch(o -> o.getStatus() == EmailOutbox.Status.SENT);
+        });
+        double sec = (System.nanoTime() - started) / 1e9;
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(n);
+        log.info("outbox → fake SMTP: {} mails in {}s ({} sends/sec)", n, String.format("%.2f", sec), Math.round(n / sec));
+        assertThat(n / sec).isGreaterThanOrEqualTo(MIN_SENDS_PER_SEC);
+    }
+
+    // ---------------------------------------------------------------
+
+    private static JavaMailSenderImpl smtp(int port) {
+        JavaMailSenderImpl s = new JavaMailSenderImpl();
+        s.setHost("127.0.0.1");
+        s.setPort(port);
+        s.setProtocol("smtp");
+        Properties p = s.getJavaMailProperties();
+        p.put("mail.smtp.connectiontimeout", "1000");
+        p.put("mail.smtp.timeout", "3000");
+        return s;
+    }
+
+    /** JPA 대신 메모리에서 lockDue / markSent / findById / save 흉내 */
+    private EmailOutboxRepository inMemoryRepository() {
+        EmailOutboxRepository repo = mock(EmailOutboxRepository.class);
+        when(repo.save(any(EmailOutbox.class))).thenAnswer(inv -> {
+            EmailOutbox o = inv.getArgument(0);
+            if (o.getId() == null) o.setId(ids.incrementAndGet());
+            o.onCreate();
+            rows.put(o.getId(), o);
+            return o;
+        });
+        when(repo.findById(anyLong())).thenAnswer(inv -> Optional.ofNullable(rows.get((Long) inv.getArgument(0))));
+        when(repo.lockDue(anyString(), any(LocalDateTime.class), anyInt())).thenAnswer(inv -> {
+            String provider = inv.getArgument(0);
+            LocalDateTime now = inv.getArgument(1);
+            int limit = inv.getArgument(2);
+            synchronized (rows) {
+                return rows.values().stream()
+                        .filter(o -> o.getStatus() == EmailOutbox.Status.PENDING
+                                && o.getProvider().name().equals(provider)
+                                && !o.getNextAttemptAt().isAfter(now))
+                        .sorted(Comparator.comparing(EmailOutbox::getId))
+                        .limit(limit)
+                        .toList();
+            }
+        });
+        when(repo.markSent(anyList(), any(LocalDateTime.class))).thenAnswer(inv -> {
+            List<Long> sentIds = inv.getArgument(0);
+            LocalDateTime now = inv.getArgument(1);
+            for (Long id : sentIds) {
+                EmailOutbox o = rows.get(id);
+                o.setStatus(EmailOutbox.Status.SENT);
+                o.setSentAt(now);
+                o.setLastError(null);
+            }
+            return sentIds.size();
+        });
+        return repo;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 20_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) throw new AssertionError("timed out waiting for outbox state");
+            sleep(20);
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.codelab.micproject.common.mail;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 컴파일된 템플릿 렌더링 == 예전 String.replace 체인 결과 (바이트 단위 동일)
+ */
+class EmailTemplateRegistryTest {
+
+    EmailTemplateRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new EmailTemplateRegistry(false);
+        registry.load();
+    }
+
+    @Test
+    void emailVerify_matchesLegacyReplaceChain() throws IOException {
+        String raw = read("templates/email-verify.html");
+        for (String displayName : List.of("회원", "홍길동", "O'Brien <b>&amp;</b>", "$1 \\ back-ref")) {
+            Map<String, String> values = verifyValues(displayName, "https://careerfit.test/verify?token=abc%2Bdef");
+
+            assertThat(registry.render(EmailTemplateRegistry.EMAIL_VERIFY, values))
+                    .isEqualTo(legacy(raw, values));
+        }
+    }
+
+    @Test
+    void emailVerify_leavesNoKnownPlaceholder() {
+        String html = registry.render(EmailTemplateRegistry.EMAIL_VERIFY, verifyValues("회원", "https://x.test/v"));
+
+        assertThat(html).doesNotContain("{{appName}}", "{{displayName}}", "{{verifyUrl}}", "{{year}}");
+        assertThat(html).contains("https://x.test/v");
+    }
+
+    @Test
+    void parse_matchesReplaceChain_onEdgeCases() {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("a", "A");
+        values.put("b", "");
+        for (String src : List.of(
+                "",
+                "no placeholders",
+                "{{a}}",
+                "{{a}}{{a}}{{b}}",
+                "x{{a}}y{{missing}}z",   // 값 없는 placeholder 는 그대로
+                "open {{a only",         // 닫히지 않은 중괄호
+                "}} {{ {{a}}",
+                "{{{a}}}")) {
+            assertThat(EmailTemplateRegistry.CompiledTemplate.parse(src).render(values))
+                    .as(src)
+                    .isEqualTo(legacy(src, values));
+        }
+    }
+
+    @Test
+    void inlineLogo_isCachedBytes() throws IOException {
+        assertThat(registry.inline(EmailTemplateRegistry.LOGO_CID))
+                .isEqualTo(readBytes("templates/mail/careerfit-logo.png"));
+    }
+
+    /** 예전 EmailService 의 치환 방식 */
+    private static String legacy(String src, Map<String, String> values) {
+        String out = src;
+        for (var e : values.entrySet()) out = out.replace("{{" + e.getKey() + "}}", e.getValue());
+        return out;
+    }
+
+    private static Map<String, String> verifyValues(String displayName, String verifyUrl) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("appName", "CareerFit");
+        values.put("displayName", displayName);
+        values.put("verifyUrl", verifyUrl);
+        values.put("year", "2026");
+        return values;
+    }
+
+    private static String read(String path) throws IOException {
+        return new String(readBytes(path), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(String path) throws IOException {
+        try (InputStream is = new ClassPathResource(path).getInputStream()) {
+            return is.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.codelab.micproject.payment.job;
+
+import com.codelab.micproject.common.http.OutboundHttpClients;
+import com.codelab.micproject.payment.gateway.PortOnePaymentGateway;
+import com.codelab.micproject.payment.gateway.PortOnePaymentInfo;
+import com.codelab.micproject.payment.portone.PortOneStubServer;
+import com.codelab.micproject.payment.portone.PortOneWebhookService;
+import com.codelab.micproject.payment.repository.PaymentRepository;
+import com.codelab.micproject.payment.service.PaymentService;
+import com.codelab.micproject.payment.service.PaymentService.ReconcileOutcome;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * PENDING 결제 대사 — PortOne 스텁 서버 상대로 처리량(복수 조회 묶음)과 호출 속도/동시성 제한 확인
+ */
+class PaymentReconcileJobStubTest {
+
+    PortOneStubServer stub;
+    OutboundHttpClients http;
+    PortOnePaymentGateway gateway;
+
+    PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    PaymentService paymentService = mock(PaymentService.class);
+    PortOneWebhookService webhookService = mock(PortOneWebhookService.class);
+    StringRedisTemplate redis = mock(StringRedisTemplate.class);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new PortOneStubServer()
+                // 복수 조회: imp_uid[] 마다 paid 한 건
+                .route("/payments", (token, query) -> PortOneStubServer.Reply.ok(Arrays.stream(query.split("&"))
+                        .map(kv -> URLDecoder.decode(kv, StandardCharsets.UTF_8))
+                        .filter(kv -> kv.startsWith("imp_uid[]="))
+                        .map(kv -> kv.substring("imp_uid[]=".length()))
+                        .map(imp -> payment(imp, "m_" + imp.substring(4)))
+                        .collect(Collectors.joining(",", "[", "]"))))
+                // merchant_uid 조회: 결제 시도 있음 (ready)
+                .route("/payments/find/", token -> PortOneStubServer.Reply.ok(
+                        "{\"imp_uid\":\"imp_x\",\"merchant_uid\":\"m_x\",\"status\":\"ready\",\"amount\":1000}"));
+        http = stub.httpClients();
+        gateway = new PortOnePaymentGateway(stub.tokenManager(http), http);
+
+        when(redis.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(1L); // 리스 획득
+        when(paymentService.reconcile(anyString(), any(), anyBoolean())).thenReturn(ReconcileOutcome.PAID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void knownImpUids_areLookedUpInBatches() throws Exception {
+        pending(500, true);
+        PaymentReconcileJob job = job(200, 50, 4, 50);
+
+        runToEnd(job);
+
+        // 500건 → 50건씩 묶음 10회 (건별 조회였다면 500회)
+        assertThat(stub.apiRequestNanos()).hasSize(10);
+        verify(paymentService, times(500)).reconcile(anyString(), argThat(i -> i != null && "paid".equals(i.status())), eq(false));
+        assertThat(job.stats()).containsEntry("scanned", 500L).containsEntry("paid", 500L).containsEntry("lookupErrors", 0L);
+    }
+
+    @Test
+    void merchantUidLookups_respectRateAndConcurrency() throws Exception {
+        int n = 30;
+        int ratePerSec = 20;   // 호출 시작 간격 50ms
+        int concurrency = 2;
+        stub.latency(120);
+        pending(n, false);
+        PaymentReconcileJob job = job(200, 50, concurrency, ratePerSec);
+
+        runToEnd(job);
+
+        List<Long> starts = stub.apiRequestNanos();
+        assertThat(starts).hasSize(n);
+        assertThat(stub.maxInFlight()).isLessThanOrEqualTo(concurrency);
+        long spanMs = (starts.get(n - 1) - starts.get(0)) / 1_000_000;
+        assertThat(spanMs).isGreaterThanOrEqualTo((long) ((n - 1) * (1000 / ratePerSec) * 0.9));
+        verify(paymentService, times(n)).reconcile(anyString(), any(), eq(false));
+    }
+
+    @Test
+    void legacyOutcome_isAppliedThroughWebhookPath() throws Exception {
+        pending(3, true);
+        when(paymentService.reconcile(eq("m_2"), any(), anyBoolean())).thenReturn(ReconcileOutcome.LEGACY);
+
+        runToEnd(job(200, 50, 4, 50));
+
+        verify(webhookService).applyVerified(eq("m_2"), argThat((PortOnePaymentInfo i) -> "imp_2".equals(i.impUid())));
+        verify(webhookService, times(1)).applyVerified(anyString(), any());
+    }
+
+    // ===== helpers =====
+
+    private PaymentReconcileJob job(int pageSize, int lookupChunk, int concurrency, int ratePerSec) {
+        return new PaymentReconcileJob(paymentRepository, paymentService, gateway, webhookService, redis,
+                600_000, 10, 1440, pageSize, lookupChunk, concurrency, ratePerSec);
+    }
+
+    /** id 1..n 의 오래된 PENDING 결제, withImp 면 imp_uid 도 앎 */
+    private void pending(int n, boolean withImp) {
+        List<Object[]> rows = new ArrayList<>();
+        OffsetDateTime createdAt = OffsetDateTime.now().minusHours(1);
+        for (long id = 1; id <= n; id++) {
+            rows.add(new Object[]{id, "m_" + id, withImp ? "imp_" + id : null, createdAt});
+        }
+        when(paymentRepository.findStalePendingAfter(anyLong(), any(), any())).thenAnswer(inv -> {
+            long afterId = inv.getArgument(0);
+            int size = inv.<Pageable>getArgument(2).getPageSize();
+            return rows.stream().filter(r -> (Long) r[0] > afterId).limit(size).toList();
+        });
+    }
+
+    private static void runToEnd(PaymentReconcileJob job) throws InterruptedException {
+        job.trigger();
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (job.isRunning() && System.currentTimeMillis() < deadline) Thread.sleep(20);
+        assertThat(job.isRunning()).isFalse();
+    }
+
+    private static String payment(String impUid, String merchantUid) {
+        return "{\"imp_uid\":\"" + impUid + "\",\"merchant_uid\":\"" + merchantUid + "\",\"status\":\"paid\",\"amount\":1000}";
+    }
+}
@@ -0,0 +1,159 @@
+package com.codelab.micproject.payment.portone;
+
+import com.codelab.micproject.common.http.OutboundHttpClients;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 테스트용 PortOne 스텁 (JDK HttpServer, 외부 의존 없음)
+ * - POST /users/getToken: 호출마다 새 토큰 (tok-1, tok-2, ...)
+ * - 그 외 경로: route 로 등록한 핸들러 (요청 토큰[, 쿼리]를 받아 [status, body] 반환, "/" 로 끝나면 접두 경로)
+ * - revoke(token) 한 토큰은 모든 경로에서 401
+ * - latency(ms) 로 응답 지연, 동시 처리 최대치 / 요청 시각 기록 (동시성·속도 제한 검증용)
+ */
+public class PortOneStubServer implements AutoCloseable {
+
+    public record Reply(int status, String body) {
+        public static Reply ok(String response) {
+            return new Reply(200, "{\"code\":0,\"message\":null,\"response\":" + response + "}");
+        }
+    }
+
+    private final HttpServer server;
+    private final Map<String, BiFunction<String, String, Reply>> routes = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> revoked = new ConcurrentHashMap<>();
+    private final AtomicInteger tokenIssued = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final List<Long> apiRequestNanos = new CopyOnWriteArrayList<>();
+    private volatile long latencyMs;
+
+    public PortOneStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(32));
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /** 경로(쿼리 제외) → 핸들러 */
+    public PortOneStubServer route(String path, Function<String, Reply> handler) {
+        routes.put(path, (token, query) -> handler.apply(token));
+        return this;
+    }
+
+    /** 쿼리(디코딩된 원문)까지 받는 핸들러 */
+    public PortOneStubServer route(String path, BiFunction<String, String, Reply> handler) {
+        routes.put(path, handler);
+        return this;
+    }
+
+    public PortOneStubServer latency(long ms) {
+        this.latencyMs = ms;
+        return this;
+    }
+
+    /** 토큰 발급을 제외한 API 호출 시작 시각 (nanoTime, 도착 순) */
+    public List<Long> apiRequestNanos() {
+        return apiRequestNanos;
+    }
+
+    public int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    public void revoke(String token) {
+        revoked.put(token, true);
+    }
+
+    public int tokensIssued() {
+        return tokenIssued.get();
+    }
+
+    public int requests() {
+        return requests.get();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /** 이 스텁을 바라보는 OutboundHttpClients */
+    public OutboundHttpClients httpClients() {
+        return new OutboundHttpClients(new MockEnvironment()
+                .withProperty("app.http.portone.base-url", baseUrl()));
+    }
+
+    public PortOneTokenManager tokenManager(OutboundHttpClients http) {
+        return new PortOneTokenManager(http, "key", "secret", 60, 300);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    /** 정확히 일치하는 경로, 없으면 "/" 로 끝나는 가장 긴 접두 경로 (예: "/payments/find/") */
+    private BiFunction<String, String, Reply> handlerFor(String path) {
+        BiFunction<String, String, Reply> h = routes.get(path);
+        if (h != null) return h;
+        String best = null;
+        for (String key : routes.keySet()) {
+            if (key.endsWith("/") && path.startsWith(key) && (best == null || key.length() > best.length())) best = key;
+        }
+        return best == null ? null : routes.get(best);
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        requests.incrementAndGet();
+        String path = ex.getRequestURI().getPath();
+        Reply reply;
+        if (path.equals("/users/getToken")) {
+            String token = "tok-" + tokenIssued.incrementAndGet();
+            long expiredAt = System.currentTimeMillis() / 1000 + 1800;
+            reply = Reply.ok("{\"access_token\":\"" + token + "\",\"expired_at\":" + expiredAt + "}");
+        } else {
+            apiRequestNanos.add(System.nanoTime());
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                if (latencyMs > 0) sleep(latencyMs);
+                String auth = ex.getRequestHeaders().getFirst("Authorization");
+                String token = auth == null ? "" : auth.replaceFirst("^Bearer ", "");
+                BiFunction<String, String, Reply> h = handlerFor(path);
+                if (revoked.containsKey(token)) reply = new Reply(401, "{\"code\":-1,\"message\":\"Unauthorized\"}");
+                else if (h == null) reply = new Reply(404, "{\"code\":1,\"message\":\"not found\"}");
+                else reply = h.apply(token, ex.getRequestURI().getQuery());
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+        byte[] bytes = reply.body().getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(reply.status(), bytes.length);
+        try (OutputStream os = ex.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+}
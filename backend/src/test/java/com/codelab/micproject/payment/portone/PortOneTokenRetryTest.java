@@ -0,0 +1,86 @@
+package com.codelab.micproject.payment.portone;
+
+import com.codelab.micproject.common.http.OutboundHttpClients;
+import com.codelab.micproject.payment.gateway.PortOnePaymentGateway;
+import com.codelab.micproject.payment.gateway.PortOnePaymentInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 캐시 토큰이 서버에서 먼저 무효가 된 경우: 401 → 토큰 폐기 → 새 토큰으로 한 번만 재시도
+ */
+class PortOneTokenRetryTest {
+
+    private static final String PAYMENT = "{\"imp_uid\":\"imp_1\",\"merchant_uid\":\"m_1\",\"status\":\"paid\",\"amount\":1000}";
+
+    PortOneStubServer stub;
+    OutboundHttpClients http;
+    PortOneTokenManager tokenManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new PortOneStubServer()
+                .route("/payments/imp_1", token -> PortOneStubServer.Reply.ok(PAYMENT))
+                .route("/payments/cancel", token -> PortOneStubServer.Reply.ok(PAYMENT));
+        http = stub.httpClients();
+        tokenManager = stub.tokenManager(http);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void clientQuery_retriesOnceWithFreshToken() {
+        String cached = tokenManager.getAccessToken();
+        stub.revoke(cached);
+
+        Map<String, Object> res = new PortOneClient(http, tokenManager).getPaymentByImpUid(cached, "imp_1");
+
+        assertThat(res).containsEntry("status", "paid");
+        assertThat(stub.tokensIssued()).isEqualTo(2);
+        assertThat(tokenManager.stats()).containsEntry("unauthorizedRetries", 1L);
+        assertThat(tokenManager.getAccessToken()).isNotEqualTo(cached); // 폐기된 토큰은 다시 쓰지 않음
+    }
+
+    @Test
+    void clientCancel_retriesOnceWithFreshToken() {
+        String cached = tokenManager.getAccessToken();
+        stub.revoke(cached);
+
+        new PortOneClient(http, tokenManager).cancelPayment(cached, "imp_1", "m_1", BigDecimal.valueOf(1000), "test");
+
+        assertThat(stub.tokensIssued()).isEqualTo(2);
+    }
+
+    @Test
+    void gatewayFetch_retriesOnceWithFreshToken() {
+        stub.revoke(tokenManager.getAccessToken());
+
+        PortOnePaymentInfo info = new PortOnePaymentGateway(tokenManager, http).fetchPayment("imp_1").block();
+
+        assertThat(info).isNotNull();
+        assertThat(info.isPaidFor("m_1", 1000)).isTrue();
+        assertThat(stub.tokensIssued()).isEqualTo(2);
+    }
+
+    @Test
+    void persistent401_isNotRetriedForever() {
+        PortOneStubServer.Reply denied = new PortOneStubServer.Reply(401, "{\"code\":-1}");
+        stub.route("/payments/imp_1", token -> denied);
+
+        assertThatThrownBy(() -> new PortOneClient(http, tokenManager).getPaymentByImpUid(tokenManager.getAccessToken(), "imp_1"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("PORTONE_PAYMENT_QUERY_ERROR");
+        assertThat(stub.tokensIssued()).isEqualTo(2);
+        assertThat(tokenManager.stats()).containsEntry("unauthorizedRetries", 1L);
+    }
+}
@@ -0,0 +1,218 @@
+package com.codelab.micproject.payment.portone;
+
+import com.codelab.micproject.account.user.domain.User;
+import com.codelab.micproject.account.user.repository.UserRepository;
+import com.codelab.micproject.booking.domain.Appointment;
+import com.codelab.micproject.booking.domain.AppointmentStatus;
+import com.codelab.micproject.booking.repository.AppointmentRepository;
+import com.codelab.micproject.booking.service.AppointmentLifecycleService;
+import com.codelab.micproject.booking.service.SlotClaimService;
+import com.codelab.micproject.payment.domain.*;
+import com.codelab.micproject.payment.gateway.PortOnePaymentGateway;
+import com.codelab.micproject.payment.gateway.PortOnePaymentInfo;
+import com.codelab.micproject.payment.repository.OrderRepository;
+import com.codelab.micproject.payment.repository.PaymentRepository;
+import com.codelab.micproject.payment.repository.RefundRepository;
+import com.codelab.micproject.payment.service.PaymentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 웹훅: 주문 결제(체크아웃)와 주문 없는 결제(구 방식) 분기
+ */
+class PortOneWebhookOrderFlowTest {
+
+    private static final String MERCHANT_UID = "CF-ORD-1-1";
+
+    PortOnePaymentGateway gateway = mock(PortOnePaymentGateway.class);
+    TransactionTemplate tx = mock(TransactionTemplate.class);
+    PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+    UserRepository userRepository = mock(UserRepository.class);
+    OrderRepository orderRepository = mock(OrderRepository.class);
+    RefundRepository refundRepository = mock(RefundRepository.class);
+    SlotClaimService slotClaimService = mock(SlotClaimService.class);
+    AppointmentLifecycleService lifecycleService = mock(AppointmentLifecycleService.class);
+    PaymentService paymentService = mock(PaymentService.class);
+
+    PortOneWebhookService service;
+    User consultant = User.builder().id(10L).build();
+    User client = User.builder().id(20L).build();
+
+    @BeforeEach
+    void setUp() {
+        service = new PortOneWebhookService(gateway, tx, paymentRepository, appointmentRepository, userRepository,
+                orderRepository, refundRepository, slotClaimService, lifecycleService, paymentService);
+        when(tx.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(paymentRepository.existsByMerchantUid(MERCHANT_UID)).thenReturn(true);
+    }
+
+    // ===== 주문 결제 =====
+
+    @Test
+    void orderPaid_goesThroughConfirmPath_withoutLegacyClaim() {
+        Payment pay = orderPayment(PaymentStatus.PENDING, AppointmentStatus.REQUESTED);
+        PortOnePaymentInfo info = info("paid");
+        when(paymentService.applyVerifiedPayment(MERCHANT_UID, info)).thenReturn(true);
+
+        String note = service.process("imp_1", MERCHANT_UID);
+
+        assertThat(note).isNull();
+        verify(paymentService).applyVerifiedPayment(MERCHANT_UID, info);
+        verify(slotClaimService, never()).tryClaim(any());
+        verify(appointmentRepository, never()).save(any());
+        assertThat(pay.getAppointmentId()).isNull();
+    }
+
+    @Test
+    void orderPaid_slotLost_reportsRefund() {
+        orderPayment(PaymentStatus.PENDING, AppointmentStatus.CANCELLED);
+        PortOnePaymentInfo info = info("paid");
+        when(paymentService.applyVerifiedPayment(MERCHANT_UID, info)).thenReturn(false);
+
+        assertThat(service.process("imp_1", MERCHANT_UID)).isEqualTo("SLOT_TAKEN_REFUNDED");
+    }
+
+    @Test
+    void orderRefunded_cancelsAndReleasesEveryActiveAppointment() {
+        Payment pay = orderPayment(PaymentStatus.PAID, AppointmentStatus.APPROVED);
+        Appointment done = appointment(2L, AppointmentStatus.DONE);
+        pay.getOrder().getAppointments().add(OrderAppointment.builder().order(pay.getOrder()).appointment(done).build());
+        info("cancelled");
+
+        assertThat(service.process("imp_1", MERCHANT_UID)).isNull();
+
+        Appointment active = pay.getOrder().getAppointments().get(0).getAppointment();
+        assertThat(active.getStatus()).isEqualTo(AppointmentStatus.CANCELLED);
+        verify(slotClaimService).release(active);
+        verify(slotClaimService, never()).release(done);
+        assertThat(done.getStatus()).isEqualTo(AppointmentStatus.DONE);
+        assertThat(pay.getStatus()).isEqualTo(PaymentStatus.REFUNDED);
+        assertThat(pay.getOrder().getStatus()).isEqualTo(OrderStatus.REFUNDED);
+        verify(refundRepository).save(any(Refund.class));
+        verify(paymentService, never()).applyVerifiedPayment(any(), any());
+    }
+
+    @Test
+    void orderRefunded_twice_isNoOp() {
+        orderPayment(PaymentStatus.REFUNDED, AppointmentStatus.CANCELLED);
+        info("cancelled");
+
+        service.process("imp_1", MERCHANT_UID);
+
+        verify(slotClaimService, never()).release(any());
+        verify(refundRepository, never()).save(any());
+    }
+
+    // ===== 주문 없는 결제 (구 방식) =====
+
+    @Test
+    void legacyPaid_createsAppointmentAndClaimsIt() {
+        Payment pay = legacyPayment();
+        info("paid");
+        when(userRepository.findById(10L)).thenReturn(Optional.of(consultant));
+        when(userRepository.findById(20L)).thenReturn(Optional.of(client));
+        when(appointmentRepository.save(any(Appointment.class))).thenAnswer(inv -> {
+            Appointment a = inv.getArgument(0);
+            a.setId(77L);
+            return a;
+        });
+        when(slotClaimService.tryClaim(any())).thenReturn(true);
+
+        assertThat(service.process("imp_1", MERCHANT_UID)).isNull();
+
+        verify(slotClaimService).tryClaim(argThat(a -> a.getId() == 77L));
+        assertThat(pay.getAppointmentId()).isEqualTo(77L);
+        assertThat(pay.getStatus()).isEqualTo(PaymentStatus.PAID);
+        verify(paymentService, never()).applyVerifiedPayment(any(), any());
+    }
+
+    @Test
+    void legacyPaid_slotTaken_dropsAppointmentAndFailsPayment() {
+        Payment pay = legacyPayment();
+        info("paid");
+        when(userRepository.findById(any())).thenReturn(Optional.of(consultant));
+        when(appointmentRepository.save(any(Appointment.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(slotClaimService.tryClaim(any())).thenAnswer(inv -> {
+            inv.<Appointment>getArgument(0).setId(78L);
+            return false;
+        });
+
+        service.process("imp_1", MERCHANT_UID);
+
+        verify(appointmentRepository).delete(any(Appointment.class));
+        assertThat(pay.getStatus()).isEqualTo(PaymentStatus.FAILED);
+        assertThat(pay.getAppointmentId()).isNull();
+    }
+
+    // ===== fixtures =====
+
+    private Payment orderPayment(PaymentStatus status, AppointmentStatus appointmentStatus) {
+        Order order = Order.builder()
+                .id(1L)
+                .user(client)
+                .consultant(consultant)
+                .bundleCount(1)
+                .unitPrice(BigDecimal.valueOf(1000))
+                .totalPrice(BigDecimal.valueOf(1000))
+                .status(status == PaymentStatus.PAID ? OrderStatus.PAID : OrderStatus.CREATED)
+                .createdAt(OffsetDateTime.now())
+                .build();
+        order.getAppointments().add(OrderAppointment.builder()
+                .order(order)
+                .appointment(appointment(1L, appointmentStatus))
+                .build());
+        Payment pay = Payment.builder()
+                .merchantUid(MERCHANT_UID)
+                .order(order)
+                .status(status)
+                .amount(BigDecimal.valueOf(1000))
+                .build();
+        when(paymentRepository.findWithLockByMerchantUid(MERCHANT_UID)).thenReturn(Optional.of(pay));
+        return pay;
+    }
+
+    private Payment legacyPayment() {
+        OffsetDateTime start = OffsetDateTime.now().plusDays(3).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        Payment pay = Payment.builder()
+                .merchantUid(MERCHANT_UID)
+                .status(PaymentStatus.PENDING)
+                .amount(BigDecimal.valueOf(1000))
+                .userId(20L)
+                .consultantId(10L)
+                .startAt(start)
+                .endAt(start.plusHours(1))
+                .build();
+        when(paymentRepository.findWithLockByMerchantUid(MERCHANT_UID)).thenReturn(Optional.of(pay));
+        return pay;
+    }
+
+    private Appointment appointment(Long id, AppointmentStatus status) {
+        OffsetDateTime start = OffsetDateTime.now().plusDays(3).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        return Appointment.builder()
+                .id(id)
+                .consultant(consultant)
+                .user(client)
+                .startAt(start)
+                .endAt(start.plusHours(1))
+                .status(status)
+                .build();
+    }
+
+    private PortOnePaymentInfo info(String status) {
+        PortOnePaymentInfo info = new PortOnePaymentInfo("imp_1", MERCHANT_UID, status, 1000,
+                null, null, 0, "card", "html5_inicis", null);
+        when(gateway.getPaymentByImpUid("imp_1")).thenReturn(info);
+        return info;
+    }
+}
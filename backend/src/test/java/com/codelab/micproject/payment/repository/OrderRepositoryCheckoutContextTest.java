@@ -0,0 +1,86 @@
+package com.codelab.micproject.payment.repository;
+
+import com.codelab.micproject.account.user.domain.AuthProvider;
+import com.codelab.micproject.account.user.domain.User;
+import com.codelab.micproject.account.user.domain.UserRole;
+import com.codelab.micproject.booking.domain.Availability;
+import com.codelab.micproject.booking.domain.AvailableSlot;
+import com.codelab.micproject.payment.dto.CheckoutContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 체크아웃 사전 조회: zoneId 는 예전 findByConsultant(..).get(0) 과 같은 첫(최소 id) 규칙의 값
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OrderRepositoryCheckoutContextTest {
+
+    @Autowired TestEntityManager em;
+    @Autowired OrderRepository orderRepository;
+
+    @Test
+    void zoneId_comesFromFirstRule_notAlphabeticalMin() {
+        User consultant = em.persist(user(UserRole.CONSULTANT));
+        User buyer = em.persist(user(UserRole.USER));
+        em.persist(rule(consultant, "Asia/Seoul"));
+        em.persist(rule(consultant, "America/New_York")); // 사전순으로는 더 앞
+        LocalDateTime start = LocalDateTime.of(2026, 10, 19, 10, 0);
+        em.persist(AvailableSlot.builder().consultant(consultant).startAt(start).endAt(start.plusHours(1)).build());
+        em.flush();
+        em.clear();
+
+        CheckoutContext ctx = orderRepository.loadCheckoutContext(consultant.getId(), buyer.getId(), start, start.plusHours(1))
+                .orElseThrow();
+
+        assertThat(ctx.zoneId()).isEqualTo("Asia/Seoul");
+        assertThat(ctx.slotExistsKst()).isTrue();
+        assertThat(ctx.consultantRole()).isEqualTo(UserRole.CONSULTANT);
+        assertThat(ctx.buyerName()).isEqualTo(UserRole.USER.name());
+    }
+
+    @Test
+    void noRules_zoneIdIsNull() {
+        User consultant = em.persist(user(UserRole.CONSULTANT));
+        User buyer = em.persist(user(UserRole.USER));
+        em.flush();
+        em.clear();
+        LocalDateTime start = LocalDateTime.of(2026, 10, 19, 10, 0);
+
+        CheckoutContext ctx = orderRepository.loadCheckoutContext(consultant.getId(), buyer.getId(), start, start.plusHours(1))
+                .orElseThrow();
+
+        assertThat(ctx.zoneId()).isNull();
+        assertThat(ctx.slotExistsKst()).isFalse();
+    }
+
+    private static Availability rule(User consultant, String zone) {
+        return Availability.builder()
+                .consultant(consultant)
+                .weekday(1)
+                .startTime("09:00")
+                .endTime("18:00")
+                .slotMinutes(60)
+                .zoneId(zone)
+                .build();
+    }
+
+    private static User user(UserRole role) {
+        return User.builder()
+                .email(UUID.randomUUID() + "@test.local")
+                .name(role.name())
+                .role(role)
+                .provider(AuthProvider.LOCAL)
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.codelab.micproject.payment.repository;
+
+import com.codelab.micproject.account.user.domain.AuthProvider;
+import com.codelab.micproject.account.user.domain.User;
+import com.codelab.micproject.account.user.domain.UserRole;
+import com.codelab.micproject.payment.domain.Order;
+import com.codelab.micproject.payment.domain.OrderStatus;
+import com.codelab.micproject.payment.domain.Payment;
+import com.codelab.micproject.payment.domain.PaymentStatus;
+import com.codelab.micproject.payment.dto.MyPaymentItem;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내 결제 목록: 주문 없는 결제(구 방식)는 목록에도 count 에도 없어야 함
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PaymentRepositoryMyItemsTest {
+
+    @Autowired TestEntityManager em;
+    @Autowired PaymentRepository paymentRepository;
+
+    @Test
+    void orderlessPayments_areExcludedFromContentAndCount() {
+        User consultant = em.persist(user(UserRole.CONSULTANT));
+        User client = em.persist(user(UserRole.USER));
+        for (int i = 0; i < 3; i++) {
+            Order o = em.persist(Order.builder()
+                    .user(client)
+                    .consultant(consultant)
+                    .bundleCount(1)
+                    .unitPrice(BigDecimal.valueOf(30_000))
+                    .totalPrice(BigDecimal.valueOf(30_000))
+                    .status(OrderStatus.PAID)
+                    .createdAt(OffsetDateTime.now())
+                    .build());
+            em.persist(payment(client, o));
+        }
+        for (int i = 0; i < 2; i++) em.persist(payment(client, null)); // 구 방식
+        em.flush();
+        em.clear();
+
+        Page<MyPaymentItem> page = paymentRepository.findMyPaymentItems(
+                client.getId(), OffsetDateTime.now().plusDays(1), PageRequest.of(0, 2));
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+    }
+
+    private static Payment payment(User client, Order order) {
+        return Payment.builder()
+                .merchantUid(UUID.randomUUID().toString())
+                .order(order)
+                .userId(client.getId())
+                .status(PaymentStatus.PAID)
+                .amount(BigDecimal.valueOf(30_000))
+                .build();
+    }
+
+    private static User user(UserRole role) {
+        return User.builder()
+                .email(UUID.randomUUID() + "@test.local")
+                .name(role.name())
+                .role(role)
+                .provider(AuthProvider.LOCAL)
+                .build();
+    }
+}
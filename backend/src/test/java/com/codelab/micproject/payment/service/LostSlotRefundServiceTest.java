@@ -0,0 +1,110 @@
+package com.codelab.micproject.payment.service;
+
+import com.codelab.micproject.booking.service.SlotHoldService;
+import com.codelab.micproject.payment.domain.*;
+import com.codelab.micproject.payment.portone.PortOneClient;
+import com.codelab.micproject.payment.repository.PaymentRepository;
+import com.codelab.micproject.payment.repository.RefundRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 슬롯을 잃은 결제: 락 트랜잭션에서는 환불 요청만 기록하고, PortOne 취소는 커밋 후 → 결과는 별도 트랜잭션
+ */
+class LostSlotRefundServiceTest {
+
+    RefundRepository refundRepository = mock(RefundRepository.class);
+    PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    PortOneClient portOneClient = mock(PortOneClient.class);
+    PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+    LostSlotRefundService service;
+
+    Order order;
+    Payment payment;
+    Refund saved;
+
+    @BeforeEach
+    void setUp() {
+        service = new LostSlotRefundService(refundRepository, paymentRepository, mock(SlotHoldService.class),
+                portOneClient, txManager);
+        when(txManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+
+        order = Order.builder().id(1L).status(OrderStatus.CREATED).build();
+        payment = Payment.builder()
+                .merchantUid("m_1")
+                .impUid("imp_1")
+                .order(order)
+                .status(PaymentStatus.PAID)
+                .amount(BigDecimal.valueOf(30_000))
+                .build();
+        when(refundRepository.save(any(Refund.class))).thenAnswer(inv -> {
+            saved = inv.getArgument(0);
+            saved.setId(9L);
+            return saved;
+        });
+        when(refundRepository.findById(9L)).thenAnswer(inv -> Optional.of(saved));
+        when(paymentRepository.findWithLockByMerchantUid("m_1")).thenReturn(Optional.of(payment));
+        when(portOneClient.getAccessToken()).thenReturn("token");
+
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void lockedTransaction_recordsRefundRequest_withoutCallingPortOne() {
+        service.markLostAndRefundAfterCommit(payment, order);
+
+        verifyNoInteractions(portOneClient);
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.FAILED);
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELED);
+        assertThat(saved.getStatus()).isEqualTo(RefundStatus.REQUESTED);
+    }
+
+    @Test
+    void afterCommit_cancelsAtPortOne_andCompletesInNewTransaction() {
+        service.markLostAndRefundAfterCommit(payment, order);
+        commit();
+
+        verify(portOneClient).cancelPayment(eq("token"), eq("imp_1"), eq("m_1"), eq(BigDecimal.valueOf(30_000)), anyString());
+        verify(txManager).commit(any());
+        assertThat(saved.getStatus()).isEqualTo(RefundStatus.COMPLETED);
+        assertThat(saved.getCompletedAt()).isNotNull();
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.REFUNDED);
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.REFUNDED);
+        assertThat(service.stats().get("completed")).isEqualTo(1L);
+    }
+
+    @Test
+    void portOneFailure_leavesRefundRequested_forManualRefund() {
+        when(portOneClient.cancelPayment(any(), any(), any(), any(), any()))
+                .thenThrow(new IllegalStateException("PORTONE_CANCEL_ERROR"));
+
+        service.markLostAndRefundAfterCommit(payment, order);
+        commit();
+
+        verify(txManager, never()).getTransaction(any());
+        assertThat(saved.getStatus()).isEqualTo(RefundStatus.REQUESTED);
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.FAILED);
+        assertThat(service.stats().get("failed")).isEqualTo(1L);
+    }
+
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+}
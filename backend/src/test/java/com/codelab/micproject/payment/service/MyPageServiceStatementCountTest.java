@@ -0,0 +1,165 @@
+package com.codelab.micproject.payment.service;
+
+import com.codelab.micproject.account.user.domain.AuthProvider;
+import com.codelab.micproject.account.user.domain.User;
+import com.codelab.micproject.account.user.domain.UserRole;
+import com.codelab.micproject.booking.domain.Appointment;
+import com.codelab.micproject.booking.domain.AppointmentStatus;
+import com.codelab.micproject.payment.domain.*;
+import com.codelab.micproject.payment.dto.OrderView;
+import com.codelab.micproject.payment.repository.OrderRepository;
+import com.codelab.micproject.payment.repository.PaymentRepository;
+import com.codelab.micproject.payment.repository.RefundRepository;
+import com.codelab.micproject.security.oauth2.UserPrincipal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 마이페이지 주문 목록 쿼리 수 회귀 테스트 (Hibernate Statistics)
+ * 페이지당 4회 고정: 주문 id → 주문/예약 fetch → 결제 요약 → 환불 여부 — 주문 수가 늘어도 그대로여야 함 (N+1 방지)
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MyPageServiceStatementCountTest {
+
+    @Autowired TestEntityManager em;
+    @Autowired EntityManagerFactory emf;
+    @Autowired OrderRepository orderRepository;
+    @Autowired PaymentRepository paymentRepository;
+    @Autowired RefundRepository refundRepository;
+
+    MyPageService service;
+    Statistics stats;
+    User consultant;
+    User client;
+
+    @BeforeEach
+    void setUp() {
+        service = new MyPageService(orderRepository, paymentRepository, refundRepository);
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.setStatisticsEnabled(true);
+        consultant = em.persist(user(UserRole.CONSULTANT));
+        client = em.persist(user(UserRole.USER));
+    }
+
+    @Test
+    void onePage_runsFourStatements_regardlessOfOrderCount() {
+        seedOrders(10);
+        long small = statementsFor(() -> service.myOrders(principal(client), null, 10), 10);
+
+        seedOrders(40);
+        long large = statementsFor(() -> service.myOrders(principal(client), null, 50), 50);
+
+        assertThat(small).isEqualTo(4);
+        assertThat(large).isEqualTo(4);
+    }
+
+    @Test
+    void consultantPage_runsFourStatements() {
+        seedOrders(25);
+
+        assertThat(statementsFor(() -> service.myConsultantOrders(principal(consultant), null, 25), 25)).isEqualTo(4);
+    }
+
+    @Test
+    void noPagingParams_returnsEveryOrder() {
+        seedOrders(MyPageService.MAX_PAGE_SIZE + 20);
+
+        // 기존 호출(파라미터 없음)은 첫 50건에서 잘리지 않음, 페이지(100건)마다 4회
+        long n = statementsFor(() -> service.myOrders(principal(client), null, null), MyPageService.MAX_PAGE_SIZE + 20);
+        assertThat(n).isEqualTo(8);
+    }
+
+    @Test
+    void cursor_continuesFromLastOrderId() {
+        seedOrders(15);
+
+        List<OrderView> first = service.myOrders(principal(client), null, 10);
+        List<OrderView> second = service.myOrders(principal(client), first.get(first.size() - 1).id(), 10);
+
+        assertThat(first).hasSize(10);
+        assertThat(second).hasSize(5);
+        assertThat(second.get(0).id()).isLessThan(first.get(first.size() - 1).id());
+    }
+
+    /** 실행 중 준비된 JDBC 문 수 (영속성 컨텍스트를 비워 캐시 적중 없이) */
+    private long statementsFor(Supplier<List<OrderView>> call, int expectedRows) {
+        em.flush();
+        em.clear();
+        stats.clear();
+        List<OrderView> views = call.get();
+        assertThat(views).hasSize(expectedRows);
+        assertThat(views).allSatisfy(v -> assertThat(v.appointments()).hasSize(1));
+        return stats.getPrepareStatementCount();
+    }
+
+    private void seedOrders(int n) {
+        OffsetDateTime start = OffsetDateTime.now().plusDays(7).withMinute(0).withSecond(0).withNano(0);
+        for (int i = 0; i < n; i++) {
+            Appointment a = em.persist(Appointment.builder()
+                    .consultant(consultant)
+                    .user(client)
+                    .startAt(start.plusHours(i))
+                    .endAt(start.plusHours(i + 1))
+                    .status(AppointmentStatus.APPROVED)
+                    .build());
+            Order o = Order.builder()
+                    .user(client)
+                    .consultant(consultant)
+                    .bundleCount(1)
+                    .unitPrice(BigDecimal.valueOf(30_000))
+                    .totalPrice(BigDecimal.valueOf(30_000))
+                    .status(OrderStatus.PAID)
+                    .createdAt(OffsetDateTime.now())
+                    .build();
+            o.getAppointments().add(OrderAppointment.builder().order(o).appointment(a).build());
+            em.persist(o);
+            em.persist(Payment.builder()
+                    .merchantUid(UUID.randomUUID().toString())
+                    .order(o)
+                    .status(PaymentStatus.PAID)
+                    .amount(BigDecimal.valueOf(30_000))
+                    .payMethod("card")
+                    .build());
+            if (i % 3 == 0) {
+                em.persist(Refund.builder()
+                        .order(o)
+                        .amount(BigDecimal.valueOf(30_000))
+                        .status(RefundStatus.COMPLETED)
+                        .createdAt(OffsetDateTime.now())
+                        .build());
+            }
+        }
+    }
+
+    private static UserPrincipal principal(User u) {
+        return new UserPrincipal(u, Map.of());
+    }
+
+    private static User user(UserRole role) {
+        return User.builder()
+                .email(UUID.randomUUID() + "@test.local")
+                .name(role.name())
+                .role(role)
+                .provider(AuthProvider.LOCAL)
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.codelab.micproject.review.service;
+
+import com.codelab.micproject.common.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 피드 커서: 왕복 인코딩, 손상된 커서는 400(BadRequestException)
+ */
+class ReviewFeedCursorTest {
+
+    @Test
+    void roundTrip() {
+        var c = new ReviewService.FeedCursor(OffsetDateTime.parse("2026-10-01T10:15:30+09:00"), 123L);
+
+        assertThat(ReviewService.FeedCursor.decode(c.encode())).isEqualTo(c);
+    }
+
+    @Test
+    void malformedCursor_isBadRequest() {
+        for (String bad : new String[]{"!!!", "bm90LWEtY3Vyc29y", "MjAyNi0xMC0wMXxhYmM"}) {
+            assertThatThrownBy(() -> ReviewService.FeedCursor.decode(bad))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessage("INVALID_CURSOR");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.codelab.micproject.review.support;
+
+import com.codelab.micproject.review.repository.ReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 커밋 후 버전 올림이 실패하면 낡은 버전으로 304 를 내지 않아야 함
+ */
+class ReviewFeedVersionTest {
+
+    private static final Long CONSULTANT = 7L;
+    private static final String KEY = "review:latest:7";
+
+    StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    ValueOperations<String, String> values = mock(ValueOperations.class);
+    ReviewRepository reviewRepository = mock(ReviewRepository.class);
+    ReviewFeedVersion version;
+
+    @BeforeEach
+    void setUp() {
+        when(redis.opsForValue()).thenReturn(values);
+        version = new ReviewFeedVersion(redis, reviewRepository, 86400);
+    }
+
+    @Test
+    void failedRaise_deletesKey() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        version.bumpAfterCommit(CONSULTANT, 42L);
+
+        verify(redis).delete(KEY);
+        assertThat(version.stats()).containsEntry("bumpFailures", 1L).containsEntry("staleKeys", 0);
+    }
+
+    @Test
+    void failedRaiseAndDelete_readsDbUntilKeyIsEvicted() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(redis.delete(KEY)).thenThrow(new RedisConnectionFailureException("down")).thenReturn(true);
+        when(values.get(KEY)).thenReturn("41"); // 올림 전 값이 남아 있음
+        when(reviewRepository.findLatestIdByConsultant(CONSULTANT)).thenReturn(42L);
+
+        version.bumpAfterCommit(CONSULTANT, 42L);
+
+        assertThat(version.latestId(CONSULTANT)).isEqualTo(42L); // 캐시(41) 무시, DEL 재시도 성공
+        verify(values, never()).get(KEY);
+        assertThat(version.stats()).containsEntry("staleKeys", 0);
+    }
+
+    @Test
+    void successfulRaise_keepsKey() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(1L);
+
+        version.bumpAfterCommit(CONSULTANT, 42L);
+
+        verify(redis, never()).delete(anyString());
+        assertThat(version.stats()).containsEntry("bumpFailures", 0L);
+    }
+}
@@ -0,0 +1,134 @@
+package com.codelab.micproject.security.jwt;
+
+import com.codelab.micproject.account.user.domain.User;
+import com.codelab.micproject.account.user.domain.UserRole;
+import com.codelab.micproject.account.user.repository.UserRepository;
+import com.codelab.micproject.auth.blacklist.TokenBlacklist;
+import com.codelab.micproject.security.oauth2.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * JwtAuthenticationFilter + PrincipalCache 정상 상태 DB 조회 수 측정
+ * - 사용자 100명이 요청 20,000건 → users SELECT 는 사용자당 첫 1회뿐 (요청당 ~0)
+ * - 캐시 상한을 넘는 cold-key 폭주에서도 크기 유지 + 미스당 O(1)
+ */
+class JwtFilterPrincipalCacheBenchmarkTest {
+
+    private static final int USERS = 100;
+    private static final int REQUESTS = 20_000;
+
+    private final JwtTokenProvider tokenProvider =
+            new JwtTokenProvider("test", "0123456789abcdef0123456789abcdef", 60, 14);
+
+    @AfterEach
+    void clear() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("정상 상태에서 요청당 users 조회가 ~0 으로 수렴")
+    void steadyStateDbHits() throws Exception {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById(anyLong())).thenAnswer(inv -> Optional.of(user(inv.getArgument(0))));
+        TokenBlacklist blacklist = mock(TokenBlacklist.class);
+        when(blacklist.isBlacklisted(anyString())).thenReturn(false);
+        PrincipalCache cache = new PrincipalCache(60, 10_000);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenProvider, userRepository, blacklist, cache);
+
+        String[] tokens = new String[USERS];
+        for (int i = 0; i < USERS; i++) tokens[i] = tokenProvider.createAccessToken(user(i + 1L));
+
+        for (int i = 0; i < REQUESTS; i++) {
+            MockHttpServletRequest req = new MockHttpServletRequest("GET", "/api/mypage");
+            req.addHeader("Authorization", "Bearer " + tokens[i % USERS]);
+            filter.doFilter(req, new MockHttpServletResponse(), new MockFilterChain());
+            assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+            SecurityContextHolder.clearContext();
+        }
+
+        verify(userRepository, times(USERS)).findById(anyLong());
+        double dbHitsPerRequest = (double) cache.loadCount() / REQUESTS;
+        assertThat(dbHitsPerRequest).isLessThanOrEqualTo(0.005);
+        assertThat(cache.hitCount()).isEqualTo(REQUESTS - USERS);
+    }
+
+    @Test
+    @DisplayName("상한 초과 cold-key 폭주: 크기 유지, 가장 오래 안 쓴 항목부터 제거")
+    void coldKeyFloodStaysBounded() {
+        PrincipalCache cache = new PrincipalCache(60, 1_000);
+        cache.get(1L, id -> principal(id));
+
+        for (long id = 2; id <= 200_000; id++) {
+            cache.get(id, JwtFilterPrincipalCacheBenchmarkTest::principal);
+            if (id % 100 == 0) cache.get(1L, JwtFilterPrincipalCacheBenchmarkTest::principal); // 자주 쓰는 키
+        }
+
+        assertThat(cache.size()).isEqualTo(1_000);
+        assertThat(cache.loadCount()).isEqualTo(199_999 + 1); // 미스마다 정확히 1회 로드, 자주 쓰는 키는 첫 1회만
+        long loadsBefore = cache.loadCount();
+        cache.get(1L, JwtFilterPrincipalCacheBenchmarkTest::principal);
+        assertThat(cache.loadCount()).isEqualTo(loadsBefore); // 자주 쓰는 키는 남아 있음
+    }
+
+    @Test
+    @DisplayName("evict 후 다음 요청은 다시 로드")
+    void evictReloads() {
+        PrincipalCache cache = new PrincipalCache(60, 10);
+        cache.get(7L, JwtFilterPrincipalCacheBenchmarkTest::principal);
+        cache.evict(7L);
+        cache.get(7L, JwtFilterPrincipalCacheBenchmarkTest::principal);
+        assertThat(cache.loadCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("로드 중 evict 가 끼면 읽어 온 낡은 값은 캐시하지 않음")
+    void evictDuringLoad_doesNotCacheStalePrincipal() {
+        PrincipalCache cache = new PrincipalCache(60, 10);
+
+        UserPrincipal first = cache.get(7L, id -> {
+            cache.evict(7L); // 로드가 DB 를 읽은 뒤 권한 변경 커밋 + evict
+            return principal(id);
+        });
+        UserPrincipal second = cache.get(7L, JwtFilterPrincipalCacheBenchmarkTest::principal);
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotSameAs(first);
+        assertThat(cache.loadCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("다른 키의 evict 는 로드 결과 캐시에 영향 없음")
+    void evictOfOtherKey_stillCaches() {
+        PrincipalCache cache = new PrincipalCache(60, 10);
+
+        cache.get(7L, id -> {
+            cache.evict(8L);
+            return principal(id);
+        });
+        cache.get(7L, JwtFilterPrincipalCacheBenchmarkTest::principal);
+
+        assertThat(cache.loadCount()).isEqualTo(1);
+    }
+
+    private static User user(Long id) {
+        return User.builder().id(id).email("u" + id + "@test.com").name("u" + id).role(UserRole.USER).build();
+    }
+
+    private static UserPrincipal principal(Long id) {
+        return new UserPrincipal(user(id), Map.of());
+    }
+}